@@ -83,7 +83,7 @@ public final class HolidayCalendarId
     }
     // parse + separated names once and build resolver function to aid performance
     // name BBB+CCC+AAA changed to sorted form of AAA+BBB+CCC
-    // dedicated resolver function created
+    // dedicated resolver function created, which caches the materialized combined calendar
     List<HolidayCalendarId> ids = Splitter.on('+').splitToList(name).stream()
         .filter(n -> !n.equals(HolidayCalendarIds.NO_HOLIDAYS.getName()))
         .map(n -> HolidayCalendarId.of(n))
@@ -91,10 +91,7 @@ public final class HolidayCalendarId
         .sorted(comparing(HolidayCalendarId::getName))
         .collect(toList());
     String normalizedName = Joiner.on('+').join(ids);
-    Function<ReferenceData, HolidayCalendar> resolver =
-        refData -> ids.stream()
-            .map(r -> refData.getValue(r))
-            .reduce(HolidayCalendars.NO_HOLIDAYS, HolidayCalendar::combinedWith);
+    Function<ReferenceData, HolidayCalendar> resolver = new CombinedResolver(ids);
     // cache under the normalized and non-normalized names
     HolidayCalendarId id = CACHE.computeIfAbsent(normalizedName, n -> new HolidayCalendarId(normalizedName, resolver));
     CACHE.putIfAbsent(name, id);
@@ -224,4 +221,81 @@ public final class HolidayCalendarId
     return name;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Resolver for a combined holiday calendar identifier.
+   * <p>
+   * Where the underlying calendars are all {@link ImmutableHolidayCalendar}, the combination is
+   * materialized as a single {@code ImmutableHolidayCalendar}, thus each query uses one bitmap lookup
+   * rather than a query on each underlying calendar. As this is relatively slow to create,
+   * the last combination is cached, keyed by the identity of the underlying calendars.
+   * Reference data is typically long-lived, thus the cache is usually hit.
+   */
+  private static final class CombinedResolver
+      implements Function<ReferenceData, HolidayCalendar> {
+
+    /**
+     * The identifiers of the underlying calendars.
+     */
+    private final List<HolidayCalendarId> ids;
+    /**
+     * The last combination, null until first resolved.
+     */
+    private volatile CachedCombination cached;
+
+    private CombinedResolver(List<HolidayCalendarId> ids) {
+      this.ids = ids;
+    }
+
+    @Override
+    public HolidayCalendar apply(ReferenceData refData) {
+      CachedCombination last = cached;
+      if (last != null && last.matches(refData)) {
+        return last.combined;
+      }
+      HolidayCalendar[] underlying = new HolidayCalendar[ids.size()];
+      HolidayCalendar combined = HolidayCalendars.NO_HOLIDAYS;
+      for (int i = 0; i < underlying.length; i++) {
+        underlying[i] = refData.getValue(ids.get(i));
+        combined = combine(combined, underlying[i]);
+      }
+      cached = new CachedCombination(ids, underlying, combined);
+      return combined;
+    }
+
+    // combines two calendars, materializing where possible
+    private static HolidayCalendar combine(HolidayCalendar cal1, HolidayCalendar cal2) {
+      if (cal1 instanceof ImmutableHolidayCalendar && cal2 instanceof ImmutableHolidayCalendar) {
+        return ImmutableHolidayCalendar.combined((ImmutableHolidayCalendar) cal1, (ImmutableHolidayCalendar) cal2);
+      }
+      return cal1.combinedWith(cal2);
+    }
+  }
+
+  /**
+   * A combined calendar and the underlying calendars it was created from.
+   */
+  private static final class CachedCombination {
+
+    private final List<HolidayCalendarId> ids;
+    private final HolidayCalendar[] underlying;
+    private final HolidayCalendar combined;
+
+    private CachedCombination(List<HolidayCalendarId> ids, HolidayCalendar[] underlying, HolidayCalendar combined) {
+      this.ids = ids;
+      this.underlying = underlying;
+      this.combined = combined;
+    }
+
+    // checks if the reference data contains the same underlying calendar instances
+    private boolean matches(ReferenceData refData) {
+      for (int i = 0; i < underlying.length; i++) {
+        if (refData.getValue(ids.get(i)) != underlying[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
 }
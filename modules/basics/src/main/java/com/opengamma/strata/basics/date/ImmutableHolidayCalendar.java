@@ -57,6 +57,8 @@ public final class ImmutableHolidayCalendar
   // each bit within the int represents a date, where 0 is a holiday and 1 is a business day
   // (most logic involves finding business days, finding 1 is easier than finding 0
   // when using Integer.numberOfTrailingZeros and Integer.numberOfLeadingZeros)
+  // a second int array holds the cumulative count of business days at the start of each month
+  // this allows shift() and daysBetween() to count business days without looping day-by-day
   // benchmarking showed nextOrSame() and previousOrSame() do not need to be overridden
   // out-of-range and weekend-only (used in testing) are handled using exceptions to fast-path the common case
 
@@ -90,6 +92,12 @@ public final class ImmutableHolidayCalendar
    * Trailing bits are set to 0 so they act as holidays, avoiding month length logic.
    */
   private final int[] lookup;
+  /**
+   * The cumulative business day count, where each item is the number of business days
+   * in the lookup table before the month of the same index.
+   * The array is one larger than the lookup table, the last item being the total number of business days.
+   */
+  private final int[] cumulative;
 
   //-------------------------------------------------------------------------
   /**
@@ -172,11 +180,13 @@ public final class ImmutableHolidayCalendar
       // special case where no holiday dates are specified
       this.startYear = 0;
       this.lookup = new int[0];
+      this.cumulative = new int[1];
     } else {
       // normal case where holidays are specified
       this.startYear = holidays.first().getYear();
       int endYearExclusive = holidays.last().getYear() + 1;
       this.lookup = buildLookupArray(holidays, weekendDays, startYear, endYearExclusive);
+      this.cumulative = buildCumulativeArray(lookup);
     }
   }
 
@@ -215,6 +225,16 @@ public final class ImmutableHolidayCalendar
     return array;
   }
 
+  // create and populate the int[] cumulative business day count
+  private static int[] buildCumulativeArray(int[] lookup) {
+    int[] array = new int[lookup.length + 1];
+    for (int i = 0; i < lookup.length; i++) {
+      // use JDK bitCount() method which is mapped to a fast intrinsic
+      array[i + 1] = array[i] + Integer.bitCount(lookup[i]);
+    }
+    return array;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public boolean isHoliday(LocalDate date) {
@@ -242,11 +262,15 @@ public final class ImmutableHolidayCalendar
   public LocalDate shift(LocalDate date, int amount) {
     try {
       if (amount > 0) {
-        // day-of-month: minus one for zero-based day-of-month, plus one to start from next day
-        return shiftNext(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), amount);
+        // count of business days up to and including the input date, bits 0 to dom-1
+        // the target is the business day with that count plus amount minus one business days before it
+        int index = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
+        int mask = (2 << (date.getDayOfMonth() - 1)) - 1;
+        return businessDayAt(index, cumulative[index] + Integer.bitCount(lookup[index] & mask) + amount - 1);
       } else if (amount < 0) {
-        // day-of-month: minus one to start from previous day
-        return shiftPrev(date.getYear(), date.getMonthValue(), date.getDayOfMonth() - 1, amount);
+        // count of business days before the input date, bits 0 to dom-2
+        int index = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
+        return businessDayAt(index, businessDaysBefore(date) + amount);
       }
       return date;
 
@@ -255,6 +279,34 @@ public final class ImmutableHolidayCalendar
     }
   }
 
+  // finds the business day that has the specified number of business days before it in the lookup table
+  // the search starts from the specified month index, which is typically the correct month or adjacent to it
+  // throws ArrayIndexOutOfBoundsException if the result is outside the lookup table
+  private LocalDate businessDayAt(int baseIndex, int count) {
+    int index = baseIndex;
+    while (cumulative[index + 1] <= count) {
+      index++;
+    }
+    while (cumulative[index] > count) {
+      index--;
+    }
+    // remove the lower business days in the month, leaving the target as the least significant bit
+    int monthData = lookup[index];
+    for (int i = count - cumulative[index]; i > 0; i--) {
+      monthData &= monthData - 1;
+    }
+    // use JDK numberOfTrailingZeros() method which is mapped to a fast intrinsic
+    return LocalDate.of(startYear + index / 12, index % 12 + 1, Integer.numberOfTrailingZeros(monthData) + 1);
+  }
+
+  // the number of business days in the lookup table before the specified date
+  // throws ArrayIndexOutOfBoundsException if the date is outside the lookup table
+  private int businessDaysBefore(LocalDate date) {
+    int index = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
+    int mask = (1 << (date.getDayOfMonth() - 1)) - 1;
+    return cumulative[index] + Integer.bitCount(lookup[index] & mask);
+  }
+
   // pulled out to aid hotspot inlining
   private LocalDate shiftOutOfRange(LocalDate date, int amount) {
     if (date.getYear() >= 0 && date.getYear() < 10000) {
@@ -425,6 +477,23 @@ public final class ImmutableHolidayCalendar
     throw new IllegalArgumentException("Date is outside the accepted range (year 0000 to 10,000): " + date);
   }
 
+  //-------------------------------------------------------------------------
+  @Override
+  public int daysBetween(LocalDate startInclusive, LocalDate endExclusive) {
+    try {
+      // difference between the count of business days before each date, zero if the end is before the start
+      return Math.max(businessDaysBefore(endExclusive) - businessDaysBefore(startInclusive), 0);
+
+    } catch (ArrayIndexOutOfBoundsException ex) {
+      return daysBetweenOutOfRange(startInclusive, endExclusive);
+    }
+  }
+
+  // pulled out to aid hotspot inlining
+  private int daysBetweenOutOfRange(LocalDate startInclusive, LocalDate endExclusive) {
+    return HolidayCalendar.super.daysBetween(startInclusive, endExclusive);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public boolean equals(Object obj) {
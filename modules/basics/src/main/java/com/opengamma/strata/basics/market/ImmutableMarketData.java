@@ -6,6 +6,9 @@
 package com.opengamma.strata.basics.market;
 
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.time.LocalDate;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -28,6 +31,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.io.BeanSnapshot;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 
 /**
@@ -96,6 +100,21 @@ public final class ImmutableMarketData
     return new ImmutableMarketDataBuilder(valuationDate);
   }
 
+  /**
+   * Reads an instance from a binary snapshot.
+   * <p>
+   * The snapshot is created by {@link #writeSnapshot(WritableByteChannel, boolean)}.
+   * See {@link BeanSnapshot} for details of the format.
+   *
+   * @param channel  the channel to read from, which is not closed
+   * @return the market data
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the channel does not contain a snapshot
+   */
+  public static ImmutableMarketData readSnapshot(ReadableByteChannel channel) {
+    return BeanSnapshot.read(channel, ImmutableMarketData.class);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns a builder populated with the same data as this instance.
@@ -136,6 +155,22 @@ public final class ImmutableMarketData
     return found == null ? LocalDateDoubleTimeSeries.empty() : found;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Writes this market data as a binary snapshot.
+   * <p>
+   * The snapshot contains all the values and time-series, and can be read using {@link #readSnapshot}.
+   * All the keys and values must be serializable using Joda-Beans.
+   * See {@link BeanSnapshot} for details of the format.
+   *
+   * @param channel  the channel to write to, which is not closed
+   * @param compressed  true to compress the snapshot
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public void writeSnapshot(WritableByteChannel channel, boolean compressed) {
+    BeanSnapshot.write(this, channel, compressed);
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
@@ -9,11 +9,16 @@ import static com.opengamma.strata.basics.date.HolidayCalendarIds.NO_HOLIDAYS;
 import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 
+import java.time.LocalDate;
+
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.market.ImmutableReferenceData;
 import com.opengamma.strata.basics.market.ReferenceData;
@@ -69,6 +74,32 @@ public class HolidayCalendarIdTest {
     assertEquals(combined.resolve(refData), euCal.combinedWith(gbCal));
   }
 
+  public void test_resolve_combined_materialized() {
+    HolidayCalendarId gb = HolidayCalendarId.of("GB");
+    HolidayCalendar gbCal = ImmutableHolidayCalendar.of(
+        gb, ImmutableList.of(LocalDate.of(2016, 5, 2)), SATURDAY, SUNDAY);
+    HolidayCalendarId eu = HolidayCalendarId.of("EU");
+    HolidayCalendar euCal = ImmutableHolidayCalendar.of(
+        eu, ImmutableList.of(LocalDate.of(2016, 5, 5)), SATURDAY, SUNDAY);
+    ReferenceData refData = ImmutableReferenceData.of(ImmutableMap.of(gb, gbCal, eu, euCal));
+    HolidayCalendarId combined = gb.combinedWith(eu);
+    HolidayCalendar test = combined.resolve(refData);
+    assertEquals(test instanceof ImmutableHolidayCalendar, true);
+    assertEquals(test.getId(), combined);
+    assertEquals(test.isHoliday(LocalDate.of(2016, 5, 2)), true);
+    assertEquals(test.isHoliday(LocalDate.of(2016, 5, 3)), false);
+    assertEquals(test.isHoliday(LocalDate.of(2016, 5, 5)), true);
+    // cached while the underlying calendars are the same
+    assertSame(combined.resolve(refData), test);
+    assertSame(combined.resolve(ImmutableReferenceData.of(ImmutableMap.of(gb, gbCal, eu, euCal))), test);
+    // not cached when the underlying calendars change
+    HolidayCalendar euCal2 = ImmutableHolidayCalendar.of(
+        eu, ImmutableList.of(LocalDate.of(2016, 5, 6)), SATURDAY, SUNDAY);
+    HolidayCalendar test2 = combined.resolve(ImmutableReferenceData.of(ImmutableMap.of(gb, gbCal, eu, euCal2)));
+    assertEquals(test2.isHoliday(LocalDate.of(2016, 5, 5)), false);
+    assertEquals(test2.isHoliday(LocalDate.of(2016, 5, 6)), true);
+  }
+
   //-------------------------------------------------------------------------
   public void test_combinedWith() {
     HolidayCalendarId gb = HolidayCalendarId.of("GB");
@@ -833,6 +833,31 @@ public class ImmutableHolidayCalendarTest {
     }
   }
 
+  public void test_broadCheck_shift_daysBetween() {
+    LocalDate start = LocalDate.of(2010, 1, 1);
+    LocalDate end = LocalDate.of(2013, 1, 1);
+    Random random = new Random(547698);
+    SortedSet<LocalDate> set = new TreeSet<>();
+    LocalDate date = start;
+    while (date.isBefore(end)) {
+      set.add(date);
+      date = date.plusDays(random.nextInt(10) + 1);
+    }
+    ImmutableHolidayCalendar test =
+        ImmutableHolidayCalendar.of(HolidayCalendarId.of("TestBroad"), set, SATURDAY, SUNDAY);
+    // combining with no holidays uses the simple algorithms from the interface
+    HolidayCalendar expected = new CombinedHolidayCalendar(test, HolidayCalendars.NO_HOLIDAYS);
+    LocalDate checkDate = start.minusDays(20);
+    while (checkDate.isBefore(end.plusDays(20))) {
+      for (int amount : new int[] {-300, -25, -2, -1, 1, 2, 25, 300}) {
+        assertEquals(test.shift(checkDate, amount), expected.shift(checkDate, amount));
+      }
+      assertEquals(test.daysBetween(start, checkDate), expected.daysBetween(start, checkDate));
+      assertEquals(test.daysBetween(checkDate, end), expected.daysBetween(checkDate, end));
+      checkDate = checkDate.plusDays(1);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_equals() {
     ImmutableHolidayCalendar a1 = ImmutableHolidayCalendar.of(TEST_ID, Arrays.asList(WED_2014_07_16), SATURDAY, SUNDAY);
@@ -12,12 +12,17 @@ import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
 import java.time.LocalDate;
 import java.util.Map;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 
 /**
@@ -81,6 +86,22 @@ public class ImmutableMarketDataTest {
     assertThat(DATA.getTimeSeries(KEY2)).isEqualTo(TIME_SERIES);
   }
 
+  //-------------------------------------------------------------------------
+  public void snapshot() {
+    FxRateKey fxKey = FxRateKey.of(Currency.GBP, Currency.USD);
+    ImmutableMarketData data = DATA.toBuilder()
+        .addValue(fxKey, FxRate.of(Currency.GBP, Currency.USD, 1.4d))
+        .build();
+    for (boolean compressed : new boolean[] {false, true}) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      data.writeSnapshot(Channels.newChannel(out), compressed);
+      ImmutableMarketData test =
+          ImmutableMarketData.readSnapshot(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+      assertThat(test).isEqualTo(data);
+      assertThat(test.getValue(fxKey)).isEqualTo(FxRate.of(Currency.GBP, Currency.USD, 1.4d));
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverImmutableBean(DATA);
@@ -0,0 +1,405 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.date.DayCounts.THIRTY_U_360;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.USNY;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.Trade;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.market.FxRateId;
+import com.opengamma.strata.basics.market.ImmutableMarketData;
+import com.opengamma.strata.basics.market.MarketData;
+import com.opengamma.strata.basics.market.ObservableId;
+import com.opengamma.strata.basics.market.ReferenceData;
+import com.opengamma.strata.basics.market.StandardId;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.calc.config.MarketDataRules;
+import com.opengamma.strata.calc.marketdata.MarketEnvironment;
+import com.opengamma.strata.calc.marketdata.MarketEnvironmentBuilder;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.io.CsvRow;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.function.marketdata.mapping.MarketDataMappingsBuilder;
+import com.opengamma.strata.loader.csv.FixingSeriesCsvLoader;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCurvesCsvLoader;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.CurveGroup;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.IsdaCreditCurveInputs;
+import com.opengamma.strata.market.curve.IsdaYieldCurveInputs;
+import com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType;
+import com.opengamma.strata.market.id.CurveGroupId;
+import com.opengamma.strata.market.id.IndexRateId;
+import com.opengamma.strata.market.id.QuoteId;
+import com.opengamma.strata.market.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.surface.DefaultSurfaceMetadata;
+import com.opengamma.strata.market.surface.InterpolatedNodalSurface;
+import com.opengamma.strata.market.surface.SurfaceName;
+import com.opengamma.strata.math.impl.interpolation.CombinedInterpolatorExtrapolator;
+import com.opengamma.strata.math.impl.interpolation.GridInterpolator2D;
+import com.opengamma.strata.math.impl.interpolation.Interpolator1D;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swaption.NormalSwaptionExpiryTenorVolatilities;
+import com.opengamma.strata.product.credit.CdsTrade;
+import com.opengamma.strata.product.credit.RestructuringClause;
+import com.opengamma.strata.product.credit.SeniorityLevel;
+import com.opengamma.strata.product.credit.SingleNameReferenceInformation;
+import com.opengamma.strata.product.credit.type.CdsConvention;
+import com.opengamma.strata.product.credit.type.CdsConventions;
+import com.opengamma.strata.product.credit.type.IsdaYieldCurveConventions;
+import com.opengamma.strata.product.fra.FraTrade;
+import com.opengamma.strata.product.fra.type.FraConvention;
+import com.opengamma.strata.product.swap.SwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swap.type.FixedRateSwapLegConvention;
+import com.opengamma.strata.product.swap.type.IborRateSwapLegConvention;
+import com.opengamma.strata.product.swap.type.ImmutableFixedIborSwapConvention;
+
+/**
+ * Fixtures shared by the benchmarks.
+ * <p>
+ * The rates curves, fixings and calibration inputs are loaded from the example market data,
+ * which is added to the classpath by the build. The trades are created from standard conventions
+ * with a spread of tenors and rates, such that the benchmarks exercise realistic code paths.
+ */
+public final class BenchmarkData {
+
+  /**
+   * The valuation date of the example market data.
+   */
+  public static final LocalDate VAL_DATE = LocalDate.of(2014, 1, 22);
+  /**
+   * The valuation date of the example calibration data.
+   */
+  public static final LocalDate CALIBRATION_VAL_DATE = LocalDate.of(2015, 7, 21);
+  /**
+   * The valuation date of the example credit data.
+   */
+  public static final LocalDate CREDIT_VAL_DATE = LocalDate.of(2014, 10, 16);
+  /**
+   * The reference data.
+   */
+  public static final ReferenceData REF_DATA = ReferenceData.standard();
+
+  /**
+   * The root of the example market data.
+   */
+  private static final String MARKET_DATA_ROOT = "example-marketdata/";
+  /**
+   * The root of the example calibration data.
+   */
+  private static final String CALIBRATION_ROOT = "example-calibration/";
+  /**
+   * The curve group of the example market data.
+   */
+  private static final CurveGroupId CURVE_GROUP_ID = CurveGroupId.of(CurveGroupName.of("Default"));
+  /**
+   * The interpolator used for the swaption volatility surface.
+   */
+  private static final Interpolator1D LINEAR_FLAT = CombinedInterpolatorExtrapolator.of(
+      CurveInterpolators.LINEAR.getName(), CurveExtrapolators.FLAT.getName(), CurveExtrapolators.FLAT.getName());
+  /**
+   * The swap convention used for the swaption volatility surface.
+   */
+  private static final FixedIborSwapConvention USD_1Y_LIBOR3M = ImmutableFixedIborSwapConvention.of(
+      "USD-Swap",
+      FixedRateSwapLegConvention.of(
+          Currency.USD, THIRTY_U_360, Frequency.P6M, BusinessDayAdjustment.of(MODIFIED_FOLLOWING, USNY)),
+      IborRateSwapLegConvention.of(USD_LIBOR_3M));
+  /**
+   * The tenors used when creating swaps.
+   */
+  private static final Tenor[] SWAP_TENORS = {
+      Tenor.TENOR_2Y, Tenor.TENOR_5Y, Tenor.TENOR_7Y, Tenor.TENOR_10Y, Tenor.TENOR_15Y, Tenor.TENOR_30Y};
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkData() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the example rates curves and fixings as a rates provider.
+   *
+   * @return the rates provider
+   */
+  public static ImmutableRatesProvider ratesProvider() {
+    CurveGroup group = loadCurveGroup();
+    ImmutableMap<Index, LocalDateDoubleTimeSeries> timeSeries = loadFixings().entrySet().stream()
+        .filter(e -> e.getKey() instanceof IndexRateId)
+        .collect(toImmutableMap(e -> ((IndexRateId) e.getKey()).getIndex(), e -> e.getValue()));
+    return ImmutableRatesProvider.builder(VAL_DATE)
+        .fxRateProvider(FxMatrix.of(Currency.GBP, Currency.USD, 1.61))
+        .discountCurves(group.getDiscountCurves())
+        .indexCurves(group.getForwardCurves())
+        .timeSeries(timeSeries)
+        .build();
+  }
+
+  /**
+   * Loads the example rates curves, fixings, quotes and FX rates as a market environment.
+   *
+   * @return the market environment
+   */
+  public static MarketEnvironment marketEnvironment() {
+    MarketEnvironmentBuilder builder = MarketEnvironment.builder(VAL_DATE);
+    CurveGroup group = loadCurveGroup();
+    builder.addValue(CURVE_GROUP_ID, group);
+    builder.addTimeSeries(loadFixings());
+    builder.addSingleValues(QuotesCsvLoader.load(VAL_DATE, resource(MARKET_DATA_ROOT + "quotes/quotes.csv")));
+    builder.addValue(FxRateId.of(Currency.GBP, Currency.USD), FxRate.of(Currency.GBP, Currency.USD, 1.61));
+    return builder.build();
+  }
+
+  /**
+   * Gets the market data rules matching the market environment.
+   *
+   * @return the market data rules
+   */
+  public static MarketDataRules marketDataRules() {
+    return MarketDataRules.anyTarget(
+        MarketDataMappingsBuilder.create()
+            .curveGroup(CURVE_GROUP_ID.getName())
+            .build());
+  }
+
+  // loads the curve group of the example market data
+  private static CurveGroup loadCurveGroup() {
+    List<CurveGroup> groups = RatesCurvesCsvLoader.load(
+        VAL_DATE,
+        resource(MARKET_DATA_ROOT + "curves/groups.csv"),
+        resource(MARKET_DATA_ROOT + "curves/settings.csv"),
+        ImmutableList.of(resource(MARKET_DATA_ROOT + "curves/2014-01-22.csv")));
+    return groups.get(0);
+  }
+
+  // loads the fixings of the example market data
+  private static Map<ObservableId, LocalDateDoubleTimeSeries> loadFixings() {
+    return FixingSeriesCsvLoader.load(
+        resource(MARKET_DATA_ROOT + "historical-fixings/usd-libor-3m.csv"),
+        resource(MARKET_DATA_ROOT + "historical-fixings/usd-libor-6m.csv"),
+        resource(MARKET_DATA_ROOT + "historical-fixings/usd-fed-fund.csv"),
+        resource(MARKET_DATA_ROOT + "historical-fixings/gbp-libor-3m.csv"));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the example calibration definitions.
+   *
+   * @return the curve group definitions
+   */
+  public static List<CurveGroupDefinition> calibrationDefinitions() {
+    return RatesCalibrationCsvLoader.load(
+        resource(CALIBRATION_ROOT + "curves/groups.csv"),
+        resource(CALIBRATION_ROOT + "curves/settings.csv"),
+        resource(CALIBRATION_ROOT + "curves/calibrations.csv"));
+  }
+
+  /**
+   * Loads the example calibration quotes.
+   *
+   * @return the market data containing the quotes
+   */
+  public static MarketData calibrationMarketData() {
+    Map<QuoteId, Double> quotes = QuotesCsvLoader.load(
+        CALIBRATION_VAL_DATE, resource(CALIBRATION_ROOT + "quotes/quotes.csv"));
+    return ImmutableMarketData.builder(CALIBRATION_VAL_DATE)
+        .addValuesById(quotes)
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the example ISDA yield curve inputs for USD.
+   *
+   * @return the yield curve inputs
+   */
+  public static IsdaYieldCurveInputs isdaYieldCurveInputs() {
+    ResourceLocator yieldCurves = resource(MARKET_DATA_ROOT + "credit/2014-10-16/cds.yieldCurves.csv");
+    CsvFile csv = CsvFile.of(yieldCurves.getCharSource(), true);
+    List<CsvRow> rows = csv.rows().stream()
+        .filter(row -> !row.getField("Valuation Date").isEmpty())
+        .collect(toImmutableList());
+    Period[] periods = rows.stream().map(row -> Tenor.parse(row.getField("Tenor")).getPeriod()).toArray(Period[]::new);
+    return IsdaYieldCurveInputs.of(
+        CurveName.of(IsdaYieldCurveConventions.USD_ISDA.getName()),
+        periods,
+        IntStream.range(0, periods.length).mapToObj(i -> CREDIT_VAL_DATE.plus(periods[i])).toArray(LocalDate[]::new),
+        rows.stream()
+            .map(row -> row.getField("Instrument Type").equals("M") ?
+                IsdaYieldCurveUnderlyingType.ISDA_MONEY_MARKET :
+                IsdaYieldCurveUnderlyingType.ISDA_SWAP)
+            .toArray(IsdaYieldCurveUnderlyingType[]::new),
+        rows.stream().mapToDouble(row -> Double.parseDouble(row.getField("Rate"))).toArray(),
+        IsdaYieldCurveConventions.USD_ISDA);
+  }
+
+  /**
+   * Creates ISDA credit curve inputs with the specified flat par spread.
+   *
+   * @param parSpread  the par spread
+   * @return the credit curve inputs
+   */
+  public static IsdaCreditCurveInputs isdaCreditCurveInputs(double parSpread) {
+    CdsConvention convention = CdsConventions.USD_NORTH_AMERICAN;
+    Period[] periods = {
+        Period.ofMonths(6), Period.ofYears(1), Period.ofYears(2), Period.ofYears(3),
+        Period.ofYears(4), Period.ofYears(5), Period.ofYears(7), Period.ofYears(10)};
+    LocalDate[] endDates = IntStream.range(0, periods.length)
+        .mapToObj(i -> convention.calculateUnadjustedMaturityDateFromValuationDate(CREDIT_VAL_DATE, periods[i]))
+        .toArray(LocalDate[]::new);
+    double[] rates = new double[periods.length];
+    Arrays.fill(rates, parSpread);
+    return IsdaCreditCurveInputs.of(CurveName.of("Credit"), periods, endDates, rates, convention, 1d);
+  }
+
+  /**
+   * Creates single name CDS trades with a spread of maturities.
+   *
+   * @param count  the number of trades
+   * @return the trades
+   */
+  public static List<CdsTrade> cdsTrades(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> CdsConventions.USD_NORTH_AMERICAN.toTrade(
+            LocalDate.of(2014, 9, 22),
+            LocalDate.of(2015 + i % 10, 12, 20),
+            i % 2 == 0 ? BuySell.BUY : BuySell.SELL,
+            100_000_000d,
+            i % 3 == 0 ? 0.01 : 0.05,
+            SingleNameReferenceInformation.of(
+                StandardId.of("Benchmark", "COMP" + (i % 20)),
+                SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+                Currency.USD,
+                RestructuringClause.NO_RESTRUCTURING_2014),
+            1_000_000d,
+            LocalDate.of(2014, 10, 21)))
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the USD normal swaption volatilities.
+   *
+   * @return the volatilities
+   */
+  public static NormalSwaptionExpiryTenorVolatilities swaptionVolatilities() {
+    DoubleArray expiries = DoubleArray.of(
+        0.5, 1, 5, 10, 0.5, 1, 5, 10, 0.5, 1, 5, 10, 0.5, 1, 5, 10, 0.5, 1, 5, 10);
+    DoubleArray tenors = DoubleArray.of(
+        1, 1, 1, 1, 2, 2, 2, 2, 5, 5, 5, 5, 10, 10, 10, 10, 30, 30, 30, 30);
+    DoubleArray vols = DoubleArray.of(
+        0.010, 0.011, 0.012, 0.013, 0.011, 0.012, 0.013, 0.014, 0.012, 0.013,
+        0.014, 0.015, 0.013, 0.014, 0.015, 0.016, 0.014, 0.015, 0.016, 0.017);
+    InterpolatedNodalSurface surface = InterpolatedNodalSurface.of(
+        DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION)
+            .yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.NORMAL_VOLATILITY)
+            .surfaceName(SurfaceName.of("USD-Normal"))
+            .build(),
+        expiries,
+        tenors,
+        vols,
+        new GridInterpolator2D(LINEAR_FLAT, LINEAR_FLAT));
+    return NormalSwaptionExpiryTenorVolatilities.of(
+        surface, USD_1Y_LIBOR3M, VAL_DATE, LocalTime.of(11, 0), ZoneId.of("America/New_York"), ACT_365F);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates USD fixed versus Libor 3M swaps with a spread of tenors and rates.
+   *
+   * @param count  the number of trades
+   * @return the trades
+   */
+  public static List<SwapTrade> swapTrades(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M.createTrade(
+            VAL_DATE,
+            Period.ofMonths(i % 12),
+            SWAP_TENORS[i % SWAP_TENORS.length],
+            i % 2 == 0 ? BuySell.BUY : BuySell.SELL,
+            1_000_000d * (1 + i % 100),
+            0.005 + 0.0001 * (i % 200),
+            REF_DATA))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Creates USD Libor 3M FRAs with a spread of start dates and rates.
+   *
+   * @param count  the number of trades
+   * @return the trades
+   */
+  public static List<FraTrade> fraTrades(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> FraConvention.of(USD_LIBOR_3M).createTrade(
+            VAL_DATE,
+            Period.ofMonths(1 + i % 21),
+            Period.ofMonths(4 + i % 21),
+            i % 2 == 0 ? BuySell.BUY : BuySell.SELL,
+            1_000_000d * (1 + i % 100),
+            0.002 + 0.0001 * (i % 50),
+            REF_DATA))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Creates a portfolio of swaps and FRAs.
+   * <p>
+   * Three quarters of the trades are swaps, the remainder are FRAs.
+   *
+   * @param count  the number of trades
+   * @return the trades
+   */
+  public static List<Trade> portfolio(int count) {
+    int swapCount = count * 3 / 4;
+    return ImmutableList.<Trade>builder()
+        .addAll(swapTrades(swapCount))
+        .addAll(fraTrades(count - swapCount))
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  // finds a resource on the classpath
+  private static ResourceLocator resource(String name) {
+    return ResourceLocator.ofClasspath(name);
+  }
+
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.Trade;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.config.Measures;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.marketdata.MarketEnvironment;
+import com.opengamma.strata.calc.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.scenario.PerturbationMapping;
+import com.opengamma.strata.calc.marketdata.scenario.ScenarioDefinition;
+import com.opengamma.strata.function.StandardComponents;
+import com.opengamma.strata.function.marketdata.curve.CurveParallelShifts;
+import com.opengamma.strata.function.marketdata.scenario.curve.AnyCurveFilter;
+import com.opengamma.strata.market.curve.Curve;
+
+/**
+ * Benchmarks the calculation runner on a portfolio of swaps and FRAs.
+ * <p>
+ * The scenarios are created by applying parallel shifts to all curves of the example market data.
+ * The time to build the scenario market data is excluded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CalculationRunnerBenchmark {
+
+  /**
+   * The size of each curve shift.
+   */
+  private static final double ONE_BP = 1.0e-4;
+  /**
+   * The columns to calculate.
+   */
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PV01),
+      Column.of(Measures.PAR_RATE));
+
+  /**
+   * The number of trades.
+   */
+  @Param({"1000", "10000"})
+  public int tradeCount;
+  /**
+   * The number of scenarios.
+   */
+  @Param({"1", "10"})
+  public int scenarioCount;
+  /**
+   * The calculation runner.
+   */
+  private CalculationRunner runner;
+  /**
+   * The calculation rules.
+   */
+  private CalculationRules rules;
+  /**
+   * The trades.
+   */
+  private List<Trade> trades;
+  /**
+   * The market data for all scenarios.
+   */
+  private MarketEnvironment marketData;
+
+  @Setup
+  public void setup() {
+    runner = CalculationRunner.ofMultiThreaded();
+    rules = CalculationRules.of(StandardComponents.calculationFunctions(), BenchmarkData.marketDataRules());
+    trades = BenchmarkData.portfolio(tradeCount);
+
+    double[] shifts = new double[scenarioCount];
+    for (int i = 0; i < scenarioCount; i++) {
+      shifts[i] = i * ONE_BP;
+    }
+    PerturbationMapping<Curve> mapping = PerturbationMapping.of(
+        Curve.class,
+        AnyCurveFilter.INSTANCE,
+        CurveParallelShifts.absolute(shifts));
+    MarketDataRequirements reqs = MarketDataRequirements.of(rules, trades, COLUMNS, REF_DATA);
+    marketData = StandardComponents.marketDataFactory().buildMarketData(
+        reqs,
+        MarketDataConfig.empty(),
+        BenchmarkData.marketEnvironment(),
+        REF_DATA,
+        ScenarioDefinition.ofMappings(mapping));
+  }
+
+  @TearDown
+  public void tearDown() {
+    runner.close();
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public Results calculateMultipleScenarios() {
+    return runner.calculateMultipleScenarios(rules, trades, COLUMNS, marketData, REF_DATA);
+  }
+
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.CREDIT_VAL_DATE;
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.curve.IsdaCreditCurveInputs;
+import com.opengamma.strata.market.curve.IsdaYieldCurveInputs;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Benchmarks the ISDA CDS pricer.
+ * <p>
+ * The yield curve is loaded from the example credit market data.
+ * Each invocation includes the calibration of the ISDA curves, as performed by the pricer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CdsPricerBenchmark {
+
+  /**
+   * The pricer.
+   */
+  private static final IsdaCdsPricer PRICER = IsdaCdsPricer.DEFAULT;
+  /**
+   * The recovery rate.
+   */
+  private static final double RECOVERY_RATE = 0.4;
+
+  /**
+   * The yield curve inputs.
+   */
+  private IsdaYieldCurveInputs yieldCurveInputs;
+  /**
+   * The credit curve inputs.
+   */
+  private IsdaCreditCurveInputs creditCurveInputs;
+  /**
+   * The CDS.
+   */
+  private ResolvedCds cds;
+
+  @Setup
+  public void setup() {
+    yieldCurveInputs = BenchmarkData.isdaYieldCurveInputs();
+    creditCurveInputs = BenchmarkData.isdaCreditCurveInputs(0.0080);
+    cds = BenchmarkData.cdsTrades(5).get(4).getProduct().resolve(REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public CurrencyAmount presentValue() {
+    return PRICER.presentValue(cds, yieldCurveInputs, creditCurveInputs, CREDIT_VAL_DATE, RECOVERY_RATE, 1d);
+  }
+
+  @Benchmark
+  public double parRate() {
+    return PRICER.parRate(cds, yieldCurveInputs, creditCurveInputs, CREDIT_VAL_DATE, RECOVERY_RATE);
+  }
+
+  @Benchmark
+  public CurveCurrencyParameterSensitivities cs01BucketedPar() {
+    return PRICER.cs01BucketedPar(cds, yieldCurveInputs, creditCurveInputs, CREDIT_VAL_DATE, RECOVERY_RATE, 1d);
+  }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.CALIBRATION_VAL_DATE;
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.market.MarketData;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.pricer.calibration.CurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Benchmarks curve calibration.
+ * <p>
+ * The USD discounting and Libor 3M curves are calibrated from the example calibration data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CurveCalibrationBenchmark {
+
+  /**
+   * The calibrator.
+   */
+  private static final CurveCalibrator CALIBRATOR = CurveCalibrator.standard();
+
+  /**
+   * The curve group definition.
+   */
+  private CurveGroupDefinition curveGroupDefn;
+  /**
+   * The market data containing the quotes.
+   */
+  private MarketData marketData;
+
+  @Setup
+  public void setup() {
+    curveGroupDefn = BenchmarkData.calibrationDefinitions().get(0);
+    marketData = BenchmarkData.calibrationMarketData();
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public ImmutableRatesProvider calibrate() {
+    return CALIBRATOR.calibrate(curveGroupDefn, CALIBRATION_VAL_DATE, marketData, REF_DATA, ImmutableMap.of());
+  }
+
+}
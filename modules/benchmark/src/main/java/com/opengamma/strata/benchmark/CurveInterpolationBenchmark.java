@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.interpolator.CurveInterpolator;
+
+/**
+ * Benchmarks interpolation on a nodal curve.
+ * <p>
+ * Each invocation evaluates the curve at a fixed set of points spread along the curve.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CurveInterpolationBenchmark {
+
+  /**
+   * The curve nodes, in years.
+   */
+  private static final DoubleArray X_VALUES =
+      DoubleArray.of(0.25, 0.5, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 12, 15, 20, 25, 30);
+  /**
+   * The number of points at which the curve is evaluated.
+   */
+  private static final int POINT_COUNT = 1000;
+
+  /**
+   * The name of the interpolator.
+   */
+  @Param({"Linear", "LogLinear", "DoubleQuadratic", "NaturalCubicSpline"})
+  public String interpolator;
+  /**
+   * The curve.
+   */
+  private InterpolatedNodalCurve curve;
+  /**
+   * The points at which the curve is evaluated.
+   */
+  private double[] points;
+
+  @Setup
+  public void setup() {
+    DoubleArray yValues = X_VALUES.map(x -> 0.005 + 0.03 * (1 - Math.exp(-x / 8)));
+    curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates("Benchmark", DayCounts.ACT_365F), X_VALUES, yValues, CurveInterpolator.of(interpolator));
+    points = new double[POINT_COUNT];
+    for (int i = 0; i < POINT_COUNT; i++) {
+      points[i] = 0.1 + i * 30d / POINT_COUNT;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public double yValue() {
+    double total = 0;
+    for (double x : points) {
+      total += curve.yValue(x);
+    }
+    return total;
+  }
+
+  @Benchmark
+  public double yValueParameterSensitivity() {
+    double total = 0;
+    for (double x : points) {
+      total += curve.yValueParameterSensitivity(x).getSensitivity().get(0);
+    }
+    return total;
+  }
+
+}
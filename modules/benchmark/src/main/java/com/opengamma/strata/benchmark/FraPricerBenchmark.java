@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.pricer.fra.DiscountingFraProductPricer;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.fra.ResolvedFra;
+
+/**
+ * Benchmarks the discounting FRA pricer.
+ * <p>
+ * Each invocation prices a set of FRAs with a spread of start dates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FraPricerBenchmark {
+
+  /**
+   * The pricer.
+   */
+  private static final DiscountingFraProductPricer PRICER = DiscountingFraProductPricer.DEFAULT;
+  /**
+   * The number of FRAs.
+   */
+  private static final int FRA_COUNT = 100;
+
+  /**
+   * The rates provider.
+   */
+  private ImmutableRatesProvider provider;
+  /**
+   * The FRAs.
+   */
+  private List<ResolvedFra> fras;
+
+  @Setup
+  public void setup() {
+    provider = BenchmarkData.ratesProvider();
+    fras = BenchmarkData.fraTrades(FRA_COUNT).stream()
+        .map(trade -> trade.getProduct().resolve(BenchmarkData.REF_DATA))
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public double presentValue() {
+    double total = 0;
+    for (ResolvedFra fra : fras) {
+      total += PRICER.presentValue(fra, provider).getAmount();
+    }
+    return total;
+  }
+
+  @Benchmark
+  public double presentValueSensitivity() {
+    int total = 0;
+    for (ResolvedFra fra : fras) {
+      total += PRICER.presentValueSensitivity(fra, provider).size();
+    }
+    return total;
+  }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.GBLO;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.USNY;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+
+/**
+ * Benchmarks the creation of a schedule from a periodic schedule definition.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScheduleBenchmark {
+
+  /**
+   * The frequency of the schedule.
+   */
+  @Param({"P1M", "P3M", "P12M"})
+  public String frequency;
+  /**
+   * The schedule definition, running for 30 years with a short initial stub.
+   */
+  private PeriodicSchedule definition;
+
+  @Setup
+  public void setup() {
+    definition = PeriodicSchedule.of(
+        LocalDate.of(2014, 1, 24),
+        LocalDate.of(2044, 3, 15),
+        Frequency.parse(frequency),
+        BusinessDayAdjustment.of(MODIFIED_FOLLOWING, GBLO.combinedWith(USNY)),
+        StubConvention.SHORT_INITIAL,
+        false);
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public Schedule createSchedule() {
+    return definition.createSchedule(BenchmarkData.REF_DATA);
+  }
+
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+import static com.opengamma.strata.benchmark.BenchmarkData.VAL_DATE;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.LongShort;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swaption.NormalSwaptionExpiryTenorVolatilities;
+import com.opengamma.strata.pricer.swaption.VolatilitySwaptionPhysicalProductPricer;
+import com.opengamma.strata.product.swap.Swap;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swaption.PhysicalSettlement;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+import com.opengamma.strata.product.swaption.Swaption;
+
+/**
+ * Benchmarks the physically settled swaption pricer using normal volatilities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SwaptionPricerBenchmark {
+
+  /**
+   * The pricer.
+   */
+  private static final VolatilitySwaptionPhysicalProductPricer PRICER = VolatilitySwaptionPhysicalProductPricer.DEFAULT;
+
+  /**
+   * The tenor of the underlying swap.
+   */
+  @Param({"5Y", "10Y"})
+  public String tenor;
+  /**
+   * The rates provider.
+   */
+  private ImmutableRatesProvider provider;
+  /**
+   * The volatilities.
+   */
+  private NormalSwaptionExpiryTenorVolatilities volatilities;
+  /**
+   * The swaption.
+   */
+  private ResolvedSwaption swaption;
+
+  @Setup
+  public void setup() {
+    provider = BenchmarkData.ratesProvider();
+    volatilities = BenchmarkData.swaptionVolatilities();
+    Swap underlying = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+        .createTrade(VAL_DATE.plusYears(2), Tenor.parse(tenor), BuySell.BUY, 1_000_000d, 0.02, REF_DATA)
+        .getProduct();
+    swaption = Swaption.builder()
+        .swaptionSettlement(PhysicalSettlement.DEFAULT)
+        .expiryDate(AdjustableDate.of(VAL_DATE.plusYears(2)))
+        .expiryTime(LocalTime.of(11, 0))
+        .expiryZone(ZoneId.of("America/New_York"))
+        .longShort(LongShort.LONG)
+        .underlying(underlying)
+        .build()
+        .resolve(REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public CurrencyAmount presentValue() {
+    return PRICER.presentValue(swaption, provider, volatilities);
+  }
+
+  @Benchmark
+  public PointSensitivities presentValueSensitivity() {
+    return PRICER.presentValueSensitivityStickyStrike(swaption, provider, volatilities).build();
+  }
+
+}
@@ -0,0 +1,12 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * JMH benchmarks for pricing, calibration, interpolation, schedules and the calculation engine.
+ * <p>
+ * The benchmarks are run using the {@code benchmark} Maven profile, which writes the results as JSON.
+ */
+package com.opengamma.strata.benchmark;
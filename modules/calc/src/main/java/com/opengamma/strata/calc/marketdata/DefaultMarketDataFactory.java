@@ -9,12 +9,15 @@ import static com.opengamma.strata.collect.Guavate.not;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -33,6 +36,8 @@ import com.opengamma.strata.calc.marketdata.mapping.FeedIdMapping;
 import com.opengamma.strata.calc.marketdata.mapping.MissingDataAwareFeedIdMapping;
 import com.opengamma.strata.calc.marketdata.scenario.PerturbationMapping;
 import com.opengamma.strata.calc.marketdata.scenario.ScenarioDefinition;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
@@ -41,6 +46,11 @@ import com.opengamma.strata.collect.tuple.Pair;
 
 /**
  * Co-ordinates building of market data.
+ * <p>
+ * By default all market data is built sequentially on the calling thread.
+ * If an executor is specified using {@link #withExecutor(Executor)} the independent items of non-observable
+ * market data in each level of the dependency tree are built concurrently, for example all curve groups
+ * that only depend on quotes.
  */
 public final class DefaultMarketDataFactory implements MarketDataFactory {
 
@@ -56,6 +66,12 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
   /** For looking up IDs that are suitable for a particular market data feed. */
   private final FeedIdMapping feedIdMapping;
 
+  /** Executor used to build non-observable market data, null if the data is built on the calling thread. */
+  private final Executor executor;
+
+  /** Listener notified when each item of non-observable market data has been built. */
+  private final MarketDataBuildListener buildListener;
+
   /**
    * Creates a new factory.
    *
@@ -109,6 +125,53 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
 
     functions.stream().forEach(builder -> builderMap.put(builder.getMarketDataIdType(), builder));
     this.functions = ImmutableMap.copyOf(builderMap);
+    this.executor = null;
+    this.buildListener = MarketDataBuildListener.none();
+  }
+
+  // creates a copy of a factory with a different executor or listener
+  private DefaultMarketDataFactory(
+      DefaultMarketDataFactory factory,
+      Executor executor,
+      MarketDataBuildListener buildListener) {
+
+    this.feedIdMapping = factory.feedIdMapping;
+    this.observablesBuilder = factory.observablesBuilder;
+    this.timeSeriesProvider = factory.timeSeriesProvider;
+    this.functions = factory.functions;
+    this.executor = executor;
+    this.buildListener = buildListener;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this factory that builds non-observable market data using the specified executor.
+   * <p>
+   * The market data in each level of the dependency tree is independent, so all items of non-observable
+   * market data in a level are submitted to the executor at the same time. The results are added
+   * to the market data once all items in the level have been built.
+   * <p>
+   * The market data functions must be thread-safe if the executor uses multiple threads.
+   *
+   * @param executor  the executor used to build non-observable market data
+   * @return a copy of this factory that builds non-observable market data using the executor
+   */
+  public DefaultMarketDataFactory withExecutor(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new DefaultMarketDataFactory(this, executor, buildListener);
+  }
+
+  /**
+   * Returns a copy of this factory that notifies the listener when items of non-observable market data are built.
+   * <p>
+   * The listener receives the time taken to build each node in the dependency tree.
+   *
+   * @param buildListener  the listener notified when items of market data are built
+   * @return a copy of this factory that notifies the listener when market data is built
+   */
+  public DefaultMarketDataFactory withBuildListener(MarketDataBuildListener buildListener) {
+    ArgChecker.notNull(buildListener, "buildListener");
+    return new DefaultMarketDataFactory(this, executor, buildListener);
   }
 
   @Override
@@ -130,7 +193,6 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
       ScenarioDefinition scenarioDefinition) {
 
     MarketEnvironmentBuilder dataBuilder = MarketEnvironment.builder(suppliedData.getValuationDate());
-    MarketEnvironment builtData = dataBuilder.build();
 
     // Build a tree of the market data dependencies. The root of the tree represents the calculations.
     // The children of the root represent the market data directly used in the calculations. The children
@@ -150,15 +212,14 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
     //   2) Create a copy of the dependency tree without the leaf nodes
     //   3) If the root of new dependency tree has children, go to step 1 with the new tree
     //
+    // All market data in a level is independent so the non-observable data in a level can be built concurrently.
+    //
     // When the tree has no children it indicates all dependencies have been built and the market data
     // needed for the calculations is available.
     //
     // The result of this method also contains details of the problems for market data can't be built or found.
 
-    while (!root.isLeaf()) {
-      // Effectively final reference to buildData which can be used in a lambda expression
-      MarketEnvironment marketData = builtData;
-
+    for (int level = 0; !root.isLeaf(); level++) {
       // The leaves of the dependency tree represent market data with no dependencies that can be built immediately
       Pair<MarketDataNode, MarketDataRequirements> pair = root.withLeavesRemoved();
 
@@ -169,7 +230,7 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
 
       // Build any time series that are required but not available
       leafRequirements.getTimeSeries().stream()
-          .filter(id -> marketData.getTimeSeries(id).isEmpty())
+          .filter(not(dataBuilder::containsTimeSeries))
           .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
           .forEach(id -> dataBuilder.addTimeSeriesResult(id, this.findTimeSeries(id)));
 
@@ -182,7 +243,7 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
 
       // Filter out IDs for the data that is already available
       Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
-          .filter(not(marketData::containsValue))
+          .filter(not(dataBuilder::containsValue))
           .filter(not(suppliedData::containsValue))
           .collect(toImmutableSet());
 
@@ -199,14 +260,20 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
 
       // Filter out IDs for the data that is already available and build the rest
       Set<MarketDataId<?>> nonObservableIds = leafRequirements.getNonObservables().stream()
-          .filter(not(marketData::containsValue))
+          .filter(not(dataBuilder::containsValue))
           .filter(not(suppliedData::containsValue))
           .collect(toImmutableSet());
 
-      Map<MarketDataId<?>, Result<MarketDataBox<?>>> nonObservableResults =
-          buildNonObservableData(nonObservableIds, marketDataConfig, marketData, refData);
+      if (!nonObservableIds.isEmpty()) {
+        // The data built so far is only put into a market environment when there is data that needs it.
+        // Levels containing only observable or supplied data are added to the builder without a rebuild
+        MarketEnvironment marketData = dataBuilder.build();
+        Map<MarketDataId<?>, Result<MarketDataBox<?>>> nonObservableResults =
+            buildNonObservableData(nonObservableIds, marketDataConfig, marketData, refData, level);
 
-      MapStream.of(nonObservableResults).forEach((id, result) -> addResult(id, result, scenarioDefinition, dataBuilder));
+        MapStream.of(nonObservableResults)
+            .forEach((id, result) -> addResult(id, result, scenarioDefinition, dataBuilder));
+      }
 
       // Copy supplied data to the scenario data after applying perturbations
       leafRequirements.getNonObservables().stream()
@@ -215,13 +282,10 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
 
       // --------------------------------------------------------------------------------------------
 
-      // Put the data built so far into an object that will be used in the next phase of building data
-      builtData = dataBuilder.build();
-
       // A copy of the dependency tree not including the leaf nodes
       root = pair.getFirst();
     }
-    return builtData;
+    return dataBuilder.build();
   }
 
   /**
@@ -256,15 +320,54 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
     return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
   }
 
-  @SuppressWarnings("unchecked")
+  /**
+   * Builds the items of non-observable market data in a level of the dependency tree.
+   * <p>
+   * If this factory has an executor the items are built concurrently, otherwise they are built
+   * on the calling thread.
+   *
+   * @param ids  IDs of the market data that should be built
+   * @param marketDataConfig  configuration specifying how the market data should be built
+   * @param marketData  existing set of market data that contains any data required to build the values
+   * @param refData  the reference data, used to resolve trades
+   * @param level  the level of the dependency tree containing the market data
+   * @return results containing the market data or details of why it wasn't built, keyed by ID
+   */
   private Map<MarketDataId<?>, Result<MarketDataBox<?>>> buildNonObservableData(
       Set<? extends MarketDataId<?>> ids,
       MarketDataConfig marketDataConfig,
       MarketEnvironment marketData,
-      ReferenceData refData) {
+      ReferenceData refData,
+      int level) {
+
+    if (executor == null || ids.size() == 1) {
+      return ids.stream()
+          .collect(toImmutableMap(
+              id -> id,
+              id -> buildTimedNonObservableData(id, marketDataConfig, marketData, refData, level)));
+    }
+    // All futures are submitted before any are joined so the level is built concurrently
+    Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> futures = ids.stream()
+        .collect(toImmutableMap(
+            id -> id,
+            id -> CompletableFuture.supplyAsync(
+                () -> buildTimedNonObservableData(id, marketDataConfig, marketData, refData, level), executor)));
+    // Result.of() captures failures in the functions, join only throws if there is no function for an ID
+    return MapStream.of(futures).mapValues(Guavate::join).toMap();
+  }
+
+  // builds an item of non-observable market data, notifying the listener of the time taken
+  private Result<MarketDataBox<?>> buildTimedNonObservableData(
+      MarketDataId<?> id,
+      MarketDataConfig marketDataConfig,
+      MarketEnvironment marketData,
+      ReferenceData refData,
+      int level) {
 
-    return ids.stream()
-        .collect(toImmutableMap(id -> id, id -> buildNonObservableData(id, marketDataConfig, marketData, refData)));
+    long start = System.nanoTime();
+    Result<MarketDataBox<?>> result = buildNonObservableData(id, marketDataConfig, marketData, refData);
+    buildListener.nodeBuilt(id, level, Duration.ofNanos(System.nanoTime() - start), result.isSuccess());
+    return result;
   }
 
   /**
@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.time.Duration;
+
+import com.opengamma.strata.basics.market.MarketDataId;
+
+/**
+ * Receives notifications as items of non-observable market data are built by {@link DefaultMarketDataFactory}.
+ * <p>
+ * This can be used to monitor how long each node in the market data dependency tree takes to build,
+ * for example to find the curve groups that dominate the time taken to build a market environment.
+ * <p>
+ * Implementations must be thread-safe if the factory builds market data using an executor as
+ * notifications can be received from multiple threads concurrently.
+ */
+@FunctionalInterface
+public interface MarketDataBuildListener {
+
+  /**
+   * Returns a listener that ignores all notifications.
+   *
+   * @return a listener that ignores all notifications
+   */
+  public static MarketDataBuildListener none() {
+    return (id, level, buildTime, success) -> { };
+  }
+
+  /**
+   * Invoked when an item of non-observable market data has been built.
+   * <p>
+   * The level is the step in which the data was built, starting from zero for the leaves of the
+   * dependency tree. Data built in a level only depends on data built in earlier levels,
+   * so all data in the same level is independent.
+   *
+   * @param id  the ID of the market data that was built
+   * @param level  the level of the dependency tree containing the market data, starting from zero
+   * @param buildTime  the time taken to build the market data
+   * @param success  true if the market data was built successfully, false if the result was a failure
+   */
+  public abstract void nodeBuilt(MarketDataId<?> id, int level, Duration buildTime, boolean success);
+
+}
@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.calc.marketdata;
 
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
@@ -37,6 +40,7 @@ import com.opengamma.strata.calc.runner.NoMatchingRuleId;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.io.BeanSnapshot;
 import com.opengamma.strata.collect.result.Failure;
 import com.opengamma.strata.collect.result.FailureException;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -132,6 +136,21 @@ public final class MarketEnvironment implements ImmutableBean, CalculationEnviro
     return builder(valuationDate).build();
   }
 
+  /**
+   * Reads a market environment from a binary snapshot.
+   * <p>
+   * The snapshot is created by {@link #writeSnapshot(WritableByteChannel, boolean)}.
+   * See {@link BeanSnapshot} for details of the format.
+   *
+   * @param channel  the channel to read from, which is not closed
+   * @return the market environment
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the channel does not contain a snapshot
+   */
+  public static MarketEnvironment readSnapshot(ReadableByteChannel channel) {
+    return BeanSnapshot.read(channel, MarketEnvironment.class);
+  }
+
   //-------------------------------------------------------------------------
 
   @Override
@@ -265,6 +284,26 @@ public final class MarketEnvironment implements ImmutableBean, CalculationEnviro
     return new MarketEnvironment(valuationDate, mergedCount, values, timeSeries, ImmutableMap.of(), ImmutableMap.of());
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Writes this market environment as a binary snapshot.
+   * <p>
+   * The snapshot contains all the values, including scenario values, the time series and the failures.
+   * It can be read using {@link #readSnapshot}, allowing calibrated market data to be loaded
+   * without rebuilding it from the underlying quotes.
+   * All the IDs and values must be serializable using Joda-Beans.
+   * See {@link BeanSnapshot} for details of the format.
+   *
+   * @param channel  the channel to write to, which is not closed
+   * @param compressed  true to compress the snapshot
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the environment has no valuation date
+   */
+  public void writeSnapshot(WritableByteChannel channel, boolean compressed) {
+    ArgChecker.isFalse(valuationDate == MarketDataBox.<LocalDate>empty(), "Market environment has no valuation date");
+    BeanSnapshot.write(this, channel, compressed);
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
@@ -385,6 +385,17 @@ public final class MarketEnvironmentBuilder {
     return values.containsKey(id);
   }
 
+  /**
+   * Returns true if this builder contains a non-empty time series for the ID.
+   *
+   * @param id  an ID
+   * @return true if this builder contains a non-empty time series for the ID
+   */
+  public boolean containsTimeSeries(ObservableId id) {
+    LocalDateDoubleTimeSeries series = timeSeries.get(id);
+    return series != null && !series.isEmpty();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds a set of market data from the data in this builder.
@@ -0,0 +1,268 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata.function;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.market.ObservableId;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * A time-series provider backed by a memory-mapped binary file.
+ * <p>
+ * The file is written by {@link #write(Path, Map)} and opened by {@link #of(Path)}.
+ * When the file is opened, only the index of the file is read, the time-series themselves
+ * remain in the memory-mapped file and are read when requested.
+ * Each time-series is held as an array of epoch days and an array of values, thus a time-series
+ * is created by a bulk copy of the two arrays with no parsing.
+ * <p>
+ * A time-series is identified in the file by the standard identifier, field name and market data feed
+ * of the {@link ObservableId}. A time-series can be found using any ID with the same three values.
+ * <p>
+ * The file format is little-endian and consists of:
+ * <ul>
+ * <li>the magic number and format version
+ * <li>the number of time-series
+ * <li>for each time-series, the identifier, field name and feed as UTF-8 strings,
+ *  followed by the number of points and the offset of the points in the file
+ * <li>for each time-series, the points as an array of int epoch days followed by an array of double values
+ * </ul>
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class BinaryTimeSeriesProvider implements TimeSeriesProvider {
+
+  /**
+   * The magic number at the start of the file.
+   */
+  private static final int MAGIC = 0x4F475453;
+  /**
+   * The version of the file format.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * The memory-mapped file.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The location of each time-series in the file, keyed by the ID fields.
+   */
+  private final ImmutableMap<ImmutableList<String>, SeriesLocation> locations;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes the time-series to a file in the binary format.
+   * <p>
+   * Any existing file is replaced.
+   *
+   * @param file  the file to write
+   * @param timeSeries  the time-series to write, keyed by ID
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if two IDs have the same identifier, field name and feed
+   */
+  public static void write(Path file, Map<? extends ObservableId, LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.notNull(timeSeries, "timeSeries");
+    List<byte[][]> keys = new ArrayList<>(timeSeries.size());
+    List<LocalDateDoubleTimeSeries> series = new ArrayList<>(timeSeries.size());
+    ImmutableMap.Builder<ImmutableList<String>, ObservableId> uniqueKeys = ImmutableMap.builder();
+    int headerSize = 12;
+    for (Map.Entry<? extends ObservableId, LocalDateDoubleTimeSeries> entry : timeSeries.entrySet()) {
+      ImmutableList<String> key = key(entry.getKey());
+      uniqueKeys.put(key, entry.getKey());
+      byte[][] keyBytes = key.stream()
+          .map(str -> str.getBytes(StandardCharsets.UTF_8))
+          .toArray(byte[][]::new);
+      for (byte[] bytes : keyBytes) {
+        headerSize += 4 + bytes.length;
+      }
+      headerSize += 12;
+      keys.add(keyBytes);
+      series.add(entry.getValue());
+    }
+    uniqueKeys.build();  // checks for duplicate keys
+
+    try (FileChannel channel = FileChannel.open(
+        file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer header = ByteBuffer.allocate(headerSize).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MAGIC);
+      header.putInt(VERSION);
+      header.putInt(series.size());
+      long offset = headerSize;
+      for (int i = 0; i < series.size(); i++) {
+        for (byte[] bytes : keys.get(i)) {
+          header.putInt(bytes.length);
+          header.put(bytes);
+        }
+        int size = series.get(i).size();
+        header.putInt(size);
+        header.putLong(offset);
+        offset += 12L * size;
+      }
+      header.flip();
+      writeFully(channel, header);
+      for (LocalDateDoubleTimeSeries ts : series) {
+        ByteBuffer points = ByteBuffer.allocate(12 * ts.size()).order(ByteOrder.LITTLE_ENDIAN);
+        ts.dates().forEach(date -> points.putInt((int) date.toEpochDay()));
+        ts.values().forEach(points::putDouble);
+        points.flip();
+        writeFully(channel, points);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // writes the whole buffer to the channel
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens a file in the binary format, returning a provider of the time-series in the file.
+   * <p>
+   * The file is memory-mapped, and only the index of the time-series is read.
+   * The file must not be modified while the provider is in use.
+   *
+   * @param file  the file to open
+   * @return the time-series provider
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file is not in the binary format
+   */
+  public static BinaryTimeSeriesProvider of(Path file) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long fileSize = channel.size();
+      ArgChecker.isTrue(fileSize <= Integer.MAX_VALUE, "File is too large to be memory-mapped: {}", file);
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize).order(ByteOrder.LITTLE_ENDIAN);
+      return new BinaryTimeSeriesProvider(buffer, file);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // restricted constructor
+  private BinaryTimeSeriesProvider(ByteBuffer buffer, Path file) {
+    ArgChecker.isTrue(buffer.remaining() >= 12 && buffer.getInt(0) == MAGIC,
+        "File is not a binary time-series file: {}", file);
+    ArgChecker.isTrue(buffer.getInt(4) == VERSION,
+        "Unsupported binary time-series file version {}: {}", buffer.getInt(4), file);
+    ByteBuffer header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    header.position(8);
+    int count = header.getInt();
+    ImmutableMap.Builder<ImmutableList<String>, SeriesLocation> builder = ImmutableMap.builder();
+    for (int i = 0; i < count; i++) {
+      ImmutableList<String> key =
+          ImmutableList.of(readString(header, file), readString(header, file), readString(header, file));
+      checkTruncated(header.remaining() >= 12, file);
+      int size = header.getInt();
+      long offset = header.getLong();
+      checkTruncated(size >= 0 && offset >= 0 && offset + 12L * size <= buffer.limit(), file);
+      builder.put(key, new SeriesLocation((int) offset, size));
+    }
+    this.buffer = buffer;
+    this.locations = builder.build();
+  }
+
+  // reads a UTF-8 string preceded by its length
+  private static String readString(ByteBuffer header, Path file) {
+    checkTruncated(header.remaining() >= 4, file);
+    int length = header.getInt();
+    checkTruncated(length >= 0 && length <= header.remaining(), file);
+    byte[] bytes = new byte[length];
+    header.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  // checks that the header can be read, the file is truncated or corrupt if not
+  private static void checkTruncated(boolean valid, Path file) {
+    ArgChecker.isTrue(valid, "Binary time-series file is truncated: {}", file);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of time-series in the file.
+   *
+   * @return the number of time-series
+   */
+  public int size() {
+    return locations.size();
+  }
+
+  /**
+   * Checks if the file contains a time-series for the specified ID.
+   *
+   * @param id  the ID of the market data in the time series
+   * @return true if there is a time-series for the ID
+   */
+  public boolean contains(ObservableId id) {
+    return locations.containsKey(key(id));
+  }
+
+  @Override
+  public Result<LocalDateDoubleTimeSeries> timeSeries(ObservableId id) {
+    SeriesLocation location = locations.get(key(id));
+    if (location == null) {
+      return Result.failure(FailureReason.MISSING_DATA, "No time-series found in file for ID {}", id);
+    }
+    int[] epochDays = new int[location.size];
+    double[] values = new double[location.size];
+    ByteBuffer points = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    points.position(location.offset);
+    points.asIntBuffer().get(epochDays);
+    points.position(location.offset + 4 * location.size);
+    points.asDoubleBuffer().get(values);
+    return Result.success(LocalDateDoubleTimeSeries.ofEpochDays(epochDays, values));
+  }
+
+  // the key of a time-series in the file
+  private static ImmutableList<String> key(ObservableId id) {
+    return ImmutableList.of(
+        id.getStandardId().toString(),
+        id.getFieldName().toString(),
+        id.getMarketDataFeed().toString());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "BinaryTimeSeriesProvider[" + locations.size() + " time-series]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The location of a time-series in the file.
+   */
+  private static final class SeriesLocation {
+    private final int offset;
+    private final int size;
+
+    private SeriesLocation(int offset, int size) {
+      this.offset = offset;
+      this.size = size;
+    }
+  }
+
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics describing the progress of the calculation tasks run by a batched calculation task runner.
+ * <p>
+ * An instance is passed to {@link CalculationTaskRunner#ofBatched(java.util.concurrent.ForkJoinPool, int,
+ * CalculationTaskMetrics)} and is updated as batches of tasks are submitted, started and completed.
+ * The values are cumulative across all calculations performed by the runner.
+ * <p>
+ * This class is mutable and thread-safe.
+ */
+public final class CalculationTaskMetrics {
+
+  /** The number of tasks submitted. */
+  private final AtomicLong tasksSubmitted = new AtomicLong();
+  /** The number of tasks completed. */
+  private final AtomicLong tasksCompleted = new AtomicLong();
+  /** The number of batches submitted. */
+  private final AtomicLong batchesSubmitted = new AtomicLong();
+  /** The number of batches that have started running. */
+  private final AtomicLong batchesStarted = new AtomicLong();
+  /** The number of batches completed. */
+  private final AtomicLong batchesCompleted = new AtomicLong();
+  /** The time of the first submission, in nanoseconds, zero if nothing has been submitted. */
+  private final AtomicLong firstSubmittedNanos = new AtomicLong();
+  /** The time of the last completion, in nanoseconds, zero if nothing has completed. */
+  private volatile long lastCompletedNanos;
+
+  /**
+   * Creates an instance with all metrics set to zero.
+   */
+  public CalculationTaskMetrics() {
+  }
+
+  //-------------------------------------------------------------------------
+  // records the submission of a batch of tasks
+  void batchSubmitted(int taskCount) {
+    firstSubmittedNanos.compareAndSet(0, System.nanoTime());
+    tasksSubmitted.addAndGet(taskCount);
+    batchesSubmitted.incrementAndGet();
+  }
+
+  // records that a batch of tasks has started running
+  void batchStarted() {
+    batchesStarted.incrementAndGet();
+  }
+
+  // records the completion of a batch of tasks
+  void batchCompleted(int taskCount) {
+    tasksCompleted.addAndGet(taskCount);
+    batchesCompleted.incrementAndGet();
+    lastCompletedNanos = System.nanoTime();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of tasks submitted to the runner.
+   *
+   * @return the number of tasks submitted
+   */
+  public long getTasksSubmitted() {
+    return tasksSubmitted.get();
+  }
+
+  /**
+   * Gets the number of tasks completed by the runner.
+   *
+   * @return the number of tasks completed
+   */
+  public long getTasksCompleted() {
+    return tasksCompleted.get();
+  }
+
+  /**
+   * Gets the number of batches submitted to the runner.
+   *
+   * @return the number of batches submitted
+   */
+  public long getBatchesSubmitted() {
+    return batchesSubmitted.get();
+  }
+
+  /**
+   * Gets the number of batches completed by the runner.
+   *
+   * @return the number of batches completed
+   */
+  public long getBatchesCompleted() {
+    return batchesCompleted.get();
+  }
+
+  /**
+   * Gets the queue depth, which is the number of batches submitted that have not yet started running.
+   *
+   * @return the number of batches waiting to run
+   */
+  public long getQueueDepth() {
+    return batchesSubmitted.get() - batchesStarted.get();
+  }
+
+  /**
+   * Gets the throughput, which is the number of tasks completed per second.
+   * <p>
+   * This is measured from the time the first batch was submitted to the time the latest batch completed.
+   *
+   * @return the number of tasks completed per second, zero if no tasks have completed
+   */
+  public double getThroughput() {
+    long completed = tasksCompleted.get();
+    long elapsedNanos = lastCompletedNanos - firstSubmittedNanos.get();
+    if (completed == 0 || elapsedNanos <= 0) {
+      return 0d;
+    }
+    return completed * 1e9 / elapsedNanos;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CalculationTaskMetrics[tasksSubmitted=" + getTasksSubmitted() + ", tasksCompleted=" + getTasksCompleted() +
+        ", queueDepth=" + getQueueDepth() + ", throughput=" + getThroughput() + "]";
+  }
+
+}
@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.runner;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.market.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
@@ -78,6 +79,47 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a multi-threaded calculation task runner that runs the tasks in batches.
+   * <p>
+   * The tasks are grouped by function type into batches, which are run using a fork-join pool
+   * with work stealing. The results of each batch are delivered to the listener together.
+   * This reduces the scheduling overhead when there are a large number of inexpensive tasks.
+   * <p>
+   * This factory creates a fork-join pool basing the number of threads on the number of available processors.
+   * It is recommended to use try-with-resources to manage the runner.
+   * 
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofBatched() {
+    return DefaultCalculationTaskRunner.ofBatched();
+  }
+
+  /**
+   * Creates a calculation task runner that runs the tasks in batches, specifying the fork-join pool.
+   * <p>
+   * The tasks are grouped by function type into batches, which are run using the fork-join pool
+   * with work stealing. The results of each batch are delivered to the listener together.
+   * <p>
+   * The weight of a task is the number of cells it calculates, and the total weight of
+   * the tasks in a batch will not exceed the maximum unless a single task exceeds it.
+   * The metrics are updated as the batches are run, providing the throughput and queue depth.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * 
+   * @param pool  the fork-join pool to use
+   * @param maxBatchWeight  the maximum weight of a batch of tasks
+   * @param metrics  the metrics to update as tasks are run
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofBatched(
+      ForkJoinPool pool,
+      int maxBatchWeight,
+      CalculationTaskMetrics metrics) {
+
+    return DefaultCalculationTaskRunner.ofBatched(pool, maxBatchWeight, metrics);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -6,13 +6,21 @@
 package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -32,14 +40,33 @@ import com.opengamma.strata.collect.result.Result;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * <p>
+ * By default each task is submitted to the executor individually.
+ * In batched mode the tasks are grouped by function type into batches of limited total weight,
+ * with the batches run on a {@link ForkJoinPool} using work stealing.
+ * The results of each batch are delivered to the listener together.
  */
 class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
+  /**
+   * The default maximum weight of a batch of tasks.
+   */
+  static final int DEFAULT_MAX_BATCH_WEIGHT = 64;
+
   /**
    * Executes the tasks that perform the individual calculations.
    * This will typically be multi-threaded, but single or direct executors also work.
+   * In batched mode this is a {@link ForkJoinPool}.
    */
   private final ExecutorService executor;
+  /**
+   * The maximum weight of a batch of tasks, zero if tasks are not batched.
+   */
+  private final int maxBatchWeight;
+  /**
+   * The metrics updated as batches are run, null if tasks are not batched.
+   */
+  private final CalculationTaskMetrics metrics;
 
   //-------------------------------------------------------------------------
   /**
@@ -71,6 +98,35 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return new DefaultCalculationTaskRunner(executor);
   }
 
+  /**
+   * Creates a multi-threaded calculation task runner that runs the tasks in batches.
+   * <p>
+   * This factory creates a fork-join pool basing the number of threads on the number of available processors.
+   * 
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofBatched() {
+    ForkJoinPool pool = createForkJoinPool(Runtime.getRuntime().availableProcessors());
+    return new DefaultCalculationTaskRunner(pool, DEFAULT_MAX_BATCH_WEIGHT, new CalculationTaskMetrics());
+  }
+
+  /**
+   * Creates a calculation task runner that runs the tasks in batches, specifying the fork-join pool.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * 
+   * @param pool  the fork-join pool to use
+   * @param maxBatchWeight  the maximum weight of a batch of tasks
+   * @param metrics  the metrics to update as tasks are run
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofBatched(ForkJoinPool pool, int maxBatchWeight, CalculationTaskMetrics metrics) {
+    ArgChecker.notNull(pool, "pool");
+    ArgChecker.notNegativeOrZero(maxBatchWeight, "maxBatchWeight");
+    ArgChecker.notNull(metrics, "metrics");
+    return new DefaultCalculationTaskRunner(pool, maxBatchWeight, metrics);
+  }
+
   // create an executor with daemon threads
   private static ExecutorService createExecutor(int threads) {
     int effectiveThreads = (threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads);
@@ -83,6 +139,16 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return Executors.newFixedThreadPool(effectiveThreads, threadFactory);
   }
 
+  // create a fork-join pool, which has daemon threads
+  private static ForkJoinPool createForkJoinPool(int threads) {
+    ForkJoinWorkerThreadFactory threadFactory = pool -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      t.setName("CalculationTaskRunner-" + t.getName());
+      return t;
+    };
+    return new ForkJoinPool(threads, threadFactory, null, false);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the executor to use.
@@ -91,6 +157,21 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    */
   private DefaultCalculationTaskRunner(ExecutorService executor) {
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.maxBatchWeight = 0;
+    this.metrics = null;
+  }
+
+  /**
+   * Creates an instance that runs the tasks in batches.
+   * 
+   * @param pool  the fork-join pool that is used to perform the calculations
+   * @param maxBatchWeight  the maximum weight of a batch of tasks
+   * @param metrics  the metrics to update as tasks are run
+   */
+  private DefaultCalculationTaskRunner(ForkJoinPool pool, int maxBatchWeight, CalculationTaskMetrics metrics) {
+    this.executor = pool;
+    this.maxBatchWeight = maxBatchWeight;
+    this.metrics = metrics;
   }
 
   //-------------------------------------------------------------------------
@@ -175,9 +256,16 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     // the listener is invoked via this wrapper
     // the wrapper ensures thread-safety for the listener
     // it also calls the listener with single CalculationResult cells, not CalculationResults
-    Consumer<CalculationResults> consumer = new ListenerWrapper(listener, taskList.size());
-    // run each task using the executor
-    taskList.stream().forEach(task -> runTask(task, marketData, refData, consumer));
+    ListenerWrapper consumer = new ListenerWrapper(listener, taskList.size());
+    if (maxBatchWeight > 0) {
+      // run the tasks in batches using the fork-join pool
+      List<List<CalculationTask>> batches = createBatches(taskList);
+      batches.forEach(batch -> metrics.batchSubmitted(batch.size()));
+      executor.execute(new BatchAction(batches, 0, batches.size(), marketData, refData, consumer, metrics));
+    } else {
+      // run each task using the executor
+      taskList.stream().forEach(task -> runTask(task, marketData, refData, consumer));
+    }
   }
 
   // submits a task to the executor to be run
@@ -193,12 +281,112 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
   }
 
+  // groups the tasks by function type, splitting each group into batches of limited total weight
+  // tasks using the same function are run together to make best use of the CPU caches
+  private List<List<CalculationTask>> createBatches(List<CalculationTask> tasks) {
+    Map<Class<?>, List<CalculationTask>> tasksByFunction = tasks.stream()
+        .collect(groupingBy(task -> task.getFunction().getClass(), LinkedHashMap::new, toList()));
+    List<List<CalculationTask>> batches = new ArrayList<>();
+    for (List<CalculationTask> functionTasks : tasksByFunction.values()) {
+      List<CalculationTask> batch = new ArrayList<>();
+      int batchWeight = 0;
+      for (CalculationTask task : functionTasks) {
+        int weight = taskWeight(task);
+        if (!batch.isEmpty() && batchWeight + weight > maxBatchWeight) {
+          batches.add(batch);
+          batch = new ArrayList<>();
+          batchWeight = 0;
+        }
+        batch.add(task);
+        batchWeight += weight;
+      }
+      if (!batch.isEmpty()) {
+        batches.add(batch);
+      }
+    }
+    return batches;
+  }
+
+  // the relative cost of a task, which is the number of cells it calculates
+  private static int taskWeight(CalculationTask task) {
+    return Math.max(task.getCells().size(), 1);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public void close() {
     executor.shutdown();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Fork-join action that runs a range of batches of tasks.
+   * <p>
+   * The range is split in half until a single batch remains, allowing idle threads to steal work.
+   * The results of each batch are delivered to the listener together.
+   */
+  private static final class BatchAction extends RecursiveAction {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /** The batches of tasks. */
+    private final List<List<CalculationTask>> batches;
+    /** The index of the first batch to run, inclusive. */
+    private final int start;
+    /** The index of the last batch to run, exclusive. */
+    private final int end;
+    /** The market data used in the calculations. */
+    private final transient CalculationEnvironment marketData;
+    /** The reference data used in the calculations. */
+    private final transient ReferenceData refData;
+    /** The consumer that delivers the results to the listener. */
+    private final transient ListenerWrapper consumer;
+    /** The metrics to update. */
+    private final transient CalculationTaskMetrics metrics;
+
+    private BatchAction(
+        List<List<CalculationTask>> batches,
+        int start,
+        int end,
+        CalculationEnvironment marketData,
+        ReferenceData refData,
+        ListenerWrapper consumer,
+        CalculationTaskMetrics metrics) {
+
+      this.batches = batches;
+      this.start = start;
+      this.end = end;
+      this.marketData = marketData;
+      this.refData = refData;
+      this.consumer = consumer;
+      this.metrics = metrics;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start == 1) {
+        runBatch(batches.get(start));
+      } else if (end - start > 1) {
+        int mid = (start + end) >>> 1;
+        invokeAll(
+            new BatchAction(batches, start, mid, marketData, refData, consumer, metrics),
+            new BatchAction(batches, mid, end, marketData, refData, consumer, metrics));
+      }
+    }
+
+    // runs the tasks in the batch, delivering all the results to the listener at the end
+    private void runBatch(List<CalculationTask> batch) {
+      metrics.batchStarted();
+      List<CalculationResults> results = new ArrayList<>(batch.size());
+      for (CalculationTask task : batch) {
+        results.add(task.execute(marketData, refData));
+      }
+      metrics.batchCompleted(batch.size());
+      consumer.acceptAll(results);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculation listener that receives the results of individual calculations
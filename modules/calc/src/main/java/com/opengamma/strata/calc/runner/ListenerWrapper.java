@@ -6,6 +6,7 @@
 package com.opengamma.strata.calc.runner;
 
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -14,6 +15,7 @@ import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.ArgChecker;
 
 /**
@@ -34,8 +36,8 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
   /** The wrapped listener. */
   private final CalculationListener listener;
 
-  /** Queue of actions to perform on the delegate. */
-  private final Queue<CalculationResults> queue = new LinkedList<>();
+  /** Queue of actions to perform on the delegate, each element being a batch of results. */
+  private final Queue<List<CalculationResults>> queue = new LinkedList<>();
 
   /** Protects the queue and the executing flag. */
   private final Lock lock = new ReentrantLock();
@@ -91,42 +93,57 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
    */
   @Override
   public void accept(CalculationResults result) {
+    acceptAll(ImmutableList.of(result));
+  }
+
+  /**
+   * Accepts a batch of calculation results and delivers them to the listener.
+   * <p>
+   * This behaves as per {@link #accept(CalculationResults)}, but only acquires the lock
+   * once for the whole batch, rather than once for each result.
+   *
+   * @param results the results of a batch of calculations, not empty
+   */
+  void acceptAll(List<CalculationResults> results) {
     // This is mutated while protected by the lock and accessed while not protected.
     // This is safe because the executing flag ensures the thread that accesses the
     // variable while unlocked is the same thread that set its value while guarded by the lock.
-    CalculationResults nextResult;
+    List<CalculationResults> nextResults;
 
     lock.lock();
     try {
       if (executing) {
-        // Another thread is already invoking the listener. Add the result to
+        // Another thread is already invoking the listener. Add the results to
         // the queue and return. The other thread will ensure the queued results
         // are delivered.
-        queue.add(result);
+        queue.add(results);
         return;
       } else {
         // There is no thread invoking the listener. Set the executing flag to
         // ensure no other thread passes this point and invoke the listener.
         executing = true;
-        nextResult = result;
+        nextResults = results;
       }
     } finally {
       lock.unlock();
     }
-    // Loop until the nextResult and all the results from the queue have been delivered
+    // Loop until the nextResults and all the results from the queue have been delivered
     for (;;) {
-      try {
-        // Invoke the listener while not protected by the lock. This allows other threads
-        // to queue results while this thread is delivering them to the listener.
-        for (CalculationResult cell : nextResult.getCells()) {
-          listener.resultReceived(nextResult.getTarget(), cell);
+      for (CalculationResults nextResult : nextResults) {
+        try {
+          // Invoke the listener while not protected by the lock. This allows other threads
+          // to queue results while this thread is delivering them to the listener.
+          for (CalculationResult cell : nextResult.getCells()) {
+            listener.resultReceived(nextResult.getTarget(), cell);
+          }
+        } catch (RuntimeException e) {
+          log.warn("Exception invoking listener.resultReceived", e);
         }
-      } catch (RuntimeException e) {
-        log.warn("Exception invoking listener.resultReceived", e);
       }
       lock.lock();
       try {
-        if (++tasksReceived == tasksExpected) {
+        tasksReceived += nextResults.size();
+        if (tasksReceived == tasksExpected) {
           // The expected number of results have been received. Set the complete
           // flag to trigger a call to listener.calculationsComplete after unlocking
           complete = true;
@@ -138,9 +155,9 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
           break;
         } else {
           // There are results on the queue. This means another thread called accept(),
-          // added a result to the queue and returned while this thread was invoking the listener.
+          // added results to the queue and returned while this thread was invoking the listener.
           // This thread must deliver the results from the queue.
-          nextResult = queue.remove();
+          nextResults = queue.remove();
         }
       } finally {
         lock.unlock();
@@ -0,0 +1,243 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.Map;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.market.ReferenceData;
+import com.opengamma.strata.basics.market.Resolvable;
+import com.opengamma.strata.calc.config.Measure;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A cache of resolved targets, such as resolved trades, shared between calculations.
+ * <p>
+ * Calculation functions typically resolve each trade against the reference data before pricing.
+ * Resolution expands the trade, generating schedules and adjusting dates using holiday calendars,
+ * and is repeated on every calculation run even if the trade and reference data have not changed.
+ * This cache allows the resolved form to be reused across calculation runs.
+ * <p>
+ * The cache is a {@link CalculationParameter}, thus it is added to the calculation rules
+ * and applies to all targets and measures. Calculation functions obtain the resolved form
+ * using {@link #resolve(Resolvable, CalculationParameters, ReferenceData)}.
+ * <p>
+ * Entries are keyed by the target and by the reference data used to resolve it. Targets, such as trades,
+ * are immutable with value-based equality, thus the key covers the trade identifier and every field
+ * that can change between versions of the trade. The reference data is represented in the key by
+ * a fingerprint shared by all equal instances of reference data, thus runs using different
+ * reference data can share the cache without discarding each other's entries.
+ * <p>
+ * The cache has a maximum size, with the least recently used entries evicted first.
+ * <p>
+ * This class is mutable and thread-safe.
+ */
+public final class ResolutionCache
+    implements CalculationParameter {
+
+  /**
+   * The resolved targets, keyed by the target and the reference data fingerprint.
+   */
+  private final Cache<Key, Object> cache;
+  /**
+   * The reference data fingerprints, keyed by the identity of the reference data.
+   * The keys are weak, so that reference data that is no longer used can be garbage collected.
+   */
+  private final Cache<ReferenceData, Integer> fingerprints = CacheBuilder.newBuilder().weakKeys().build();
+  /**
+   * The next reference data fingerprint.
+   */
+  private int nextFingerprint;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the specified maximum number of entries.
+   *
+   * @param maximumSize  the maximum number of resolved targets to hold
+   * @return the cache
+   */
+  public static ResolutionCache of(int maximumSize) {
+    ArgChecker.notNegativeOrZero(maximumSize, "maximumSize");
+    return new ResolutionCache(maximumSize);
+  }
+
+  // restricted constructor
+  private ResolutionCache(int maximumSize) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the target, using the cache if it is available in the parameters.
+   * <p>
+   * If the parameters contain a {@code ResolutionCache}, it is used to resolve the target.
+   * Otherwise the target is resolved directly.
+   *
+   * @param <T>  the type of the resolved target
+   * @param target  the target to resolve
+   * @param parameters  the calculation parameters
+   * @param refData  the reference data to use when resolving
+   * @return the resolved target
+   */
+  public static <T> T resolve(Resolvable<T> target, CalculationParameters parameters, ReferenceData refData) {
+    return parameters.findParameter(ResolutionCache.class)
+        .map(cache -> cache.resolve(target, refData))
+        .orElseGet(() -> target.resolve(refData));
+  }
+
+  /**
+   * Resolves the target, returning the cached resolved form if available.
+   * <p>
+   * The cached resolved form is only returned if it was resolved with reference data
+   * equal to the specified reference data.
+   *
+   * @param <T>  the type of the resolved target
+   * @param target  the target to resolve
+   * @param refData  the reference data to use when resolving
+   * @return the resolved target
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T resolve(Resolvable<T> target, ReferenceData refData) {
+    ArgChecker.notNull(target, "target");
+    ArgChecker.notNull(refData, "refData");
+    Key key = new Key(target, fingerprint(refData));
+    Object cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return (T) cached;
+    }
+    // two threads may resolve the same target concurrently, which is harmless as resolution has no side effects
+    T resolved = target.resolve(refData);
+    cache.put(key, resolved);
+    return resolved;
+  }
+
+  // finds the fingerprint of the reference data, equal reference data having the same fingerprint
+  // the equality check only occurs when a different instance of reference data is seen
+  private int fingerprint(ReferenceData refData) {
+    Integer fingerprint = fingerprints.getIfPresent(refData);
+    return fingerprint != null ? fingerprint : registerFingerprint(refData);
+  }
+
+  private synchronized int registerFingerprint(ReferenceData refData) {
+    Integer fingerprint = fingerprints.getIfPresent(refData);
+    if (fingerprint != null) {
+      return fingerprint;
+    }
+    for (Map.Entry<ReferenceData, Integer> entry : fingerprints.asMap().entrySet()) {
+      if (entry.getKey().equals(refData)) {
+        fingerprints.put(refData, entry.getValue());
+        return entry.getValue();
+      }
+    }
+    int created = nextFingerprint++;
+    fingerprints.put(refData, created);
+    return created;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of resolved targets in the cache.
+   *
+   * @return the number of entries
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Gets the number of times a resolved target was found in the cache.
+   *
+   * @return the number of cache hits
+   */
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  /**
+   * Gets the number of times a target had to be resolved.
+   *
+   * @return the number of cache misses
+   */
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  /**
+   * Gets the number of resolved targets evicted from the cache due to its size.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  /**
+   * Gets the hit rate, which is the proportion of requests that were found in the cache.
+   *
+   * @return the hit rate, from 0 to 1, one if there have been no requests
+   */
+  public double getHitRate() {
+    return cache.stats().hitRate();
+  }
+
+  /**
+   * Discards all the resolved targets in the cache.
+   * <p>
+   * The statistics are not reset.
+   */
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean appliesTo(CalculationTarget target, Measure measure) {
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    CacheStats stats = cache.stats();
+    return "ResolutionCache[size=" + cache.size() + ", hitCount=" + stats.hitCount() +
+        ", missCount=" + stats.missCount() + ", hitRate=" + stats.hitRate() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  // the key of a resolved target
+  private static final class Key {
+    private final Resolvable<?> target;
+    private final int fingerprint;
+
+    private Key(Resolvable<?> target, int fingerprint) {
+      this.target = target;
+      this.fingerprint = fingerprint;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof Key) {
+        Key other = (Key) obj;
+        return fingerprint == other.fingerprint && target.equals(other.target);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return target.hashCode() * 31 + fingerprint;
+    }
+  }
+
+}
@@ -14,6 +14,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -360,6 +363,68 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketDataB2.getSingleValue()).isEqualTo(expectedB2);
   }
 
+  /**
+   * Tests building market data that depends on other market data using an executor, checking the
+   * build listener is notified of each item built.
+   */
+  public void buildDataFromOtherDataUsingExecutor() {
+    TestMarketDataFunctionB builderB = new TestMarketDataFunctionB();
+    TestMarketDataFunctionC builderC = new TestMarketDataFunctionC();
+
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 =
+        LocalDateDoubleTimeSeries.builder()
+            .put(date(2011, 3, 8), 1)
+            .put(date(2011, 3, 9), 2)
+            .build();
+
+    LocalDateDoubleTimeSeries timeSeries2 =
+        LocalDateDoubleTimeSeries.builder()
+            .put(date(2011, 3, 8), 10)
+            .put(date(2011, 3, 9), 20)
+            .build();
+
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap =
+        ImmutableMap.of(
+            new TestIdA("1"), timeSeries1,
+            new TestIdA("2"), timeSeries2);
+
+    Map<MarketDataId<?>, Integer> builtLevels = new ConcurrentHashMap<>();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      DefaultMarketDataFactory factory =
+          new DefaultMarketDataFactory(
+              new TestTimeSeriesProvider(timeSeriesMap),
+              new TestObservableMarketDataFunction(),
+              FeedIdMapping.identity(),
+              builderB,
+              builderC)
+              .withExecutor(executor)
+              .withBuildListener((id, level, buildTime, success) -> builtLevels.put(id, level));
+
+      MarketEnvironment suppliedData = MarketEnvironment.builder(date(2011, 3, 8)).build();
+      MarketEnvironment marketData = factory.buildMarketData(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getTimeSeriesFailures()).isEmpty();
+
+      TestMarketDataB expectedB1 = new TestMarketDataB(1, new TestMarketDataC(timeSeries1));
+      TestMarketDataB expectedB2 = new TestMarketDataB(2, new TestMarketDataC(timeSeries2));
+      assertThat(marketData.getValue(new TestIdB("1")).getSingleValue()).isEqualTo(expectedB1);
+      assertThat(marketData.getValue(new TestIdB("2")).getSingleValue()).isEqualTo(expectedB2);
+    } finally {
+      executor.shutdown();
+    }
+    // C depends on a time series so it is built first, B depends on C
+    assertThat(builtLevels).containsEntry(new TestIdC("1"), 1);
+    assertThat(builtLevels).containsEntry(new TestIdC("2"), 1);
+    assertThat(builtLevels).containsEntry(new TestIdB("1"), 2);
+    assertThat(builtLevels).containsEntry(new TestIdB("2"), 2);
+  }
+
   /**
    * Tests building market data that depends on other market data that is supplied by the user.
    *
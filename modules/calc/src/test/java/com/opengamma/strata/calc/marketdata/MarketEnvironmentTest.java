@@ -10,11 +10,15 @@ import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
 import java.time.LocalDate;
 import java.util.Objects;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.basics.market.FieldName;
@@ -221,6 +225,34 @@ public class MarketEnvironmentTest {
     assertThat(rate.fxRate(Currency.GBP, Currency.GBP)).isEqualTo(1d);
   }
 
+  public void snapshot() {
+    FxRateId gbpUsd = FxRateId.of(Currency.GBP, Currency.USD);
+    FxRateId eurUsd = FxRateId.of(Currency.EUR, Currency.USD);
+    FxRateId usdJpy = FxRateId.of(Currency.USD, Currency.JPY);
+    MarketEnvironment marketData = MarketEnvironment.builder(date(2011, 3, 8))
+        .addValue(gbpUsd, FxRate.of(Currency.GBP, Currency.USD, 1.4d))
+        .addValue(eurUsd, ImmutableList.of(
+            FxRate.of(Currency.EUR, Currency.USD, 1.1d),
+            FxRate.of(Currency.EUR, Currency.USD, 1.2d)))
+        .addResult(usdJpy, Result.failure(FailureReason.MISSING_DATA, "No rate"))
+        .build();
+    for (boolean compressed : new boolean[] {false, true}) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      marketData.writeSnapshot(Channels.newChannel(out), compressed);
+      MarketEnvironment test =
+          MarketEnvironment.readSnapshot(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+      assertThat(test).isEqualTo(marketData);
+      assertThat(test.getScenarioCount()).isEqualTo(2);
+      assertThat(test.getValue(eurUsd).getValue(1)).isEqualTo(FxRate.of(Currency.EUR, Currency.USD, 1.2d));
+      assertThrows(() -> test.getValue(usdJpy), FailureException.class, "No rate");
+    }
+  }
+
+  public void snapshotNoValuationDate() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThrowsIllegalArg(() -> MarketEnvironment.empty().writeSnapshot(Channels.newChannel(out), false));
+  }
+
   //-------------------------------------------------------------------------
   private static final class TestId implements ObservableId {
 
@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata.function;
+
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.market.MarketDataFeed;
+import com.opengamma.strata.basics.market.FieldName;
+import com.opengamma.strata.basics.market.ObservableId;
+import com.opengamma.strata.basics.market.ObservableKey;
+import com.opengamma.strata.basics.market.StandardId;
+import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Test {@link BinaryTimeSeriesProvider}.
+ */
+@Test
+public class BinaryTimeSeriesProviderTest {
+
+  private static final MarketDataFeed VENDOR = MarketDataFeed.of("RealVendor");
+  private static final TestObservableId ID1 = new TestObservableId("1", VENDOR);
+  private static final TestObservableId ID2 = new TestObservableId("2", VENDOR);
+  private static final TestObservableId ID3 = new TestObservableId("3", VENDOR);
+  private static final TestObservableId ID4 = new TestObservableId("4", VENDOR);
+  private static final LocalDateDoubleTimeSeries TS1 = dailySeries(date(2015, 1, 1), 300);
+  private static final LocalDateDoubleTimeSeries TS2 = LocalDateDoubleTimeSeries.builder()
+      .put(date(2013, 1, 1), 1.5d)
+      .put(date(2014, 1, 1), 2.5d)
+      .put(date(2015, 1, 1), 3.5d)
+      .build();
+  private static final Map<ObservableId, LocalDateDoubleTimeSeries> TIME_SERIES =
+      ImmutableMap.of(ID1, TS1, ID2, TS2, ID3, LocalDateDoubleTimeSeries.empty());
+
+  private Path file;
+
+  @BeforeClass
+  public void setUp() throws IOException {
+    file = Files.createTempFile("timeseries", ".bin");
+    BinaryTimeSeriesProvider.write(file, TIME_SERIES);
+  }
+
+  @AfterClass
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_timeSeries() {
+    BinaryTimeSeriesProvider test = BinaryTimeSeriesProvider.of(file);
+    assertThat(test.size()).isEqualTo(3);
+    assertThat(test.contains(ID1)).isTrue();
+    assertThat(test.contains(ID4)).isFalse();
+    assertThat(test.timeSeries(ID1)).hasValue(TS1);
+    assertThat(test.timeSeries(ID2)).hasValue(TS2);
+    assertThat(test.timeSeries(ID3)).hasValue(LocalDateDoubleTimeSeries.empty());
+    assertThat(test.toString()).isEqualTo("BinaryTimeSeriesProvider[3 time-series]");
+  }
+
+  public void test_timeSeries_equivalentId() {
+    BinaryTimeSeriesProvider test = BinaryTimeSeriesProvider.of(file);
+    ObservableId equivalent = equivalentId("1");
+    assertThat(test.timeSeries(equivalent)).hasValue(TS1);
+  }
+
+  public void test_timeSeries_missing() {
+    BinaryTimeSeriesProvider test = BinaryTimeSeriesProvider.of(file);
+    assertThat(test.timeSeries(ID4)).isFailure(FailureReason.MISSING_DATA);
+    assertThat(test.timeSeries(new TestObservableId("1", MarketDataFeed.NONE))).isFailure(FailureReason.MISSING_DATA);
+  }
+
+  public void test_write_duplicateKey() throws IOException {
+    Path other = Files.createTempFile("timeseries", ".bin");
+    try {
+      ObservableId equivalent = equivalentId("1");
+      Map<ObservableId, LocalDateDoubleTimeSeries> duplicate = ImmutableMap.of(ID1, TS1, equivalent, TS2);
+      assertThrowsIllegalArg(() -> BinaryTimeSeriesProvider.write(other, duplicate));
+    } finally {
+      Files.deleteIfExists(other);
+    }
+  }
+
+  public void test_of_notBinaryFile() throws IOException {
+    Path other = Files.createTempFile("timeseries", ".csv");
+    try {
+      Files.write(other, "Reference,Date,Value\n".getBytes(StandardCharsets.UTF_8));
+      assertThrowsIllegalArg(() -> BinaryTimeSeriesProvider.of(other));
+    } finally {
+      Files.deleteIfExists(other);
+    }
+  }
+
+  public void test_of_corruptHeader() throws IOException {
+    byte[] bytes = Files.readAllBytes(file);
+    // the length of the first string in the header follows the magic number, version and count
+    assertCorrupt(withInt(bytes, 12, Integer.MAX_VALUE));
+    assertCorrupt(withInt(bytes, 12, -1));
+    assertCorrupt(Arrays.copyOf(bytes, 14));
+    assertCorrupt(Arrays.copyOf(bytes, 20));
+  }
+
+  // checks that reading the bytes fails with an exception describing the file
+  private static void assertCorrupt(byte[] bytes) throws IOException {
+    Path other = Files.createTempFile("timeseries", ".bin");
+    try {
+      Files.write(other, bytes);
+      assertThrowsIllegalArg(() -> BinaryTimeSeriesProvider.of(other), "Binary time-series file is truncated: .*");
+    } finally {
+      Files.deleteIfExists(other);
+    }
+  }
+
+  // copies the bytes, replacing the int at the index
+  private static byte[] withInt(byte[] bytes, int index, int value) {
+    byte[] copy = bytes.clone();
+    ByteBuffer.wrap(copy).order(ByteOrder.LITTLE_ENDIAN).putInt(index, value);
+    return copy;
+  }
+
+  //-------------------------------------------------------------------------
+  // an ID of a different type with the same identifier, field name and feed
+  private static ObservableId equivalentId(String id) {
+    return new EquivalentId(new TestObservableId(id, VENDOR));
+  }
+
+  private static LocalDateDoubleTimeSeries dailySeries(LocalDate start, int days) {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int i = 0; i < days; i++) {
+      LocalDate date = start.plusDays(i);
+      if (date.getDayOfWeek().getValue() < 6) {
+        builder.put(date, 0.01d * i);
+      }
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  // an ID that is not equal to the underlying ID, but has the same identifier, field name and feed
+  private static final class EquivalentId implements ObservableId {
+    private final ObservableId underlying;
+
+    private EquivalentId(ObservableId underlying) {
+      this.underlying = underlying;
+    }
+
+    @Override
+    public StandardId getStandardId() {
+      return underlying.getStandardId();
+    }
+
+    @Override
+    public FieldName getFieldName() {
+      return underlying.getFieldName();
+    }
+
+    @Override
+    public MarketDataFeed getMarketDataFeed() {
+      return underlying.getMarketDataFeed();
+    }
+
+    @Override
+    public ObservableKey toMarketDataKey() {
+      return underlying.toMarketDataKey();
+    }
+  }
+
+}
@@ -10,10 +10,12 @@ import static com.opengamma.strata.calc.config.ReportingCurrency.NATURAL;
 import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.testng.annotations.Test;
 
@@ -127,6 +129,46 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(result2).hasValue(scenarioResult);
   }
 
+  /**
+   * Test that tasks run in batches deliver all the results and update the metrics.
+   */
+  public void calculateBatched() {
+    ScenarioResult<String> scenarioResult = ScenarioResult.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(Measures.PRESENT_VALUE, scenarioResult);
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int row = 0; row < 5; row++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(row, 0, Measures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, MarketDataMappings.empty(), cell));
+    }
+    Column column = Column.of(Measures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      CalculationTaskMetrics metrics = new CalculationTaskMetrics();
+      CalculationTaskRunner test = CalculationTaskRunner.ofBatched(pool, 2, metrics);
+
+      CalculationEnvironment marketData = MarketEnvironment.empty(VAL_DATE);
+      Results results = test.calculateSingleScenario(tasks, marketData, REF_DATA);
+      assertEquals(results.getRowCount(), 5);
+      for (int row = 0; row < 5; row++) {
+        assertThat(results.get(row, 0)).hasValue("foo");
+      }
+      assertEquals(metrics.getTasksSubmitted(), 5);
+      assertEquals(metrics.getTasksCompleted(), 5);
+      assertEquals(metrics.getBatchesSubmitted(), 3);
+      assertEquals(metrics.getBatchesCompleted(), 3);
+      assertEquals(metrics.getQueueDepth(), 0);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  public void ofBatched_invalid() {
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    assertThrowsIllegalArg(() -> CalculationTaskRunner.ofBatched(pool, 0, new CalculationTaskMetrics()));
+  }
+
   //-------------------------------------------------------------------------
   public static final class TestFunction implements CalculationFunction<TestTarget> {
 
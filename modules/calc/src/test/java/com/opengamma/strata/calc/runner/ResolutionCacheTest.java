@@ -0,0 +1,193 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.date.HolidayCalendars;
+import com.opengamma.strata.basics.market.ImmutableReferenceData;
+import com.opengamma.strata.basics.market.ReferenceData;
+import com.opengamma.strata.basics.market.Resolvable;
+
+/**
+ * Test {@link ResolutionCache}.
+ */
+@Test
+public class ResolutionCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.empty();
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    ResolutionCache test = ResolutionCache.of(10);
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.getHitCount()).isEqualTo(0);
+    assertThat(test.getMissCount()).isEqualTo(0);
+    assertThat(test.getHitRate()).isEqualTo(1d);
+    assertThat(test.appliesTo(null, null)).isTrue();
+    assertThrowsIllegalArg(() -> ResolutionCache.of(0));
+  }
+
+  public void test_resolve_cached() {
+    ResolutionCache test = ResolutionCache.of(10);
+    TestTarget target = new TestTarget("A");
+    assertThat(test.resolve(target, REF_DATA)).isEqualTo("A-resolved");
+    assertThat(test.resolve(target, REF_DATA)).isEqualTo("A-resolved");
+    // an equal target is a cache hit
+    assertThat(test.resolve(new TestTarget("A"), REF_DATA)).isEqualTo("A-resolved");
+    assertThat(target.resolveCount.get()).isEqualTo(1);
+    assertThat(test.size()).isEqualTo(1);
+    assertThat(test.getHitCount()).isEqualTo(2);
+    assertThat(test.getMissCount()).isEqualTo(1);
+    assertThat(test.getHitRate()).isEqualTo(2d / 3d);
+  }
+
+  public void test_resolve_eviction() {
+    ResolutionCache test = ResolutionCache.of(5);
+    for (int i = 0; i < 10; i++) {
+      test.resolve(new TestTarget("T" + i), REF_DATA);
+    }
+    assertThat(test.size()).isLessThanOrEqualTo(5);
+    assertThat(test.getEvictionCount()).isGreaterThanOrEqualTo(5);
+    assertThat(test.getMissCount()).isEqualTo(10);
+  }
+
+  public void test_resolve_referenceDataChanged() {
+    ResolutionCache test = ResolutionCache.of(10);
+    TestTarget target = new TestTarget("A");
+    ReferenceData refData1 = ImmutableReferenceData.of(HolidayCalendarIds.GBLO, HolidayCalendars.SAT_SUN);
+    ReferenceData refData1b = ImmutableReferenceData.of(HolidayCalendarIds.GBLO, HolidayCalendars.SAT_SUN);
+    ReferenceData refData2 = ImmutableReferenceData.of(HolidayCalendarIds.GBLO, HolidayCalendars.FRI_SAT);
+    test.resolve(target, refData1);
+    // equal reference data shares the entries
+    test.resolve(target, refData1b);
+    assertThat(target.resolveCount.get()).isEqualTo(1);
+    // different reference data has its own entries
+    test.resolve(target, refData2);
+    assertThat(target.resolveCount.get()).isEqualTo(2);
+    assertThat(test.size()).isEqualTo(2);
+    // alternating between reference data reuses the entries of both
+    test.resolve(target, refData1);
+    test.resolve(target, refData2);
+    assertThat(target.resolveCount.get()).isEqualTo(2);
+  }
+
+  public void test_resolve_referenceDataChangedConcurrently() throws Exception {
+    ResolutionCache test = ResolutionCache.of(1000);
+    ReferenceData refData1 = ImmutableReferenceData.of(HolidayCalendarIds.GBLO, HolidayCalendars.SAT_SUN);
+    ReferenceData refData2 = ImmutableReferenceData.of(HolidayCalendarIds.GBLO, HolidayCalendars.FRI_SAT);
+    List<CalendarTarget> targets = IntStream.range(0, 50)
+        .mapToObj(i -> new CalendarTarget("T" + i))
+        .collect(toList());
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int task = 0; task < 8; task++) {
+        int offset = task;
+        futures.add(executor.submit(() -> {
+          // each task switches reference data mid-run, interleaving with the other tasks
+          for (int run = 0; run < 200; run++) {
+            ReferenceData refData = (run + offset) % 2 == 0 ? refData1 : refData2;
+            String expectedSuffix = "-" + refData.getValue(HolidayCalendarIds.GBLO).getName();
+            for (CalendarTarget target : targets) {
+              assertThat(test.resolve(target, refData)).isEqualTo(target.name + expectedSuffix);
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(test.size()).isEqualTo(100);
+  }
+
+  public void test_resolve_parameters() {
+    ResolutionCache cache = ResolutionCache.of(10);
+    TestTarget target = new TestTarget("A");
+    CalculationParameters parameters = CalculationParameters.of(cache);
+    assertThat(ResolutionCache.resolve(target, parameters, REF_DATA)).isEqualTo("A-resolved");
+    assertThat(ResolutionCache.resolve(target, parameters, REF_DATA)).isEqualTo("A-resolved");
+    assertThat(target.resolveCount.get()).isEqualTo(1);
+    assertThat(ResolutionCache.resolve(target, CalculationParameters.empty(), REF_DATA)).isEqualTo("A-resolved");
+    assertThat(target.resolveCount.get()).isEqualTo(2);
+  }
+
+  public void test_clear() {
+    ResolutionCache test = ResolutionCache.of(10);
+    test.resolve(new TestTarget("A"), REF_DATA);
+    test.clear();
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.toString()).isEqualTo("ResolutionCache[size=0, hitCount=0, missCount=1, hitRate=0.0]");
+  }
+
+  //-------------------------------------------------------------------------
+  // a target that counts the number of times it is resolved, equal if the name is equal
+  private static final class TestTarget implements Resolvable<String> {
+    private final String name;
+    private final AtomicInteger resolveCount = new AtomicInteger();
+
+    private TestTarget(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String resolve(ReferenceData refData) {
+      resolveCount.incrementAndGet();
+      return name + "-resolved";
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof TestTarget && ((TestTarget) obj).name.equals(name);
+    }
+
+    @Override
+    public int hashCode() {
+      return name.hashCode();
+    }
+  }
+
+  // a target whose resolved form depends on the reference data
+  private static final class CalendarTarget implements Resolvable<String> {
+    private final String name;
+
+    private CalendarTarget(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String resolve(ReferenceData refData) {
+      return name + "-" + refData.getValue(HolidayCalendarIds.GBLO).getName();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof CalendarTarget && ((CalendarTarget) obj).name.equals(name);
+    }
+
+    @Override
+    public int hashCode() {
+      return name.hashCode();
+    }
+  }
+
+}
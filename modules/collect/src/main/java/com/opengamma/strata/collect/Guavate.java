@@ -12,6 +12,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -207,6 +209,35 @@ public final class Guavate {
     };
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Waits for a future to complete, returning the result.
+   * <p>
+   * The JDK provides {@link CompletableFuture#join()} however this wraps any exception
+   * thrown by the computation in a {@link CompletionException}.
+   * This method rethrows the original exception if it is a runtime exception,
+   * allowing callers to see the same exception as if the computation had been run directly.
+   * <pre>
+   *  futures.stream().map(Guavate::join).collect(toImmutableList())
+   * </pre>
+   *
+   * @param <T>  the type of the result
+   * @param future  the future to wait for
+   * @return the result of the future
+   * @throws RuntimeException if the computation threw a runtime exception
+   * @throws CompletionException if the computation threw a checked exception or error
+   */
+  public static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Collector used at the end of a stream to build an immutable list.
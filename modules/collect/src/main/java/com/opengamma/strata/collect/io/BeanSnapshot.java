@@ -0,0 +1,193 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ser.JodaBeanSer;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Reads and writes binary snapshots of immutable beans.
+ * <p>
+ * A snapshot is a compact binary form of a bean and all the beans it references,
+ * such as a set of market data containing quotes, calibrated curves and scenario values.
+ * The bean is written using the Joda-Beans binary format, thus any bean that can be
+ * serialized by Joda-Beans can be held in a snapshot.
+ * <p>
+ * The snapshot consists of a short header followed by the serialized bean.
+ * The header identifies the format and states whether the bean is compressed.
+ * Compression uses the GZIP format and is detected automatically when the snapshot is read.
+ * <p>
+ * Snapshots are read and written using NIO channels. The channel is not closed by the methods
+ * that take a channel, allowing a snapshot to be written to an existing channel, such as a socket.
+ */
+public final class BeanSnapshot {
+
+  /**
+   * The magic number at the start of a snapshot.
+   */
+  private static final int MAGIC = 0x4F47534E;
+  /**
+   * The version of the snapshot format.
+   */
+  private static final byte VERSION = 1;
+  /**
+   * The flag indicating the bean is compressed.
+   */
+  private static final byte COMPRESSED = 1;
+  /**
+   * The size of the header.
+   */
+  private static final int HEADER_SIZE = 6;
+  /**
+   * The buffer size used when reading and writing.
+   */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Restricted constructor.
+   */
+  private BeanSnapshot() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a snapshot of the bean to the file.
+   * <p>
+   * Any existing file is replaced.
+   *
+   * @param bean  the bean to write
+   * @param file  the file to write to
+   * @param compressed  true to compress the bean
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws RuntimeException if the bean cannot be serialized
+   */
+  public static void write(ImmutableBean bean, Path file, boolean compressed) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(
+        file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      write(bean, channel, compressed);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Writes a snapshot of the bean to the channel.
+   * <p>
+   * The channel is not closed.
+   *
+   * @param bean  the bean to write
+   * @param channel  the channel to write to
+   * @param compressed  true to compress the bean
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws RuntimeException if the bean cannot be serialized
+   */
+  public static void write(ImmutableBean bean, WritableByteChannel channel, boolean compressed) {
+    ArgChecker.notNull(bean, "bean");
+    ArgChecker.notNull(channel, "channel");
+    try {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      header.putInt(MAGIC);
+      header.put(VERSION);
+      header.put(compressed ? COMPRESSED : 0);
+      header.flip();
+      while (header.hasRemaining()) {
+        channel.write(header);
+      }
+      // the stream is not closed as that would close the channel
+      OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+      if (compressed) {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+        JodaBeanSer.COMPACT.binWriter().write(bean, gzip);
+        gzip.finish();
+      } else {
+        JodaBeanSer.COMPACT.binWriter().write(bean, out);
+      }
+      out.flush();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads a snapshot of a bean from the file.
+   *
+   * @param <T>  the type of the bean
+   * @param file  the file to read from
+   * @param type  the expected type of the bean
+   * @return the bean
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file is not a snapshot
+   * @throws RuntimeException if the bean cannot be deserialized
+   */
+  public static <T extends ImmutableBean> T read(Path file, Class<T> type) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return read(channel, type);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Reads a snapshot of a bean from the channel.
+   * <p>
+   * The channel is not closed. The channel is read in blocks, thus the position of
+   * the channel after this method returns may be beyond the end of the snapshot.
+   *
+   * @param <T>  the type of the bean
+   * @param channel  the channel to read from
+   * @param type  the expected type of the bean
+   * @return the bean
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the channel does not contain a snapshot
+   * @throws RuntimeException if the bean cannot be deserialized
+   */
+  public static <T extends ImmutableBean> T read(ReadableByteChannel channel, Class<T> type) {
+    ArgChecker.notNull(channel, "channel");
+    ArgChecker.notNull(type, "type");
+    try {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      int read = 0;
+      while (header.hasRemaining() && read >= 0) {
+        read = channel.read(header);
+      }
+      header.flip();
+      ArgChecker.isTrue(header.remaining() == HEADER_SIZE && header.getInt() == MAGIC, "Input is not a bean snapshot");
+      byte version = header.get();
+      ArgChecker.isTrue(version == VERSION, "Unsupported bean snapshot version: {}", version);
+      boolean compressed = header.get() == COMPRESSED;
+      // the stream is not closed as that would close the channel
+      InputStream in = new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE);
+      if (compressed) {
+        in = new GZIPInputStream(in, BUFFER_SIZE);
+      }
+      return JodaBeanSer.COMPACT.binReader().read(in, type);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+}
@@ -14,7 +14,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -42,6 +41,9 @@ import com.opengamma.strata.collect.Unchecked;
  * <p>
  * Blank lines are ignored.
  * Lines may be commented with has '#' or semicolon ';'.
+ * <p>
+ * The whole file is read into memory when parsed.
+ * Use {@link CsvIterator} to process large files one row at a time.
  */
 public final class CsvFile {
 
@@ -103,14 +105,16 @@ public final class CsvFile {
   // parses the CSV file format
   private static ArrayList<ImmutableList<String>> parse(ImmutableList<String> lines, char separator) {
     return lines.stream()
-        .flatMap(line -> parseLine(line, separator))
+        .map(line -> parseLine(line, separator))
+        .filter(fields -> !fields.isEmpty())
         .collect(toCollection(ArrayList::new));
   }
 
-  // return Stream rather than Optional as works better with flatMap
-  private static Stream<ImmutableList<String>> parseLine(String line, char separator) {
+  // parses a single line, returning an empty list if the line is blank or a comment
+  // also used by CsvIterator
+  static ImmutableList<String> parseLine(String line, char separator) {
     if (line.length() == 0 || line.startsWith("#") || line.startsWith(";")) {
-      return Stream.empty();
+      return ImmutableList.of();
     }
     ImmutableList.Builder<String> builder = ImmutableList.builder();
     int start = 0;
@@ -138,9 +142,9 @@ public final class CsvFile {
     }
     ImmutableList<String> fields = builder.build();
     if (!hasContent(fields)) {
-      return Stream.empty();
+      return ImmutableList.of();
     }
-    return Stream.of(fields);
+    return fields;
   }
 
   // determines whether there is any content on a line
@@ -188,16 +192,22 @@ public final class CsvFile {
    */
   private CsvFile(ImmutableList<String> headers, ImmutableList<ImmutableList<String>> rows) {
     this.headers = headers;
+    this.searchHeaders = buildSearchHeaders(headers);
+    this.rows = rows.stream()
+        .map(cols -> new CsvRow(headers, this.searchHeaders, cols))
+        .collect(toImmutableList());
+  }
+
+  // builds the header map, transformed for case-insensitive searching
+  // also used by CsvIterator
+  static ImmutableMap<String, Integer> buildSearchHeaders(ImmutableList<String> headers) {
     // need to allow duplicate headers and only store the first instance
     Map<String, Integer> searchHeaders = new HashMap<>();
     for (int i = 0; i < headers.size(); i++) {
       String searchHeader = headers.get(i).toLowerCase(Locale.ENGLISH);
       searchHeaders.putIfAbsent(searchHeader, i);
     }
-    this.searchHeaders = ImmutableMap.copyOf(searchHeaders);
-    this.rows = rows.stream()
-        .map(cols -> new CsvRow(headers, this.searchHeaders, cols))
-        .collect(toImmutableList());
+    return ImmutableMap.copyOf(searchHeaders);
   }
 
   //------------------------------------------------------------------------
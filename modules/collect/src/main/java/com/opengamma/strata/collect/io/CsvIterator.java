@@ -0,0 +1,290 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.PeekingIterator;
+import com.google.common.io.CharSource;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+
+/**
+ * Iterator over the rows of a CSV file.
+ * <p>
+ * Provides the ability to iterate over a CSV file together with the ability to parse it from a {@link CharSource}.
+ * The separator may be specified, allowing TSV files (tab-separated) and other similar formats to be parsed.
+ * See {@link CsvFile} for details of the CSV format.
+ * <p>
+ * This class reads the file one line at a time, rather than reading the whole file into memory.
+ * As such, the memory used is bounded by the width of a row, not by the size of the file.
+ * Each row is parsed when it is requested, sharing the header row and the header map with the other rows.
+ * <p>
+ * This class holds an open reader, thus it must be closed, typically using try-with-resources.
+ * <pre>
+ *  try (CsvIterator csv = CsvIterator.of(source, true)) {
+ *    while (csv.hasNext()) {
+ *      CsvRow row = csv.next();
+ *      // process row
+ *    }
+ *  }
+ * </pre>
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class CsvIterator
+    implements AutoCloseable, PeekingIterator<CsvRow> {
+
+  /**
+   * The buffered reader.
+   */
+  private final BufferedReader reader;
+  /**
+   * The separator.
+   */
+  private final char separator;
+  /**
+   * The header row, ordered as the headers appear in the file.
+   */
+  private final ImmutableList<String> headers;
+  /**
+   * The header map, transformed for case-insensitive searching.
+   */
+  private final ImmutableMap<String, Integer> searchHeaders;
+  /**
+   * The next row, null if not yet parsed or the end of the file has been reached.
+   */
+  private CsvRow nextRow;
+
+  //------------------------------------------------------------------------
+  /**
+   * Parses the specified source as a CSV file.
+   * <p>
+   * This method opens the CSV file for reading.
+   * The caller is responsible for closing it by calling {@link #close()}.
+   *
+   * @param source  the CSV file resource
+   * @param headerRow  whether the source has a header row
+   * @return the CSV file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvIterator of(CharSource source, boolean headerRow) {
+    return of(source, headerRow, ',');
+  }
+
+  /**
+   * Parses the specified source as a CSV file where the separator is specified and might not be a comma.
+   * <p>
+   * This overload allows the separator to be controlled.
+   * For example, a tab-separated file is very similar to a CSV file, the only difference is the separator.
+   * <p>
+   * This method opens the CSV file for reading.
+   * The caller is responsible for closing it by calling {@link #close()}.
+   *
+   * @param source  the file resource
+   * @param headerRow  whether the source has a header row
+   * @param separator  the separator used to separate each field, typically a comma, but a tab is sometimes used
+   * @return the CSV file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvIterator of(CharSource source, boolean headerRow, char separator) {
+    ArgChecker.notNull(source, "source");
+    BufferedReader reader = Unchecked.wrap(() -> source.openBufferedStream());
+    return create(reader, headerRow, separator);
+  }
+
+  /**
+   * Parses the specified reader as a CSV file where the separator is specified and might not be a comma.
+   * <p>
+   * The caller is responsible for closing the reader, either directly or by calling {@link #close()}.
+   *
+   * @param reader  the reader
+   * @param headerRow  whether the source has a header row
+   * @param separator  the separator used to separate each field, typically a comma, but a tab is sometimes used
+   * @return the CSV file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvIterator of(Reader reader, boolean headerRow, char separator) {
+    ArgChecker.notNull(reader, "reader");
+    BufferedReader buffered = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    return create(buffered, headerRow, separator);
+  }
+
+  // creates the iterator, closing the reader if the header row cannot be read
+  private static CsvIterator create(BufferedReader reader, boolean headerRow, char separator) {
+    try {
+      if (!headerRow) {
+        return new CsvIterator(reader, separator, ImmutableList.of());
+      }
+      ImmutableList<String> headers = readFields(reader, separator);
+      if (headers == null) {
+        throw new IllegalArgumentException("Could not read header row from empty CSV file");
+      }
+      return new CsvIterator(reader, separator, headers);
+
+    } catch (RuntimeException ex) {
+      Unchecked.wrap(() -> reader.close());
+      throw ex;
+    }
+  }
+
+  // reads the fields of the next line with content, null if end of file
+  private static ImmutableList<String> readFields(BufferedReader reader, char separator) {
+    try {
+      String line = reader.readLine();
+      while (line != null) {
+        ImmutableList<String> fields = CsvFile.parseLine(line, separator);
+        if (!fields.isEmpty()) {
+          return fields;
+        }
+        line = reader.readLine();
+      }
+      return null;
+
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   *
+   * @param reader  the buffered reader
+   * @param separator  the separator
+   * @param headers  the header row
+   */
+  private CsvIterator(BufferedReader reader, char separator, ImmutableList<String> headers) {
+    this.reader = reader;
+    this.separator = separator;
+    this.headers = headers;
+    this.searchHeaders = CsvFile.buildSearchHeaders(headers);
+  }
+
+  //------------------------------------------------------------------------
+  /**
+   * Gets the header row.
+   * <p>
+   * If there is no header row, an empty list is returned.
+   *
+   * @return the header row
+   */
+  public ImmutableList<String> headers() {
+    return headers;
+  }
+
+  /**
+   * Returns a stream that wraps this iterator.
+   * <p>
+   * The stream will process any remaining rows in the CSV file.
+   * As such, it is recommended that callers should use this method or the iterator methods and not both.
+   * Closing the stream closes this iterator.
+   *
+   * @return the stream wrapping this iterator
+   */
+  public Stream<CsvRow> asStream() {
+    Spliterator<CsvRow> spliterator =
+        Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false).onClose(this::close);
+  }
+
+  //------------------------------------------------------------------------
+  /**
+   * Checks whether there are more rows in the file.
+   *
+   * @return true if there are more rows
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  @Override
+  public boolean hasNext() {
+    if (nextRow != null) {
+      return true;
+    }
+    ImmutableList<String> fields = readFields(reader, separator);
+    if (fields == null) {
+      return false;
+    }
+    nextRow = new CsvRow(headers, searchHeaders, fields);
+    return true;
+  }
+
+  /**
+   * Peeks the next row from the file without changing the iteration position.
+   *
+   * @return the peeked row
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   * @throws NoSuchElementException if the end of file has been reached
+   */
+  @Override
+  public CsvRow peek() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("CsvIterator has reached the end of the file");
+    }
+    return nextRow;
+  }
+
+  /**
+   * Returns the next row from the file.
+   *
+   * @return the next row
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   * @throws NoSuchElementException if the end of file has been reached
+   */
+  @Override
+  public CsvRow next() {
+    CsvRow row = peek();
+    nextRow = null;
+    return row;
+  }
+
+  /**
+   * Throws an exception as remove is not supported.
+   *
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("CsvIterator does not support remove()");
+  }
+
+  /**
+   * Closes the underlying reader.
+   *
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  @Override
+  public void close() {
+    Unchecked.wrap(() -> reader.close());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a string describing the CSV iterator.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "CsvIterator" + headers.toString();
+  }
+
+}
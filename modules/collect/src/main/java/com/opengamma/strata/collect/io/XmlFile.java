@@ -7,8 +7,12 @@ package com.opengamma.strata.collect.io;
 
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
@@ -38,6 +42,9 @@ import com.opengamma.strata.collect.Unchecked;
  * There is no support for namespaces.
  * All namespace prefixes are dropped.
  * There are cases where this can be a problem, but most of the time lenient parsing is helpful.
+ * <p>
+ * For large files, {@link #parseElements(ByteSource, List, String, Consumer)} can be used
+ * to process selected elements one at a time without building the tree of the whole file.
  */
 public final class XmlFile {
 
@@ -86,13 +93,37 @@ public final class XmlFile {
    * @throws IllegalArgumentException if the file cannot be parsed
    */
   public static XmlFile of(ByteSource source, String refAttrName) {
+    return of(source, refAttrName, name -> false);
+  }
+
+  /**
+   * Parses the specified source as an XML file to an in-memory DOM-like structure,
+   * skipping the content of selected elements.
+   * <p>
+   * This parses the specified byte source expecting an XML file format.
+   * Any element whose name matches the skip filter is added to the tree with its attributes,
+   * but without its content or children. This allows the structure of a large file to be
+   * examined without the memory cost of parsing the skipped elements.
+   * <p>
+   * References are captured as per {@link #of(ByteSource, String)}.
+   * References within skipped elements are not captured.
+   * 
+   * @param source  the XML source data
+   * @param refAttrName  the attribute name that should be parsed as a reference
+   * @param skipFilter  the filter returning true if the content of the named element should be skipped
+   * @return the parsed file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static XmlFile of(ByteSource source, String refAttrName, Predicate<String> skipFilter) {
     ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(skipFilter, "skipFilter");
     return Unchecked.wrap(() -> {
       try (InputStream in = source.openBufferedStream()) {
         XMLStreamReader xmlReader = xmlInputFactory().createXMLStreamReader(in);
         try {
           HashMap<String, XmlElement> refs = new HashMap<>();
-          XmlElement root = parse(xmlReader, refAttrName, refs);
+          XmlElement root = parse(xmlReader, refAttrName, refs, skipFilter);
           return new XmlFile(root, refs);
         } finally {
           xmlReader.close();
@@ -101,6 +132,88 @@ public final class XmlFile {
     });
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Parses selected elements from the specified source, one at a time.
+   * <p>
+   * This parses the specified byte source expecting an XML file format.
+   * Each element matching the specified path is parsed to an in-memory DOM-like structure
+   * and passed to the consumer as an {@code XmlFile}, before the next element is read.
+   * The rest of the file is read but not retained.
+   * As such, the memory used is bounded by the size of the largest selected element.
+   * <p>
+   * The path is the list of element names from the root element to the selected elements.
+   * For example, the path {@code [base, test]} selects each {@code <test>} element that is
+   * a child of the root {@code <base>} element.
+   * <p>
+   * References are captured within the scope of each selected element.
+   * For example, if the selected element contains {@code <foo id="fooId">}, the references map of
+   * the file passed to the consumer will contain an entry mapping "fooId" to the parsed element {@code <foo>}.
+   * 
+   * @param source  the XML source data
+   * @param path  the element names from the root element to the elements to parse, not empty
+   * @param refAttrName  the attribute name that should be parsed as a reference
+   * @param consumer  the consumer of each parsed element
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static void parseElements(
+      ByteSource source,
+      List<String> path,
+      String refAttrName,
+      Consumer<XmlFile> consumer) {
+
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notEmpty(path, "path");
+    ArgChecker.notNull(consumer, "consumer");
+    ImmutableList<String> pathCopy = ImmutableList.copyOf(path);
+    Unchecked.wrap(() -> {
+      try (InputStream in = source.openBufferedStream()) {
+        XMLStreamReader xmlReader = xmlInputFactory().createXMLStreamReader(in);
+        try {
+          parseElements(xmlReader, pathCopy, refAttrName, consumer);
+        } finally {
+          xmlReader.close();
+        }
+      }
+    });
+  }
+
+  // parses the selected elements, passing each to the consumer
+  private static void parseElements(
+      XMLStreamReader reader,
+      ImmutableList<String> path,
+      String refAttr,
+      Consumer<XmlFile> consumer) {
+
+    try {
+      int depth = path.size() - 1;
+      List<String> parentPath = path.subList(0, depth);
+      String elementName = path.get(depth);
+      // the names of the currently open elements
+      List<String> openNames = new ArrayList<>();
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          String name = reader.getLocalName();
+          if (openNames.size() == depth && name.equals(elementName) && openNames.equals(parentPath)) {
+            // the element is parsed up to and including its end element
+            HashMap<String, XmlElement> refs = new HashMap<>();
+            XmlElement parsed = parse(reader, refAttr, refs, n -> false);
+            consumer.accept(new XmlFile(parsed, refs));
+          } else {
+            openNames.add(name);
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          openNames.remove(openNames.size() - 1);
+        }
+      }
+
+    } catch (XMLStreamException ex) {
+      throw new IllegalArgumentException(ex);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Parses the tree from the StAX stream reader, capturing references.
@@ -114,15 +227,27 @@ public final class XmlFile {
    * @param reader  the StAX stream reader, positioned at or before the element to be parsed
    * @param refAttr  the attribute name that should be parsed as a reference, null if not applicable
    * @param refs  the mutable map of references to update, null if not applicable
+   * @param skipFilter  the filter returning true if the content of the named element should be skipped
    * @return the parsed element
    * @throws IllegalArgumentException if the input cannot be parsed
    */
-  private static XmlElement parse(XMLStreamReader reader, String refAttr, Map<String, XmlElement> refs) {
+  private static XmlElement parse(
+      XMLStreamReader reader,
+      String refAttr,
+      Map<String, XmlElement> refs,
+      Predicate<String> skipFilter) {
+
     try {
       // parse start element
       String elementName = parseElementName(reader);
       ImmutableMap<String, String> attrs = parseAttributes(reader);
 
+      // skip children and content if requested
+      if (skipFilter.test(elementName)) {
+        skipElement(reader);
+        return addReference(XmlElement.ofContent(elementName, attrs, ""), refAttr, refs);
+      }
+
       // parse children or content
       ImmutableList.Builder<XmlElement> childBuilder = ImmutableList.builder();
       String content = "";
@@ -131,7 +256,7 @@ public final class XmlFile {
         switch (event) {
         // parse child when start element found
           case XMLStreamConstants.START_ELEMENT:
-            childBuilder.add(parse(reader, refAttr, refs));
+            childBuilder.add(parse(reader, refAttr, refs, skipFilter));
             break;
           // append content when characters found
           // since XMLStreamReader has IS_COALESCING=true means there should only be one content call
@@ -148,17 +273,35 @@ public final class XmlFile {
       XmlElement parsed = children.isEmpty() ?
           XmlElement.ofContent(elementName, attrs, content) :
           XmlElement.ofChildren(elementName, attrs, children);
-      String ref = attrs.get(refAttr);
-      if (ref != null) {
-        refs.put(ref, parsed);
-      }
-      return parsed;
+      return addReference(parsed, refAttr, refs);
 
     } catch (XMLStreamException ex) {
       throw new IllegalArgumentException(ex);
     }
   }
 
+  // adds the element to the references if it has the reference attribute
+  private static XmlElement addReference(XmlElement parsed, String refAttr, Map<String, XmlElement> refs) {
+    String ref = parsed.getAttributes().get(refAttr);
+    if (ref != null) {
+      refs.put(ref, parsed);
+    }
+    return parsed;
+  }
+
+  // skips the content of the current element, leaving the reader at the matching end element
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    int openCount = 1;
+    while (openCount > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        openCount++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        openCount--;
+      }
+    }
+  }
+
   // find the start element and parses the name
   private static String parseElementName(XMLStreamReader reader) throws XMLStreamException {
     int event = reader.getEventType();
@@ -220,6 +220,25 @@ class DenseLocalDateDoubleTimeSeries
     return new DenseLocalDateDoubleTimeSeries(startDate, points, dateCalculation, true);
   }
 
+  /**
+   * Package protected factory method intended to be called
+   * by the {@link LocalDateDoubleTimeSeriesBuilder}. As such
+   * all the information passed is assumed to be consistent.
+   * The points array is not cloned.
+   *
+   * @param startDate  the earliest date included in the time-series
+   * @param points  the points, with NaN where there is no value
+   * @param dateCalculation  the date calculation method to be used
+   * @return a new time-series
+   */
+  static LocalDateDoubleTimeSeries ofPoints(
+      LocalDate startDate,
+      double[] points,
+      DenseTimeSeriesCalculation dateCalculation) {
+
+    return new DenseLocalDateDoubleTimeSeries(startDate, points, dateCalculation, true);
+  }
+
   // Private constructor, the trusted flag indicates whether the
   // points array should be cloned. If trusted, it will not be cloned.
   private DenseLocalDateDoubleTimeSeries(
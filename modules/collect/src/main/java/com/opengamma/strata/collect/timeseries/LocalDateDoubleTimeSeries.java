@@ -64,6 +64,22 @@ public interface LocalDateDoubleTimeSeries {
     return builder().put(date, value).build();
   }
 
+  /**
+   * Obtains a time-series from matching arrays of epoch days and values.
+   * <p>
+   * The epoch days must be in ascending order, with no duplicates, and there must be no NaN values.
+   * This is an efficient way to create a time-series from a compact form, such as a binary file,
+   * as no intermediate map of points is created.
+   *
+   * @param epochDays  the dates as epoch days, see {@link LocalDate#toEpochDay()}
+   * @param values  the values, one for each date
+   * @return the time-series
+   * @throws IllegalArgumentException if the arrays are invalid
+   */
+  public static LocalDateDoubleTimeSeries ofEpochDays(int[] epochDays, double[] values) {
+    return LocalDateDoubleTimeSeriesBuilder.ofEpochDays(epochDays, values);
+  }
+
   /**
    * Creates an empty builder, used to create time-series.
    * <p>
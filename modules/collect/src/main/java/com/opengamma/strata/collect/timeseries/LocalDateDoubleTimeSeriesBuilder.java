@@ -10,6 +10,7 @@ import static com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSe
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoField;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -21,6 +22,7 @@ import java.util.function.DoubleBinaryOperator;
 import java.util.stream.Stream;
 
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
 
 /**
  * Builder to create the immutable {@code LocalDateDoubleTimeSeries}.
@@ -270,6 +272,62 @@ public final class LocalDateDoubleTimeSeriesBuilder {
     return this;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a time-series from matching arrays of epoch days and values.
+   * <p>
+   * The result is the same as putting each point into a builder and building,
+   * but the points are not held in a sorted map.
+   * Use {@link LocalDateDoubleTimeSeries#ofEpochDays(int[], double[])}.
+   *
+   * @param epochDays  the dates as epoch days, in ascending order
+   * @param values  the values
+   * @return the time-series
+   */
+  static LocalDateDoubleTimeSeries ofEpochDays(int[] epochDays, double[] values) {
+    ArgChecker.notNull(epochDays, "epochDays");
+    ArgChecker.notNull(values, "values");
+    ArgChecker.isTrue(epochDays.length == values.length,
+        "Arrays are of different sizes - dates: {}, values: {}", epochDays.length, values.length);
+    if (epochDays.length == 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    boolean containsWeekends = false;
+    for (int i = 0; i < epochDays.length; i++) {
+      if (Double.isNaN(values[i])) {
+        throw new IllegalArgumentException("NaN is not allowed as a value");
+      }
+      if (i > 0 && epochDays[i] <= epochDays[i - 1]) {
+        throw new IllegalArgumentException(Messages.format(
+            "Dates must be in ascending order but: {} is not after: {}",
+            LocalDate.ofEpochDay(epochDays[i]),
+            LocalDate.ofEpochDay(epochDays[i - 1])));
+      }
+      // epoch day zero is a Thursday, so Saturday and Sunday are 5 and 6
+      containsWeekends |= Math.floorMod(epochDays[i] + 3, 7) >= 5;
+    }
+
+    // the same choice of calculation and density threshold as build()
+    DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation calculation =
+        containsWeekends ? INCLUDE_WEEKENDS : SKIP_WEEKENDS;
+    LocalDate startDate = LocalDate.ofEpochDay(epochDays[0]);
+    LocalDate endDate = LocalDate.ofEpochDay(epochDays[epochDays.length - 1]);
+    int rangeSize = calculation.calculatePosition(startDate, endDate) + 1;
+    if (epochDays.length / (double) rangeSize > DENSITY_THRESHOLD) {
+      double[] points = new double[rangeSize];
+      Arrays.fill(points, Double.NaN);
+      for (int i = 0; i < epochDays.length; i++) {
+        points[calculation.calculatePosition(startDate, LocalDate.ofEpochDay(epochDays[i]))] = values[i];
+      }
+      return DenseLocalDateDoubleTimeSeries.ofPoints(startDate, points, calculation);
+    }
+    LocalDate[] dates = new LocalDate[epochDays.length];
+    for (int i = 0; i < epochDays.length; i++) {
+      dates[i] = LocalDate.ofEpochDay(epochDays[i]);
+    }
+    return SparseLocalDateDoubleTimeSeries.createUnsafe(dates, values.clone());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Build the time-series from the builder.
@@ -95,7 +95,7 @@ final class SparseLocalDateDoubleTimeSeries
 
   // creates time-series by directly assigning the input arrays
   // must only be called when safe to do so
-  private static SparseLocalDateDoubleTimeSeries createUnsafe(LocalDate[] dates, double[] values) {
+  static SparseLocalDateDoubleTimeSeries createUnsafe(LocalDate[] dates, double[] values) {
     return new SparseLocalDateDoubleTimeSeries(dates, values, true);
   }
 
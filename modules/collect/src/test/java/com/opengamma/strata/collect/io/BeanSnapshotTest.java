@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.assertUtilityClass;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.joda.beans.ImmutableBean;
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.tuple.Triple;
+
+/**
+ * Test {@link BeanSnapshot}.
+ */
+@Test
+public class BeanSnapshotTest {
+
+  // a matrix with repeated values that compresses well
+  private static final DoubleMatrix MATRIX = DoubleMatrix.of(50, 40, (i, j) -> (i % 5) * 0.25d + j);
+
+  //-------------------------------------------------------------------------
+  public void test_channel_uncompressed() {
+    byte[] bytes = write(MATRIX, false);
+    assertEquals(read(bytes), MATRIX);
+  }
+
+  public void test_channel_compressed() {
+    byte[] bytes = write(MATRIX, true);
+    assertEquals(read(bytes), MATRIX);
+    assertTrue(bytes.length < write(MATRIX, false).length);
+  }
+
+  public void test_file() throws IOException {
+    Path file = Files.createTempFile("snapshot", ".bin");
+    try {
+      BeanSnapshot.write(MATRIX, file, true);
+      assertEquals(BeanSnapshot.read(file, DoubleMatrix.class), MATRIX);
+      BeanSnapshot.write(MATRIX, file, false);
+      assertEquals(BeanSnapshot.read(file, DoubleMatrix.class), MATRIX);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  public void test_nestedBeans() {
+    // beans nested in properties of type Object, as found in curve metadata and scenario market data
+    LocalDateDoubleTimeSeries series = LocalDateDoubleTimeSeries.builder()
+        .put(LocalDate.of(2016, 6, 1), 1.5d)
+        .put(LocalDate.of(2016, 6, 2), 2.5d)
+        .build();
+    Triple<DoubleArray, DoubleMatrix, LocalDateDoubleTimeSeries> triple =
+        Triple.of(DoubleArray.of(1d, 2d, 3d), MATRIX, series);
+    Triple<?, ?, ?> readTriple = roundTrip(triple, Triple.class);
+    assertEquals(readTriple, triple);
+    Result<Object> failure = Result.failure(FailureReason.MISSING_DATA, "No curve for {}", "USD");
+    assertEquals(roundTrip(failure, Result.class), failure);
+  }
+
+  public void test_read_notSnapshot() {
+    assertThrowsIllegalArg(() -> read("Not a snapshot".getBytes(StandardCharsets.UTF_8)));
+    assertThrowsIllegalArg(() -> read(new byte[2]));
+  }
+
+  public void test_read_badVersion() {
+    byte[] bytes = write(MATRIX, false);
+    bytes[4] = 99;
+    assertThrowsIllegalArg(() -> read(bytes), ".*version.*");
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_utilityClass() {
+    assertUtilityClass(BeanSnapshot.class);
+  }
+
+  //-------------------------------------------------------------------------
+  private static byte[] write(DoubleMatrix matrix, boolean compressed) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BeanSnapshot.write(matrix, Channels.newChannel(out), compressed);
+    return out.toByteArray();
+  }
+
+  private static <T extends ImmutableBean> T roundTrip(ImmutableBean bean, Class<T> type) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BeanSnapshot.write(bean, Channels.newChannel(out), true);
+    return BeanSnapshot.read(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), type);
+  }
+
+  private static DoubleMatrix read(byte[] bytes) {
+    return BeanSnapshot.read(Channels.newChannel(new ByteArrayInputStream(bytes)), DoubleMatrix.class);
+  }
+
+}
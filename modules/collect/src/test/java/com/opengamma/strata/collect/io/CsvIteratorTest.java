@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.NoSuchElementException;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.CharSource;
+
+/**
+ * Test {@link CsvIterator}.
+ */
+@Test
+public class CsvIteratorTest {
+
+  private final String CSV1 = "" +
+      "h1,h2\n" +
+      "r11,r12\n" +
+      "r21,r22";
+
+  private final String CSV1T = "" +
+      "h1\th2\n" +
+      "r11\tr12\n" +
+      "r21\tr22";
+
+  private final String CSV2 = "" +
+      "# comment\n" +
+      "\n" +
+      "h1,h2\n" +
+      "#r11,r12\n" +
+      ";r11,r12\n" +
+      "\n" +
+      ",\n" +
+      "r21,r22\n";
+
+  private final String CSV4 = "" +
+      "\"alpha\",\"be, \"\"at\"\", one\"\n" +
+      "r21,\" r22 \"\n";
+
+  //-------------------------------------------------------------------------
+  public void test_of_empty_no_header() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(""), false)) {
+      assertEquals(csv.headers().size(), 0);
+      assertFalse(csv.hasNext());
+      assertThrows(() -> csv.next(), NoSuchElementException.class);
+      assertThrows(() -> csv.peek(), NoSuchElementException.class);
+    }
+  }
+
+  public void test_of_empty_with_header() {
+    assertThrowsIllegalArg(() -> CsvIterator.of(CharSource.wrap(""), true));
+  }
+
+  public void test_of_simple_no_header() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(CSV1), false)) {
+      assertEquals(csv.headers().size(), 0);
+      assertTrue(csv.hasNext());
+      CsvRow row0 = csv.next();
+      assertEquals(row0.headers().size(), 0);
+      assertEquals(row0.fields(), ImmutableList.of("h1", "h2"));
+      CsvRow row1 = csv.next();
+      assertEquals(row1.fields(), ImmutableList.of("r11", "r12"));
+      CsvRow row2 = csv.next();
+      assertEquals(row2.fields(), ImmutableList.of("r21", "r22"));
+      assertFalse(csv.hasNext());
+    }
+  }
+
+  public void test_of_simple_with_header() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(CSV1), true)) {
+      ImmutableList<String> headers = csv.headers();
+      assertEquals(headers, ImmutableList.of("h1", "h2"));
+      assertEquals(csv.toString(), "CsvIterator[h1, h2]");
+      CsvRow peeked = csv.peek();
+      CsvRow row0 = csv.next();
+      assertEquals(row0, peeked);
+      assertEquals(row0.headers(), headers);
+      assertEquals(row0.getField("h1"), "r11");
+      assertEquals(row0.getField("H2"), "r12");
+      CsvRow row1 = csv.next();
+      assertEquals(row1.getField("h1"), "r21");
+      assertEquals(row1.getField("h2"), "r22");
+      assertFalse(csv.hasNext());
+    }
+  }
+
+  public void test_of_simple_tab_reader() {
+    try (CsvIterator csv = CsvIterator.of(new StringReader(CSV1T), true, '\t')) {
+      assertEquals(csv.headers(), ImmutableList.of("h1", "h2"));
+      assertEquals(csv.next().fields(), ImmutableList.of("r11", "r12"));
+      assertEquals(csv.next().fields(), ImmutableList.of("r21", "r22"));
+      assertFalse(csv.hasNext());
+    }
+  }
+
+  public void test_of_comment_blank() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(CSV2), true)) {
+      assertEquals(csv.headers(), ImmutableList.of("h1", "h2"));
+      assertEquals(csv.next().fields(), ImmutableList.of("r21", "r22"));
+      assertFalse(csv.hasNext());
+    }
+  }
+
+  public void test_of_quoting() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(CSV4), false)) {
+      assertEquals(csv.next().fields(), ImmutableList.of("alpha", "be, \"at\", one"));
+      assertEquals(csv.next().fields(), ImmutableList.of("r21", " r22 "));
+      assertFalse(csv.hasNext());
+    }
+  }
+
+  public void test_remove() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(CSV1), true)) {
+      assertThrows(() -> csv.remove(), UnsupportedOperationException.class);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_asStream() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(CSV1), true)) {
+      ImmutableList<CsvRow> rows = csv.asStream().collect(toImmutableList());
+      assertEquals(rows, CsvFile.of(CharSource.wrap(CSV1), true).rows());
+      assertFalse(csv.hasNext());
+    }
+  }
+
+  public void test_matchesCsvFile() {
+    try (CsvIterator csv = CsvIterator.of(CharSource.wrap(CSV2), true)) {
+      CsvFile file = CsvFile.of(CharSource.wrap(CSV2), true);
+      assertEquals(csv.headers(), file.headers());
+      assertEquals(csv.asStream().collect(toImmutableList()), file.rows());
+    }
+  }
+
+}
@@ -13,6 +13,7 @@ import static org.testng.Assert.assertFalse;
 import java.io.File;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -57,6 +58,20 @@ public class XmlFileTest {
       " <leaf1 h:foo='bla' og='strata'>leaf</leaf1>" +
       "</base>";
 
+  private static final String SAMPLE_MULTI = "" +
+      "<?xml version=\"1.0\" encoding=\"utf-8\"?>" +
+      "<base>" +
+      " <test key=\"t1\">" +
+      "  <leaf1 key=\"l1\">a</leaf1>" +
+      " </test>" +
+      " <other>" +
+      "  <test>nested</test>" +
+      " </other>" +
+      " <test key=\"t2\">" +
+      "  <leaf1 key=\"l2\">b</leaf1>" +
+      " </test>" +
+      "</base>";
+
   private static final Map<String, String> ATTR_MAP_EMPTY = ImmutableMap.of();
   private static final Map<String, String> ATTR_MAP = ImmutableMap.of("key", "value", "og", "strata");
   private static final XmlElement LEAF1 = XmlElement.ofContent("leaf1", ATTR_MAP_EMPTY, "leaf");
@@ -130,6 +145,54 @@ public class XmlFileTest {
     assertThrows(() -> XmlFile.of(source, "key"), UncheckedIOException.class);
   }
 
+  public void test_of_ByteSource_skipFilter() {
+    ByteSource source = ByteSource.wrap(SAMPLE_MULTI.getBytes(StandardCharsets.UTF_8));
+    XmlFile test = XmlFile.of(source, "key", name -> name.equals("test"));
+    XmlElement root = test.getRoot();
+    assertEquals(root.getChildren().size(), 3);
+    assertEquals(root.getChild(0), XmlElement.ofContent("test", ImmutableMap.of("key", "t1"), ""));
+    assertEquals(root.getChild(1), XmlElement.ofChildren("other", ImmutableList.of(XmlElement.ofContent("test", ""))));
+    assertEquals(root.getChild(2), XmlElement.ofContent("test", ImmutableMap.of("key", "t2"), ""));
+    assertEquals(test.getReferences(), ImmutableMap.of("t1", root.getChild(0), "t2", root.getChild(2)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parseElements() {
+    ByteSource source = ByteSource.wrap(SAMPLE_MULTI.getBytes(StandardCharsets.UTF_8));
+    List<XmlFile> parsed = new ArrayList<>();
+    XmlFile.parseElements(source, ImmutableList.of("base", "test"), "key", parsed::add);
+    assertEquals(parsed.size(), 2);
+    XmlElement leaf1 = XmlElement.ofContent("leaf1", ImmutableMap.of("key", "l1"), "a");
+    XmlElement test1 = XmlElement.ofChildren("test", ImmutableMap.of("key", "t1"), ImmutableList.of(leaf1));
+    assertEquals(parsed.get(0).getRoot(), test1);
+    assertEquals(parsed.get(0).getReferences(), ImmutableMap.of("t1", test1, "l1", leaf1));
+    XmlElement leaf2 = XmlElement.ofContent("leaf1", ImmutableMap.of("key", "l2"), "b");
+    XmlElement test2 = XmlElement.ofChildren("test", ImmutableMap.of("key", "t2"), ImmutableList.of(leaf2));
+    assertEquals(parsed.get(1).getRoot(), test2);
+    assertEquals(parsed.get(1).getReferences(), ImmutableMap.of("t2", test2, "l2", leaf2));
+  }
+
+  public void test_parseElements_nested() {
+    ByteSource source = ByteSource.wrap(SAMPLE_MULTI.getBytes(StandardCharsets.UTF_8));
+    List<XmlFile> parsed = new ArrayList<>();
+    XmlFile.parseElements(source, ImmutableList.of("base", "other", "test"), "key", parsed::add);
+    assertEquals(parsed.size(), 1);
+    assertEquals(parsed.get(0).getRoot(), XmlElement.ofContent("test", "nested"));
+    assertEquals(parsed.get(0).getReferences(), ImmutableMap.of());
+  }
+
+  public void test_parseElements_mismatchedTags() {
+    ByteSource source = ByteSource.wrap(SAMPLE_MISMATCHED_TAGS.getBytes(StandardCharsets.UTF_8));
+    assertThrowsIllegalArg(() -> XmlFile.parseElements(source, ImmutableList.of("base", "test"), "key", file -> {}));
+  }
+
+  public void test_parseElements_ioException() {
+    ByteSource source = Files.asByteSource(new File("/oh-dear-no-such-file"));
+    assertThrows(
+        () -> XmlFile.parseElements(source, ImmutableList.of("base", "test"), "key", file -> {}),
+        UncheckedIOException.class);
+  }
+
   //-------------------------------------------------------------------------
   public void test_equalsHashCodeToString() {
     ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
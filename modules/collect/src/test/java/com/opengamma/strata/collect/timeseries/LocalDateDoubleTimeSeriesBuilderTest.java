@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.collect.timeseries;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
@@ -206,6 +207,50 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertEquals(series5.getClass(), DenseLocalDateDoubleTimeSeries.class);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_ofEpochDays_matchesBuilder() {
+    // weekdays only, dense
+    assertOfEpochDays(
+        DenseLocalDateDoubleTimeSeries.class,
+        date(2015, 1, 5), date(2015, 1, 6), date(2015, 1, 7), date(2015, 1, 9), date(2015, 1, 12));
+    // includes weekend, dense
+    assertOfEpochDays(
+        DenseLocalDateDoubleTimeSeries.class,
+        date(2015, 1, 8), date(2015, 1, 9), date(2015, 1, 10), date(2015, 1, 11), date(2015, 1, 12));
+    // sparse
+    assertOfEpochDays(
+        SparseLocalDateDoubleTimeSeries.class,
+        date(2013, 1, 1), date(2014, 1, 1), date(2015, 1, 1));
+  }
+
+  public void test_ofEpochDays_empty() {
+    assertEquals(LocalDateDoubleTimeSeries.ofEpochDays(new int[0], new double[0]), LocalDateDoubleTimeSeries.empty());
+  }
+
+  public void test_ofEpochDays_invalid() {
+    int day1 = (int) date(2015, 1, 5).toEpochDay();
+    int day2 = (int) date(2015, 1, 6).toEpochDay();
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.ofEpochDays(new int[] {day1}, new double[] {1d, 2d}));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.ofEpochDays(new int[] {day2, day1}, new double[] {1d, 2d}));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.ofEpochDays(new int[] {day1, day1}, new double[] {1d, 2d}));
+    assertThrowsIllegalArg(
+        () -> LocalDateDoubleTimeSeries.ofEpochDays(new int[] {day1, day2}, new double[] {1d, Double.NaN}));
+  }
+
+  private void assertOfEpochDays(Class<?> expectedType, LocalDate... dates) {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    int[] epochDays = new int[dates.length];
+    double[] values = new double[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      epochDays[i] = (int) dates[i].toEpochDay();
+      values[i] = i + 0.5d;
+      builder.put(dates[i], values[i]);
+    }
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.ofEpochDays(epochDays, values);
+    assertEquals(test.getClass(), expectedType);
+    assertEquals(test, builder.build());
+  }
+
   //-------------------------------------------------------------------------
   private static LocalDate date(int year, int month, int day) {
     return LocalDate.of(year, month, day);
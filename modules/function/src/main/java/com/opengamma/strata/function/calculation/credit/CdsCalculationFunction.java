@@ -5,7 +5,13 @@
  */
 package com.opengamma.strata.function.calculation.credit;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -20,11 +26,14 @@ import com.opengamma.strata.calc.config.Measures;
 import com.opengamma.strata.calc.marketdata.CalculationMarketData;
 import com.opengamma.strata.calc.marketdata.FunctionRequirements;
 import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.calc.runner.ResolutionCache;
 import com.opengamma.strata.calc.runner.function.CalculationFunction;
 import com.opengamma.strata.calc.runner.function.FunctionUtils;
+import com.opengamma.strata.calc.runner.function.result.CurrencyValuesArray;
 import com.opengamma.strata.calc.runner.function.result.ScenarioResult;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.key.IsdaIndexCreditCurveInputsKey;
 import com.opengamma.strata.market.key.IsdaIndexRecoveryRateKey;
 import com.opengamma.strata.market.key.IsdaSingleNameCreditCurveInputsKey;
@@ -34,6 +43,7 @@ import com.opengamma.strata.product.credit.Cds;
 import com.opengamma.strata.product.credit.CdsTrade;
 import com.opengamma.strata.product.credit.IndexReferenceInformation;
 import com.opengamma.strata.product.credit.ReferenceInformation;
+import com.opengamma.strata.product.credit.ResolvedCds;
 import com.opengamma.strata.product.credit.ResolvedCdsTrade;
 import com.opengamma.strata.product.credit.SingleNameReferenceInformation;
 
@@ -58,6 +68,12 @@ import com.opengamma.strata.product.credit.SingleNameReferenceInformation;
  * </ul>
  * <p>
  * The "natural" currency is the currency of the fee leg.
+ * <p>
+ * The calibrated ISDA curves can be shared between trades by adding a {@link CdsCurveCache}
+ * to the calculation parameters.
+ * <p>
+ * The present value of a portfolio of trades can also be calculated in a single batch,
+ * see {@link #presentValues(List, CalculationParameters, CalculationMarketData, ReferenceData)}.
  */
 public class CdsCalculationFunction
     implements CalculationFunction<CdsTrade> {
@@ -162,12 +178,14 @@ public class CdsCalculationFunction
       ReferenceData refData) {
 
     // resolve the trade once for all measures and all scenarios
-    ResolvedCdsTrade resolved = trade.resolve(refData);
+    ResolvedCdsTrade resolved = ResolutionCache.resolve(trade, parameters, refData);
+    // the calibrated curves are shared by all measures and all scenarios
+    CdsMeasureCalculations calculations = CdsMeasureCalculations.of(parameters);
 
     // loop around measures, calculating all scenarios for one measure
     Map<Measure, Result<?>> results = new HashMap<>();
     for (Measure measure : measures) {
-      results.put(measure, calculate(measure, resolved, scenarioMarketData));
+      results.put(measure, calculate(measure, calculations, resolved, scenarioMarketData));
     }
     // The calculated value is the same for these two measures but they are handled differently WRT FX conversion
     FunctionUtils.duplicateResult(Measures.PRESENT_VALUE, Measures.PRESENT_VALUE_MULTI_CCY, results);
@@ -177,6 +195,7 @@ public class CdsCalculationFunction
   // calculate one measure
   private Result<?> calculate(
       Measure measure,
+      CdsMeasureCalculations calculations,
       ResolvedCdsTrade trade,
       CalculationMarketData scenarioMarketData) {
 
@@ -184,13 +203,73 @@ public class CdsCalculationFunction
     if (calculator == null) {
       return Result.failure(FailureReason.INVALID_INPUT, "Unsupported measure: {}", measure);
     }
-    return Result.of(() -> calculator.calculate(trade, scenarioMarketData));
+    return Result.of(() -> calculator.calculate(calculations, trade, scenarioMarketData));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of a number of trades for each of a set of scenarios.
+   * <p>
+   * This is a batch alternative to calculating the {@linkplain Measures#PRESENT_VALUE present value}
+   * measure for each trade, suited to revaluing a book of single name or index constituent trades.
+   * The trades are grouped by currency and reference information, which determine the yield curve,
+   * credit curve and recovery rate used for pricing. The curves of each group are calibrated once,
+   * and trades in the group that differ only in maturity, coupon, notional and direction share
+   * the premium leg and protection leg integrals.
+   * <p>
+   * If a group cannot be priced, for example due to missing market data,
+   * the result of each trade in the group is a failure.
+   *
+   * @param trades  the trades
+   * @param parameters  the calculation parameters
+   * @param scenarioMarketData  the market data for the scenarios
+   * @param refData  the reference data
+   * @return the present value of each trade for each scenario, in the order of the trades
+   */
+  public List<Result<CurrencyValuesArray>> presentValues(
+      List<CdsTrade> trades,
+      CalculationParameters parameters,
+      CalculationMarketData scenarioMarketData,
+      ReferenceData refData) {
+
+    // resolve the trades once for all scenarios
+    List<ResolvedCdsTrade> resolved = trades.stream()
+        .map(trade -> ResolutionCache.resolve(trade, parameters, refData))
+        .collect(toImmutableList());
+
+    // the calibrated curves are shared by all groups and all scenarios
+    CdsMeasureCalculations calculations = CdsMeasureCalculations.of(parameters);
+
+    // group the trades that are priced using the same market data
+    Map<Pair<Currency, ReferenceInformation>, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < resolved.size(); i++) {
+      ResolvedCds product = resolved.get(i).getProduct();
+      Pair<Currency, ReferenceInformation> groupKey = Pair.of(product.getCurrency(), product.getReferenceInformation());
+      groups.computeIfAbsent(groupKey, k -> new ArrayList<>()).add(i);
+    }
+
+    // price each group, calculating all scenarios for all trades in the group
+    List<Result<CurrencyValuesArray>> results = new ArrayList<>(Collections.nCopies(trades.size(), null));
+    for (List<Integer> group : groups.values()) {
+      List<ResolvedCdsTrade> groupTrades = group.stream()
+          .map(resolved::get)
+          .collect(toImmutableList());
+      Result<List<CurrencyValuesArray>> groupResult =
+          Result.of(() -> calculations.presentValue(groupTrades, scenarioMarketData));
+      for (int j = 0; j < group.size(); j++) {
+        results.set(group.get(j), groupResult.isSuccess() ?
+            Result.success(groupResult.getValue().get(j)) :
+            Result.failure(groupResult));
+      }
+    }
+    return results;
   }
 
   //-------------------------------------------------------------------------
   @FunctionalInterface
   interface SingleMeasureCalculation {
     public abstract ScenarioResult<?> calculate(
+        CdsMeasureCalculations calculations,
         ResolvedCdsTrade trade,
         CalculationMarketData marketData);
   }
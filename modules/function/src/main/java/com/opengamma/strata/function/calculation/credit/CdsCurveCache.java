@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.calculation.credit;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.config.Measure;
+import com.opengamma.strata.calc.runner.CalculationParameter;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.pricer.credit.IsdaCurveCache;
+import com.opengamma.strata.product.credit.CdsTrade;
+
+/**
+ * A cache of calibrated ISDA curves, shared between the calculations of CDS trades.
+ * <p>
+ * The cache is a {@link CalculationParameter}, thus it is added to the calculation rules of a run
+ * and its lifetime is controlled by the caller. Trades on the same reference entity then share
+ * the calibrated curves across the whole run, rather than only across the measures of a single trade.
+ * The cache can be discarded, or cleared using {@link #clear()}, when the valuation date or the
+ * market data changes.
+ * <p>
+ * If no cache is supplied, each trade calculation uses its own cache.
+ * <p>
+ * This class is mutable and thread-safe.
+ */
+public final class CdsCurveCache
+    implements CalculationParameter {
+
+  /**
+   * The calibrated curves.
+   */
+  private final IsdaCurveCache curveCache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the specified maximum number of curves.
+   *
+   * @param maximumSize  the maximum number of calibrated curves to hold
+   * @return the cache
+   */
+  public static CdsCurveCache of(int maximumSize) {
+    ArgChecker.notNegativeOrZero(maximumSize, "maximumSize");
+    return new CdsCurveCache(IsdaCurveCache.of(maximumSize));
+  }
+
+  // restricted constructor
+  private CdsCurveCache(IsdaCurveCache curveCache) {
+    this.curveCache = curveCache;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying cache of calibrated curves.
+   *
+   * @return the curve cache
+   */
+  public IsdaCurveCache getCurveCache() {
+    return curveCache;
+  }
+
+  /**
+   * Discards all the calibrated curves in the cache.
+   */
+  public void clear() {
+    curveCache.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean appliesTo(CalculationTarget target, Measure measure) {
+    return target instanceof CdsTrade;
+  }
+
+  @Override
+  public String toString() {
+    return "CdsCurveCache[" + curveCache + "]";
+  }
+
+}
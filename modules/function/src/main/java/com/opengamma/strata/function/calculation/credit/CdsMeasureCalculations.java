@@ -5,9 +5,15 @@
  */
 package com.opengamma.strata.function.calculation.credit;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.market.MarketData;
 import com.opengamma.strata.calc.marketdata.CalculationMarketData;
+import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.function.result.CurrencyValuesArray;
 import com.opengamma.strata.calc.runner.function.result.ScenarioResult;
 import com.opengamma.strata.calc.runner.function.result.ValuesArray;
@@ -21,6 +27,7 @@ import com.opengamma.strata.market.key.IsdaSingleNameRecoveryRateKey;
 import com.opengamma.strata.market.key.IsdaYieldCurveInputsKey;
 import com.opengamma.strata.market.value.CdsRecoveryRate;
 import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+import com.opengamma.strata.pricer.credit.IsdaCurveCache;
 import com.opengamma.strata.product.credit.IndexReferenceInformation;
 import com.opengamma.strata.product.credit.ReferenceInformation;
 import com.opengamma.strata.product.credit.ResolvedCds;
@@ -31,21 +38,45 @@ import com.opengamma.strata.product.credit.SingleNameReferenceInformation;
  * Multi-scenario measure calculations for CSD trades.
  * <p>
  * Each method corresponds to a measure, typically calculated by one or more calls to the pricer.
+ * The calibrated curves are cached, see {@link CdsCurveCache}.
  */
 class CdsMeasureCalculations {
 
+  /**
+   * The maximum number of calibrated curves cached for the calculation of a single trade,
+   * used if no {@link CdsCurveCache} is supplied.
+   */
+  private static final int TRADE_CACHE_SIZE = 100;
+
   /**
    * The pricer to use.
    */
-  private static final IsdaCdsPricer PRICER = IsdaCdsPricer.DEFAULT;
+  private final IsdaCdsPricer pricer;
+
+  /**
+   * Obtains an instance using the curve cache in the parameters.
+   * <p>
+   * If the parameters do not contain a {@link CdsCurveCache}, a new cache is created,
+   * which is only shared by the calculations using the returned instance.
+   *
+   * @param parameters  the calculation parameters
+   * @return the calculations
+   */
+  static CdsMeasureCalculations of(CalculationParameters parameters) {
+    IsdaCurveCache curveCache = parameters.findParameter(CdsCurveCache.class)
+        .map(CdsCurveCache::getCurveCache)
+        .orElseGet(() -> IsdaCurveCache.of(TRADE_CACHE_SIZE));
+    return new CdsMeasureCalculations(new IsdaCdsPricer(curveCache));
+  }
 
   // restricted constructor
-  private CdsMeasureCalculations() {
+  private CdsMeasureCalculations(IsdaCdsPricer pricer) {
+    this.pricer = pricer;
   }
 
   //-------------------------------------------------------------------------
   // calculates par rate for all scenarios
-  static ValuesArray parRate(
+  ValuesArray parRate(
       ResolvedCdsTrade trade,
       CalculationMarketData marketData) {
 
@@ -55,7 +86,7 @@ class CdsMeasureCalculations {
   }
 
   // par rate for one scenario
-  private static double calculateParRate(
+  private double calculateParRate(
       ResolvedCdsTrade trade,
       MarketData marketData) {
 
@@ -63,7 +94,7 @@ class CdsMeasureCalculations {
     IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsKey.of(product.getCurrency()));
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
-    return PRICER.parRate(
+    return pricer.parRate(
         product,
         yieldCurveInputs,
         creditCurveInputs,
@@ -73,7 +104,7 @@ class CdsMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates present value for all scenarios
-  static CurrencyValuesArray presentValue(
+  CurrencyValuesArray presentValue(
       ResolvedCdsTrade trade,
       CalculationMarketData marketData) {
 
@@ -83,7 +114,7 @@ class CdsMeasureCalculations {
   }
 
   // present value for one scenario
-  private static CurrencyAmount calculatePresentValue(
+  private CurrencyAmount calculatePresentValue(
       ResolvedCdsTrade trade,
       MarketData marketData) {
 
@@ -91,7 +122,7 @@ class CdsMeasureCalculations {
     IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsKey.of(product.getCurrency()));
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
-    return PRICER.presentValue(
+    return pricer.presentValue(
         product,
         yieldCurveInputs,
         creditCurveInputs,
@@ -100,9 +131,47 @@ class CdsMeasureCalculations {
         creditCurveInputs.getScalingFactor());
   }
 
+  //-------------------------------------------------------------------------
+  // calculates present value for all scenarios of a number of trades on the same reference entity
+  // the trades must have the same currency and reference information
+  List<CurrencyValuesArray> presentValue(
+      List<ResolvedCdsTrade> trades,
+      CalculationMarketData marketData) {
+
+    int scenarioCount = marketData.getScenarioCount();
+    List<List<CurrencyAmount>> scenarioValues = IntStream.range(0, scenarioCount)
+        .mapToObj(i -> calculatePresentValue(trades, marketData.scenario(i)))
+        .collect(toImmutableList());
+    return IntStream.range(0, trades.size())
+        .mapToObj(tradeIndex -> CurrencyValuesArray.of(scenarioCount, i -> scenarioValues.get(i).get(tradeIndex)))
+        .collect(toImmutableList());
+  }
+
+  // present value for one scenario of a number of trades on the same reference entity
+  private List<CurrencyAmount> calculatePresentValue(
+      List<ResolvedCdsTrade> trades,
+      MarketData marketData) {
+
+    ResolvedCdsTrade firstTrade = trades.get(0);
+    IsdaYieldCurveInputs yieldCurveInputs =
+        marketData.getValue(IsdaYieldCurveInputsKey.of(firstTrade.getProduct().getCurrency()));
+    IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(firstTrade, marketData);
+    double recoveryRate = cdsRecoveryRate(firstTrade, marketData).getRecoveryRate();
+    List<ResolvedCds> products = trades.stream()
+        .map(ResolvedCdsTrade::getProduct)
+        .collect(toImmutableList());
+    return pricer.presentValue(
+        products,
+        yieldCurveInputs,
+        creditCurveInputs,
+        marketData.getValuationDate(),
+        recoveryRate,
+        creditCurveInputs.getScalingFactor());
+  }
+
   //-------------------------------------------------------------------------
   // calculates IR01 for all scenarios
-  static CurrencyValuesArray ir01ParallelZero(
+  CurrencyValuesArray ir01ParallelZero(
       ResolvedCdsTrade trade,
       CalculationMarketData marketData) {
 
@@ -112,7 +181,7 @@ class CdsMeasureCalculations {
   }
 
   // IR01 for one scenario
-  private static CurrencyAmount calculateIr01ParallelZero(
+  private CurrencyAmount calculateIr01ParallelZero(
       ResolvedCdsTrade trade,
       MarketData marketData) {
 
@@ -120,7 +189,7 @@ class CdsMeasureCalculations {
     IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsKey.of(product.getCurrency()));
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
-    return PRICER.ir01ParallelZero(
+    return pricer.ir01ParallelZero(
         product,
         yieldCurveInputs,
         creditCurveInputs,
@@ -131,7 +200,7 @@ class CdsMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates bucketed IR01 for all scenarios
-  static ScenarioResult<CurveCurrencyParameterSensitivities> ir01BucketedZero(
+  ScenarioResult<CurveCurrencyParameterSensitivities> ir01BucketedZero(
       ResolvedCdsTrade trade,
       CalculationMarketData marketData) {
 
@@ -141,7 +210,7 @@ class CdsMeasureCalculations {
   }
 
   // bucketed IR01 for one scenario
-  private static CurveCurrencyParameterSensitivities calculateIr01BucketedZero(
+  private CurveCurrencyParameterSensitivities calculateIr01BucketedZero(
       ResolvedCdsTrade trade,
       MarketData marketData) {
 
@@ -149,7 +218,7 @@ class CdsMeasureCalculations {
     IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsKey.of(product.getCurrency()));
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
-    return PRICER.ir01BucketedZero(
+    return pricer.ir01BucketedZero(
         product,
         yieldCurveInputs,
         creditCurveInputs,
@@ -160,7 +229,7 @@ class CdsMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates IR01 for all scenarios
-  static CurrencyValuesArray ir01ParallelPar(
+  CurrencyValuesArray ir01ParallelPar(
       ResolvedCdsTrade trade,
       CalculationMarketData marketData) {
 
@@ -170,7 +239,7 @@ class CdsMeasureCalculations {
   }
 
   // IR01 for one scenario
-  private static CurrencyAmount calculateIr01ParallelPar(
+  private CurrencyAmount calculateIr01ParallelPar(
       ResolvedCdsTrade trade,
       MarketData marketData) {
 
@@ -178,7 +247,7 @@ class CdsMeasureCalculations {
     IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsKey.of(product.getCurrency()));
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
-    return PRICER.ir01ParallelPar(
+    return pricer.ir01ParallelPar(
         product,
         yieldCurveInputs,
         creditCurveInputs,
@@ -189,7 +258,7 @@ class CdsMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates bucketed IR01 for all scenarios
-  static ScenarioResult<CurveCurrencyParameterSensitivities> ir01BucketedPar(
+  ScenarioResult<CurveCurrencyParameterSensitivities> ir01BucketedPar(
       ResolvedCdsTrade trade,
       CalculationMarketData marketData) {
 
@@ -199,7 +268,7 @@ class CdsMeasureCalculations {
   }
 
   // bucketed IR01 for one scenario
-  private static CurveCurrencyParameterSensitivities calculateIr01BucketedPar(
+  private CurveCurrencyParameterSensitivities calculateIr01BucketedPar(
       ResolvedCdsTrade trade,
       MarketData marketData) {
 
@@ -207,7 +276,7 @@ class CdsMeasureCalculations {
     IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsKey.of(product.getCurrency()));
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
-    return PRICER.ir01BucketedPar(
+    return pricer.ir01BucketedPar(
         product,
         yieldCurveInputs,
         creditCurveInputs,
@@ -218,7 +287,7 @@ class CdsMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates CS01 for all scenarios
-  static CurrencyValuesArray cs01ParallelPar(
+  CurrencyValuesArray cs01ParallelPar(
       ResolvedCdsTrade trade,
       CalculationMarketData marketData) {
 
@@ -228,7 +297,7 @@ class CdsMeasureCalculations {
   }
 
   // present value for one scenario
-  private static CurrencyAmount calculateCs01ParallelPar(
+  private CurrencyAmount calculateCs01ParallelPar(
       ResolvedCdsTrade trade,
       MarketData marketData) {
 
@@ -236,7 +305,7 @@ class CdsMeasureCalculations {
     IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsKey.of(product.getCurrency()));
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
-    return PRICER.cs01ParallelPar(
+    return pricer.cs01ParallelPar(
         product,
         yieldCurveInputs,
         creditCurveInputs,
@@ -247,7 +316,7 @@ class CdsMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates bucketed CS01 for all scenarios
-  static ScenarioResult<CurveCurrencyParameterSensitivities> cs01BucketedPar(
+  ScenarioResult<CurveCurrencyParameterSensitivities> cs01BucketedPar(
       ResolvedCdsTrade trade,
       CalculationMarketData marketData) {
 
@@ -257,7 +326,7 @@ class CdsMeasureCalculations {
   }
 
   // bucketed CS01 for one scenario
-  private static CurveCurrencyParameterSensitivities calculateCs01BucketedPar(
+  private CurveCurrencyParameterSensitivities calculateCs01BucketedPar(
       ResolvedCdsTrade trade,
       MarketData marketData) {
 
@@ -265,7 +334,7 @@ class CdsMeasureCalculations {
     IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsKey.of(product.getCurrency()));
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
-    return PRICER.cs01BucketedPar(
+    return pricer.cs01BucketedPar(
         product,
         yieldCurveInputs,
         creditCurveInputs,
@@ -276,7 +345,7 @@ class CdsMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates CS01 for all scenarios
-  static CurrencyValuesArray cs01ParallelHazard(
+  CurrencyValuesArray cs01ParallelHazard(
       ResolvedCdsTrade trade,
       CalculationMarketData marketData) {
 
@@ -286,7 +355,7 @@ class CdsMeasureCalculations {
   }
 
   // CS01 for one scenario
-  private static CurrencyAmount calculateCs01ParallelHazard(
+  private CurrencyAmount calculateCs01ParallelHazard(
       ResolvedCdsTrade trade,
       MarketData marketData) {
 
@@ -294,7 +363,7 @@ class CdsMeasureCalculations {
     IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsKey.of(product.getCurrency()));
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
-    return PRICER.cs01ParallelHazard(
+    return pricer.cs01ParallelHazard(
         product,
         yieldCurveInputs,
         creditCurveInputs,
@@ -305,7 +374,7 @@ class CdsMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates bucketed CS01 for all scenarios
-  static ScenarioResult<CurveCurrencyParameterSensitivities> cs01BucketedHazard(
+  ScenarioResult<CurveCurrencyParameterSensitivities> cs01BucketedHazard(
       ResolvedCdsTrade trade,
       CalculationMarketData marketData) {
 
@@ -315,7 +384,7 @@ class CdsMeasureCalculations {
   }
 
   // bucketed CS01 for one scenario
-  private static CurveCurrencyParameterSensitivities calculateCs01BucketedHazard(
+  private CurveCurrencyParameterSensitivities calculateCs01BucketedHazard(
       ResolvedCdsTrade trade,
       MarketData marketData) {
 
@@ -323,7 +392,7 @@ class CdsMeasureCalculations {
     IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsKey.of(product.getCurrency()));
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
-    return PRICER.cs01BucketedHazard(
+    return pricer.cs01BucketedHazard(
         product,
         yieldCurveInputs,
         creditCurveInputs,
@@ -334,7 +403,7 @@ class CdsMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates recovery01 for all scenarios
-  static CurrencyValuesArray recovery01(
+  CurrencyValuesArray recovery01(
       ResolvedCdsTrade trade,
       CalculationMarketData marketData) {
 
@@ -344,7 +413,7 @@ class CdsMeasureCalculations {
   }
 
   // recovery01 for one scenario
-  private static CurrencyAmount calculateRecovery01(
+  private CurrencyAmount calculateRecovery01(
       ResolvedCdsTrade trade,
       MarketData marketData) {
 
@@ -352,7 +421,7 @@ class CdsMeasureCalculations {
     IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsKey.of(product.getCurrency()));
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
-    return PRICER.recovery01(
+    return pricer.recovery01(
         product,
         yieldCurveInputs,
         creditCurveInputs,
@@ -363,7 +432,7 @@ class CdsMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates jump to default for all scenarios
-  static CurrencyValuesArray jumpToDefault(
+  CurrencyValuesArray jumpToDefault(
       ResolvedCdsTrade trade,
       CalculationMarketData marketData) {
 
@@ -373,7 +442,7 @@ class CdsMeasureCalculations {
   }
 
   // jump to default for one scenario
-  private static CurrencyAmount calculateJumpToDefault(
+  private CurrencyAmount calculateJumpToDefault(
       ResolvedCdsTrade trade,
       MarketData marketData) {
 
@@ -381,7 +450,7 @@ class CdsMeasureCalculations {
     IsdaYieldCurveInputs yieldCurveInputs = marketData.getValue(IsdaYieldCurveInputsKey.of(product.getCurrency()));
     IsdaCreditCurveInputs creditCurveInputs = creditCurveInputs(trade, marketData);
     double recoveryRate = cdsRecoveryRate(trade, marketData).getRecoveryRate();
-    return PRICER.jumpToDefault(
+    return pricer.jumpToDefault(
         product,
         yieldCurveInputs,
         creditCurveInputs,
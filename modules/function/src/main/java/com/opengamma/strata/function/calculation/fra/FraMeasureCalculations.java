@@ -15,13 +15,13 @@ import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.basics.market.MarketData;
-import com.opengamma.strata.calc.marketdata.CalculationMarketData;
 import com.opengamma.strata.calc.runner.function.result.CurrencyValuesArray;
 import com.opengamma.strata.calc.runner.function.result.MultiCurrencyValuesArray;
 import com.opengamma.strata.calc.runner.function.result.ScenarioResult;
 import com.opengamma.strata.calc.runner.function.result.ValuesArray;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.function.calculation.rate.MarketDataUtils;
+import com.opengamma.strata.function.calculation.rate.RatesScenarioMarketData;
 import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivity;
@@ -31,7 +31,6 @@ import com.opengamma.strata.market.key.DiscountCurveKey;
 import com.opengamma.strata.market.key.IborIndexCurveKey;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.fra.DiscountingFraProductPricer;
-import com.opengamma.strata.pricer.rate.MarketDataRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
 import com.opengamma.strata.product.fra.ResolvedFra;
@@ -62,97 +61,91 @@ final class FraMeasureCalculations {
   // calculates par rate for all scenarios
   static ValuesArray parRate(
       ResolvedFraTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedFra product = trade.getProduct();
     return ValuesArray.of(
         marketData.getScenarioCount(),
-        i -> calculateParRate(product, marketData.scenario(i)));
+        i -> calculateParRate(product, marketData.ratesProvider(i)));
   }
 
   // par rate for one scenario
-  private static double calculateParRate(ResolvedFra fra, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static double calculateParRate(ResolvedFra fra, RatesProvider provider) {
     return PRICER.parRate(fra, provider);
   }
 
   //-------------------------------------------------------------------------
   // calculates par spread for all scenarios
-  static ValuesArray parSpread(ResolvedFraTrade trade, CalculationMarketData marketData) {
+  static ValuesArray parSpread(ResolvedFraTrade trade, RatesScenarioMarketData marketData) {
 
     ResolvedFra product = trade.getProduct();
     return ValuesArray.of(
         marketData.getScenarioCount(),
-        i -> calculateParSpread(product, marketData.scenario(i)));
+        i -> calculateParSpread(product, marketData.ratesProvider(i)));
   }
 
   // par spread for one scenario
-  private static double calculateParSpread(ResolvedFra product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static double calculateParSpread(ResolvedFra product, RatesProvider provider) {
     return PRICER.parSpread(product, provider);
   }
 
   //-------------------------------------------------------------------------
   // calculates present value for all scenarios
-  static CurrencyValuesArray presentValue(ResolvedFraTrade trade, CalculationMarketData marketData) {
+  static CurrencyValuesArray presentValue(ResolvedFraTrade trade, RatesScenarioMarketData marketData) {
 
     ResolvedFra product = trade.getProduct();
     return CurrencyValuesArray.of(
         marketData.getScenarioCount(),
-        i -> calculatePresentValue(product, marketData.scenario(i)));
+        i -> calculatePresentValue(product, marketData.ratesProvider(i)));
   }
 
   // present value for one scenario
-  private static CurrencyAmount calculatePresentValue(ResolvedFra product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static CurrencyAmount calculatePresentValue(ResolvedFra product, RatesProvider provider) {
     return PRICER.presentValue(product, provider);
   }
 
   //-------------------------------------------------------------------------
   // calculates explain present value for all scenarios
-  static ScenarioResult<ExplainMap> explainPresentValue(ResolvedFraTrade trade, CalculationMarketData marketData) {
+  static ScenarioResult<ExplainMap> explainPresentValue(ResolvedFraTrade trade, RatesScenarioMarketData marketData) {
 
     ResolvedFra product = trade.getProduct();
     return ScenarioResult.of(
         marketData.getScenarioCount(),
-        i -> calculateExplainPresentValue(product, marketData.scenario(i)));
+        i -> calculateExplainPresentValue(product, marketData.ratesProvider(i)));
   }
 
   // explain present value for one scenario
-  private static ExplainMap calculateExplainPresentValue(ResolvedFra product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static ExplainMap calculateExplainPresentValue(ResolvedFra product, RatesProvider provider) {
     return PRICER.explainPresentValue(product, provider);
   }
 
   //-------------------------------------------------------------------------
   // calculates cash flows for all scenarios
-  static ScenarioResult<CashFlows> cashFlows(ResolvedFraTrade trade, CalculationMarketData marketData) {
+  static ScenarioResult<CashFlows> cashFlows(ResolvedFraTrade trade, RatesScenarioMarketData marketData) {
 
     ResolvedFra product = trade.getProduct();
     return ScenarioResult.of(
         marketData.getScenarioCount(),
-        i -> calculateCashFlows(product, marketData.scenario(i)));
+        i -> calculateCashFlows(product, marketData.ratesProvider(i)));
   }
 
   // cash flows for one scenario
-  private static CashFlows calculateCashFlows(ResolvedFra product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static CashFlows calculateCashFlows(ResolvedFra product, RatesProvider provider) {
     return PRICER.cashFlows(product, provider);
   }
 
   //-------------------------------------------------------------------------
   // calculates PV01 for all scenarios
-  static MultiCurrencyValuesArray pv01(ResolvedFraTrade trade, CalculationMarketData marketData) {
+  static MultiCurrencyValuesArray pv01(ResolvedFraTrade trade, RatesScenarioMarketData marketData) {
 
     ResolvedFra product = trade.getProduct();
     return MultiCurrencyValuesArray.of(
         marketData.getScenarioCount(),
-        i -> calculatePv01(product, marketData.scenario(i)));
+        i -> calculatePv01(product, marketData.ratesProvider(i)));
   }
 
   // PV01 for one scenario
-  private static MultiCurrencyAmount calculatePv01(ResolvedFra product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static MultiCurrencyAmount calculatePv01(ResolvedFra product, RatesProvider provider) {
     PointSensitivities pointSensitivity = PRICER.presentValueSensitivity(product, provider);
     return provider.curveParameterSensitivity(pointSensitivity).total().multipliedBy(ONE_BASIS_POINT);
   }
@@ -161,20 +154,18 @@ final class FraMeasureCalculations {
   // calculates bucketed PV01 for all scenarios
   static ScenarioResult<CurveCurrencyParameterSensitivities> bucketedPv01(
       ResolvedFraTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedFra product = trade.getProduct();
     return ScenarioResult.of(
         marketData.getScenarioCount(),
-        i -> calculateBucketedPv01(product, marketData.scenario(i)));
+        i -> calculateBucketedPv01(product, marketData.ratesProvider(i)));
   }
 
   // bucketed PV01 for one scenario
   private static CurveCurrencyParameterSensitivities calculateBucketedPv01(
       ResolvedFra product,
-      MarketData marketData) {
-
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+      RatesProvider provider) {
     PointSensitivities pointSensitivity = PRICER.presentValueSensitivity(product, provider);
     return provider.curveParameterSensitivity(pointSensitivity).multipliedBy(ONE_BASIS_POINT);
   }
@@ -183,7 +174,7 @@ final class FraMeasureCalculations {
   // calculates bucketed gamma PV01 for all scenarios
   static ScenarioResult<CurveCurrencyParameterSensitivities> bucketedGammaPv01(
       ResolvedFraTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedFra product = trade.getProduct();
     return ScenarioResult.of(
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.calculation.rate;
+
+import com.opengamma.strata.basics.market.MarketData;
+import com.opengamma.strata.calc.marketdata.CalculationMarketData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.pricer.rate.CachingRatesProvider;
+import com.opengamma.strata.pricer.rate.MarketDataRatesProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Multi-scenario market data for rates products, shared between all the measures of a single trade.
+ * <p>
+ * A calculation function typically calculates a number of measures for each trade, with each
+ * measure looping over all the scenarios. Without sharing, each measure creates a new
+ * single scenario view of the market data and a new {@link RatesProvider} for every scenario.
+ * <p>
+ * This class holds the rates provider for each scenario, creating it on first use.
+ * All measures calculated for the trade then price against the same provider instance.
+ * The provider is a {@link CachingRatesProvider}, thus each curve view is only created once per scenario.
+ * Each scenario is still priced separately, thus a calculation of a single measure only benefits
+ * from the curve views being created once.
+ * <p>
+ * This class is not thread-safe and is intended to be used within a single call to a calculation function.
+ */
+public final class RatesScenarioMarketData {
+
+  /**
+   * The underlying market data for all scenarios.
+   */
+  private final CalculationMarketData marketData;
+  /**
+   * The rates providers, indexed by scenario, null until first requested.
+   */
+  private final RatesProvider[] ratesProviders;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance wrapping the underlying market data.
+   *
+   * @param marketData  the market data for all scenarios
+   * @return the rates scenario market data
+   */
+  public static RatesScenarioMarketData of(CalculationMarketData marketData) {
+    return new RatesScenarioMarketData(marketData);
+  }
+
+  // restricted constructor
+  private RatesScenarioMarketData(CalculationMarketData marketData) {
+    this.marketData = ArgChecker.notNull(marketData, "marketData");
+    this.ratesProviders = new RatesProvider[marketData.getScenarioCount()];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying market data for all scenarios.
+   *
+   * @return the market data
+   */
+  public CalculationMarketData getMarketData() {
+    return marketData;
+  }
+
+  /**
+   * Gets the number of scenarios.
+   *
+   * @return the number of scenarios
+   */
+  public int getScenarioCount() {
+    return ratesProviders.length;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the market data for a single scenario.
+   *
+   * @param scenarioIndex  the scenario index
+   * @return the market data for the specified scenario
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public MarketData scenario(int scenarioIndex) {
+    return marketData.scenario(scenarioIndex);
+  }
+
+  /**
+   * Returns the rates provider for a single scenario.
+   * <p>
+   * The provider is created on first use and then returned for all subsequent calls.
+   *
+   * @param scenarioIndex  the scenario index
+   * @return the rates provider for the specified scenario
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public RatesProvider ratesProvider(int scenarioIndex) {
+    RatesProvider provider = ratesProviders[scenarioIndex];
+    if (provider == null) {
+      provider = CachingRatesProvider.of(MarketDataRatesProvider.of(marketData.scenario(scenarioIndex)));
+      ratesProviders[scenarioIndex] = provider;
+    }
+    return provider;
+  }
+
+}
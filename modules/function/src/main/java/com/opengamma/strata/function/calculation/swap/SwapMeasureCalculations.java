@@ -21,7 +21,6 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.market.MarketData;
 import com.opengamma.strata.basics.market.MarketDataKey;
-import com.opengamma.strata.calc.marketdata.CalculationMarketData;
 import com.opengamma.strata.calc.runner.function.result.MultiCurrencyValuesArray;
 import com.opengamma.strata.calc.runner.function.result.ScenarioResult;
 import com.opengamma.strata.calc.runner.function.result.SingleScenarioResult;
@@ -29,6 +28,7 @@ import com.opengamma.strata.calc.runner.function.result.ValuesArray;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.function.calculation.rate.MarketDataUtils;
+import com.opengamma.strata.function.calculation.rate.RatesScenarioMarketData;
 import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.amount.LegAmount;
 import com.opengamma.strata.market.amount.LegAmounts;
@@ -40,7 +40,6 @@ import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.key.DiscountCurveKey;
 import com.opengamma.strata.market.key.MarketDataKeys;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
-import com.opengamma.strata.pricer.rate.MarketDataRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
 import com.opengamma.strata.pricer.swap.DiscountingSwapLegPricer;
@@ -77,17 +76,16 @@ final class SwapMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates par rate for all scenarios
-  static ValuesArray parRate(ResolvedSwapTrade trade, CalculationMarketData marketData) {
+  static ValuesArray parRate(ResolvedSwapTrade trade, RatesScenarioMarketData marketData) {
 
     ResolvedSwap product = trade.getProduct();
     return ValuesArray.of(
         marketData.getScenarioCount(),
-        i -> calculateParRate(product, marketData.scenario(i)));
+        i -> calculateParRate(product, marketData.ratesProvider(i)));
   }
 
   // par rate for one scenario
-  private static double calculateParRate(ResolvedSwap product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static double calculateParRate(ResolvedSwap product, RatesProvider provider) {
     return PRICER.parRate(product, provider);
   }
 
@@ -95,17 +93,16 @@ final class SwapMeasureCalculations {
   // calculates par spread for all scenarios
   static ValuesArray parSpread(
       ResolvedSwapTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedSwap product = trade.getProduct();
     return ValuesArray.of(
         marketData.getScenarioCount(),
-        i -> calculateParSpread(product, marketData.scenario(i)));
+        i -> calculateParSpread(product, marketData.ratesProvider(i)));
   }
 
   // par spread for one scenario
-  private static double calculateParSpread(ResolvedSwap product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static double calculateParSpread(ResolvedSwap product, RatesProvider provider) {
     return PRICER.parSpread(product, provider);
   }
 
@@ -113,17 +110,16 @@ final class SwapMeasureCalculations {
   // calculates present value for all scenarios
   static MultiCurrencyValuesArray presentValue(
       ResolvedSwapTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedSwap product = trade.getProduct();
     return MultiCurrencyValuesArray.of(
         marketData.getScenarioCount(),
-        i -> calculatePresentValue(product, marketData.scenario(i)));
+        i -> calculatePresentValue(product, marketData.ratesProvider(i)));
   }
 
   // present value for one scenario
-  private static MultiCurrencyAmount calculatePresentValue(ResolvedSwap product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static MultiCurrencyAmount calculatePresentValue(ResolvedSwap product, RatesProvider provider) {
     return PRICER.presentValue(product, provider);
   }
 
@@ -131,17 +127,16 @@ final class SwapMeasureCalculations {
   // calculates explain present value for all scenarios
   static ScenarioResult<ExplainMap> explainPresentValue(
       ResolvedSwapTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedSwap product = trade.getProduct();
     return ScenarioResult.of(
         marketData.getScenarioCount(),
-        i -> calculateExplainPresentValue(product, marketData.scenario(i)));
+        i -> calculateExplainPresentValue(product, marketData.ratesProvider(i)));
   }
 
   // explain present value for one scenario
-  private static ExplainMap calculateExplainPresentValue(ResolvedSwap product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static ExplainMap calculateExplainPresentValue(ResolvedSwap product, RatesProvider provider) {
     return PRICER.explainPresentValue(product, provider);
   }
 
@@ -149,17 +144,16 @@ final class SwapMeasureCalculations {
   // calculates cash flows for all scenarios
   static ScenarioResult<CashFlows> cashFlows(
       ResolvedSwapTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedSwap product = trade.getProduct();
     return ScenarioResult.of(
         marketData.getScenarioCount(),
-        i -> calculateCashFlows(product, marketData.scenario(i)));
+        i -> calculateCashFlows(product, marketData.ratesProvider(i)));
   }
 
   // cash flows for one scenario
-  private static CashFlows calculateCashFlows(ResolvedSwap product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static CashFlows calculateCashFlows(ResolvedSwap product, RatesProvider provider) {
     return PRICER.cashFlows(product, provider);
   }
 
@@ -167,17 +161,16 @@ final class SwapMeasureCalculations {
   // calculates PV01 for all scenarios
   static MultiCurrencyValuesArray pv01(
       ResolvedSwapTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedSwap product = trade.getProduct();
     return MultiCurrencyValuesArray.of(
         marketData.getScenarioCount(),
-        i -> calculatePv01(product, marketData.scenario(i)));
+        i -> calculatePv01(product, marketData.ratesProvider(i)));
   }
 
   // PV01 for one scenario
-  private static MultiCurrencyAmount calculatePv01(ResolvedSwap product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static MultiCurrencyAmount calculatePv01(ResolvedSwap product, RatesProvider provider) {
     PointSensitivities pointSensitivity = PRICER.presentValueSensitivity(product, provider).build();
     return provider.curveParameterSensitivity(pointSensitivity).total().multipliedBy(ONE_BASIS_POINT);
   }
@@ -186,20 +179,18 @@ final class SwapMeasureCalculations {
   // calculates bucketed PV01 for all scenarios
   static ScenarioResult<CurveCurrencyParameterSensitivities> bucketedPv01(
       ResolvedSwapTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedSwap product = trade.getProduct();
     return ScenarioResult.of(
         marketData.getScenarioCount(),
-        i -> calculateBucketedPv01(product, marketData.scenario(i)));
+        i -> calculateBucketedPv01(product, marketData.ratesProvider(i)));
   }
 
   // bucketed PV01 for one scenario
   private static CurveCurrencyParameterSensitivities calculateBucketedPv01(
       ResolvedSwap product,
-      MarketData marketData) {
-
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+      RatesProvider provider) {
     PointSensitivities pointSensitivity = PRICER.presentValueSensitivity(product, provider).build();
     return provider.curveParameterSensitivity(pointSensitivity).multipliedBy(ONE_BASIS_POINT);
   }
@@ -208,7 +199,7 @@ final class SwapMeasureCalculations {
   // calculates bucketed gamma PV01 for all scenarios
   static ScenarioResult<CurveCurrencyParameterSensitivities> bucketedGammaPv01(
       ResolvedSwapTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedSwap product = trade.getProduct();
     return ScenarioResult.of(
@@ -271,17 +262,16 @@ final class SwapMeasureCalculations {
   // calculates accrued interest for all scenarios
   static MultiCurrencyValuesArray accruedInterest(
       ResolvedSwapTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedSwap product = trade.getProduct();
     return MultiCurrencyValuesArray.of(
         marketData.getScenarioCount(),
-        i -> calculateAccruedInterest(product, marketData.scenario(i)));
+        i -> calculateAccruedInterest(product, marketData.ratesProvider(i)));
   }
 
   // current cash for one scenario
-  private static MultiCurrencyAmount calculateAccruedInterest(ResolvedSwap product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static MultiCurrencyAmount calculateAccruedInterest(ResolvedSwap product, RatesProvider provider) {
     return PRICER.accruedInterest(product, provider);
   }
 
@@ -289,7 +279,7 @@ final class SwapMeasureCalculations {
   // calculates leg initial notional for all scenarios
   static SingleScenarioResult<LegAmounts> legInitialNotional(
       ResolvedSwapTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     LegAmounts legInitialNotional = calculateLegInitialNotional(trade);
     return SingleScenarioResult.of(marketData.getScenarioCount(), legInitialNotional);
@@ -330,17 +320,16 @@ final class SwapMeasureCalculations {
   // calculates leg present value for all scenarios
   static ScenarioResult<LegAmounts> legPresentValue(
       ResolvedSwapTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedSwap product = trade.getProduct();
     return ScenarioResult.of(
         marketData.getScenarioCount(),
-        i -> calculateLegPresentValue(product, marketData.scenario(i)));
+        i -> calculateLegPresentValue(product, marketData.ratesProvider(i)));
   }
 
   // leg present value for one scenario
-  private static LegAmounts calculateLegPresentValue(ResolvedSwap product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static LegAmounts calculateLegPresentValue(ResolvedSwap product, RatesProvider provider) {
     List<LegAmount> legAmounts = product.getLegs().stream()
         .map(leg -> legAmount(leg, provider))
         .collect(Collectors.toList());
@@ -357,17 +346,16 @@ final class SwapMeasureCalculations {
   // calculates currency exposure for all scenarios
   static MultiCurrencyValuesArray currencyExposure(
       ResolvedSwapTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedSwap product = trade.getProduct();
     return MultiCurrencyValuesArray.of(
         marketData.getScenarioCount(),
-        i -> calculateCurrencyExposure(product, marketData.scenario(i)));
+        i -> calculateCurrencyExposure(product, marketData.ratesProvider(i)));
   }
 
   // currency exposure for one scenario
-  private static MultiCurrencyAmount calculateCurrencyExposure(ResolvedSwap product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static MultiCurrencyAmount calculateCurrencyExposure(ResolvedSwap product, RatesProvider provider) {
     return PRICER.currencyExposure(product, provider);
   }
 
@@ -375,17 +363,16 @@ final class SwapMeasureCalculations {
   // calculates current cash for all scenarios
   static MultiCurrencyValuesArray currentCash(
       ResolvedSwapTrade trade,
-      CalculationMarketData marketData) {
+      RatesScenarioMarketData marketData) {
 
     ResolvedSwap product = trade.getProduct();
     return MultiCurrencyValuesArray.of(
         marketData.getScenarioCount(),
-        i -> calculateCurrentCash(product, marketData.scenario(i)));
+        i -> calculateCurrentCash(product, marketData.ratesProvider(i)));
   }
 
   // current cash for one scenario
-  private static MultiCurrencyAmount calculateCurrentCash(ResolvedSwap product, MarketData marketData) {
-    RatesProvider provider = MarketDataRatesProvider.of(marketData);
+  private static MultiCurrencyAmount calculateCurrentCash(ResolvedSwap product, RatesProvider provider) {
     return PRICER.currentCash(product, provider);
   }
 
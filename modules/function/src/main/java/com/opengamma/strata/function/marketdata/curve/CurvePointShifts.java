@@ -29,16 +29,19 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.market.MarketDataBox;
+import com.opengamma.strata.basics.market.ScenarioMarketDataValue;
 import com.opengamma.strata.calc.marketdata.scenario.ScenarioPerturbation;
 import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.function.IntIntToDoubleFunction;
 import com.opengamma.strata.collect.tuple.ObjIntPair;
 import com.opengamma.strata.market.ShiftType;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveParameterMetadata;
 import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.curve.NodalCurveArray;
 
 /**
  * A perturbation that applies different shifts to specific points on a curve.
@@ -53,6 +56,10 @@ import com.opengamma.strata.market.curve.NodalCurve;
  * <p>
  * This shift can only be applied to an instance of {@link NodalCurve} which contains parameter metadata.
  * The {@link #applyTo} method will throw an exception for any other curves.
+ * <p>
+ * When applied to a single curve, or to curves held in a {@link NodalCurveArray}, the shifts for all
+ * scenarios are applied to the matrix of y-values in a single operation. The result is a {@code NodalCurveArray}
+ * where the curve metadata, x-values and interpolation are shared by all scenarios.
  *
  * @see CurveParameterMetadata#getIdentifier()
  */
@@ -121,21 +128,46 @@ public final class CurvePointShifts
   @Override
   public MarketDataBox<Curve> applyTo(MarketDataBox<Curve> marketData) {
     log.debug("Applying {} point shift to curve '{}'", shiftType, marketData.getValue(0).getName());
+    if (marketData.isSingleValue()) {
+      Curve curve = marketData.getSingleValue();
+      int[] shiftColumns = shiftColumns(curve);
+      NodalCurve nodalCurve = curve.toNodalCurve();
+      DoubleArray yValues = nodalCurve.getYValues();
+      return applyShifts(nodalCurve, shiftColumns, (scenarioIndex, nodeIndex) -> yValues.get(nodeIndex));
+    }
+    ScenarioMarketDataValue<Curve> scenarioValue = marketData.getScenarioValue();
+    if (scenarioValue instanceof NodalCurveArray) {
+      NodalCurveArray curves = (NodalCurveArray) scenarioValue;
+      if (curves.getScenarioCount() != shifts.rowCount()) {
+        throw new IllegalArgumentException(Messages.format(
+            "Scenario count {} does not equal the scenario count of the value {}",
+            shifts.rowCount(),
+            curves.getScenarioCount()));
+      }
+      int[] shiftColumns = shiftColumns(curves.getCurve());
+      DoubleMatrix yValues = curves.getYValues();
+      return applyShifts(curves.getCurve(), shiftColumns, yValues::get);
+    }
     return marketData.apply(shifts.rowCount(), (curve, scenarioIndex) -> applyShifts(scenarioIndex, curve));
   }
 
+  // applies the shifts to the y-values of all scenarios in a single matrix operation
+  // the result shares the metadata, x-values and interpolation of the curve between the scenarios
+  private MarketDataBox<Curve> applyShifts(NodalCurve curve, int[] shiftColumns, IntIntToDoubleFunction yValues) {
+    DoubleMatrix shifted = DoubleMatrix.of(
+        shifts.rowCount(),
+        shiftColumns.length,
+        (scenarioIndex, nodeIndex) -> shiftedValue(
+            scenarioIndex, shiftColumns[nodeIndex], yValues.applyAsDouble(scenarioIndex, nodeIndex)));
+    return MarketDataBox.ofScenarioValue(NodalCurveArray.of(curve, shifted));
+  }
+
+  // applies the shifts to the curve in a single scenario
   private Curve applyShifts(int scenarioIndex, Curve curve) {
-    // curve parameter metadata is required, otherwise there is no way to find the nodes and apply the shifts
-    List<CurveParameterMetadata> nodeMetadata = curve.getMetadata().getParameterMetadata()
-        .orElseThrow(() -> new IllegalArgumentException(Messages.format(
-            "Unable to apply point shifts to curve '{}' because it has no parameter metadata", curve.getName())));
+    int[] shiftColumns = shiftColumns(curve);
     NodalCurve nodalCurve = curve.toNodalCurve();
     DoubleArray yValues = nodalCurve.getYValues();
-    DoubleArray shifted = yValues.mapWithIndex((i, v) -> {
-      CurveParameterMetadata meta = nodeMetadata.get(i);
-      double shift = shiftForNode(scenarioIndex, meta);
-      return shiftType.applyShift(v, shift);
-    });
+    DoubleArray shifted = yValues.mapWithIndex((i, v) -> shiftedValue(scenarioIndex, shiftColumns[i], v));
     return nodalCurve.withYValues(shifted);
   }
 
@@ -144,18 +176,34 @@ public final class CurvePointShifts
     return shifts.rowCount();
   }
 
-  private double shiftForNode(int scenarioIndex, CurveParameterMetadata meta) {
+  // finds the column in the matrix of shifts for each node, -1 if the node is not shifted
+  private int[] shiftColumns(Curve curve) {
+    // curve parameter metadata is required, otherwise there is no way to find the nodes and apply the shifts
+    List<CurveParameterMetadata> nodeMetadata = curve.getMetadata().getParameterMetadata()
+        .orElseThrow(() -> new IllegalArgumentException(Messages.format(
+            "Unable to apply point shifts to curve '{}' because it has no parameter metadata", curve.getName())));
+    return nodeMetadata.stream()
+        .mapToInt(this::shiftColumn)
+        .toArray();
+  }
+
+  private int shiftColumn(CurveParameterMetadata meta) {
     Integer nodeIndex = nodeIndices.get(meta.getIdentifier());
 
     if (nodeIndex != null) {
-      return shifts.get(scenarioIndex, nodeIndex);
+      return nodeIndex;
     }
     nodeIndex = nodeIndices.get(meta.getLabel());
 
     if (nodeIndex != null) {
-      return shifts.get(scenarioIndex, nodeIndex);
+      return nodeIndex;
     }
-    return 0;
+    return -1;
+  }
+
+  private double shiftedValue(int scenarioIndex, int shiftColumn, double value) {
+    double shift = shiftColumn < 0 ? 0 : shifts.get(scenarioIndex, shiftColumn);
+    return shiftType.applyShift(value, shift);
   }
 
   //------------------------- AUTOGENERATED START -------------------------
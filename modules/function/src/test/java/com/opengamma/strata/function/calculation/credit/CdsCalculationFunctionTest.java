@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.calculation.credit;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.market.ReferenceData;
+import com.opengamma.strata.basics.market.StandardId;
+import com.opengamma.strata.calc.config.Measure;
+import com.opengamma.strata.calc.config.Measures;
+import com.opengamma.strata.calc.marketdata.CalculationMarketData;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.calc.runner.function.result.CurrencyValuesArray;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.function.marketdata.curve.TestMarketDataMap;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.IsdaCreditCurveInputs;
+import com.opengamma.strata.market.curve.IsdaYieldCurveInputs;
+import com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType;
+import com.opengamma.strata.market.key.IsdaSingleNameCreditCurveInputsKey;
+import com.opengamma.strata.market.key.IsdaSingleNameRecoveryRateKey;
+import com.opengamma.strata.market.key.IsdaYieldCurveInputsKey;
+import com.opengamma.strata.market.value.CdsRecoveryRate;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+import com.opengamma.strata.product.credit.CdsTrade;
+import com.opengamma.strata.product.credit.RestructuringClause;
+import com.opengamma.strata.product.credit.SeniorityLevel;
+import com.opengamma.strata.product.credit.SingleNameReferenceInformation;
+import com.opengamma.strata.product.credit.type.CdsConvention;
+import com.opengamma.strata.product.credit.type.CdsConventions;
+import com.opengamma.strata.product.credit.type.IsdaYieldCurveConventions;
+
+/**
+ * Test {@link CdsCalculationFunction}.
+ */
+@Test
+public class CdsCalculationFunctionTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final CalculationParameters PARAMS = CalculationParameters.empty();
+  private static final LocalDate VAL_DATE = date(2014, 10, 16);
+  private static final CdsConvention CONVENTION = CdsConventions.USD_NORTH_AMERICAN;
+  private static final double RECOVERY_RATE = 0.4;
+  private static final double TOLERANCE_PV = 1e-6;
+  private static final SingleNameReferenceInformation REF_INFO = SingleNameReferenceInformation.of(
+      StandardId.of("OG", "ABC"),
+      SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+      Currency.USD,
+      RestructuringClause.NO_RESTRUCTURING_2014);
+  private static final CdsTrade TRADE = trade(date(2019, 12, 20), BuySell.BUY, 100_000_000d, 0.01);
+  private static final IsdaYieldCurveInputs YIELD_INPUTS = yieldCurveInputs();
+  private static final IsdaCreditCurveInputs CREDIT_INPUTS = creditCurveInputs();
+
+  private static CdsTrade trade(LocalDate endDate, BuySell buySell, double notional, double coupon) {
+    return CONVENTION.toTrade(
+        date(2014, 9, 22), endDate, buySell, notional, coupon, REF_INFO, 1_000_000d, date(2014, 10, 21));
+  }
+
+  private static IsdaYieldCurveInputs yieldCurveInputs() {
+    Period[] periods = {
+        Period.ofMonths(1), Period.ofMonths(3), Period.ofMonths(6), Period.ofYears(1),
+        Period.ofYears(2), Period.ofYears(5), Period.ofYears(10)};
+    LocalDate[] endDates = Arrays.stream(periods).map(VAL_DATE::plus).toArray(LocalDate[]::new);
+    IsdaYieldCurveUnderlyingType[] types = Arrays.stream(periods)
+        .map(p -> p.getYears() < 2 ?
+            IsdaYieldCurveUnderlyingType.ISDA_MONEY_MARKET :
+            IsdaYieldCurveUnderlyingType.ISDA_SWAP)
+        .toArray(IsdaYieldCurveUnderlyingType[]::new);
+    double[] rates = {0.001535, 0.002281, 0.003217, 0.005444, 0.005905, 0.015395, 0.022940};
+    return IsdaYieldCurveInputs.of(
+        CurveName.of("Yield"), periods, endDates, types, rates, IsdaYieldCurveConventions.USD_ISDA);
+  }
+
+  private static IsdaCreditCurveInputs creditCurveInputs() {
+    Period[] periods = {
+        Period.ofMonths(6), Period.ofYears(1), Period.ofYears(3), Period.ofYears(5), Period.ofYears(10)};
+    LocalDate[] endDates = Arrays.stream(periods)
+        .map(p -> CONVENTION.calculateUnadjustedMaturityDateFromValuationDate(VAL_DATE, p))
+        .toArray(LocalDate[]::new);
+    double[] rates = {0.0060, 0.0070, 0.0080, 0.0090, 0.0100};
+    return IsdaCreditCurveInputs.of(CurveName.of("Credit"), periods, endDates, rates, CONVENTION, 1d);
+  }
+
+  private static CalculationMarketData marketData() {
+    return new TestMarketDataMap(
+        VAL_DATE,
+        ImmutableMap.of(
+            IsdaYieldCurveInputsKey.of(Currency.USD), YIELD_INPUTS,
+            IsdaSingleNameCreditCurveInputsKey.of(REF_INFO), CREDIT_INPUTS,
+            IsdaSingleNameRecoveryRateKey.of(REF_INFO), CdsRecoveryRate.of(RECOVERY_RATE)),
+        ImmutableMap.of());
+  }
+
+  private static CurrencyAmount expectedPresentValue(CdsTrade trade) {
+    return IsdaCdsPricer.DEFAULT.presentValue(
+        trade.getProduct().resolve(REF_DATA), YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue() {
+    CdsCalculationFunction function = new CdsCalculationFunction();
+    Set<Measure> measures = ImmutableSet.of(Measures.PRESENT_VALUE);
+    CurrencyAmount expected = expectedPresentValue(TRADE);
+    assertThat(function.calculate(TRADE, measures, PARAMS, marketData(), REF_DATA))
+        .containsEntry(Measures.PRESENT_VALUE, Result.success(CurrencyValuesArray.of(ImmutableList.of(expected))));
+  }
+
+  public void test_presentValue_curveCache() {
+    CdsCalculationFunction function = new CdsCalculationFunction();
+    Set<Measure> measures = ImmutableSet.of(Measures.PRESENT_VALUE);
+    CdsCurveCache cache = CdsCurveCache.of(100);
+    CalculationParameters parameters = CalculationParameters.of(cache);
+    CdsTrade other = trade(date(2021, 12, 20), BuySell.SELL, 50_000_000d, 0.05);
+    assertThat(function.calculate(TRADE, measures, parameters, marketData(), REF_DATA))
+        .containsEntry(
+            Measures.PRESENT_VALUE,
+            Result.success(CurrencyValuesArray.of(ImmutableList.of(expectedPresentValue(TRADE)))));
+    // the second trade on the same reference entity uses the curves calibrated for the first
+    assertThat(cache.getCurveCache().size()).isEqualTo(2);
+    long misses = cache.getCurveCache().getMissCount();
+    assertThat(function.calculate(other, measures, parameters, marketData(), REF_DATA))
+        .containsEntry(
+            Measures.PRESENT_VALUE,
+            Result.success(CurrencyValuesArray.of(ImmutableList.of(expectedPresentValue(other)))));
+    assertThat(cache.getCurveCache().getMissCount()).isEqualTo(misses);
+    // the cache is owned by the caller and can be cleared
+    cache.clear();
+    assertThat(cache.getCurveCache().size()).isEqualTo(0);
+  }
+
+  public void test_presentValues_batch() {
+    CdsCalculationFunction function = new CdsCalculationFunction();
+    Set<Measure> measures = ImmutableSet.of(Measures.PRESENT_VALUE);
+    CalculationMarketData marketData = marketData();
+    // trades on the same reference entity sharing a premium leg schedule are priced as a strip
+    List<CdsTrade> trades = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      trades.add(trade(
+          date(2015 + i % 10, i % 2 == 0 ? 6 : 12, 20),
+          i % 3 == 0 ? BuySell.SELL : BuySell.BUY,
+          10_000_000d * (1 + i % 4),
+          i % 2 == 0 ? 0.01 : 0.05));
+    }
+    // a trade on another reference entity, whose market data is missing
+    SingleNameReferenceInformation otherRefInfo = SingleNameReferenceInformation.of(
+        StandardId.of("OG", "DEF"),
+        SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+        Currency.USD,
+        RestructuringClause.NO_RESTRUCTURING_2014);
+    trades.add(CONVENTION.toTrade(
+        date(2014, 9, 22), date(2019, 12, 20), BuySell.BUY, 1_000_000d, 0.01, otherRefInfo, 0d, date(2014, 10, 21)));
+
+    List<Result<CurrencyValuesArray>> results = function.presentValues(trades, PARAMS, marketData, REF_DATA);
+    assertThat(results).hasSize(trades.size());
+    for (int i = 0; i < trades.size() - 1; i++) {
+      CdsTrade trade = trades.get(i);
+      Result<?> expected =
+          function.calculate(trade, measures, PARAMS, marketData, REF_DATA).get(Measures.PRESENT_VALUE);
+      CurrencyAmount expectedAmount = ((CurrencyValuesArray) expected.getValue()).get(0);
+      CurrencyAmount computed = results.get(i).getValue().get(0);
+      assertThat(computed.getCurrency()).isEqualTo(expectedAmount.getCurrency());
+      assertThat(computed.getAmount()).isCloseTo(expectedAmount.getAmount(), offset(TOLERANCE_PV));
+      assertThat(computed.getAmount()).isCloseTo(expectedPresentValue(trade).getAmount(), offset(TOLERANCE_PV));
+    }
+    assertThat(results.get(trades.size() - 1).isFailure()).isTrue();
+  }
+
+  public void test_curveCache() {
+    CdsCurveCache test = CdsCurveCache.of(10);
+    assertThat(test.appliesTo(TRADE, Measures.PRESENT_VALUE)).isTrue();
+    assertThat(test.appliesTo(null, Measures.PRESENT_VALUE)).isFalse();
+    assertThat(test.getCurveCache().size()).isEqualTo(0);
+    assertThrowsIllegalArg(() -> CdsCurveCache.of(0));
+  }
+
+}
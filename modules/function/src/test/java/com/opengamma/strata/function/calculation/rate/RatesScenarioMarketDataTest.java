@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.calculation.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.function.marketdata.curve.TestMarketDataMap;
+import com.opengamma.strata.market.curve.ConstantNodalCurve;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.key.DiscountCurveKey;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Test {@link RatesScenarioMarketData}.
+ */
+@Test
+public class RatesScenarioMarketDataTest {
+
+  private static final LocalDate VAL_DATE = date(2016, 6, 30);
+  private static final Curve CURVE = ConstantNodalCurve.of(Curves.discountFactors("Test", ACT_360), 0.99);
+  private static final TestMarketDataMap MARKET_DATA =
+      new TestMarketDataMap(VAL_DATE, ImmutableMap.of(DiscountCurveKey.of(GBP), CURVE), ImmutableMap.of());
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    RatesScenarioMarketData test = RatesScenarioMarketData.of(MARKET_DATA);
+    assertThat(test.getMarketData()).isSameAs(MARKET_DATA);
+    assertThat(test.getScenarioCount()).isEqualTo(1);
+    assertThat(test.scenario(0).getValuationDate()).isEqualTo(VAL_DATE);
+  }
+
+  public void test_ratesProvider_shared() {
+    RatesScenarioMarketData test = RatesScenarioMarketData.of(MARKET_DATA);
+    RatesProvider provider = test.ratesProvider(0);
+    assertThat(provider.getValuationDate()).isEqualTo(VAL_DATE);
+    assertThat(provider.discountFactors(GBP).discountFactor(VAL_DATE)).isEqualTo(0.99);
+    assertThat(test.ratesProvider(0)).isSameAs(provider);
+  }
+
+}
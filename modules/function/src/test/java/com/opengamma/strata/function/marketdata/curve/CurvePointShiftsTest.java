@@ -10,6 +10,7 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
 
 import java.util.List;
 
@@ -21,6 +22,7 @@ import com.opengamma.strata.basics.date.DayCounts;
 import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.market.MarketDataBox;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.ShiftType;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveMetadata;
@@ -30,6 +32,7 @@ import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.curve.DefaultCurveMetadata;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.curve.NodalCurveArray;
 import com.opengamma.strata.market.curve.meta.SimpleCurveNodeMetadata;
 import com.opengamma.strata.market.curve.perturb.CurvePointShift;
 import com.opengamma.strata.market.interpolator.CurveInterpolator;
@@ -179,6 +182,78 @@ public class CurvePointShiftsTest {
     }
   }
 
+  public void sharedNodes() {
+    List<SimpleCurveNodeMetadata> nodeMetadata = ImmutableList.of(
+        SimpleCurveNodeMetadata.of(date(2011, 3, 8), TNR_1M),
+        SimpleCurveNodeMetadata.of(date(2011, 5, 8), TNR_3M),
+        SimpleCurveNodeMetadata.of(date(2011, 8, 8), TNR_6M));
+
+    CurvePointShifts shift = CurvePointShifts.builder(ShiftType.ABSOLUTE)
+        .addShift(0, TNR_1M, 0.2)
+        .addShift(1, TNR_3M, 0.3)
+        .build();
+
+    InterpolatedNodalCurve curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates(CurveName.of("curve"), DayCounts.ACT_365F, nodeMetadata),
+        DoubleArray.of(1, 2, 3),
+        DoubleArray.of(5, 6, 7),
+        INTERPOLATOR);
+
+    // the shifted curves share the nodes of the input curve
+    MarketDataBox<Curve> shiftedCurveBox = shift.applyTo(MarketDataBox.ofSingleValue(curve));
+    NodalCurveArray shiftedCurves = (NodalCurveArray) shiftedCurveBox.getScenarioValue();
+    assertThat(shiftedCurves.getCurve()).isSameAs(curve);
+    assertThat(shiftedCurves.getYValues()).isEqualTo(DoubleMatrix.of(2, 3, 5 + 0.2, 6, 7, 5, 6 + 0.3, 7));
+
+    // shifting the shared nodes again applies the shifts to the matrix of y-values
+    MarketDataBox<Curve> shiftedTwiceBox = shift.applyTo(shiftedCurveBox);
+    NodalCurveArray shiftedTwice = (NodalCurveArray) shiftedTwiceBox.getScenarioValue();
+    assertThat(shiftedTwice.getCurve()).isSameAs(curve);
+    assertThat(shiftedTwice.getYValues().get(0, 0)).isCloseTo(5.4, offset(1e-12));
+    assertThat(shiftedTwice.getYValues().get(1, 1)).isCloseTo(6.6, offset(1e-12));
+    assertThat(shiftedTwiceBox.getValue(1).getName()).isEqualTo(CurveName.of("curve"));
+
+    // the scenario count of the shifts must match the curves
+    NodalCurveArray threeScenarios = NodalCurveArray.of(curve, DoubleMatrix.filled(3, 3));
+    assertThrows(
+        () -> shift.applyTo(MarketDataBox.ofScenarioValue(threeScenarios)),
+        IllegalArgumentException.class,
+        ".*Scenario count.*");
+  }
+
+  public void singleCurve() {
+    List<SimpleCurveNodeMetadata> nodeMetadata = ImmutableList.of(
+        SimpleCurveNodeMetadata.of(date(2011, 3, 8), TNR_1M),
+        SimpleCurveNodeMetadata.of(date(2011, 5, 8), TNR_3M),
+        SimpleCurveNodeMetadata.of(date(2011, 8, 8), TNR_6M));
+
+    CurvePointShifts shift = CurvePointShifts.builder(ShiftType.RELATIVE)
+        .addShift(0, TNR_1M, 0.1)
+        .addShift(1, TNR_6M, 0.2)
+        .build();
+
+    Curve curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates(CurveName.of("curve"), DayCounts.ACT_365F, nodeMetadata),
+        DoubleArray.of(1, 2, 3),
+        DoubleArray.of(5, 6, 7),
+        INTERPOLATOR);
+
+    // shifting a single curve returns a NodalCurveArray rather than a list of curves
+    MarketDataBox<Curve> shiftedCurveBox = shift.applyTo(MarketDataBox.ofSingleValue(curve));
+    assertThat(shiftedCurveBox.isScenarioValue()).isTrue();
+    assertThat(shiftedCurveBox.getScenarioValue()).isInstanceOf(NodalCurveArray.class);
+    assertThat(shiftedCurveBox.getScenarioCount()).isEqualTo(2);
+
+    // the curves are the same as those from shifting each scenario separately
+    MarketDataBox<Curve> perScenarioBox = shift.applyTo(MarketDataBox.ofScenarioValues(curve, curve));
+    assertThat(perScenarioBox.getScenarioValue()).isNotInstanceOf(NodalCurveArray.class);
+    for (int scenarioIndex = 0; scenarioIndex < 2; scenarioIndex++) {
+      assertThat(shiftedCurveBox.getValue(scenarioIndex)).isEqualTo(perScenarioBox.getValue(scenarioIndex));
+      // the curve of each scenario is created once
+      assertThat(shiftedCurveBox.getValue(scenarioIndex)).isSameAs(shiftedCurveBox.getValue(scenarioIndex));
+    }
+  }
+
   public void noNodeMetadata() {
     Curve curve = InterpolatedNodalCurve.of(
         DefaultCurveMetadata.of("curve"),
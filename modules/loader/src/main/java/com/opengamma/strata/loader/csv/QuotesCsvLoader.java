@@ -15,7 +15,7 @@ import com.opengamma.strata.basics.market.MarketDataFeed;
 import com.opengamma.strata.basics.market.ObservableId;
 import com.opengamma.strata.basics.market.StandardId;
 import com.opengamma.strata.collect.Messages;
-import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.io.CsvIterator;
 import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.market.id.QuoteId;
@@ -100,9 +100,9 @@ public final class QuotesCsvLoader {
       ResourceLocator resource,
       ImmutableMap.Builder<QuoteId, Double> builder) {
 
-    try {
-      CsvFile csv = CsvFile.of(resource.getCharSource(), true);
-      for (CsvRow row : csv.rows()) {
+    try (CsvIterator csv = CsvIterator.of(resource.getCharSource(), true)) {
+      while (csv.hasNext()) {
+        CsvRow row = csv.next();
         String dateText = row.getField(DATE_FIELD);
         LocalDate date = LocalDate.parse(dateText);
         if (date.equals(marketDataDate)) {
@@ -25,7 +25,7 @@ import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.Messages;
-import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.io.CsvIterator;
 import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.market.ValueType;
@@ -189,30 +189,32 @@ public final class RatesCurvesCsvLoader {
   // loads the curve settings CSV file
   static Map<CurveName, LoadedCurveSettings> loadCurveSettings(ResourceLocator settingsResource) {
     ImmutableMap.Builder<CurveName, LoadedCurveSettings> builder = ImmutableMap.builder();
-    CsvFile csv = CsvFile.of(settingsResource.getCharSource(), true);
-    for (CsvRow row : csv.rows()) {
-      String curveNameStr = row.getField(SETTINGS_CURVE_NAME);
-      String valueTypeStr = row.getField(SETTINGS_VALUE_TYPE);
-      String dayCountStr = row.getField(SETTINGS_DAY_COUNT);
-      String interpolatorStr = row.getField(SETTINGS_INTERPOLATOR);
-      String leftExtrapolatorStr = row.getField(SETTINGS_LEFT_EXTRAPOLATOR);
-      String rightExtrapolatorStr = row.getField(SETTINGS_RIGHT_EXTRAPOLATOR);
+    try (CsvIterator csv = CsvIterator.of(settingsResource.getCharSource(), true)) {
+      while (csv.hasNext()) {
+        CsvRow row = csv.next();
+        String curveNameStr = row.getField(SETTINGS_CURVE_NAME);
+        String valueTypeStr = row.getField(SETTINGS_VALUE_TYPE);
+        String dayCountStr = row.getField(SETTINGS_DAY_COUNT);
+        String interpolatorStr = row.getField(SETTINGS_INTERPOLATOR);
+        String leftExtrapolatorStr = row.getField(SETTINGS_LEFT_EXTRAPOLATOR);
+        String rightExtrapolatorStr = row.getField(SETTINGS_RIGHT_EXTRAPOLATOR);
 
-      CurveName curveName = CurveName.of(curveNameStr);
-      ValueType valueType = VALUE_TYPE_MAP.get(valueTypeStr.toLowerCase(Locale.ENGLISH));
-      DayCount dayCount = DayCount.of(dayCountStr);
-      CurveInterpolator interpolator = CurveInterpolator.of(interpolatorStr);
-      CurveExtrapolator leftExtrapolator = CurveExtrapolator.of(leftExtrapolatorStr);
-      CurveExtrapolator rightExtrapolator = CurveExtrapolator.of(rightExtrapolatorStr);
+        CurveName curveName = CurveName.of(curveNameStr);
+        ValueType valueType = VALUE_TYPE_MAP.get(valueTypeStr.toLowerCase(Locale.ENGLISH));
+        DayCount dayCount = DayCount.of(dayCountStr);
+        CurveInterpolator interpolator = CurveInterpolator.of(interpolatorStr);
+        CurveExtrapolator leftExtrapolator = CurveExtrapolator.of(leftExtrapolatorStr);
+        CurveExtrapolator rightExtrapolator = CurveExtrapolator.of(rightExtrapolatorStr);
 
-      if (!VALUE_TYPE_MAP.containsKey(valueTypeStr.toLowerCase(Locale.ENGLISH))) {
-        throw new IllegalArgumentException(
-            Messages.format("Unsupported {} in curve settings: {}", SETTINGS_VALUE_TYPE, valueTypeStr));
-      }
+        if (!VALUE_TYPE_MAP.containsKey(valueTypeStr.toLowerCase(Locale.ENGLISH))) {
+          throw new IllegalArgumentException(
+              Messages.format("Unsupported {} in curve settings: {}", SETTINGS_VALUE_TYPE, valueTypeStr));
+        }
 
-      LoadedCurveSettings settings = LoadedCurveSettings.of(
-          curveName, valueType, dayCount, interpolator, leftExtrapolator, rightExtrapolator);
-      builder.put(curveName, settings);
+        LoadedCurveSettings settings = LoadedCurveSettings.of(
+            curveName, valueType, dayCount, interpolator, leftExtrapolator, rightExtrapolator);
+        builder.put(curveName, settings);
+      }
     }
     return builder.build();
   }
@@ -225,23 +227,25 @@ public final class RatesCurvesCsvLoader {
       Map<CurveName, LoadedCurveSettings> settingsMap,
       LocalDate requestedDate) {
 
-    CsvFile csv = CsvFile.of(curvesResource.getCharSource(), true);
     Map<LoadedCurveKey, List<LoadedCurveNode>> allNodes = new HashMap<>();
-    for (CsvRow row : csv.rows()) {
-      String valuationDateStr = row.getField(CURVE_DATE);
-      String curveNameStr = row.getField(CURVE_NAME);
-      String pointDateStr = row.getField(CURVE_POINT_DATE);
-      String pointValueStr = row.getField(CURVE_POINT_VALUE);
-      String pointLabel = row.getField(CURVE_POINT_LABEL);
+    try (CsvIterator csv = CsvIterator.of(curvesResource.getCharSource(), true)) {
+      while (csv.hasNext()) {
+        CsvRow row = csv.next();
+        String valuationDateStr = row.getField(CURVE_DATE);
+        String curveNameStr = row.getField(CURVE_NAME);
+        String pointDateStr = row.getField(CURVE_POINT_DATE);
+        String pointValueStr = row.getField(CURVE_POINT_VALUE);
+        String pointLabel = row.getField(CURVE_POINT_LABEL);
 
-      LocalDate valuationDate = LocalDate.parse(valuationDateStr);
-      if (requestedDate == null || valuationDate.equals(requestedDate)) {
-        LocalDate pointDate = LocalDate.parse(pointDateStr);
-        double pointValue = Double.valueOf(pointValueStr);
+        LocalDate valuationDate = LocalDate.parse(valuationDateStr);
+        if (requestedDate == null || valuationDate.equals(requestedDate)) {
+          LocalDate pointDate = LocalDate.parse(pointDateStr);
+          double pointValue = Double.valueOf(pointValueStr);
 
-        LoadedCurveKey key = LoadedCurveKey.of(valuationDate, CurveName.of(curveNameStr));
-        List<LoadedCurveNode> curveNodes = allNodes.computeIfAbsent(key, k -> new ArrayList<>());
-        curveNodes.add(LoadedCurveNode.of(pointDate, pointValue, pointLabel));
+          LoadedCurveKey key = LoadedCurveKey.of(valuationDate, CurveName.of(curveNameStr));
+          List<LoadedCurveNode> curveNodes = allNodes.computeIfAbsent(key, k -> new ArrayList<>());
+          curveNodes.add(LoadedCurveNode.of(pointDate, pointValue, pointLabel));
+        }
       }
     }
     return buildCurves(settingsMap, allNodes);
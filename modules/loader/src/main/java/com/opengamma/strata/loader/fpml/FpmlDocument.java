@@ -12,6 +12,7 @@ import java.time.LocalTime;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -200,6 +201,35 @@ public final class FpmlDocument {
     this.refData = refData;
   }
 
+  // creates an instance sharing the parsed parties, used by withReferences()
+  private FpmlDocument(FpmlDocument base, ImmutableMap<String, XmlElement> references) {
+    this.fpmlRoot = base.fpmlRoot;
+    this.references = references;
+    this.parties = base.parties;
+    this.ourPartyHrefId = base.ourPartyHrefId;
+    this.tradeInfoParser = base.tradeInfoParser;
+    this.refData = base.refData;
+  }
+
+  /**
+   * Returns a copy of this document with additional references.
+   * <p>
+   * This is used when trades are parsed one at a time, where the references within
+   * each trade are only known once the trade element has been read.
+   * The party selection is not repeated.
+   * 
+   * @param additionalReferences  the references to add, replacing any existing reference with the same id
+   * @return the document with the combined references
+   */
+  FpmlDocument withReferences(Map<String, XmlElement> additionalReferences) {
+    if (additionalReferences.isEmpty()) {
+      return this;
+    }
+    Map<String, XmlElement> combined = new HashMap<>(references);
+    combined.putAll(additionalReferences);
+    return new FpmlDocument(this, ImmutableMap.copyOf(combined));
+  }
+
   // parse all the root-level party elements
   private static ImmutableListMultimap<String, String> parseParties(XmlElement root) {
     ListMultimap<String, String> parties = ArrayListMultimap.create();
@@ -5,18 +5,25 @@
  */
 package com.opengamma.strata.loader.fpml;
 
+import static com.opengamma.strata.collect.Guavate.join;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteSource;
 import com.opengamma.strata.basics.Trade;
 import com.opengamma.strata.basics.market.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.io.XmlElement;
 import com.opengamma.strata.collect.io.XmlFile;
 import com.opengamma.strata.collect.named.ExtendedEnum;
@@ -33,6 +40,14 @@ import com.opengamma.strata.collect.named.ExtendedEnum;
 public final class FpmlDocumentParser {
   // Notes: Streaming trades directly from the file is difficult due to the
   // need to parse the party element at the root, which is after the trades
+  // As such, the streaming parse reads the source twice, first skipping the trades
+  // to find the parties, then parsing each trade element in turn
+
+  /**
+   * The maximum number of trades that are parsed concurrently when streaming.
+   * This bounds the memory used to hold trade elements awaiting conversion.
+   */
+  private static final int MAX_IN_FLIGHT = 256;
 
   /**
    * The lookup of trade parsers.
@@ -193,6 +208,89 @@ public final class FpmlDocumentParser {
     return parseTrades(root, xmlFile.getReferences());
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Parses FpML from the specified source, passing each trade to the consumer as it is parsed.
+   * <p>
+   * This parses the specified byte source which must be an XML document.
+   * Unlike {@link #parseTrades(ByteSource)}, the whole document is not held in memory.
+   * Instead, the source is read twice. The first pass reads the document without the content
+   * of the {@code <trade>} elements, locating the FpML root and the parties.
+   * The second pass reads each {@code <trade>} element in turn, converting it to a {@link Trade}
+   * using the executor. This allows the trade parsers to run concurrently while the source is read.
+   * <p>
+   * The consumer is invoked on the calling thread, in the order the trades appear in the document.
+   * At most a fixed number of trades are held awaiting conversion, thus the memory used is
+   * bounded by the size of the trade elements rather than the size of the document.
+   * Pass {@code MoreExecutors.directExecutor()} to convert the trades on the calling thread.
+   * <p>
+   * The FpML specification uses references to link one part of the XML to another.
+   * When streaming, references are resolved against the elements within the trade being parsed
+   * and the elements outside all trades, such as the parties. A reference from one trade to
+   * an element within another trade cannot be resolved.
+   * The FpML root available from {@link FpmlDocument#getFpmlRoot()} contains the {@code <trade>}
+   * elements with their attributes, but without their content.
+   * <p>
+   * The FpML root is found as per {@link #parseTrades(ByteSource)}. Trades are read from
+   * the {@code <trade>} elements with the same path of element names as the children of the FpML root.
+   * If the consumer throws an exception, parsing stops and the exception is propagated.
+   * 
+   * @param source  the source of the FpML XML document
+   * @param executor  the executor used to convert the trade elements to trades
+   * @param consumer  the consumer of each parsed trade
+   * @throws RuntimeException if a parse error occurred
+   */
+  public void parseTrades(ByteSource source, Executor executor, Consumer<Trade> consumer) {
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(executor, "executor");
+    ArgChecker.notNull(consumer, "consumer");
+    // first pass, finding the FpML root and parties
+    XmlFile structure = XmlFile.of(source, FpmlDocument.ID, name -> name.equals("trade"));
+    XmlElement root = structure.getRoot();
+    XmlElement fpmlRoot = findFpmlRoot(root);
+    FpmlDocument document =
+        new FpmlDocument(fpmlRoot, structure.getReferences(), ourPartySelector, tradeInfoParser, refData);
+
+    // second pass, parsing each trade, retaining the document order
+    Deque<CompletableFuture<Trade>> inFlight = new ArrayDeque<>();
+    try {
+      XmlFile.parseElements(source, tradePath(root, fpmlRoot), FpmlDocument.ID, tradeFile -> {
+        FpmlDocument tradeDocument = document.withReferences(tradeFile.getReferences());
+        XmlElement tradeEl = tradeFile.getRoot();
+        inFlight.addLast(CompletableFuture.supplyAsync(() -> parseTrade(tradeDocument, tradeEl), executor));
+        if (inFlight.size() >= MAX_IN_FLIGHT) {
+          consumer.accept(join(inFlight.removeFirst()));
+        }
+      });
+      while (!inFlight.isEmpty()) {
+        consumer.accept(join(inFlight.removeFirst()));
+      }
+    } finally {
+      // only non-empty if a failure occurred
+      inFlight.forEach(future -> future.cancel(false));
+    }
+  }
+
+  // finds the path of element names to the trades, the FpML root being at most two levels below the root
+  private static List<String> tradePath(XmlElement root, XmlElement fpmlRoot) {
+    if (root == fpmlRoot) {
+      return ImmutableList.of(root.getName(), "trade");
+    }
+    for (XmlElement el1 : root.getChildren()) {
+      if (el1 == fpmlRoot) {
+        return ImmutableList.of(root.getName(), el1.getName(), "trade");
+      }
+    }
+    for (XmlElement el1 : root.getChildren()) {
+      for (XmlElement el2 : el1.getChildren()) {
+        if (el2 == fpmlRoot) {
+          return ImmutableList.of(root.getName(), el1.getName(), el2.getName(), "trade");
+        }
+      }
+    }
+    throw new FpmlParseException("Unable to find FpML root element");
+  }
+
   // intelligently finds the FpML root element
   private static XmlElement findFpmlRoot(XmlElement root) {
     if (isFpmlRoot(root)) {
@@ -41,18 +41,25 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Period;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import org.joda.beans.Bean;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.ByteSource;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.PayReceive;
 import com.opengamma.strata.basics.Trade;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
@@ -1106,6 +1113,64 @@ public class FpmlDocumentParserTest {
         "Unable to find FpML root element.*");
   }
 
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "streaming")
+  Object[][] data_streaming() {
+    return new Object[][] {
+        {"ird-ex01-vanilla-swap.xml"},
+        {"ird-ex06-xccy-swap.xml"},
+        {"ird-ex08-fra.xml"},
+        {"ird-ex08-fra-namespace.xml"},
+        {"ird-ex08-fra-wrapper1.xml"},
+        {"ird-ex08-fra-wrapper2.xml"},
+        {"ird-ex28-bullet-payments.xml"},
+        {"fx-ex08-fx-swap.xml"},
+        {"td-ex01-simple-term-deposit.xml"},
+    };
+  }
+
+  @Test(dataProvider = "streaming")
+  public void streaming(String file) {
+    String location = "classpath:com/opengamma/strata/loader/fpml/" + file;
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matching("Party1"));
+    List<Trade> expected = parser.parseTrades(resource);
+    List<Trade> direct = new ArrayList<>();
+    parser.parseTrades(resource, MoreExecutors.directExecutor(), direct::add);
+    assertEquals(direct, expected);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      List<Trade> pooled = new ArrayList<>();
+      parser.parseTrades(resource, executor, pooled::add);
+      assertEquals(pooled, expected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void streaming_notFpml() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/not-fpml.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.any());
+    assertThrows(
+        () -> parser.parseTrades(resource, MoreExecutors.directExecutor(), trade -> {}),
+        FpmlParseException.class,
+        "Unable to find FpML root element.*");
+  }
+
+  public void streaming_unknownProduct() {
+    String xml = "<dataDocument>" +
+        "<trade><tradeHeader><tradeDate>2000-06-30</tradeDate></tradeHeader><unknown/></trade>" +
+        "<party id=\"party1\"><partyId>Party1</partyId></party>" +
+        "</dataDocument>";
+    ByteSource resource = ByteSource.wrap(xml.getBytes(StandardCharsets.UTF_8));
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.any());
+    assertThrows(
+        () -> parser.parseTrades(resource, ForkJoinPool.commonPool(), trade -> {}),
+        FpmlParseException.class,
+        ".*unknown.*");
+  }
+
   //-------------------------------------------------------------------------
   public void document() {
     XmlElement tradeDateEl = XmlElement.ofContent("tradeDate", "2000-06-30");
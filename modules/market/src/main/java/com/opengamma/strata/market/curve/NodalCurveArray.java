@@ -0,0 +1,419 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.opengamma.strata.basics.market.ScenarioMarketDataValue;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Container for a nodal curve in multiple scenarios where only the y-values vary between scenarios.
+ * <p>
+ * This class is a more efficient alternative to storing one curve per scenario using
+ * {@code MarketDataBox.ofScenarioValues} or {@code ScenarioValuesList}.
+ * <p>
+ * The curve metadata, x-values and interpolation are defined by a single nodal curve shared by all scenarios.
+ * The y-values are stored in a matrix with one row for each scenario and one column for each node.
+ * The y-values of the shared curve itself are not used.
+ * <p>
+ * The curve for a scenario is created the first time it is requested by {@link #getValue(int)}
+ * and is cached for subsequent requests, thus the bound interpolator is only created for the scenarios
+ * that are in use, and only once per scenario.
+ * <p>
+ * Perturbations can operate on the matrix of y-values directly, applying the shift
+ * to all scenarios in a single operation using {@link #withYValues(DoubleMatrix)}.
+ */
+@BeanDefinition(builderScope = "private")
+public final class NodalCurveArray implements ScenarioMarketDataValue<Curve>, ImmutableBean {
+
+  /**
+   * The curve defining the metadata, x-values and interpolation shared by all scenarios.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final NodalCurve curve;
+  /**
+   * The y-values of the curve in each scenario.
+   * <p>
+   * There is one row in the matrix for each scenario and one column for each node in the curve.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleMatrix yValues;
+  /**
+   * The curve of each scenario, null until the scenario is first requested.
+   */
+  private transient final AtomicReferenceArray<NodalCurve> scenarioCurves;  // derived and cached, not a property
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a curve and the y-values in each scenario.
+   *
+   * @param curve  the curve defining the metadata, x-values and interpolation
+   * @param yValues  the y-values, with one row per scenario and one column per curve node
+   * @return an instance containing the curve in each scenario
+   */
+  public static NodalCurveArray of(NodalCurve curve, DoubleMatrix yValues) {
+    return new NodalCurveArray(curve, yValues);
+  }
+
+  @ImmutableConstructor
+  private NodalCurveArray(
+      NodalCurve curve,
+      DoubleMatrix yValues) {
+    JodaBeanUtils.notNull(curve, "curve");
+    JodaBeanUtils.notNull(yValues, "yValues");
+    if (yValues.columnCount() != curve.getParameterCount()) {
+      throw new IllegalArgumentException(Messages.format(
+          "Number of y-value columns {} must match the number of nodes {} in curve '{}'",
+          yValues.columnCount(),
+          curve.getParameterCount(),
+          curve.getName()));
+    }
+    this.curve = curve;
+    this.yValues = yValues;
+    this.scenarioCurves = new AtomicReferenceArray<>(yValues.rowCount());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the curve associated with the specified scenario.
+   * <p>
+   * The curve is created from the shared curve and the y-values of the scenario
+   * the first time the scenario is requested, and the same curve is returned thereafter.
+   *
+   * @param scenarioIndex  the index of the scenario
+   * @return the curve associated with the scenario
+   */
+  @Override
+  public NodalCurve getValue(int scenarioIndex) {
+    NodalCurve scenarioCurve = scenarioCurves.get(scenarioIndex);
+    if (scenarioCurve == null) {
+      // if another thread created the curve concurrently, its curve is used
+      scenarioCurves.compareAndSet(scenarioIndex, null, curve.withYValues(yValues.row(scenarioIndex)));
+      scenarioCurve = scenarioCurves.get(scenarioIndex);
+    }
+    return scenarioCurve;
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return yValues.rowCount();
+  }
+
+  /**
+   * Gets the number of parameters in the curve.
+   * <p>
+   * This is the number of nodes in the curve, the same in all scenarios.
+   *
+   * @return the number of parameters
+   */
+  public int getParameterCount() {
+    return curve.getParameterCount();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this instance with the specified y-values.
+   * <p>
+   * The curve metadata, x-values and interpolation are shared with this instance.
+   * The number of scenarios may differ from this instance.
+   *
+   * @param yValues  the new y-values, with one row per scenario and one column per curve node
+   * @return an instance containing the curve with the new y-values
+   */
+  public NodalCurveArray withYValues(DoubleMatrix yValues) {
+    return new NodalCurveArray(curve, yValues);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code NodalCurveArray}.
+   * @return the meta-bean, not null
+   */
+  public static NodalCurveArray.Meta meta() {
+    return NodalCurveArray.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(NodalCurveArray.Meta.INSTANCE);
+  }
+
+  @Override
+  public NodalCurveArray.Meta metaBean() {
+    return NodalCurveArray.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the curve defining the metadata, x-values and interpolation shared by all scenarios.
+   * @return the value of the property, not null
+   */
+  public NodalCurve getCurve() {
+    return curve;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the y-values of the curve in each scenario.
+   * <p>
+   * There is one row in the matrix for each scenario and one column for each node in the curve.
+   * @return the value of the property, not null
+   */
+  public DoubleMatrix getYValues() {
+    return yValues;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      NodalCurveArray other = (NodalCurveArray) obj;
+      return JodaBeanUtils.equal(curve, other.curve) &&
+          JodaBeanUtils.equal(yValues, other.yValues);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(curve);
+    hash = hash * 31 + JodaBeanUtils.hashCode(yValues);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("NodalCurveArray{");
+    buf.append("curve").append('=').append(JodaBeanUtils.toString(curve)).append(',').append(' ');
+    buf.append("yValues").append('=').append(JodaBeanUtils.toString(yValues));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code NodalCurveArray}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code curve} property.
+     */
+    private final MetaProperty<NodalCurve> curve = DirectMetaProperty.ofImmutable(
+        this, "curve", NodalCurveArray.class, NodalCurve.class);
+    /**
+     * The meta-property for the {@code yValues} property.
+     */
+    private final MetaProperty<DoubleMatrix> yValues = DirectMetaProperty.ofImmutable(
+        this, "yValues", NodalCurveArray.class, DoubleMatrix.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "curve",
+        "yValues");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 95027439:  // curve
+          return curve;
+        case -1726182661:  // yValues
+          return yValues;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends NodalCurveArray> builder() {
+      return new NodalCurveArray.Builder();
+    }
+
+    @Override
+    public Class<? extends NodalCurveArray> beanType() {
+      return NodalCurveArray.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code curve} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<NodalCurve> curve() {
+      return curve;
+    }
+
+    /**
+     * The meta-property for the {@code yValues} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleMatrix> yValues() {
+      return yValues;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 95027439:  // curve
+          return ((NodalCurveArray) bean).getCurve();
+        case -1726182661:  // yValues
+          return ((NodalCurveArray) bean).getYValues();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code NodalCurveArray}.
+   */
+  private static final class Builder extends DirectFieldsBeanBuilder<NodalCurveArray> {
+
+    private NodalCurve curve;
+    private DoubleMatrix yValues;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 95027439:  // curve
+          return curve;
+        case -1726182661:  // yValues
+          return yValues;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 95027439:  // curve
+          this.curve = (NodalCurve) newValue;
+          break;
+        case -1726182661:  // yValues
+          this.yValues = (DoubleMatrix) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public NodalCurveArray build() {
+      return new NodalCurveArray(
+          curve,
+          yValues);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(96);
+      buf.append("NodalCurveArray.Builder{");
+      buf.append("curve").append('=').append(JodaBeanUtils.toString(curve)).append(',').append(' ');
+      buf.append("yValues").append('=').append(JodaBeanUtils.toString(yValues));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,514 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.DoubleUnaryOperator;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Mutable builder for sensitivity to a group of curves, storing the sensitivities in columns.
+ * <p>
+ * This is an alternative to {@link MutablePointSensitivities} intended for the case where a large
+ * number of point sensitivities are gathered, such as when calculating the bucketed PV01 of a portfolio.
+ * Rather than holding a list of immutable {@link PointSensitivity} objects, each entry is held as
+ * a row in a set of primitive arrays. Curve keys and currencies are stored as identifiers into
+ * a table of distinct keys, dates are stored as epoch days and the values as a {@code double}.
+ * <p>
+ * {@link ZeroRateSensitivity} and {@link IborRateSensitivity} are stored without creating any objects.
+ * Zero rate sensitivities can also be added directly using
+ * {@link #addZeroRate(Currency, LocalDate, Currency, double)}, avoiding the creation of the point object.
+ * All other types of point sensitivity are supported, stored using the point sensitivity itself as the key.
+ * <p>
+ * Normalization merges entries using a hash of the columns, and thus runs in linear time.
+ * Unlike {@link MutablePointSensitivities}, the entries are not sorted, and remain in the order
+ * that each distinct key was first added.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ */
+public final class ColumnarPointSensitivities
+    implements PointSensitivityBuilder {
+
+  /**
+   * The default initial capacity.
+   */
+  private static final int DEFAULT_CAPACITY = 16;
+  /**
+   * The kind of an entry representing a {@link ZeroRateSensitivity}.
+   */
+  private static final byte ZERO_RATE = 0;
+  /**
+   * The kind of an entry representing an {@link IborRateSensitivity}.
+   */
+  private static final byte IBOR_RATE = 1;
+  /**
+   * The kind of an entry representing any other point sensitivity.
+   */
+  private static final byte OTHER = 2;
+
+  /**
+   * The distinct keys, indexed by identifier.
+   * <p>
+   * The key of a zero rate sensitivity is the curve currency.
+   * The key of an Ibor rate sensitivity is the observation.
+   * The key of any other sensitivity is the point sensitivity with a value of zero.
+   * The currencies of the sensitivities are also held in this table.
+   */
+  private final List<Object> keys;
+  /**
+   * The identifier of each distinct key.
+   */
+  private final Map<Object, Integer> keyIds;
+  /**
+   * The kind of each entry.
+   */
+  private byte[] kinds;
+  /**
+   * The identifier of the key of each entry.
+   */
+  private int[] curveKeys;
+  /**
+   * The date of each entry, as an epoch day, zero if not applicable.
+   */
+  private int[] dates;
+  /**
+   * The identifier of the currency of each entry.
+   */
+  private int[] currencies;
+  /**
+   * The sensitivity value of each entry.
+   */
+  private double[] values;
+  /**
+   * The number of entries.
+   */
+  private int size;
+
+  /**
+   * Creates an empty instance.
+   */
+  public ColumnarPointSensitivities() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty instance with the specified initial capacity.
+   * <p>
+   * The capacity is the number of entries that can be added before the arrays are resized.
+   *
+   * @param initialCapacity  the initial capacity
+   */
+  public ColumnarPointSensitivities(int initialCapacity) {
+    ArgChecker.notNegative(initialCapacity, "initialCapacity");
+    this.keys = new ArrayList<>();
+    this.keyIds = new HashMap<>();
+    this.kinds = new byte[initialCapacity];
+    this.curveKeys = new int[initialCapacity];
+    this.dates = new int[initialCapacity];
+    this.currencies = new int[initialCapacity];
+    this.values = new double[initialCapacity];
+  }
+
+  // copy constructor
+  private ColumnarPointSensitivities(ColumnarPointSensitivities other) {
+    this.keys = new ArrayList<>(other.keys);
+    this.keyIds = new HashMap<>(other.keyIds);
+    this.kinds = Arrays.copyOf(other.kinds, other.size);
+    this.curveKeys = Arrays.copyOf(other.curveKeys, other.size);
+    this.dates = Arrays.copyOf(other.dates, other.size);
+    this.currencies = Arrays.copyOf(other.currencies, other.size);
+    this.values = Arrays.copyOf(other.values, other.size);
+    this.size = other.size;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of sensitivity entries.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a zero rate sensitivity, mutating this instance.
+   * <p>
+   * This is equivalent to adding a {@link ZeroRateSensitivity} without creating the object.
+   *
+   * @param curveCurrency  the currency of the curve
+   * @param date  the date that was looked up on the curve
+   * @param currency  the currency of the sensitivity
+   * @param sensitivity  the value of the sensitivity
+   * @return {@code this}, for method chaining
+   */
+  public ColumnarPointSensitivities addZeroRate(
+      Currency curveCurrency,
+      LocalDate date,
+      Currency currency,
+      double sensitivity) {
+
+    ArgChecker.notNull(curveCurrency, "curveCurrency");
+    ArgChecker.notNull(date, "date");
+    ArgChecker.notNull(currency, "currency");
+    addEntry(ZERO_RATE, keyId(curveCurrency), Math.toIntExact(date.toEpochDay()), keyId(currency), sensitivity);
+    return this;
+  }
+
+  /**
+   * Adds a point sensitivity, mutating this instance.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return {@code this}, for method chaining
+   */
+  public ColumnarPointSensitivities add(PointSensitivity sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    if (sensitivity instanceof ZeroRateSensitivity) {
+      ZeroRateSensitivity pt = (ZeroRateSensitivity) sensitivity;
+      return addZeroRate(pt.getCurveCurrency(), pt.getDate(), pt.getCurrency(), pt.getSensitivity());
+
+    } else if (sensitivity instanceof IborRateSensitivity) {
+      IborRateSensitivity pt = (IborRateSensitivity) sensitivity;
+      IborIndexObservation observation = pt.getObservation();
+      int date = Math.toIntExact(observation.getFixingDate().toEpochDay());
+      addEntry(IBOR_RATE, keyId(observation), date, keyId(pt.getCurrency()), pt.getSensitivity());
+
+    } else {
+      PointSensitivity key = sensitivity.withSensitivity(0d);
+      addEntry(OTHER, keyId(key), 0, keyId(sensitivity.getCurrency()), sensitivity.getSensitivity());
+    }
+    return this;
+  }
+
+  /**
+   * Adds the point sensitivities, mutating this instance.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return {@code this}, for method chaining
+   */
+  public ColumnarPointSensitivities addAll(PointSensitivities sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    ensureCapacity(size + sensitivities.size());
+    for (PointSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Merges the sensitivities from another instance, mutating this instance.
+   * <p>
+   * The entries of the other instance are copied column by column, without creating point sensitivity objects.
+   *
+   * @param other  the other sensitivities to add
+   * @return {@code this}, for method chaining
+   */
+  public ColumnarPointSensitivities addAll(ColumnarPointSensitivities other) {
+    ArgChecker.notNull(other, "other");
+    int otherSize = other.size;
+    int[] keyMapping = new int[other.keys.size()];
+    for (int i = 0; i < keyMapping.length; i++) {
+      keyMapping[i] = keyId(other.keys.get(i));
+    }
+    ensureCapacity(size + otherSize);
+    for (int i = 0; i < otherSize; i++) {
+      kinds[size] = other.kinds[i];
+      curveKeys[size] = keyMapping[other.curveKeys[i]];
+      dates[size] = other.dates[i];
+      currencies[size] = keyMapping[other.currencies[i]];
+      values[size] = other.values[i];
+      size++;
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public ColumnarPointSensitivities withCurrency(Currency currency) {
+    ArgChecker.notNull(currency, "currency");
+    int currencyId = keyId(currency);
+    for (int i = 0; i < size; i++) {
+      currencies[i] = currencyId;
+      if (kinds[i] == OTHER) {
+        curveKeys[i] = keyId(((PointSensitivity) keys.get(curveKeys[i])).withCurrency(currency));
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public ColumnarPointSensitivities multipliedBy(double factor) {
+    for (int i = 0; i < size; i++) {
+      values[i] *= factor;
+    }
+    return this;
+  }
+
+  @Override
+  public ColumnarPointSensitivities mapSensitivity(DoubleUnaryOperator operator) {
+    for (int i = 0; i < size; i++) {
+      values[i] = operator.applyAsDouble(values[i]);
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Normalizes the point sensitivities by merging, mutating this instance.
+   * <p>
+   * Any two entries that represent the same curve query are merged.
+   * For example, if there are two point sensitivities that were created based on the same curve,
+   * currency and date, then the entries are combined, summing the sensitivity value.
+   * <p>
+   * The entries are merged using a hash of the columns, thus the cost is linear in the number of entries.
+   * The entries are not sorted, the merged entries remain in the order that each was first added.
+   *
+   * @return {@code this}, for method chaining
+   */
+  @Override
+  public ColumnarPointSensitivities normalize() {
+    int[] table = new int[tableSize(size)];
+    Arrays.fill(table, -1);
+    int mask = table.length - 1;
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      int slot = hash(i) & mask;
+      while (true) {
+        int existing = table[slot];
+        if (existing < 0) {
+          // entries before 'i' have already been processed, so compacting to 'count' is safe
+          moveEntry(i, count);
+          table[slot] = count;
+          count++;
+          break;
+        }
+        if (sameKey(i, existing)) {
+          values[existing] += values[i];
+          break;
+        }
+        slot = (slot + 1) & mask;
+      }
+    }
+    size = count;
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Performs an action for each entry.
+   * <p>
+   * Zero rate sensitivities are passed to the first action without creating point sensitivity objects.
+   * All other entries are converted to a point sensitivity and passed to the second action.
+   *
+   * @param zeroRateAction  the action to perform for each zero rate sensitivity
+   * @param otherAction  the action to perform for each other point sensitivity
+   */
+  public void forEach(ZeroRateConsumer zeroRateAction, Consumer<? super PointSensitivity> otherAction) {
+    ArgChecker.notNull(zeroRateAction, "zeroRateAction");
+    ArgChecker.notNull(otherAction, "otherAction");
+    for (int i = 0; i < size; i++) {
+      if (kinds[i] == ZERO_RATE) {
+        zeroRateAction.accept(
+            (Currency) keys.get(curveKeys[i]),
+            LocalDate.ofEpochDay(dates[i]),
+            (Currency) keys.get(currencies[i]),
+            values[i]);
+      } else {
+        otherAction.accept(pointSensitivity(i));
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public ColumnarPointSensitivities combinedWith(PointSensitivityBuilder other) {
+    if (other instanceof ColumnarPointSensitivities) {
+      return addAll((ColumnarPointSensitivities) other);
+    }
+    MutablePointSensitivities otherSensitivities = other.buildInto(new MutablePointSensitivities());
+    return addAll(otherSensitivities.toImmutable());
+  }
+
+  @Override
+  public MutablePointSensitivities buildInto(MutablePointSensitivities combination) {
+    for (int i = 0; i < size; i++) {
+      combination.add(pointSensitivity(i));
+    }
+    return combination;
+  }
+
+  @Override
+  public PointSensitivities build() {
+    List<PointSensitivity> sensitivities = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      sensitivities.add(pointSensitivity(i));
+    }
+    return PointSensitivities.of(sensitivities);
+  }
+
+  @Override
+  public ColumnarPointSensitivities cloned() {
+    return new ColumnarPointSensitivities(this);
+  }
+
+  //-------------------------------------------------------------------------
+  // returns the identifier of the key, adding it to the table if necessary
+  private int keyId(Object key) {
+    Integer id = keyIds.get(key);
+    if (id != null) {
+      return id;
+    }
+    int newId = keys.size();
+    keys.add(key);
+    keyIds.put(key, newId);
+    return newId;
+  }
+
+  // adds an entry to the columns
+  private void addEntry(byte kind, int curveKey, int date, int currency, double value) {
+    ensureCapacity(size + 1);
+    kinds[size] = kind;
+    curveKeys[size] = curveKey;
+    dates[size] = date;
+    currencies[size] = currency;
+    values[size] = value;
+    size++;
+  }
+
+  // grows the columns to hold at least the specified number of entries
+  private void ensureCapacity(int required) {
+    if (required > values.length) {
+      int capacity = Math.max(required, values.length + (values.length >> 1) + 1);
+      kinds = Arrays.copyOf(kinds, capacity);
+      curveKeys = Arrays.copyOf(curveKeys, capacity);
+      dates = Arrays.copyOf(dates, capacity);
+      currencies = Arrays.copyOf(currencies, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+  }
+
+  // moves an entry to a lower index
+  private void moveEntry(int from, int to) {
+    if (from != to) {
+      kinds[to] = kinds[from];
+      curveKeys[to] = curveKeys[from];
+      dates[to] = dates[from];
+      currencies[to] = currencies[from];
+      values[to] = values[from];
+    }
+  }
+
+  // the hash of the key columns of an entry
+  private int hash(int index) {
+    int hash = kinds[index];
+    hash = 31 * hash + curveKeys[index];
+    hash = 31 * hash + dates[index];
+    hash = 31 * hash + currencies[index];
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  // checks if two entries have the same key columns
+  private boolean sameKey(int index1, int index2) {
+    return kinds[index1] == kinds[index2] &&
+        curveKeys[index1] == curveKeys[index2] &&
+        dates[index1] == dates[index2] &&
+        currencies[index1] == currencies[index2];
+  }
+
+  // the size of the hash table, a power of two at least twice the number of entries
+  private static int tableSize(int entryCount) {
+    return Integer.highestOneBit(Math.max(2 * entryCount - 1, 1)) << 1;
+  }
+
+  // creates the point sensitivity for an entry
+  private PointSensitivity pointSensitivity(int index) {
+    Object key = keys.get(curveKeys[index]);
+    Currency currency = (Currency) keys.get(currencies[index]);
+    switch (kinds[index]) {
+      case ZERO_RATE:
+        return ZeroRateSensitivity.of((Currency) key, LocalDate.ofEpochDay(dates[index]), currency, values[index]);
+      case IBOR_RATE:
+        return IborRateSensitivity.of((IborIndexObservation) key, currency, values[index]);
+      default:
+        return ((PointSensitivity) key).withSensitivity(values[index]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof ColumnarPointSensitivities) {
+      ColumnarPointSensitivities other = (ColumnarPointSensitivities) obj;
+      if (size != other.size) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        if (kinds[i] != other.kinds[i] ||
+            dates[i] != other.dates[i] ||
+            Double.doubleToLongBits(values[i]) != Double.doubleToLongBits(other.values[i]) ||
+            !keys.get(curveKeys[i]).equals(other.keys.get(other.curveKeys[i])) ||
+            !keys.get(currencies[i]).equals(other.keys.get(other.currencies[i]))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + keys.get(curveKeys[i]).hashCode();
+      hash = 31 * hash + dates[i];
+      hash = 31 * hash + Double.hashCode(values[i]);
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return new StringBuilder(64)
+        .append("ColumnarPointSensitivities{sensitivities=")
+        .append(build().getSensitivities())
+        .append('}')
+        .toString();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * An action performed on a zero rate sensitivity without creating the point sensitivity object.
+   */
+  @FunctionalInterface
+  public interface ZeroRateConsumer {
+
+    /**
+     * Performs the action on the zero rate sensitivity.
+     *
+     * @param curveCurrency  the currency of the curve
+     * @param date  the date that was looked up on the curve
+     * @param currency  the currency of the sensitivity
+     * @param sensitivity  the value of the sensitivity
+     */
+    public abstract void accept(Currency curveCurrency, LocalDate date, Currency currency, double sensitivity);
+  }
+
+}
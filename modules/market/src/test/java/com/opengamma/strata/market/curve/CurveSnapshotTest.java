@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.io.BeanSnapshot;
+import com.opengamma.strata.market.interpolator.CurveInterpolators;
+
+/**
+ * Test {@link BeanSnapshot} with curves.
+ */
+@Test
+public class CurveSnapshotTest {
+
+  private static final int SIZE = 3;
+  private static final CurveName CURVE_NAME = CurveName.of("TestCurve");
+  private static final DoubleArray XVALUES = DoubleArray.of(1d, 2d, 3d);
+  private static final DoubleArray YVALUES = DoubleArray.of(5d, 7d, 8d);
+
+  //-------------------------------------------------------------------------
+  public void test_roundTrip_calibrated() {
+    JacobianCalibrationMatrix jacobian = JacobianCalibrationMatrix.of(
+        ImmutableList.of(CurveParameterSize.of(CURVE_NAME, SIZE)),
+        DoubleMatrix.of(SIZE, SIZE, (i, j) -> i == j ? 1d : 0.1d));
+    CurveMetadata metadata = Curves.zeroRates(CURVE_NAME, ACT_365F, CurveParameterMetadata.listOfEmpty(SIZE))
+        .withInfo(ImmutableMap.of(CurveInfoType.JACOBIAN, jacobian));
+    InterpolatedNodalCurve curve =
+        InterpolatedNodalCurve.of(metadata, XVALUES, YVALUES, CurveInterpolators.LOG_LINEAR);
+    for (boolean compressed : new boolean[] {false, true}) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      BeanSnapshot.write(curve, Channels.newChannel(out), compressed);
+      InterpolatedNodalCurve test = BeanSnapshot.read(
+          Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), InterpolatedNodalCurve.class);
+      assertThat(test).isEqualTo(curve);
+      assertThat(test.getMetadata().getInfo(CurveInfoType.JACOBIAN)).isEqualTo(jacobian);
+      assertThat(test.yValue(1.5d)).isEqualTo(curve.yValue(1.5d));
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.interpolator.CurveInterpolators;
+
+/**
+ * Test {@link NodalCurveArray}.
+ */
+@Test
+public class NodalCurveArrayTest {
+
+  private static final CurveMetadata METADATA = Curves.zeroRates(CurveName.of("TestCurve"), ACT_365F);
+  private static final InterpolatedNodalCurve CURVE = InterpolatedNodalCurve.of(
+      METADATA, DoubleArray.of(1d, 2d, 3d), DoubleArray.of(5d, 7d, 8d), CurveInterpolators.LOG_LINEAR);
+  private static final DoubleMatrix Y_VALUES = DoubleMatrix.of(2, 3,
+      5d, 7d, 8d,
+      6d, 8d, 9d);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    NodalCurveArray test = NodalCurveArray.of(CURVE, Y_VALUES);
+    assertThat(test.getCurve()).isEqualTo(CURVE);
+    assertThat(test.getYValues()).isEqualTo(Y_VALUES);
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.getParameterCount()).isEqualTo(3);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> NodalCurveArray.of(CURVE, DoubleMatrix.of(1, 2, 5d, 7d)));
+  }
+
+  public void test_getValue() {
+    NodalCurveArray test = NodalCurveArray.of(CURVE, Y_VALUES);
+    assertThat(test.getValue(0)).isEqualTo(CURVE);
+    NodalCurve scenario1 = test.getValue(1);
+    assertThat(scenario1).isEqualTo(CURVE.withYValues(DoubleArray.of(6d, 8d, 9d)));
+    // the metadata and x-values are shared with the curve
+    assertThat(scenario1.getMetadata()).isSameAs(CURVE.getMetadata());
+    assertThat(scenario1.getXValues()).isSameAs(CURVE.getXValues());
+  }
+
+  public void test_getValue_cached() {
+    NodalCurveArray test = NodalCurveArray.of(CURVE, Y_VALUES);
+    // the curve of a scenario is created once and reused
+    assertThat(test.getValue(1)).isSameAs(test.getValue(1));
+    assertThat(test.getValue(0)).isNotSameAs(test.getValue(1));
+    // an equal instance has its own curves
+    NodalCurveArray other = NodalCurveArray.of(CURVE, Y_VALUES);
+    assertThat(other).isEqualTo(test);
+    assertThat(other.getValue(1)).isEqualTo(test.getValue(1));
+  }
+
+  public void test_withYValues() {
+    NodalCurveArray base = NodalCurveArray.of(CURVE, Y_VALUES);
+    NodalCurveArray test = base.withYValues(Y_VALUES.multipliedBy(2));
+    assertThat(test.getCurve()).isSameAs(CURVE);
+    assertThat(test.getValue(1).getYValues()).isEqualTo(DoubleArray.of(12d, 16d, 18d));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    NodalCurveArray test = NodalCurveArray.of(CURVE, Y_VALUES);
+    coverImmutableBean(test);
+    NodalCurveArray test2 = NodalCurveArray.of(
+        CURVE.withYValues(DoubleArray.of(1d, 2d, 3d)), DoubleMatrix.of(1, 3, 1d, 2d, 3d));
+    coverBeanEquals(test, test2);
+  }
+
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.basics.market.ReferenceData;
+
+/**
+ * Test {@link ColumnarPointSensitivities}.
+ */
+@Test
+public class ColumnarPointSensitivitiesTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate DATE1 = date(2015, 6, 30);
+  private static final LocalDate DATE2 = date(2015, 7, 30);
+  private static final ZeroRateSensitivity ZERO1 = ZeroRateSensitivity.of(GBP, DATE1, 12d);
+  private static final ZeroRateSensitivity ZERO1B = ZeroRateSensitivity.of(GBP, DATE1, 3d);
+  private static final ZeroRateSensitivity ZERO2 = ZeroRateSensitivity.of(GBP, DATE2, GBP, 22d);
+  private static final ZeroRateSensitivity ZERO3 = ZeroRateSensitivity.of(GBP, DATE1, USD, 32d);
+  private static final IborRateSensitivity IBOR1 =
+      IborRateSensitivity.of(IborIndexObservation.of(GBP_LIBOR_3M, DATE1, REF_DATA), 42d);
+  private static final IborRateSensitivity IBOR1B =
+      IborRateSensitivity.of(IborIndexObservation.of(GBP_LIBOR_3M, DATE1, REF_DATA), 2d);
+  private static final PointSensitivity DUMMY1 = DummyPointSensitivity.of(GBP, DATE1, 52d);
+  private static final PointSensitivity DUMMY1B = DummyPointSensitivity.of(GBP, DATE1, 5d);
+
+  //-------------------------------------------------------------------------
+  public void test_add_build() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities();
+    assertEquals(test.size(), 0);
+    assertEquals(test.build(), PointSensitivities.empty());
+    test.add(ZERO1).add(IBOR1).add(DUMMY1);
+    assertEquals(test.size(), 3);
+    assertEquals(test.build().getSensitivities(), ImmutableList.of(ZERO1, IBOR1, DUMMY1));
+    assertEquals(
+        test.buildInto(new MutablePointSensitivities()).getSensitivities(),
+        ImmutableList.of(ZERO1, IBOR1, DUMMY1));
+  }
+
+  public void test_addZeroRate() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities(0);
+    test.addZeroRate(GBP, DATE2, GBP, 22d).addZeroRate(GBP, DATE1, USD, 32d);
+    assertEquals(test.build().getSensitivities(), ImmutableList.of(ZERO2, ZERO3));
+  }
+
+  public void test_addZeroRate_null() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities();
+    assertThrowsIllegalArg(() -> test.addZeroRate(null, DATE1, GBP, 1d));
+    assertThrowsIllegalArg(() -> test.addZeroRate(GBP, null, GBP, 1d));
+    assertThrowsIllegalArg(() -> test.addZeroRate(GBP, DATE1, null, 1d));
+  }
+
+  public void test_addAll_pointSensitivities() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities();
+    test.addAll(PointSensitivities.of(ZERO2, IBOR1, ZERO1));
+    assertEquals(test.build().getSensitivities(), ImmutableList.of(ZERO2, IBOR1, ZERO1));
+  }
+
+  public void test_addAll_columnar() {
+    ColumnarPointSensitivities base = new ColumnarPointSensitivities().add(ZERO1).add(IBOR1);
+    ColumnarPointSensitivities other = new ColumnarPointSensitivities().add(DUMMY1).add(ZERO3);
+    base.addAll(other);
+    assertEquals(base.build().getSensitivities(), ImmutableList.of(ZERO1, IBOR1, DUMMY1, ZERO3));
+    assertEquals(other.build().getSensitivities(), ImmutableList.of(DUMMY1, ZERO3));
+  }
+
+  public void test_addAll_self() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities().add(ZERO1).add(IBOR1);
+    test.addAll(test);
+    assertEquals(test.build().getSensitivities(), ImmutableList.of(ZERO1, IBOR1, ZERO1, IBOR1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_withCurrency() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities().add(ZERO1).add(IBOR1).add(DUMMY1);
+    test.withCurrency(EUR);
+    assertEquals(
+        test.build().getSensitivities(),
+        ImmutableList.of(ZERO1.withCurrency(EUR), IBOR1.withCurrency(EUR), DUMMY1.withCurrency(EUR)));
+  }
+
+  public void test_multipliedBy() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities().add(ZERO1).add(IBOR1).add(DUMMY1);
+    test.multipliedBy(2d);
+    assertEquals(
+        test.build().getSensitivities(),
+        ImmutableList.of(ZERO1.withSensitivity(24d), IBOR1.withSensitivity(84d), DUMMY1.withSensitivity(104d)));
+  }
+
+  public void test_mapSensitivity() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities().add(ZERO1).add(IBOR1);
+    test.mapSensitivity(s -> 1d / s);
+    assertEquals(
+        test.build().getSensitivities(),
+        ImmutableList.of(ZERO1.withSensitivity(1d / 12d), IBOR1.withSensitivity(1d / 42d)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_normalize() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities()
+        .add(ZERO1).add(IBOR1).add(ZERO2).add(DUMMY1).add(ZERO3)
+        .add(IBOR1B).add(ZERO1B).add(DUMMY1B);
+    assertSame(test.normalize(), test);
+    assertEquals(test.size(), 5);
+    assertEquals(
+        test.build().getSensitivities(),
+        ImmutableList.of(ZERO1.withSensitivity(15d), IBOR1.withSensitivity(44d), ZERO2,
+            DUMMY1.withSensitivity(57d), ZERO3));
+  }
+
+  public void test_normalize_matchesMutable() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities();
+    MutablePointSensitivities expected = new MutablePointSensitivities();
+    for (int i = 0; i < 1000; i++) {
+      ZeroRateSensitivity point = ZeroRateSensitivity.of(i % 2 == 0 ? GBP : USD, DATE1.plusDays(i % 37), i);
+      test.add(point);
+      expected.add(point);
+    }
+    test.normalize();
+    expected.normalize();
+    List<PointSensitivity> sorted = new ArrayList<>(test.build().getSensitivities());
+    sorted.sort(PointSensitivity::compareKey);
+    assertEquals(sorted, expected.getSensitivities());
+  }
+
+  public void test_normalize_empty() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities();
+    assertEquals(test.normalize().size(), 0);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_forEach() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities().add(ZERO1).add(IBOR1).add(ZERO3);
+    List<PointSensitivity> zeroRates = new ArrayList<>();
+    List<PointSensitivity> others = new ArrayList<>();
+    test.forEach(
+        (curveCurrency, date, currency, sensitivity) ->
+            zeroRates.add(ZeroRateSensitivity.of(curveCurrency, date, currency, sensitivity)),
+        others::add);
+    assertEquals(zeroRates, ImmutableList.of(ZERO1, ZERO3));
+    assertEquals(others, ImmutableList.of(IBOR1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_combinedWith() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities().add(ZERO1);
+    assertSame(test.combinedWith(new ColumnarPointSensitivities().add(IBOR1)), test);
+    assertSame(test.combinedWith(new MutablePointSensitivities(DUMMY1)), test);
+    assertSame(test.combinedWith(ZERO2), test);
+    assertEquals(test.build().getSensitivities(), ImmutableList.of(ZERO1, IBOR1, DUMMY1, ZERO2));
+  }
+
+  public void test_cloned() {
+    ColumnarPointSensitivities base = new ColumnarPointSensitivities().add(ZERO1).add(IBOR1);
+    ColumnarPointSensitivities test = base.cloned();
+    assertEquals(test, base);
+    test.add(ZERO2);
+    assertEquals(base.size(), 2);
+    assertEquals(test.size(), 3);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_equals_hashCode_toString() {
+    ColumnarPointSensitivities test = new ColumnarPointSensitivities().add(ZERO1).add(IBOR1);
+    ColumnarPointSensitivities test2 = new ColumnarPointSensitivities().add(IBOR1B).add(ZERO1).add(IBOR1);
+    test2.addAll(new ColumnarPointSensitivities());
+    ColumnarPointSensitivities same = new ColumnarPointSensitivities().add(ZERO1).add(IBOR1);
+    assertEquals(test, test);
+    assertEquals(test, same);
+    assertEquals(test.hashCode(), same.hashCode());
+    assertFalse(test.equals(test2));
+    assertFalse(test.equals(new ColumnarPointSensitivities().add(ZERO1).add(IBOR1B)));
+    assertFalse(test.equals(""));
+    assertFalse(test.equals(null));
+    assertEquals(test.toString(), "ColumnarPointSensitivities{sensitivities=" + ImmutableList.of(ZERO1, IBOR1) + "}");
+  }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * OpenGamma implementation of a structure-aware decomposition of square matrices.
+ * <p>
+ * The decomposition works directly on the storage of the {@link DoubleMatrix} and exploits the structure
+ * commonly found in curve calibration Jacobians:
+ * <ul>
+ * <li>the matrix is split into the diagonal blocks of its block lower triangular form,
+ *  the system being solved by forward substitution over the blocks
+ * <li>the lower and upper bandwidths of each diagonal block are detected, limiting the work
+ *  of the factorization to the band
+ * <li>each diagonal block is factorized using a Cholesky decomposition if it is symmetric positive definite,
+ *  and using an LU decomposition with partial pivoting otherwise
+ * </ul>
+ * Triangular, banded (including tridiagonal) and block diagonal matrices are thus handled
+ * in less than the cubic time of a dense decomposition.
+ * <p>
+ * If the factorization indicates that the matrix is singular or ill-conditioned, with a ratio between
+ * the smallest and the largest pivots of all the blocks below the threshold, the decomposition falls back to a
+ * singular value decomposition, see {@link SVDecompositionCommons}.
+ */
+public class StructuredDecomposition extends Decomposition<StructuredDecompositionResult> {
+
+  /**
+   * The default threshold on the ratio between the smallest and the largest pivots,
+   * below which the matrix is considered ill-conditioned.
+   */
+  public static final double DEFAULT_PIVOT_RATIO_THRESHOLD = 1.0E-12;
+  /**
+   * The decomposition used for ill-conditioned matrices.
+   */
+  private static final SVDecompositionCommons SVD = new SVDecompositionCommons();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public StructuredDecompositionResult apply(DoubleMatrix x) {
+    return evaluate(x, DEFAULT_PIVOT_RATIO_THRESHOLD);
+  }
+
+  /**
+   * Performs the decomposition with a given pivot ratio threshold.
+   *
+   * @param matrix  the matrix to decompose
+   * @param pivotRatioThreshold  the ratio between the smallest and the largest pivots below which
+   *  the singular value decomposition is used
+   * @return the decomposition
+   */
+  public StructuredDecompositionResult evaluate(DoubleMatrix matrix, double pivotRatioThreshold) {
+    ArgChecker.notNull(matrix, "matrix");
+    ArgChecker.isTrue(matrix.isSquare(), "Matrix not square");
+    ArgChecker.notNegative(pivotRatioThreshold, "pivotRatioThreshold");
+    MatrixValidate.notNaNOrInfinite(matrix);
+    StructuredDecompositionResult result = StructuredDecompositionResult.factorize(matrix, pivotRatioThreshold);
+    if (result != null) {
+      return result;
+    }
+    return StructuredDecompositionResult.ofSvd(SVD.apply(matrix));
+  }
+
+}
@@ -0,0 +1,438 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Results of the structure-aware decomposition {@link StructuredDecomposition}.
+ * <p>
+ * The result holds the factorization of each diagonal block of the block lower triangular form of the matrix,
+ * or the singular value decomposition of the matrix if it is ill-conditioned.
+ */
+public final class StructuredDecompositionResult implements DecompositionResult {
+
+  /**
+   * The relative threshold used to check the symmetry of a block.
+   */
+  private static final double SYMMETRY_THRESHOLD = 1.0E-14;
+
+  /**
+   * The decomposed matrix, null if the singular value decomposition is used.
+   */
+  private final double[][] matrix;
+  /**
+   * The index of the first row of each block, followed by the size of the matrix.
+   */
+  private final int[] blockStarts;
+  /**
+   * The factorization of each diagonal block.
+   */
+  private final BlockFactor[] blocks;
+  /**
+   * The singular value decomposition, null if the blocks are used.
+   */
+  private final DecompositionResult svd;
+
+  //-------------------------------------------------------------------------
+  // factorizes the matrix, returning null if ill-conditioned
+  static StructuredDecompositionResult factorize(DoubleMatrix matrix, double pivotRatioThreshold) {
+    double[][] a = matrix.toArrayUnsafe();
+    int[] blockStarts = blockStarts(a);
+    BlockFactor[] blocks = new BlockFactor[blockStarts.length - 1];
+    double maxPivot = 0d;
+    double minPivot = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < blocks.length; i++) {
+      blocks[i] = factorizeBlock(a, blockStarts[i], blockStarts[i + 1]);
+      if (blocks[i] == null) {
+        return null;
+      }
+      maxPivot = Math.max(maxPivot, blocks[i].maxPivot());
+      minPivot = Math.min(minPivot, blocks[i].minPivot());
+    }
+    // the pivots of all the blocks are compared, as the blocks may be as small as a single element
+    if (minPivot < pivotRatioThreshold * maxPivot) {
+      return null;
+    }
+    return new StructuredDecompositionResult(a, blockStarts, blocks, null);
+  }
+
+  // uses the singular value decomposition
+  static StructuredDecompositionResult ofSvd(DecompositionResult svd) {
+    return new StructuredDecompositionResult(null, null, null, svd);
+  }
+
+  // restricted constructor
+  private StructuredDecompositionResult(
+      double[][] matrix,
+      int[] blockStarts,
+      BlockFactor[] blocks,
+      DecompositionResult svd) {
+
+    this.matrix = matrix;
+    this.blockStarts = blockStarts;
+    this.blocks = blocks;
+    this.svd = svd;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the singular value decomposition is used, as the matrix is singular or ill-conditioned.
+   *
+   * @return true if the singular value decomposition is used
+   */
+  public boolean isSvdFallback() {
+    return svd != null;
+  }
+
+  /**
+   * Gets the number of diagonal blocks in the block lower triangular form of the matrix.
+   * <p>
+   * This is zero if the singular value decomposition is used.
+   *
+   * @return the number of blocks
+   */
+  public int getBlockCount() {
+    return blocks == null ? 0 : blocks.length;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleArray solve(DoubleArray b) {
+    ArgChecker.notNull(b, "b");
+    return DoubleArray.ofUnsafe(solve(b.toArrayUnsafe()));
+  }
+
+  @Override
+  public double[] solve(double[] b) {
+    ArgChecker.notNull(b, "b");
+    if (svd != null) {
+      return svd.solve(b);
+    }
+    int size = matrix.length;
+    ArgChecker.isTrue(b.length == size, "b array of incorrect size");
+    double[] x = new double[size];
+    for (int k = 0; k < blocks.length; k++) {
+      int start = blockStarts[k];
+      int end = blockStarts[k + 1];
+      // right hand side of the block, less the contribution of the previous blocks
+      double[] y = new double[end - start];
+      for (int i = start; i < end; i++) {
+        double[] row = matrix[i];
+        double sum = b[i];
+        for (int j = 0; j < start; j++) {
+          sum -= row[j] * x[j];
+        }
+        y[i - start] = sum;
+      }
+      blocks[k].solve(y);
+      System.arraycopy(y, 0, x, start, end - start);
+    }
+    return x;
+  }
+
+  @Override
+  public DoubleMatrix solve(DoubleMatrix b) {
+    ArgChecker.notNull(b, "b");
+    if (svd != null) {
+      return svd.solve(b);
+    }
+    int size = matrix.length;
+    ArgChecker.isTrue(b.rowCount() == size, "b matrix of incorrect size");
+    int nbColumns = b.columnCount();
+    double[][] x = new double[size][nbColumns];
+    for (int j = 0; j < nbColumns; j++) {
+      double[] column = solve(b.columnArray(j));
+      for (int i = 0; i < size; i++) {
+        x[i][j] = column[i];
+      }
+    }
+    return DoubleMatrix.ofUnsafe(x);
+  }
+
+  //-------------------------------------------------------------------------
+  // the index of the first row of each diagonal block of the block lower triangular form, followed by the size
+  private static int[] blockStarts(double[][] a) {
+    int size = a.length;
+    int[] starts = new int[size + 1];
+    int count = 1;
+    int reach = 0;
+    for (int i = 0; i < size; i++) {
+      reach = Math.max(reach, Math.max(i, lastNonZero(a[i])));
+      if (reach == i) {
+        // the rows up to i have no non-zero element beyond column i
+        starts[count++] = i + 1;
+      }
+    }
+    int[] result = new int[count];
+    System.arraycopy(starts, 0, result, 0, count);
+    return result;
+  }
+
+  // the index of the last non-zero element of the row
+  private static int lastNonZero(double[] row) {
+    for (int j = row.length - 1; j >= 0; j--) {
+      if (row[j] != 0d) {
+        return j;
+      }
+    }
+    return -1;
+  }
+
+  // factorizes a diagonal block, returning null if singular
+  private static BlockFactor factorizeBlock(double[][] a, int start, int end) {
+    int size = end - start;
+    int lower = 0;
+    int upper = 0;
+    boolean symmetric = true;
+    for (int i = 0; i < size; i++) {
+      double[] row = a[start + i];
+      for (int j = 0; j < size; j++) {
+        double value = row[start + j];
+        if (value != 0d) {
+          lower = Math.max(lower, i - j);
+          upper = Math.max(upper, j - i);
+        }
+        if (symmetric && j < i) {
+          double transposed = a[start + j][start + i];
+          double maxValue = Math.max(Math.abs(value), Math.abs(transposed));
+          symmetric = Math.abs(value - transposed) <= SYMMETRY_THRESHOLD * maxValue;
+        }
+      }
+    }
+    if (symmetric) {
+      BlockFactor cholesky = CholeskyBlockFactor.of(a, start, size, lower);
+      if (cholesky != null) {
+        return cholesky;
+      }
+    }
+    return LuBlockFactor.of(a, start, size, lower, upper);
+  }
+
+  // copies a diagonal block
+  private static double[][] copy(double[][] a, int start, int size) {
+    double[][] copy = new double[size][];
+    for (int i = 0; i < size; i++) {
+      copy[i] = new double[size];
+      System.arraycopy(a[start + i], start, copy[i], 0, size);
+    }
+    return copy;
+  }
+
+  //-------------------------------------------------------------------------
+  // the factorization of a diagonal block
+  private interface BlockFactor {
+    // solves the block system in place
+    void solve(double[] b);
+
+    // the absolute value of the smallest pivot
+    double minPivot();
+
+    // the absolute value of the largest pivot
+    double maxPivot();
+  }
+
+  //-------------------------------------------------------------------------
+  // band LU decomposition with partial pivoting
+  private static final class LuBlockFactor implements BlockFactor {
+    // the factors, L below the diagonal without its unit diagonal and U above
+    private final double[][] lu;
+    // the row swapped with each row during the factorization
+    private final int[] pivot;
+    // the lower bandwidth of L
+    private final int lower;
+    // the upper bandwidth of U, widened by the pivoting
+    private final int upper;
+    // the absolute value of the smallest pivot
+    private final double minPivot;
+    // the absolute value of the largest pivot
+    private final double maxPivot;
+
+    // returns null if the block is singular
+    private static LuBlockFactor of(double[][] a, int start, int size, int lower, int upper) {
+      double[][] lu = copy(a, start, size);
+      int[] pivot = new int[size];
+      int upperU = Math.min(size - 1, lower + upper);
+      double maxPivot = 0d;
+      double minPivot = Double.POSITIVE_INFINITY;
+      for (int k = 0; k < size; k++) {
+        int lastRow = Math.min(size - 1, k + lower);
+        int lastColumn = Math.min(size - 1, k + upperU);
+        int p = k;
+        for (int i = k + 1; i <= lastRow; i++) {
+          if (Math.abs(lu[i][k]) > Math.abs(lu[p][k])) {
+            p = i;
+          }
+        }
+        pivot[k] = p;
+        if (p != k) {
+          // the multipliers already computed are not swapped, as in a band solver
+          for (int j = k; j <= lastColumn; j++) {
+            double temp = lu[k][j];
+            lu[k][j] = lu[p][j];
+            lu[p][j] = temp;
+          }
+        }
+        double diagonal = lu[k][k];
+        maxPivot = Math.max(maxPivot, Math.abs(diagonal));
+        minPivot = Math.min(minPivot, Math.abs(diagonal));
+        if (diagonal == 0d) {
+          return null;
+        }
+        double[] pivotRow = lu[k];
+        for (int i = k + 1; i <= lastRow; i++) {
+          double[] row = lu[i];
+          double factor = row[k] / diagonal;
+          row[k] = factor;
+          if (factor != 0d) {
+            for (int j = k + 1; j <= lastColumn; j++) {
+              row[j] -= factor * pivotRow[j];
+            }
+          }
+        }
+      }
+      return new LuBlockFactor(lu, pivot, lower, upperU, minPivot, maxPivot);
+    }
+
+    private LuBlockFactor(double[][] lu, int[] pivot, int lower, int upper, double minPivot, double maxPivot) {
+      this.lu = lu;
+      this.pivot = pivot;
+      this.lower = lower;
+      this.upper = upper;
+      this.minPivot = minPivot;
+      this.maxPivot = maxPivot;
+    }
+
+    @Override
+    public double minPivot() {
+      return minPivot;
+    }
+
+    @Override
+    public double maxPivot() {
+      return maxPivot;
+    }
+
+    @Override
+    public void solve(double[] b) {
+      int size = lu.length;
+      // L y = P b
+      for (int k = 0; k < size; k++) {
+        int p = pivot[k];
+        if (p != k) {
+          double temp = b[k];
+          b[k] = b[p];
+          b[p] = temp;
+        }
+        double bk = b[k];
+        if (bk != 0d) {
+          int lastRow = Math.min(size - 1, k + lower);
+          for (int i = k + 1; i <= lastRow; i++) {
+            b[i] -= lu[i][k] * bk;
+          }
+        }
+      }
+      // U x = y
+      for (int k = size - 1; k >= 0; k--) {
+        double[] row = lu[k];
+        int lastColumn = Math.min(size - 1, k + upper);
+        double sum = b[k];
+        for (int j = k + 1; j <= lastColumn; j++) {
+          sum -= row[j] * b[j];
+        }
+        b[k] = sum / row[k];
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // band Cholesky decomposition of a symmetric positive definite block
+  private static final class CholeskyBlockFactor implements BlockFactor {
+    // the lower triangular factor L such that A = L L^T
+    private final double[][] l;
+    // the bandwidth of L
+    private final int band;
+    // the smallest pivot, the square of the diagonal of L
+    private final double minPivot;
+    // the largest pivot, the square of the diagonal of L
+    private final double maxPivot;
+
+    // returns null if the block is not positive definite
+    private static CholeskyBlockFactor of(double[][] a, int start, int size, int band) {
+      double[][] l = new double[size][size];
+      double maxPivot = 0d;
+      double minPivot = Double.POSITIVE_INFINITY;
+      for (int j = 0; j < size; j++) {
+        int first = Math.max(0, j - band);
+        double[] rowJ = l[j];
+        double sum = a[start + j][start + j];
+        for (int k = first; k < j; k++) {
+          sum -= rowJ[k] * rowJ[k];
+        }
+        if (sum <= 0d) {
+          return null;
+        }
+        double diagonal = Math.sqrt(sum);
+        rowJ[j] = diagonal;
+        maxPivot = Math.max(maxPivot, sum);
+        minPivot = Math.min(minPivot, sum);
+        int lastRow = Math.min(size - 1, j + band);
+        for (int i = j + 1; i <= lastRow; i++) {
+          double[] rowI = l[i];
+          double value = a[start + i][start + j];
+          for (int k = Math.max(0, i - band); k < j; k++) {
+            value -= rowI[k] * rowJ[k];
+          }
+          rowI[j] = value / diagonal;
+        }
+      }
+      return new CholeskyBlockFactor(l, band, minPivot, maxPivot);
+    }
+
+    private CholeskyBlockFactor(double[][] l, int band, double minPivot, double maxPivot) {
+      this.l = l;
+      this.band = band;
+      this.minPivot = minPivot;
+      this.maxPivot = maxPivot;
+    }
+
+    @Override
+    public double minPivot() {
+      return minPivot;
+    }
+
+    @Override
+    public double maxPivot() {
+      return maxPivot;
+    }
+
+    @Override
+    public void solve(double[] b) {
+      int size = l.length;
+      // L y = b
+      for (int i = 0; i < size; i++) {
+        double[] row = l[i];
+        double sum = b[i];
+        for (int k = Math.max(0, i - band); k < i; k++) {
+          sum -= row[k] * b[k];
+        }
+        b[i] = sum / row[i];
+      }
+      // L^T x = y
+      for (int i = size - 1; i >= 0; i--) {
+        double sum = b[i];
+        int lastRow = Math.min(size - 1, i + band);
+        for (int k = i + 1; k <= lastRow; k++) {
+          sum -= l[k][i] * b[k];
+        }
+        b[i] = sum / l[i][i];
+      }
+    }
+  }
+
+}
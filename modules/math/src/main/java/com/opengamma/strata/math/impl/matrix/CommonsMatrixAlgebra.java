@@ -14,6 +14,7 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.array.Matrix;
+import com.opengamma.strata.math.impl.linearalgebra.StructuredDecomposition;
 import com.opengamma.strata.math.impl.util.CommonsMathWrapper;
 
 /**
@@ -21,6 +22,11 @@ import com.opengamma.strata.math.impl.util.CommonsMathWrapper;
  */
 public class CommonsMatrixAlgebra extends MatrixAlgebra {
 
+  /**
+   * The decomposition used to invert square matrices.
+   */
+  private static final StructuredDecomposition STRUCTURED = new StructuredDecomposition();
+
   @Override
   public double getCondition(Matrix m) {
     ArgChecker.notNull(m, "m");
@@ -56,11 +62,23 @@ public class CommonsMatrixAlgebra extends MatrixAlgebra {
         m1.getClass() + " and " + m2.getClass());
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Square matrices are inverted using {@link StructuredDecomposition}, which works directly on the
+   * matrix storage and exploits block triangular and banded structure, using the singular value
+   * decomposition only if the matrix is ill-conditioned.
+   * Other matrices use the pseudo-inverse of the singular value decomposition.
+   */
   @Override
   public DoubleMatrix getInverse(Matrix m) {
     ArgChecker.notNull(m, "matrix was null");
     if (m instanceof DoubleMatrix) {
-      RealMatrix temp = CommonsMathWrapper.wrap((DoubleMatrix) m);
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      if (matrix.isSquare()) {
+        return STRUCTURED.apply(matrix).solve(DoubleMatrix.identity(matrix.rowCount()));
+      }
+      RealMatrix temp = CommonsMathWrapper.wrap(matrix);
       SingularValueDecomposition sv = new SingularValueDecomposition(temp);
       RealMatrix inv = sv.getSolver().getInverse();
       return CommonsMathWrapper.unwrap(inv);
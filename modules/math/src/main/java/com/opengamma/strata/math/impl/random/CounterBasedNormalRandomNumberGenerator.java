@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+import cern.jet.stat.Probability;
+
+/**
+ * Counter-based generator of standard normal random numbers.
+ * <p>
+ * Each random number is a pure function of the seed and a 64-bit counter.
+ * The counter is mixed with the seed using the SplitMix64 finalizer to produce a uniform number,
+ * which is then transformed to a standard normal number using the inverse cumulative distribution function.
+ * <p>
+ * As there is no state, any range of counters can be generated independently, in any order and on any thread,
+ * always producing the same numbers. This allows a simulation to be split into blocks that are processed
+ * concurrently while remaining reproducible whatever the number of threads used.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class CounterBasedNormalRandomNumberGenerator {
+
+  /**
+   * The golden ratio increment used by SplitMix64.
+   */
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  /**
+   * The scale converting 53 random bits to a double in (0, 1).
+   */
+  private static final double DOUBLE_UNIT = 1d / (1L << 53);
+
+  /**
+   * The mixed seed.
+   */
+  private final long seed;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a seed.
+   * <p>
+   * Generators with different seeds produce independent streams of random numbers.
+   *
+   * @param seed  the seed
+   * @return the generator
+   */
+  public static CounterBasedNormalRandomNumberGenerator of(long seed) {
+    return new CounterBasedNormalRandomNumberGenerator(seed);
+  }
+
+  // restricted constructor
+  private CounterBasedNormalRandomNumberGenerator(long seed) {
+    this.seed = mix(seed);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the standard normal random number for a counter.
+   *
+   * @param counter  the counter, not negative
+   * @return the random number
+   */
+  public double normal(long counter) {
+    ArgChecker.notNegative(counter, "counter");
+    return Probability.normalInverse(uniform(counter));
+  }
+
+  /**
+   * Fills an array with the standard normal random numbers of consecutive counters.
+   * <p>
+   * The element at {@code offset + i} is set to {@code normal(firstCounter + i)}.
+   *
+   * @param firstCounter  the counter of the first random number, not negative
+   * @param destination  the array to fill
+   * @param offset  the index of the first element to fill
+   * @param length  the number of elements to fill
+   */
+  public void fill(long firstCounter, double[] destination, int offset, int length) {
+    ArgChecker.notNegative(firstCounter, "firstCounter");
+    ArgChecker.notNull(destination, "destination");
+    ArgChecker.inRangeInclusive(offset, 0, destination.length, "offset");
+    ArgChecker.inRangeInclusive(length, 0, destination.length - offset, "length");
+    for (int i = 0; i < length; i++) {
+      destination[offset + i] = Probability.normalInverse(uniform(firstCounter + i));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // the uniform random number in (0, 1) for the counter
+  private double uniform(long counter) {
+    long bits = mix(seed + (counter + 1) * GOLDEN_GAMMA);
+    return ((bits >>> 11) + 0.5) * DOUBLE_UNIT;
+  }
+
+  // the SplitMix64 finalizer
+  private static long mix(long value) {
+    long z = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+}
@@ -27,6 +27,7 @@ import cern.jet.stat.Probability;
 public class NormalDistribution implements ProbabilityDistribution<Double> {
 
   private static final double ROOT2 = Math.sqrt(2);
+  private static final double ROOT2PI = Math.sqrt(2 * Math.PI);
 
   // TODO need a better seed
   private final double _mean;
@@ -90,6 +91,33 @@ public class NormalDistribution implements ProbabilityDistribution<Double> {
     return Probability.normalInverse(p);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the cumulative distribution function of the standard normal distribution.
+   * <p>
+   * This is equivalent to {@link #getCDF(Double)} on a distribution with mean 0 and standard deviation 1,
+   * without boxing the argument. It is intended for performance sensitive code.
+   * 
+   * @param x  the value at which to evaluate the function
+   * @return the value of the cumulative distribution function
+   */
+  public static double standardCdf(double x) {
+    return DERFC.getErfc(-x / ROOT2) / 2;
+  }
+
+  /**
+   * Computes the probability density function of the standard normal distribution.
+   * <p>
+   * This is equivalent to {@link #getPDF(Double)} on a distribution with mean 0 and standard deviation 1,
+   * without boxing the argument. It is intended for performance sensitive code.
+   * 
+   * @param x  the value at which to evaluate the function
+   * @return the value of the probability density function
+   */
+  public static double standardPdf(double x) {
+    return Math.exp(-0.5 * x * x) / ROOT2PI;
+  }
+
   /**
    * @return The mean
    */
@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+
+/**
+ * Test {@link StructuredDecomposition}.
+ */
+@Test
+public class StructuredDecompositionTest {
+
+  private static final MatrixAlgebra ALGEBRA = new CommonsMatrixAlgebra();
+  private static final StructuredDecomposition STRUCTURED = new StructuredDecomposition();
+  private static final SVDecompositionCommons SVD = new SVDecompositionCommons();
+  private static final int SIZE = 20;
+  private static final double TOL = 1e-10;
+
+  //-------------------------------------------------------------------------
+  public void test_dense() {
+    DoubleMatrix matrix = matrix((i, j) -> true, 1);
+    StructuredDecompositionResult result = assertSolve(matrix);
+    assertEquals(result.getBlockCount(), 1);
+  }
+
+  public void test_banded() {
+    DoubleMatrix matrix = matrix((i, j) -> i - j <= 2 && j - i <= 1, 2);
+    StructuredDecompositionResult result = assertSolve(matrix);
+    assertEquals(result.getBlockCount(), 1);
+  }
+
+  public void test_lowerTriangular() {
+    DoubleMatrix matrix = matrix((i, j) -> j <= i, 3);
+    StructuredDecompositionResult result = assertSolve(matrix);
+    assertEquals(result.getBlockCount(), SIZE);
+  }
+
+  public void test_upperTriangular() {
+    DoubleMatrix matrix = matrix((i, j) -> j >= i, 4);
+    StructuredDecompositionResult result = assertSolve(matrix);
+    assertEquals(result.getBlockCount(), 1);
+  }
+
+  public void test_blockLowerTriangular() {
+    DoubleMatrix matrix = matrix((i, j) -> j / 5 <= i / 5, 5);
+    StructuredDecompositionResult result = assertSolve(matrix);
+    assertEquals(result.getBlockCount(), SIZE / 5);
+  }
+
+  public void test_symmetricPositiveDefinite() {
+    DoubleMatrix matrix = matrix((i, j) -> true, 6);
+    DoubleMatrix spd = ALGEBRA.matrixTransposeMultiplyMatrix(matrix);
+    StructuredDecompositionResult result = assertSolve(spd);
+    assertEquals(result.getBlockCount(), 1);
+  }
+
+  public void test_tridiagonal() {
+    DoubleMatrix matrix = DoubleMatrix.of(SIZE, SIZE, (i, j) -> i == j ? 4d : (Math.abs(i - j) == 1 ? -1d : 0d));
+    assertSolve(matrix);
+  }
+
+  public void test_permutation() {
+    // requires pivoting
+    DoubleMatrix matrix = DoubleMatrix.of(SIZE, SIZE, (i, j) -> j == (i + 7) % SIZE ? 1d + i : 0d);
+    assertSolve(matrix);
+  }
+
+  public void test_singular() {
+    DoubleMatrix matrix = DoubleMatrix.copyOf(new double[][] {{1, 2, 0}, {2, 4, 0}, {0, 0, 1}});
+    StructuredDecompositionResult result = STRUCTURED.apply(matrix);
+    assertTrue(result.isSvdFallback());
+    assertEquals(result.getBlockCount(), 0);
+    DoubleArray b = DoubleArray.of(1d, 2d, 3d);
+    assertTrue(result.solve(b).equalWithTolerance(SVD.apply(matrix).solve(b), TOL));
+  }
+
+  public void test_nearSingularBlockTriangular() {
+    // each diagonal block is well-conditioned on its own, but the matrix is not
+    DoubleMatrix diagonal = DoubleMatrix.copyOf(new double[][] {{1, 0}, {0, 1e-15}});
+    assertTrue(STRUCTURED.apply(diagonal).isSvdFallback());
+    DoubleMatrix matrix = DoubleMatrix.copyOf(new double[][] {{1, 0, 0}, {2, 1e-15, 0}, {1, 1, 1}});
+    StructuredDecompositionResult result = STRUCTURED.apply(matrix);
+    assertTrue(result.isSvdFallback());
+    DoubleArray b = DoubleArray.of(1d, 2d, 3d);
+    assertTrue(result.solve(b).equalWithTolerance(SVD.apply(matrix).solve(b), TOL));
+    // a block lower triangular matrix of symmetric blocks, with a near-singular second block
+    DoubleMatrix blocks = DoubleMatrix.copyOf(new double[][] {
+        {2, 1, 0, 0}, {1, 2, 0, 0}, {1, 0, 1e-14, 0}, {0, 1, 0, 1e-14}});
+    assertTrue(STRUCTURED.apply(blocks).isSvdFallback());
+    assertFalse(STRUCTURED.evaluate(blocks, 1e-16).isSvdFallback());
+  }
+
+  public void test_inverse() {
+    DoubleMatrix matrix = matrix((i, j) -> i - j <= 3 && j - i <= 2, 7);
+    DoubleMatrix inverse = ALGEBRA.getInverse(matrix);
+    DoubleMatrix identity = (DoubleMatrix) ALGEBRA.multiply(matrix, inverse);
+    assertMatrixEquals(identity, DoubleMatrix.identity(SIZE));
+    assertMatrixEquals(inverse, SVD.apply(matrix).solve(DoubleMatrix.identity(SIZE)));
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> STRUCTURED.apply(null));
+    assertThrowsIllegalArg(() -> STRUCTURED.apply(DoubleMatrix.of(2, 3, (i, j) -> 1d)));
+    assertThrowsIllegalArg(() -> STRUCTURED.apply(DoubleMatrix.copyOf(new double[][] {{1, Double.NaN}, {0, 1}})));
+    StructuredDecompositionResult result = STRUCTURED.apply(DoubleMatrix.identity(2));
+    assertThrowsIllegalArg(() -> result.solve(DoubleArray.of(1d, 2d, 3d)));
+  }
+
+  //-------------------------------------------------------------------------
+  // a random matrix with the given non-zero pattern, diagonally weighted to be well-conditioned
+  private static DoubleMatrix matrix(Pattern pattern, long seed) {
+    Random random = new Random(seed);
+    return DoubleMatrix.of(
+        SIZE, SIZE, (i, j) -> pattern.isNonZero(i, j) ? random.nextDouble() + (i == j ? 2d : 0d) : 0d);
+  }
+
+  private static StructuredDecompositionResult assertSolve(DoubleMatrix matrix) {
+    StructuredDecompositionResult result = STRUCTURED.apply(matrix);
+    assertFalse(result.isSvdFallback());
+    DoubleArray b = DoubleArray.of(SIZE, i -> Math.sin(i + 1d));
+    DoubleArray x = result.solve(b);
+    assertTrue(((DoubleArray) ALGEBRA.multiply(matrix, x)).equalWithTolerance(b, TOL));
+    assertTrue(x.equalWithTolerance(SVD.apply(matrix).solve(b), TOL));
+    DoubleMatrix bMatrix = DoubleMatrix.of(SIZE, 2, (i, j) -> b.get(i) * (j + 1));
+    DoubleMatrix xMatrix = result.solve(bMatrix);
+    assertTrue(xMatrix.column(1).equalWithTolerance(x.multipliedBy(2d), TOL));
+    return result;
+  }
+
+  private static void assertMatrixEquals(DoubleMatrix computed, DoubleMatrix expected) {
+    assertEquals(computed.rowCount(), expected.rowCount());
+    for (int i = 0; i < expected.rowCount(); i++) {
+      assertTrue(computed.row(i).equalWithTolerance(expected.row(i), TOL));
+    }
+  }
+
+  private interface Pattern {
+    boolean isNonZero(int row, int column);
+  }
+
+}
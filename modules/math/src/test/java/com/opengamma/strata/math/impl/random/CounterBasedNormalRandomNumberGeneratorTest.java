@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link CounterBasedNormalRandomNumberGenerator}.
+ */
+@Test
+public class CounterBasedNormalRandomNumberGeneratorTest {
+
+  private static final CounterBasedNormalRandomNumberGenerator GENERATOR =
+      CounterBasedNormalRandomNumberGenerator.of(12345L);
+
+  public void test_reproducible() {
+    CounterBasedNormalRandomNumberGenerator other = CounterBasedNormalRandomNumberGenerator.of(12345L);
+    for (long i = 0; i < 100; i++) {
+      assertEquals(other.normal(i), GENERATOR.normal(i));
+    }
+    assertFalse(CounterBasedNormalRandomNumberGenerator.of(12346L).normal(0) == GENERATOR.normal(0));
+  }
+
+  public void test_fill() {
+    double[] result = new double[12];
+    GENERATOR.fill(1000L, result, 2, 10);
+    assertEquals(result[0], 0d);
+    assertEquals(result[1], 0d);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(result[i + 2], GENERATOR.normal(1000L + i));
+    }
+  }
+
+  public void test_moments() {
+    int size = 200000;
+    double[] result = new double[size];
+    GENERATOR.fill(0L, result, 0, size);
+    double sum = 0d;
+    double sum2 = 0d;
+    double sum4 = 0d;
+    for (double value : result) {
+      sum += value;
+      sum2 += value * value;
+      sum4 += value * value * value * value;
+    }
+    assertEquals(sum / size, 0d, 0.01);
+    assertEquals(sum2 / size, 1d, 0.01);
+    assertEquals(sum4 / size, 3d, 0.05);
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> GENERATOR.normal(-1L));
+    assertThrowsIllegalArg(() -> GENERATOR.fill(-1L, new double[2], 0, 2));
+    assertThrowsIllegalArg(() -> GENERATOR.fill(0L, new double[2], 1, 2));
+  }
+
+}
@@ -46,6 +46,14 @@ public class NormalDistributionTest extends ProbabilityDistributionTestCase {
     }
   }
 
+  public void testStandard() {
+    for (int i = 0; i < 29; i++) {
+      double x = -7.0 + 0.5 * i;
+      assertEquals(NORMAL.getCDF(x), NormalDistribution.standardCdf(x), 1e-15);
+      assertEquals(NORMAL.getPDF(x), NormalDistribution.standardPdf(x), 1e-15);
+    }
+  }
+
   public void testObject() {
     NormalDistribution other = new NormalDistribution(0, 1, ENGINE);
     assertEquals(NORMAL, other);
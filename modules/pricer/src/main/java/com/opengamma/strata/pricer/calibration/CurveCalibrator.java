@@ -8,25 +8,36 @@ package com.opengamma.strata.pricer.calibration;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.market.MarketData;
+import com.opengamma.strata.basics.market.MarketDataKey;
 import com.opengamma.strata.basics.market.ReferenceData;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.curve.NodalCurveDefinition;
+import com.opengamma.strata.math.impl.linearalgebra.Decomposition;
 import com.opengamma.strata.math.impl.linearalgebra.DecompositionFactory;
+import com.opengamma.strata.math.impl.linearalgebra.DecompositionResult;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.impl.rootfinding.newton.BroydenVectorRootFinder;
@@ -56,9 +67,14 @@ public final class CurveCalibrator {
    */
   private static final CurveCalibrator STANDARD = CurveCalibrator.of(1e-9, 1e-9, 1000, CalibrationMeasures.PAR_SPREAD);
   /**
-   * The matrix algebra used for matrix inversion.
+   * The matrix algebra used for matrix multiplication.
    */
   private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+  /**
+   * The decomposition used to solve for the Jacobian of each group.
+   */
+  private static final Decomposition<?> DECOMPOSITION =
+      DecompositionFactory.getDecomposition(DecompositionFactory.STRUCTURED_NAME);
 
   /**
    * The root finder used for curve calibration.
@@ -131,7 +147,7 @@ public final class CurveCalibrator {
         toleranceAbs,
         toleranceRel,
         stepMaximum,
-        DecompositionFactory.getDecomposition(DecompositionFactory.SV_COMMONS_NAME));
+        DecompositionFactory.getDecomposition(DecompositionFactory.STRUCTURED_NAME));
     this.measures = measures;
   }
 
@@ -193,22 +209,97 @@ public final class CurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
+    return calibrate(allGroupsDefn, knownData, marketData, refData, ImmutableMap.of(), ImmutableSet.of());
+  }
+
+  /**
+   * Recalibrates a list of curve groups following a change to some of the market data.
+   * <p>
+   * This is used when a small number of quotes have changed since a previous calibration
+   * of the same curve group definitions. The previous provider must be the result of that calibration,
+   * such that its curves contain the {@linkplain CurveInfoType#JACOBIAN Jacobian} information.
+   * <p>
+   * The groups are processed in order. A group is not calibrated again if none of the market data
+   * required by its nodes has changed and no earlier group has been calibrated again.
+   * Instead, the previous curves and Jacobians of the group are reused.
+   * The other groups are calibrated, starting the root finder from the previous curve parameters.
+   * <p>
+   * The changed keys must include all market data required by the nodes that has changed.
+   * If other data has changed, such as the known data, a full calibration must be performed.
+   *
+   * @param allGroupsDefn  the curve group definitions, as used in the previous calibration
+   * @param knownData  the starting data for the calibration
+   * @param previousProvider  the rates provider resulting from the previous calibration
+   * @param marketData  the market data required to build a trade for the instrument
+   * @param refData  the reference data, used to resolve the trades
+   * @param changedKeys  the keys of the market data that has changed since the previous calibration
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider recalibrate(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      ImmutableRatesProvider previousProvider,
+      MarketData marketData,
+      ReferenceData refData,
+      Set<? extends MarketDataKey<?>> changedKeys) {
+
+    Map<CurveName, NodalCurve> previousCurves = new HashMap<>();
+    Stream.concat(
+        previousProvider.getDiscountCurves().values().stream(),
+        previousProvider.getIndexCurves().values().stream())
+        .filter(curve -> curve instanceof NodalCurve)
+        .forEach(curve -> previousCurves.put(curve.getName(), (NodalCurve) curve));
+    return calibrate(allGroupsDefn, knownData, marketData, refData, previousCurves, changedKeys);
+  }
+
+  // calibrates the groups, reusing the previous curves where possible
+  private ImmutableRatesProvider calibrate(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      Map<CurveName, NodalCurve> previousCurves,
+      Set<? extends MarketDataKey<?>> changedKeys) {
+
     // perform calibration one group at a time, building up the result by mutating these variables
     ImmutableRatesProvider providerCombined = knownData;
     ImmutableList<CurveParameterSize> orderPrev = ImmutableList.of();
     ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians = ImmutableMap.of();
+    boolean upstreamCalibrated = false;
     for (CurveGroupDefinition groupDefn : allGroupsDefn) {
-      // combine all data in the group into flat lists
-      ImmutableList<ResolvedTrade> trades = groupDefn.resolvedTrades(knownData.getValuationDate(), marketData, refData);
-      ImmutableList<Double> initialGuesses = groupDefn.initialGuesses(knownData.getValuationDate(), marketData);
       ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefn);
       ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
           .addAll(orderPrev)
           .addAll(orderGroup)
           .build();
+      ImmutableRatesProviderGenerator baseGenerator =
+          ImmutableRatesProviderGenerator.of(providerCombined, groupDefn, refData);
+
+      // find the previous parameters and Jacobians, empty if the group was not previously calibrated
+      Optional<DoubleArray> previousParams = previousParameters(groupDefn, previousCurves);
+      Optional<Map<CurveName, JacobianCalibrationMatrix>> previousJacobians =
+          previousJacobians(groupDefn, previousCurves, orderPrevAndGroup);
+
+      if (!upstreamCalibrated && previousParams.isPresent() && previousJacobians.isPresent() &&
+          !isAffected(groupDefn, changedKeys)) {
+        // reuse the previous curves, as neither the inputs nor the upstream curves have changed
+        jacobians = ImmutableMap.<CurveName, JacobianCalibrationMatrix>builder()
+            .putAll(jacobians)
+            .putAll(previousJacobians.get())
+            .build();
+        orderPrev = orderPrevAndGroup;
+        providerCombined = baseGenerator.generate(previousParams.get(), jacobians);
+        continue;
+      }
+
+      // combine all data in the group into flat lists
+      ImmutableList<ResolvedTrade> trades = groupDefn.resolvedTrades(knownData.getValuationDate(), marketData, refData);
+      DoubleArray initialGuesses = previousParams.orElseGet(
+          () -> DoubleArray.copyOf(groupDefn.initialGuesses(knownData.getValuationDate(), marketData)));
 
       // calibrate
-      RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefn, refData);
+      // the root finder evaluates the value and derivative at the same point, thus the provider is reused
+      RatesProviderGenerator providerGenerator = new MemoizingRatesProviderGenerator(baseGenerator);
       DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
       ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
 
@@ -219,11 +310,56 @@ public final class CurveCalibrator {
 
       // use Jacobians to build output curves
       providerCombined = providerGenerator.generate(calibratedGroupParams, jacobians);
+      upstreamCalibrated = true;
     }
     // return the calibrated provider
     return providerCombined;
   }
 
+  // finds the parameters of the previously calibrated curves of the group
+  private static Optional<DoubleArray> previousParameters(
+      CurveGroupDefinition groupDefn,
+      Map<CurveName, NodalCurve> previousCurves) {
+
+    DoubleArray params = DoubleArray.EMPTY;
+    for (NodalCurveDefinition curveDefn : groupDefn.getCurveDefinitions()) {
+      NodalCurve curve = previousCurves.get(curveDefn.getName());
+      if (curve == null || curve.getParameterCount() != curveDefn.getParameterCount()) {
+        return Optional.empty();
+      }
+      params = params.concat(curve.getYValues());
+    }
+    return Optional.of(params);
+  }
+
+  // finds the Jacobians of the previously calibrated curves of the group, which must match the current curve order
+  private static Optional<Map<CurveName, JacobianCalibrationMatrix>> previousJacobians(
+      CurveGroupDefinition groupDefn,
+      Map<CurveName, NodalCurve> previousCurves,
+      ImmutableList<CurveParameterSize> orderPrevAndGroup) {
+
+    ImmutableMap.Builder<CurveName, JacobianCalibrationMatrix> builder = ImmutableMap.builder();
+    for (NodalCurveDefinition curveDefn : groupDefn.getCurveDefinitions()) {
+      NodalCurve curve = previousCurves.get(curveDefn.getName());
+      Optional<JacobianCalibrationMatrix> jacobian = curve != null ?
+          curve.getMetadata().findInfo(CurveInfoType.JACOBIAN) :
+          Optional.empty();
+      if (!jacobian.isPresent() || !jacobian.get().getOrder().equals(orderPrevAndGroup)) {
+        return Optional.empty();
+      }
+      builder.put(curveDefn.getName(), jacobian.get());
+    }
+    return Optional.of(builder.build());
+  }
+
+  // checks if any of the market data required by the nodes of the group has changed
+  private static boolean isAffected(CurveGroupDefinition groupDefn, Set<? extends MarketDataKey<?>> changedKeys) {
+    return groupDefn.getCurveDefinitions().stream()
+        .flatMap(curveDefn -> curveDefn.getNodes().stream())
+        .flatMap(node -> node.requirements().stream())
+        .anyMatch(changedKeys::contains);
+  }
+
   // converts a definition to the curve order list
   private static ImmutableList<CurveParameterSize> toOrder(CurveGroupDefinition groupDefn) {
     return groupDefn.getCurveDefinitions().stream().map(def -> def.toCurveParameterSize()).collect(toImmutableList());
@@ -234,7 +370,7 @@ public final class CurveCalibrator {
   private DoubleArray calibrateGroup(
       RatesProviderGenerator providerGenerator,
       ImmutableList<ResolvedTrade> trades,
-      ImmutableList<Double> initialGuesses,
+      DoubleArray initialGuesses,
       ImmutableList<CurveParameterSize> curveOrder) {
 
     // setup for calibration
@@ -243,8 +379,7 @@ public final class CurveCalibrator {
         new CalibrationDerivative(trades, measures, providerGenerator, curveOrder);
 
     // calibrate
-    DoubleArray initGuessMatrix = DoubleArray.copyOf(initialGuesses);
-    return rootFinder.getRoot(valueCalculator, derivativeCalculator, initGuessMatrix);
+    return rootFinder.getRoot(valueCalculator, derivativeCalculator, initialGuesses);
   }
 
   //-------------------------------------------------------------------------
@@ -266,11 +401,12 @@ public final class CurveCalibrator {
     int nbTrades = trades.size();
     int totalParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
     int totalParamsPrevious = totalParamsAll - totalParamsGroup;
-    DoubleMatrix pDmCurrentMatrix = jacobianDirect(res, nbTrades, totalParamsGroup, totalParamsPrevious);
+    DecompositionResult directDecomposition = decomposeDirect(res, nbTrades, totalParamsGroup, totalParamsPrevious);
+    DoubleMatrix pDmCurrentMatrix = directDecomposition.solve(DoubleMatrix.identity(totalParamsGroup));
 
     // jacobian indirect: when totalParamsPrevious > 0
     DoubleMatrix pDmPrevious = jacobianIndirect(
-        res, pDmCurrentMatrix, nbTrades, totalParamsGroup, totalParamsPrevious, orderPrev, jacobians);
+        res, directDecomposition, nbTrades, totalParamsPrevious, orderPrev, jacobians);
 
     // add to the map of jacobians, one entry for each curve in this group
     ImmutableMap.Builder<CurveName, JacobianCalibrationMatrix> jacobianBuilder = ImmutableMap.builder();
@@ -310,26 +446,25 @@ public final class CurveCalibrator {
         i -> measures.derivative(trades.get(i), provider, orderAll));
   }
 
-  // jacobian direct, for the current group
-  private static DoubleMatrix jacobianDirect(
+  // decomposes the derivatives of the trades with respect to the parameters of the current group
+  // the jacobian direct is the inverse of this matrix, and is obtained by solving rather than inverting
+  private static DecompositionResult decomposeDirect(
       DoubleMatrix res,
       int nbTrades,
       int totalParamsGroup,
       int totalParamsPrevious) {
 
-    double[][] direct = new double[totalParamsGroup][totalParamsGroup];
-    for (int i = 0; i < nbTrades; i++) {
-      System.arraycopy(res.rowArray(i), totalParamsPrevious, direct[i], 0, totalParamsGroup);
-    }
-    return MATRIX_ALGEBRA.getInverse(DoubleMatrix.copyOf(direct));
+    DoubleMatrix direct = totalParamsPrevious == 0 ?
+        res :
+        DoubleMatrix.of(nbTrades, totalParamsGroup, (i, j) -> res.get(i, totalParamsPrevious + j));
+    return DECOMPOSITION.apply(direct);
   }
 
   // jacobian indirect, merging groups
   private static DoubleMatrix jacobianIndirect(
       DoubleMatrix res,
-      DoubleMatrix pDmCurrentMatrix,
+      DecompositionResult directDecomposition,
       int nbTrades,
-      int totalParamsGroup,
       int totalParamsPrevious,
       ImmutableList<CurveParameterSize> orderPrevious,
       ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobiansPrevious) {
@@ -337,12 +472,9 @@ public final class CurveCalibrator {
     if (totalParamsPrevious == 0) {
       return DoubleMatrix.EMPTY;
     }
-    double[][] nonDirect = new double[totalParamsGroup][totalParamsPrevious];
-    for (int i = 0; i < nbTrades; i++) {
-      System.arraycopy(res.rowArray(i), 0, nonDirect[i], 0, totalParamsPrevious);
-    }
-    DoubleMatrix pDpPreviousMatrix = (DoubleMatrix) MATRIX_ALGEBRA.scale(
-        MATRIX_ALGEBRA.multiply(pDmCurrentMatrix, DoubleMatrix.copyOf(nonDirect)), -1d);
+    // the product of the jacobian direct and the non-direct derivatives is solved from the decomposition
+    DoubleMatrix nonDirect = DoubleMatrix.of(nbTrades, totalParamsPrevious, (i, j) -> res.get(i, j));
+    DoubleMatrix pDpPreviousMatrix = directDecomposition.solve(nonDirect).multipliedBy(-1d);
     // all curves: order and size
     int[] startIndexBefore = new int[orderPrevious.size()];
     for (int i = 1; i < orderPrevious.size(); i++) {
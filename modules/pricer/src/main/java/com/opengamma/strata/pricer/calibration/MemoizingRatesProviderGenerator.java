@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ * 
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.calibration;
+
+import java.util.Map;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Generates a rates provider, reusing the last provider if the parameters have not changed.
+ * <p>
+ * During calibration the root finder evaluates the value and the derivative at the same point,
+ * and the calibrated provider is then generated again from the root. Each evaluation would otherwise
+ * create a complete new provider from the same parameters.
+ * <p>
+ * Only providers generated without calibration information are reused.
+ * This class is not thread-safe and is intended to be used for the calibration of a single group.
+ */
+final class MemoizingRatesProviderGenerator
+    implements RatesProviderGenerator {
+
+  /**
+   * The underlying generator.
+   */
+  private final RatesProviderGenerator underlying;
+  /**
+   * The parameters used to generate the last provider, null if no provider has been generated.
+   */
+  private DoubleArray lastParameters;
+  /**
+   * The last provider generated.
+   */
+  private ImmutableRatesProvider lastProvider;
+
+  /**
+   * Creates an instance.
+   * 
+   * @param underlying  the underlying generator
+   */
+  MemoizingRatesProviderGenerator(RatesProviderGenerator underlying) {
+    this.underlying = underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public ImmutableRatesProvider generate(DoubleArray parameters) {
+    if (!parameters.equals(lastParameters)) {
+      lastProvider = underlying.generate(parameters);
+      lastParameters = parameters;
+    }
+    return lastProvider;
+  }
+
+  @Override
+  public ImmutableRatesProvider generate(
+      DoubleArray parameters,
+      Map<CurveName, JacobianCalibrationMatrix> jacobians) {
+
+    if (jacobians.isEmpty()) {
+      return generate(parameters);
+    }
+    return underlying.generate(parameters, jacobians);
+  }
+
+}
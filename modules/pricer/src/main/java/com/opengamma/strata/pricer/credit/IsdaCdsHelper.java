@@ -7,15 +7,27 @@ package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalDouble;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.stream.Stream;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.date.BusinessDayConvention;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.market.ReferenceData;
 import com.opengamma.strata.market.curve.IsdaCreditCurveInputs;
 import com.opengamma.strata.market.curve.IsdaYieldCurveInputs;
@@ -32,6 +44,9 @@ import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantCreditCurveBuil
 import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantYieldCurve;
 import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantYieldCurveBuild;
 import com.opengamma.strata.pricer.impl.credit.isda.IsdaInstrumentTypes;
+import com.opengamma.strata.pricer.impl.credit.isda.IsdaPremiumLegSchedule;
+import com.opengamma.strata.pricer.impl.credit.isda.MultiAnalyticCdsPricer;
+import com.opengamma.strata.pricer.impl.credit.isda.MultiCdsAnalytic;
 import com.opengamma.strata.product.credit.ResolvedCds;
 import com.opengamma.strata.product.credit.type.CdsConvention;
 import com.opengamma.strata.product.credit.type.IsdaYieldCurveConvention;
@@ -71,6 +86,10 @@ public class IsdaCdsHelper {
    * ISDA Standard model implementation in analytics.
    */
   private final static AnalyticCdsPricer CALCULATOR = new AnalyticCdsPricer();
+  /**
+   * ISDA Standard model implementation in analytics for a strip of CDS with common coupons.
+   */
+  private final static MultiAnalyticCdsPricer MULTI_CALCULATOR = new MultiAnalyticCdsPricer();
 
   //-------------------------------------------------------------------------
   /**
@@ -93,17 +112,209 @@ public class IsdaCdsHelper {
       double scalingFactor) {
 
     // setup
-    CdsAnalytic cdsAnalytic = toAnalytic(valuationDate, product, recoveryRate);
     IsdaCompliantYieldCurve yieldCurveAnalytics =
         IsdaCompliantYieldCurve.makeFromRT(yieldCurve.getXValues(), yieldCurve.getYValues());
     IsdaCompliantCreditCurve creditCurveAnalytics =
         IsdaCompliantCreditCurve.makeFromRT(creditCurve.getXValues(), creditCurve.getYValues());
 
     // calculate
+    return price(valuationDate, product, yieldCurveAnalytics, creditCurveAnalytics, recoveryRate, scalingFactor);
+  }
+
+  // prices a single product
+  private static CurrencyAmount price(
+      LocalDate valuationDate,
+      ResolvedCds product,
+      IsdaCompliantYieldCurve yieldCurveAnalytics,
+      IsdaCompliantCreditCurve creditCurveAnalytics,
+      double recoveryRate,
+      double scalingFactor) {
+
+    CdsAnalytic cdsAnalytic = toAnalytic(valuationDate, product, recoveryRate);
     double coupon = product.getCoupon();
     double pv = CALCULATOR.pv(cdsAnalytic, yieldCurveAnalytics, creditCurveAnalytics, coupon, CdsPriceType.DIRTY, 0d);
+    return toPresentValue(valuationDate, product, pv, scalingFactor, yieldCurveAnalytics);
+  }
+
+  /**
+   * Calculate present value of a number of products on the specified valuation date.
+   * <p>
+   * All the products must reference the same entity, thus be priced using the same curves and recovery rate.
+   * Products that share a premium leg schedule, differing only in maturity, coupon, notional and direction,
+   * are priced together as a strip. The premium leg and protection leg integrals are calculated once
+   * for each distinct maturity in the strip, and the integrals of the shorter maturities are shared
+   * with the longer maturities. Other products are priced individually.
+   *
+   * @param valuationDate date that present value is calculated on, also date that curves will be calibrated to
+   * @param products  the expanded CDS products
+   * @param yieldCurve  the par rates representation of the ISDA yield curve
+   * @param creditCurve  the par rates representation of the ISDA credit curve
+   * @param recoveryRate  the recovery rate for the reference entity/issue
+   * @param scalingFactor  the scaling factor
+   * @return the present value of each expanded CDS product, in the order of the products
+   */
+  public static List<CurrencyAmount> price(
+      LocalDate valuationDate,
+      List<ResolvedCds> products,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      double recoveryRate,
+      double scalingFactor) {
+
+    // setup
+    IsdaCompliantYieldCurve yieldCurveAnalytics =
+        IsdaCompliantYieldCurve.makeFromRT(yieldCurve.getXValues(), yieldCurve.getYValues());
+    IsdaCompliantCreditCurve creditCurveAnalytics =
+        IsdaCompliantCreditCurve.makeFromRT(creditCurve.getXValues(), creditCurve.getYValues());
+
+    // group the products by premium leg schedule, other than the maturity
+    Map<List<Object>, List<Integer>> strips = new LinkedHashMap<>();
+    for (int i = 0; i < products.size(); i++) {
+      ResolvedCds product = products.get(i);
+      List<Object> stripKey = ImmutableList.of(
+          product.getStartDate(),
+          product.getPaymentInterval(),
+          product.getStubConvention(),
+          product.isPayAccruedOnDefault(),
+          product.getBusinessDayAdjustment(),
+          product.getAccrualDayCount());
+      strips.computeIfAbsent(stripKey, k -> new ArrayList<>()).add(i);
+    }
+
+    // calculate
+    CurrencyAmount[] results = new CurrencyAmount[products.size()];
+    for (List<Integer> strip : strips.values()) {
+      priceStrip(
+          valuationDate,
+          products,
+          strip,
+          yieldCurveAnalytics,
+          creditCurveAnalytics,
+          recoveryRate,
+          scalingFactor,
+          results);
+    }
+    for (int i = 0; i < results.length; i++) {
+      if (results[i] == null) {
+        results[i] = price(
+            valuationDate, products.get(i), yieldCurveAnalytics, creditCurveAnalytics, recoveryRate, scalingFactor);
+      }
+    }
+    return ImmutableList.copyOf(results);
+  }
+
+  // prices the products that share a premium leg schedule as a strip
+  // the maturities must be a whole number of payment intervals from the earliest maturity
+  // and must lie on the premium leg schedule of the longest maturity
+  // products that cannot be priced as part of the strip are left unpriced
+  private static void priceStrip(
+      LocalDate valuationDate,
+      List<ResolvedCds> products,
+      List<Integer> strip,
+      IsdaCompliantYieldCurve yieldCurve,
+      IsdaCompliantCreditCurve creditCurve,
+      double recoveryRate,
+      double scalingFactor,
+      CurrencyAmount[] results) {
+
+    ResolvedCds first = products.get(strip.get(0));
+    Period paymentInterval = first.getPaymentInterval();
+    long intervalMonths = paymentInterval.toTotalMonths();
+    if (strip.size() < 2 || paymentInterval.getDays() != 0 || intervalMonths == 0) {
+      return;
+    }
+    LocalDate referenceDate = strip.stream()
+        .map(i -> products.get(i).getEndDate())
+        .min(LocalDate::compareTo)
+        .get();
+    // find the number of payment intervals between the reference date and each maturity
+    SortedSet<Integer> maturityIndexSet = new TreeSet<>();
+    Map<Integer, Integer> productMaturityIndex = new HashMap<>();
+    for (int i : strip) {
+      LocalDate endDate = products.get(i).getEndDate();
+      long months = ChronoUnit.MONTHS.between(referenceDate, endDate);
+      int maturityIndex = (int) (months / intervalMonths);
+      if (referenceDate.plus(paymentInterval.multipliedBy(maturityIndex)).equals(endDate)) {
+        maturityIndexSet.add(maturityIndex);
+        productMaturityIndex.put(i, maturityIndex);
+      }
+    }
+    if (productMaturityIndex.size() < 2) {
+      return;
+    }
+    int[] maturityIndexes = maturityIndexSet.stream().mapToInt(i -> i).toArray();
+    HolidayCalendar calendar = first.getBusinessDayAdjustment().getCalendar().resolve(REF_DATA);
+    if (!isOnSchedule(first, referenceDate, maturityIndexes, calendar)) {
+      return;
+    }
+
+    // calculate the leg values once for each maturity
+    MultiCdsAnalytic cdsAnalytic = new MultiCdsAnalytic(
+        valuationDate,
+        valuationDate.plusDays(1),
+        valuationDate,
+        first.getStartDate(),
+        referenceDate,
+        maturityIndexes,
+        first.isPayAccruedOnDefault(),
+        Tenor.of(paymentInterval),
+        first.getStubConvention(),
+        PROTECT_START,
+        recoveryRate,
+        first.getBusinessDayAdjustment().getConvention(),
+        calendar,
+        first.getAccrualDayCount(),
+        CURVE_DAY_COUNT);
+    double[] premiumLeg =
+        MULTI_CALCULATOR.pvPremiumLegPerUnitSpread(cdsAnalytic, yieldCurve, creditCurve, CdsPriceType.DIRTY);
+    double[] protectionLeg = MULTI_CALCULATOR.protectionLeg(cdsAnalytic, yieldCurve, creditCurve);
+
+    // combine the leg values with the coupon of each product
+    for (Map.Entry<Integer, Integer> entry : productMaturityIndex.entrySet()) {
+      int productIndex = entry.getKey();
+      int matIndex = Arrays.binarySearch(maturityIndexes, entry.getValue());
+      ResolvedCds product = products.get(productIndex);
+      double pv = protectionLeg[matIndex] - product.getCoupon() * premiumLeg[matIndex];
+      results[productIndex] = toPresentValue(valuationDate, product, pv, scalingFactor, yieldCurve);
+    }
+  }
+
+  // checks that each maturity is a nominal payment date of the premium leg schedule of the longest maturity
+  // the stub means that the maturities are not always on the schedule, in which case the strip cannot be used
+  private static boolean isOnSchedule(
+      ResolvedCds first,
+      LocalDate referenceDate,
+      int[] maturityIndexes,
+      HolidayCalendar calendar) {
+
+    Period paymentInterval = first.getPaymentInterval();
+    LocalDate longestMaturity =
+        referenceDate.plus(paymentInterval.multipliedBy(maturityIndexes[maturityIndexes.length - 1]));
+    IsdaPremiumLegSchedule schedule = new IsdaPremiumLegSchedule(
+        first.getStartDate(),
+        longestMaturity,
+        paymentInterval,
+        first.getStubConvention(),
+        first.getBusinessDayAdjustment().getConvention(),
+        calendar,
+        PROTECT_START);
+    for (int maturityIndex : maturityIndexes) {
+      LocalDate maturity = referenceDate.plus(paymentInterval.multipliedBy(maturityIndex));
+      if (schedule.getNominalPaymentDateIndex(maturity) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // converts the present value per unit notional to the present value of the product, including the fee
+  private static CurrencyAmount toPresentValue(
+      LocalDate valuationDate,
+      ResolvedCds product,
+      double pv,
+      double scalingFactor,
+      IsdaCompliantYieldCurve yieldCurveAnalytics) {
 
-    // create result
     int sign = product.getBuySellProtection().isBuy() ? 1 : -1;
     double notional = product.getNotional();
     double factor = scalingFactor;
@@ -6,8 +6,10 @@
 package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivity;
@@ -26,6 +28,9 @@ import com.opengamma.strata.product.credit.ResolvedCds;
  * <p>
  * This function provides the ability to price a {@link ResolvedCds}.
  * Both single name and index swaps can be priced.
+ * <p>
+ * The ISDA curves are calibrated from the par rate inputs on each call.
+ * An {@link IsdaCurveCache} can be supplied to reuse the calibrated curves between calls.
  */
 public class IsdaCdsPricer {
 
@@ -39,6 +44,30 @@ public class IsdaCdsPricer {
    */
   private static final double ONE_BPS = 0.0001d;
 
+  /**
+   * The cache of calibrated curves, null if curves are calibrated on every call.
+   */
+  private final IsdaCurveCache curveCache;
+
+  /**
+   * Creates an instance that calibrates the curves on every call.
+   */
+  public IsdaCdsPricer() {
+    this.curveCache = null;
+  }
+
+  /**
+   * Creates an instance that obtains calibrated curves from the specified cache.
+   * <p>
+   * Curves calibrated from par rate inputs, including those calibrated from bumped inputs
+   * for the par rate sensitivities, are reused between calls.
+   *
+   * @param curveCache  the cache of calibrated curves
+   */
+  public IsdaCdsPricer(IsdaCurveCache curveCache) {
+    this.curveCache = ArgChecker.notNull(curveCache, "curveCache");
+  }
+
   //-------------------------------------------------------------------------
 
   /**
@@ -86,12 +115,45 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveInputs);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = yieldCurve(valuationDate, yieldCurveInputs);
+    NodalCurve creditCurve = creditCurve(valuationDate, yieldCurveInputs, yieldCurve, creditCurveInputs, recoveryRate);
 
     return IsdaCdsHelper.price(valuationDate, product, yieldCurve, creditCurve, recoveryRate, scalingFactor);
   }
 
+  /**
+   * Calculates the present value of a number of expanded CDS products on the same reference entity.
+   * <p>
+   * The present value of each CDS is the present value of all cashflows as of the valuation date.
+   * All the products are priced using the same curves and recovery rate, thus typically reference the same entity.
+   * <p>
+   * The result is the same as calling {@link #presentValue(ResolvedCds, IsdaYieldCurveInputs,
+   * IsdaCreditCurveInputs, LocalDate, double, double)} for each product. However, the curves are
+   * calibrated once, and products that differ only in maturity, coupon, notional and direction
+   * are priced together, sharing the premium leg and protection leg integrals.
+   *
+   * @param products  expanded CDS products
+   * @param yieldCurveInputs  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveInputs  par spread rate curve points of the ISDA spread curve to use
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associate with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee of each product, in the order of the products
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedCds> products,
+      IsdaYieldCurveInputs yieldCurveInputs,
+      IsdaCreditCurveInputs creditCurveInputs,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    NodalCurve yieldCurve = yieldCurve(valuationDate, yieldCurveInputs);
+    NodalCurve creditCurve = creditCurve(valuationDate, yieldCurveInputs, yieldCurve, creditCurveInputs, recoveryRate);
+
+    return IsdaCdsHelper.price(valuationDate, products, yieldCurve, creditCurve, recoveryRate, scalingFactor);
+  }
+
   /**
    * Calculates the par rate of the expanded CDS product.
    * <p>
@@ -112,8 +174,8 @@ public class IsdaCdsPricer {
       LocalDate valuationDate,
       double recoveryRate) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveInputs);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = yieldCurve(valuationDate, yieldCurveInputs);
+    NodalCurve creditCurve = creditCurve(valuationDate, yieldCurveInputs, yieldCurve, creditCurveInputs, recoveryRate);
 
     return IsdaCdsHelper.parSpread(valuationDate, product, yieldCurve, creditCurve, recoveryRate);
   }
@@ -243,11 +305,13 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveInputs);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = yieldCurve(valuationDate, yieldCurveInputs);
+    NodalCurve creditCurve = creditCurve(valuationDate, yieldCurveInputs, yieldCurve, creditCurveInputs, recoveryRate);
 
-    NodalCurve bumpedYieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveInputs.parallelShiftParRatesinBps(ONE_BPS));
-    NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, bumpedYieldCurve, recoveryRate);
+    IsdaYieldCurveInputs bumpedYieldCurveInputs = yieldCurveInputs.parallelShiftParRatesinBps(ONE_BPS);
+    NodalCurve bumpedYieldCurve = yieldCurve(valuationDate, bumpedYieldCurveInputs);
+    NodalCurve bumpedCreditCurve = creditCurve(
+        valuationDate, bumpedYieldCurveInputs, bumpedYieldCurve, creditCurveInputs, recoveryRate);
 
     CurrencyAmount basePrice = presentValue(
         product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
@@ -275,8 +339,8 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveInputs);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = yieldCurve(valuationDate, yieldCurveInputs);
+    NodalCurve creditCurve = creditCurve(valuationDate, yieldCurveInputs, yieldCurve, creditCurveInputs, recoveryRate);
 
     NodalCurve bumpedYieldCurve = yieldCurve.shiftedBy((x, y) -> y + ONE_BPS);
     NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, bumpedYieldCurve, recoveryRate);
@@ -307,17 +371,18 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveInputs);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = yieldCurve(valuationDate, yieldCurveInputs);
+    NodalCurve creditCurve = creditCurve(valuationDate, yieldCurveInputs, yieldCurve, creditCurveInputs, recoveryRate);
+
+    CurrencyAmount basePrice = presentValue(
+        product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
 
     int points = yieldCurveInputs.getNumberOfPoints();
     DoubleArray paramSens = DoubleArray.of(points, i -> {
-      NodalCurve bumpedYieldCurve = ISDANodalCurve.of(
-          valuationDate, yieldCurveInputs.bucketedShiftParRatesinBps(i, ONE_BPS));
-      NodalCurve bumpedCreditCurve = ISDANodalCurve.of(
-          valuationDate, creditCurveInputs, bumpedYieldCurve, recoveryRate);
-      CurrencyAmount basePrice = presentValue(
-          product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+      IsdaYieldCurveInputs bumpedYieldCurveInputs = yieldCurveInputs.bucketedShiftParRatesinBps(i, ONE_BPS);
+      NodalCurve bumpedYieldCurve = yieldCurve(valuationDate, bumpedYieldCurveInputs);
+      NodalCurve bumpedCreditCurve = creditCurve(
+          valuationDate, bumpedYieldCurveInputs, bumpedYieldCurve, creditCurveInputs, recoveryRate);
       CurrencyAmount bumpedPrice = presentValue(
           product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
       CurrencyAmount sensitivity = bumpedPrice.minus(basePrice);
@@ -346,17 +411,18 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveInputs);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = yieldCurve(valuationDate, yieldCurveInputs);
+    NodalCurve creditCurve = creditCurve(valuationDate, yieldCurveInputs, yieldCurve, creditCurveInputs, recoveryRate);
+
+    CurrencyAmount basePrice = presentValue(
+        product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
 
     int points = yieldCurveInputs.getNumberOfPoints();
+    DoubleArray yValues = yieldCurve.getYValues();
     DoubleArray paramSens = DoubleArray.of(points, i -> {
-      DoubleArray shiftVector = yieldCurve.getYValues();
-      shiftVector = shiftVector.with(i, shiftVector.get(i) + ONE_BPS);
+      DoubleArray shiftVector = yValues.with(i, yValues.get(i) + ONE_BPS);
       NodalCurve bumpedYieldCurve = ISDANodalCurve.of(yieldCurveInputs, yieldCurve.getXValues(), shiftVector);
       NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, bumpedYieldCurve, recoveryRate);
-      CurrencyAmount basePrice = presentValue(
-          product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
       CurrencyAmount bumpedPrice = presentValue(
           product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
       CurrencyAmount sensitivity = bumpedPrice.minus(basePrice);
@@ -387,12 +453,13 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveInputs);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = yieldCurve(valuationDate, yieldCurveInputs);
+    NodalCurve creditCurve = creditCurve(valuationDate, yieldCurveInputs, yieldCurve, creditCurveInputs, recoveryRate);
 
     NodalCurve bumpedYieldCurve = yieldCurve;
-    NodalCurve bumpedCreditCurve = ISDANodalCurve.of(
-        valuationDate, creditCurveInputs.parallelShiftParRatesinBps(ONE_BPS), bumpedYieldCurve, recoveryRate);
+    IsdaCreditCurveInputs bumpedCreditCurveInputs = creditCurveInputs.parallelShiftParRatesinBps(ONE_BPS);
+    NodalCurve bumpedCreditCurve = creditCurve(
+        valuationDate, yieldCurveInputs, yieldCurve, bumpedCreditCurveInputs, recoveryRate);
 
     CurrencyAmount basePrice = presentValue(
         product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
@@ -420,8 +487,8 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveInputs);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = yieldCurve(valuationDate, yieldCurveInputs);
+    NodalCurve creditCurve = creditCurve(valuationDate, yieldCurveInputs, yieldCurve, creditCurveInputs, recoveryRate);
 
     NodalCurve bumpedYieldCurve = yieldCurve;
     NodalCurve bumpedCreditCurve = creditCurve.shiftedBy((x, y) -> y + ONE_BPS);
@@ -452,16 +519,18 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveInputs);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = yieldCurve(valuationDate, yieldCurveInputs);
+    NodalCurve creditCurve = creditCurve(valuationDate, yieldCurveInputs, yieldCurve, creditCurveInputs, recoveryRate);
+
+    CurrencyAmount basePrice = presentValue(
+        product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
 
     int points = creditCurveInputs.getNumberOfPoints();
     DoubleArray paramSens = DoubleArray.of(points, i -> {
       NodalCurve bumpedYieldCurve = yieldCurve;
-      NodalCurve bumpedCreditCurve = ISDANodalCurve.of(
-          valuationDate, creditCurveInputs.bucketedShiftParRatesinBps(i, ONE_BPS), yieldCurve, recoveryRate);
-      CurrencyAmount basePrice = presentValue(
-          product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+      IsdaCreditCurveInputs bumpedCreditCurveInputs = creditCurveInputs.bucketedShiftParRatesinBps(i, ONE_BPS);
+      NodalCurve bumpedCreditCurve = creditCurve(
+          valuationDate, yieldCurveInputs, yieldCurve, bumpedCreditCurveInputs, recoveryRate);
       CurrencyAmount bumpedPrice = presentValue(
           product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
       CurrencyAmount sensitivity = bumpedPrice.minus(basePrice);
@@ -490,17 +559,18 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveInputs);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = yieldCurve(valuationDate, yieldCurveInputs);
+    NodalCurve creditCurve = creditCurve(valuationDate, yieldCurveInputs, yieldCurve, creditCurveInputs, recoveryRate);
+
+    CurrencyAmount basePrice = presentValue(
+        product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
 
     int points = creditCurveInputs.getNumberOfPoints();
+    DoubleArray yValues = creditCurve.getYValues();
     DoubleArray paramSens = DoubleArray.of(points, i -> {
-      DoubleArray shiftVector = creditCurve.getYValues();
-      shiftVector = shiftVector.with(i, shiftVector.get(i) + ONE_BPS);
+      DoubleArray shiftVector = yValues.with(i, yValues.get(i) + ONE_BPS);
       NodalCurve bumpedYieldCurve = yieldCurve;
       NodalCurve bumpedCreditCurve = ISDANodalCurve.of(creditCurveInputs, creditCurve.getXValues(), shiftVector);
-      CurrencyAmount basePrice = presentValue(
-          product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
       CurrencyAmount bumpedPrice = presentValue(
           product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
       CurrencyAmount sensitivity = bumpedPrice.minus(basePrice);
@@ -510,6 +580,30 @@ public class IsdaCdsPricer {
         CurveCurrencyParameterSensitivity.of(creditCurveInputs.getCurveMetaData(), product.getCurrency(), paramSens));
   }
 
+  //-------------------------------------------------------------------------
+  // obtains the calibrated yield curve, from the cache if available
+  private NodalCurve yieldCurve(LocalDate valuationDate, IsdaYieldCurveInputs yieldCurveInputs) {
+    if (curveCache != null) {
+      return curveCache.yieldCurve(valuationDate, yieldCurveInputs);
+    }
+    return ISDANodalCurve.of(valuationDate, yieldCurveInputs);
+  }
+
+  // obtains the calibrated credit curve, from the cache if available
+  // the yield curve must have been calibrated from the yield curve inputs
+  private NodalCurve creditCurve(
+      LocalDate valuationDate,
+      IsdaYieldCurveInputs yieldCurveInputs,
+      NodalCurve yieldCurve,
+      IsdaCreditCurveInputs creditCurveInputs,
+      double recoveryRate) {
+
+    if (curveCache != null) {
+      return curveCache.creditCurve(valuationDate, yieldCurveInputs, creditCurveInputs, recoveryRate);
+    }
+    return ISDANodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the scalar PV change to a 1 basis point shift in recovery rate.
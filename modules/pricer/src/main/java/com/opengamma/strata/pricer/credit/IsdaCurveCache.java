@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.curve.IsdaCreditCurveInputs;
+import com.opengamma.strata.market.curve.IsdaYieldCurveInputs;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer.ISDANodalCurve;
+
+/**
+ * A cache of calibrated ISDA yield and credit curves.
+ * <p>
+ * The ISDA pricer calibrates the yield and credit curves from their par rate inputs on every call.
+ * When many trades share the same curves, such as trades on the same reference entity,
+ * the same calibration is repeated many times. This cache allows the calibrated curves to be reused.
+ * <p>
+ * Yield curves are keyed by the valuation date and the yield curve inputs.
+ * Credit curves are keyed by the valuation date, the yield curve inputs, the credit curve inputs
+ * and the recovery rate. The inputs are immutable with value-based equality, thus curves calibrated
+ * from bumped inputs, as used by the par rate sensitivities, are cached in the same way.
+ * <p>
+ * The cache has a maximum size, with the least recently used entries evicted first.
+ * <p>
+ * This class is mutable and thread-safe.
+ */
+public final class IsdaCurveCache {
+
+  /**
+   * The calibrated curves.
+   */
+  private final Cache<CurveKey, NodalCurve> cache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the specified maximum number of curves.
+   *
+   * @param maximumSize  the maximum number of calibrated curves to hold
+   * @return the cache
+   */
+  public static IsdaCurveCache of(int maximumSize) {
+    ArgChecker.notNegativeOrZero(maximumSize, "maximumSize");
+    return new IsdaCurveCache(maximumSize);
+  }
+
+  // restricted constructor
+  private IsdaCurveCache(int maximumSize) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the calibrated yield curve, calibrating it if it is not in the cache.
+   *
+   * @param valuationDate  the valuation date, which the curve is calibrated on
+   * @param yieldCurveInputs  the par rate curve points of the ISDA discount curve
+   * @return the calibrated yield curve
+   */
+  public NodalCurve yieldCurve(LocalDate valuationDate, IsdaYieldCurveInputs yieldCurveInputs) {
+    CurveKey key = new CurveKey(valuationDate, yieldCurveInputs, null, 0d);
+    NodalCurve cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    // two threads may calibrate the same curve concurrently, which is harmless as calibration has no side effects
+    NodalCurve calibrated = ISDANodalCurve.of(valuationDate, yieldCurveInputs);
+    cache.put(key, calibrated);
+    return calibrated;
+  }
+
+  /**
+   * Gets the calibrated credit curve, calibrating it if it is not in the cache.
+   * <p>
+   * The yield curve that the credit curve is calibrated against is obtained from the cache.
+   *
+   * @param valuationDate  the valuation date, which the curve is calibrated on
+   * @param yieldCurveInputs  the par rate curve points of the ISDA discount curve
+   * @param creditCurveInputs  the par spread rate curve points of the ISDA spread curve
+   * @param recoveryRate  the recovery rate associated with underlying issue or index
+   * @return the calibrated credit curve
+   */
+  public NodalCurve creditCurve(
+      LocalDate valuationDate,
+      IsdaYieldCurveInputs yieldCurveInputs,
+      IsdaCreditCurveInputs creditCurveInputs,
+      double recoveryRate) {
+
+    ArgChecker.notNull(creditCurveInputs, "creditCurveInputs");
+    CurveKey key = new CurveKey(valuationDate, yieldCurveInputs, creditCurveInputs, recoveryRate);
+    NodalCurve cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    NodalCurve yieldCurve = yieldCurve(valuationDate, yieldCurveInputs);
+    NodalCurve calibrated = ISDANodalCurve.of(valuationDate, creditCurveInputs, yieldCurve, recoveryRate);
+    cache.put(key, calibrated);
+    return calibrated;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of calibrated curves in the cache.
+   *
+   * @return the number of entries
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Gets the number of times a calibrated curve was found in the cache.
+   *
+   * @return the number of cache hits
+   */
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  /**
+   * Gets the number of times a curve had to be calibrated.
+   *
+   * @return the number of cache misses
+   */
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  /**
+   * Discards all the calibrated curves in the cache.
+   * <p>
+   * The statistics are not reset.
+   */
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    CacheStats stats = cache.stats();
+    return "IsdaCurveCache[size=" + cache.size() + ", hitCount=" + stats.hitCount() +
+        ", missCount=" + stats.missCount() + ", hitRate=" + stats.hitRate() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The key of a calibrated curve.
+   * <p>
+   * The credit curve inputs are null for a yield curve.
+   */
+  private static final class CurveKey {
+    private final LocalDate valuationDate;
+    private final IsdaYieldCurveInputs yieldCurveInputs;
+    private final IsdaCreditCurveInputs creditCurveInputs;
+    private final double recoveryRate;
+    private final int hashCode;
+
+    private CurveKey(
+        LocalDate valuationDate,
+        IsdaYieldCurveInputs yieldCurveInputs,
+        IsdaCreditCurveInputs creditCurveInputs,
+        double recoveryRate) {
+
+      this.valuationDate = ArgChecker.notNull(valuationDate, "valuationDate");
+      this.yieldCurveInputs = ArgChecker.notNull(yieldCurveInputs, "yieldCurveInputs");
+      this.creditCurveInputs = creditCurveInputs;
+      this.recoveryRate = recoveryRate;
+      // the inputs contain arrays, thus the hash code is computed once
+      this.hashCode = Objects.hash(valuationDate, yieldCurveInputs, creditCurveInputs, recoveryRate);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof CurveKey) {
+        CurveKey other = (CurveKey) obj;
+        return hashCode == other.hashCode &&
+            valuationDate.equals(other.valuationDate) &&
+            Double.doubleToLongBits(recoveryRate) == Double.doubleToLongBits(other.recoveryRate) &&
+            yieldCurveInputs.equals(other.yieldCurveInputs) &&
+            Objects.equals(creditCurveInputs, other.creditCurveInputs);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
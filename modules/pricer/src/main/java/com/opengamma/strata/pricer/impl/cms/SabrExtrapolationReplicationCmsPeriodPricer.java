@@ -9,6 +9,7 @@ import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.OptionalDouble;
 import java.util.function.Function;
+import java.util.stream.DoubleStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +23,8 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.market.sensitivity.SwaptionSabrSensitivity;
 import com.opengamma.strata.math.impl.MathException;
+import com.opengamma.strata.math.impl.integration.GaussLegendreWeightAndAbscissaFunction;
+import com.opengamma.strata.math.impl.integration.GaussianQuadratureData;
 import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
 import com.opengamma.strata.pricer.cms.SabrExtrapolationReplicationCmsLegPricer;
 import com.opengamma.strata.pricer.impl.option.SabrExtrapolationRightFunction;
@@ -45,7 +48,11 @@ import com.opengamma.strata.product.swap.SwapLegType;
  *  The extrapolation is done on call prices above a certain strike. See {@link SabrExtrapolationRightFunction} for
  *  more details on the extrapolation method.
  *  <p>
- *  The replication requires numerical integration. This is completed by {@link RungeKuttaIntegrator1D}.
+ *  The replication requires numerical integration. By default, this is completed by {@link RungeKuttaIntegrator1D}.
+ *  Alternatively, the pricer can be created with a fixed number of Gauss-Legendre nodes using
+ *  {@link #ofQuadrature(DiscountingSwapProductPricer, double, double, int)}. The nodes are computed once
+ *  when the pricer is created and the integrand is only evaluated at the nodes, thus the SABR price and its
+ *  derivatives are computed once per node and shared between the integrals needed by each method.
  *  <p>
  *  The consistency between {@code RatesProvider} and {@code SabrParametersSwaptionVolatilities} is not checked in this 
  *  class, but validated only once in {@link SabrExtrapolationReplicationCmsLegPricer}.
@@ -83,6 +90,10 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
   private static final int MAX_COUNT = 10;
   /** Shift from zero bound for floor. To avoid numerical instability of the SABR function around 0. Shift by 0.01 bps. */
   private static final double ZERO_SHIFT =  1.0E-6;
+  /**
+   * The maximum power used in the change of variable of the integral beyond the upper bound.
+   */
+  private static final double MAX_TAIL_POWER = 4d;
 
   /**
    * Pricer for the underlying swap. 
@@ -100,6 +111,12 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
    * This must be greater than 0 in order to ensure that the call price converges to 0 for infinite strike.
    */
   private final double mu;
+  /**
+   * The Gauss-Legendre nodes and weights on [-1, 1] used for each integration panel.
+   * <p>
+   * This is null if the adaptive Runge-Kutta integration is used.
+   */
+  private final GaussianQuadratureData quadrature;
 
   //-------------------------------------------------------------------------
   /**
@@ -115,7 +132,7 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
       double cutOffStrike,
       double mu) {
 
-    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu);
+    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu, null);
   }
 
   /**
@@ -129,14 +146,43 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
     return of(DiscountingSwapProductPricer.DEFAULT, cutOffStrike, mu);
   }
 
+  /**
+   * Obtains the pricer using fixed-node Gauss-Legendre quadrature for the replication.
+   * <p>
+   * The replication range is split into panels at the strike, the forward and the cut-off strike,
+   * with the specified number of nodes in each panel. The range beyond the upper bound used by the
+   * adaptive integration is mapped to a finite panel by a change of variable adapted to the tail thickness.
+   * <p>
+   * The number of nodes controls the accuracy, a larger number giving a more accurate result at a higher cost.
+   * The cost of each method is proportional to the number of nodes and independent of the period details.
+   * 
+   * @param swapPricer  the pricer for underlying swap
+   * @param cutOffStrike  the cut-off strike value
+   * @param mu  the tail thickness
+   * @param nodeCount  the number of quadrature nodes in each panel, at least 2
+   * @return the pricer
+   */
+  public static SabrExtrapolationReplicationCmsPeriodPricer ofQuadrature(
+      DiscountingSwapProductPricer swapPricer,
+      double cutOffStrike,
+      double mu,
+      int nodeCount) {
+
+    ArgChecker.isTrue(nodeCount >= 2, "Number of quadrature nodes must be at least 2, but was {}", nodeCount);
+    GaussianQuadratureData quadrature = new GaussLegendreWeightAndAbscissaFunction().generate(nodeCount);
+    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu, quadrature);
+  }
+
   private SabrExtrapolationReplicationCmsPeriodPricer(
       DiscountingSwapProductPricer swapPricer,
       double cutOffStrike,
-      double mu) {
+      double mu,
+      GaussianQuadratureData quadrature) {
 
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.cutOffStrike = cutOffStrike;
     this.mu = ArgChecker.notNegativeOrZero(mu, "mu");
+    this.quadrature = quadrature;
   }
 
   //-------------------------------------------------------------------------
@@ -197,19 +243,24 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
         cmsPeriod, swap, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, cutOffStrike, eta);
     double factor = dfPayment / intProv.h(forward) * intProv.g(forward);
     double strikePart = factor * intProv.k(strikeCpn) * intProv.bs(strikeCpn);
-    double absoluteTolerance = 1d / (factor * Math.abs(cmsPeriod.getNotional()) * cmsPeriod.getYearFraction());
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(absoluteTolerance, REL_TOL, NUM_ITER);
     double integralPart = 0d;
     Function<Double, Double> integrant = intProv.integrant();
-    try {
-      if (intProv.getPutCall().isCall()) {
-        integralPart = dfPayment *
-            integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-      } else {
-        integralPart = - dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+    if (quadrature != null) {
+      integralPart = dfPayment *
+          replicationGrid(intProv, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor).integrate(integrant);
+    } else {
+      double absoluteTolerance = 1d / (factor * Math.abs(cmsPeriod.getNotional()) * cmsPeriod.getYearFraction());
+      RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(absoluteTolerance, REL_TOL, NUM_ITER);
+      try {
+        if (intProv.getPutCall().isCall()) {
+          integralPart = dfPayment *
+              integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+        } else {
+          integralPart = - dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+        }
+      } catch (Exception e) {
+        throw new MathException(e);
       }
-    } catch (Exception e) {
-      throw new MathException(e);
     }
     double priceCMS = (strikePart + integralPart);
     if(cmsPeriod.getCmsPeriodType().equals(CmsPeriodType.COUPON)) {
@@ -277,27 +328,40 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
     CmsDeltaIntegrantProvider intProv = new CmsDeltaIntegrantProvider(
         cmsPeriod, swap, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, cutOffStrike, eta);
     double factor = dfPayment / intProv.h(forward) * intProv.g(forward);
-    double absoluteTolerance = 1d / (factor * Math.abs(cmsPeriod.getNotional()) * cmsPeriod.getYearFraction());
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(absoluteTolerance, REL_TOL, NUM_ITER);
     double[] bs = intProv.bsbsp(strikeCpn);
     double[] n = intProv.getNnp();
     double strikePartPrice = intProv.k(strikeCpn) * n[0] * bs[0];
     double integralPartPrice = 0d;
     double integralPart = 0d;
-    Function<Double, Double> integrant = intProv.integrant();
-    Function<Double, Double> integrantDelta = intProv.integrantDelta();
-    try {
-      if (intProv.getPutCall().isCall()) {
-        integralPartPrice =
-            integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-        integralPart = dfPayment *
-            integrateCall(integrator, integrantDelta, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-      } else {
-        integralPartPrice = - integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
-        integralPart = - dfPayment * integrator.integrate(integrantDelta, -shift, strikeCpn);
+    if (quadrature != null) {
+      // the price and its derivative are computed once per node and used in both integrals
+      ReplicationGrid grid = replicationGrid(intProv, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+      for (int i = 0; i < grid.nodes.length; i++) {
+        double x = grid.nodes[i];
+        double kFactor = intProv.kFactor(x);
+        double[] bsNode = intProv.bsbsp(x);
+        integralPartPrice += grid.weights[i] * intProv.getFactor() * kFactor * bsNode[0];
+        integralPart += grid.weights[i] * kFactor * (n[1] * bsNode[0] + n[0] * bsNode[1]);
+      }
+      integralPart *= dfPayment;
+    } else {
+      double absoluteTolerance = 1d / (factor * Math.abs(cmsPeriod.getNotional()) * cmsPeriod.getYearFraction());
+      RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(absoluteTolerance, REL_TOL, NUM_ITER);
+      Function<Double, Double> integrant = intProv.integrant();
+      Function<Double, Double> integrantDelta = intProv.integrantDelta();
+      try {
+        if (intProv.getPutCall().isCall()) {
+          integralPartPrice =
+              integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+          integralPart = dfPayment *
+              integrateCall(integrator, integrantDelta, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+        } else {
+          integralPartPrice = - integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+          integralPart = - dfPayment * integrator.integrate(integrantDelta, -shift, strikeCpn);
+        }
+      } catch (Exception e) {
+        throw new MathException(e);
       }
-    } catch (Exception e) {
-      throw new MathException(e);
     }
     double deltaPD = strikePartPrice + integralPartPrice;
     if (cmsPeriod.getCmsPeriodType().equals(CmsPeriodType.COUPON)) {
@@ -360,9 +424,30 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
     double[] strikePartPrice = intProv.getSabrExtrapolation()
         .priceAdjointSabr(Math.max(0d, strikeCpn + shift), intProv.getPutCall()) // handle tiny but negative number
         .getDerivatives().multipliedBy(factor2).toArray();
+    double[] totalSensi = new double[4];
+    if (quadrature != null) {
+      // the price derivatives to the four parameters are computed once per node
+      double[] integralPart = new double[4];
+      ReplicationGrid grid = replicationGrid(intProv, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+      for (int i = 0; i < grid.nodes.length; i++) {
+        double x = grid.nodes[i];
+        double weightedKFactor = grid.weights[i] * intProv.getFactor() * intProv.kFactor(x);
+        double xShifted = Math.max(x + shift, 0d); // handle tiny but negative number
+        DoubleArray priceDerivativeSabr =
+            intProv.getSabrExtrapolation().priceAdjointSabr(xShifted, intProv.getPutCall()).getDerivatives();
+        for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+          integralPart[loopparameter] += weightedKFactor * priceDerivativeSabr.get(loopparameter);
+        }
+      }
+      for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+        totalSensi[loopparameter] = (strikePartPrice[loopparameter] + dfPayment * integralPart[loopparameter]) *
+            cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
+      }
+      return SwaptionSabrSensitivity.of(cmsPeriod.getIndex().getTemplate().getConvention(),
+          expiryDate, tenor, ccy, totalSensi[0], totalSensi[1], totalSensi[2], totalSensi[3]);
+    }
     double absoluteTolerance = 1d / (factor * Math.abs(cmsPeriod.getNotional()) * cmsPeriod.getYearFraction());
     RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(absoluteTolerance, REL_TOL_VEGA, NUM_ITER);
-    double[] totalSensi = new double[4];
     for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
       double integralPart = 0d;
       Function<Double, Double> integrant = intProv.integrantVega(loopparameter);
@@ -438,18 +523,21 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
     CmsIntegrantProvider intProv = new CmsIntegrantProvider(
         cmsPeriod, swap, swaptionVolatilities, forward, strike, expiryTime, tenor, cutOffStrike, eta);
     double factor = dfPayment * intProv.g(forward) / intProv.h(forward);
-    double absoluteTolerance = 1.0E-9;
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(absoluteTolerance, REL_TOL_STRIKE, NUM_ITER);
     double[] kpkpp = intProv.kpkpp(strike);
-    double firstPart;
+    double firstPart = -kpkpp[0] * intProv.bs(strike);
     double thirdPart;
     Function<Double, Double> integrant = intProv.integrantDualDelta();
-    if (intProv.getPutCall().isCall()) {
-      firstPart = -kpkpp[0] * intProv.bs(strike);
-      thirdPart = integrateCall(integrator, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
+    if (quadrature != null) {
+      ReplicationGrid grid = replicationGrid(intProv, swaptionVolatilities, forward, strike, expiryTime, tenor);
+      thirdPart = grid.integrate(integrant);
     } else {
-      firstPart = - kpkpp[0] * intProv.bs(strike);
-      thirdPart = - integrator.integrate(integrant, -shift + ZERO_SHIFT, strike);
+      double absoluteTolerance = 1.0E-9;
+      RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(absoluteTolerance, REL_TOL_STRIKE, NUM_ITER);
+      if (intProv.getPutCall().isCall()) {
+        thirdPart = integrateCall(integrator, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
+      } else {
+        thirdPart = - integrator.integrate(integrant, -shift + ZERO_SHIFT, strike);
+      }
     }
     double secondPart =
         intProv.k(strike) * intProv.getSabrExtrapolation().priceDerivativeStrike(strike + shift, intProv.getPutCall());
@@ -466,12 +554,7 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
       double tenor) {
 
     double res;
-    double vol = swaptionVolatilities.volatility(expiryTime, tenor, forward, forward);
-    double upper = 
-        Math.min(
-            Math.max(forward * Math.exp(6d * vol * Math.sqrt(expiryTime)),
-        Math.max(cutOffStrike, 2.0d * strike)),// To ensure that the integral covers a good part of the smile
-        1.00); // To ensure that we don't miss the meaningful part
+    double upper = callUpperBound(swaptionVolatilities, forward, strike, expiryTime, tenor);
     res = integrator.integrate(integrant, strike, upper);
     double reminder = integrant.apply(upper) * upper;
     double error = reminder / res;
@@ -490,6 +573,95 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
     return res;
   }
 
+  // the initial upper bound of the integration for a call
+  private double callUpperBound(
+      SabrSwaptionVolatilities swaptionVolatilities,
+      double forward,
+      double strike,
+      double expiryTime,
+      double tenor) {
+
+    double vol = swaptionVolatilities.volatility(expiryTime, tenor, forward, forward);
+    return Math.min(
+        Math.max(forward * Math.exp(6d * vol * Math.sqrt(expiryTime)),
+            Math.max(cutOffStrike, 2.0d * strike)), // To ensure that the integral covers a good part of the smile
+        1.00); // To ensure that we don't miss the meaningful part
+  }
+
+  // the quadrature nodes and weights covering the replication range
+  // for a call, the range is from the strike to infinity, the part beyond the upper bound being mapped
+  // to a finite panel by the change of variable x = upper * u^(-p), for which the integrand, decaying
+  // like x^(-mu), behaves like u near u = 0 when p = 2 / (mu - 1)
+  // for a put, the range is from the lowest rate to the strike, and the weights are negated
+  private ReplicationGrid replicationGrid(
+      CmsIntegrantProvider intProv,
+      SabrSwaptionVolatilities swaptionVolatilities,
+      double forward,
+      double strike,
+      double expiryTime,
+      double tenor) {
+
+    double[] abscissas = quadrature.getAbscissas();
+    double[] weights = quadrature.getWeights();
+    int nodeCount = abscissas.length;
+    boolean isCall = intProv.getPutCall().isCall();
+    double lower = isCall ? strike : -intProv.getShift() + ZERO_SHIFT;
+    double upper = isCall ?
+        Math.max(callUpperBound(swaptionVolatilities, forward, strike, expiryTime, tenor), strike) :
+        strike;
+    double[] bounds = DoubleStream.of(lower, forward, cutOffStrike, upper)
+        .filter(bound -> bound >= lower && bound <= upper)
+        .sorted()
+        .distinct()
+        .toArray();
+    int panelCount = Math.max(bounds.length - 1, 0) + (isCall ? 1 : 0);
+    double[] nodes = new double[panelCount * nodeCount];
+    double[] nodeWeights = new double[panelCount * nodeCount];
+    int index = 0;
+    for (int loopPanel = 0; loopPanel < bounds.length - 1; loopPanel++) {
+      double halfWidth = 0.5d * (bounds[loopPanel + 1] - bounds[loopPanel]);
+      double middle = 0.5d * (bounds[loopPanel + 1] + bounds[loopPanel]);
+      for (int i = 0; i < nodeCount; i++) {
+        nodes[index] = middle + halfWidth * abscissas[i];
+        nodeWeights[index] = (isCall ? 1d : -1d) * halfWidth * weights[i];
+        index++;
+      }
+    }
+    if (isCall) {
+      double power = Math.min(Math.max(2d / (mu - 1d), 1d), MAX_TAIL_POWER);
+      for (int i = 0; i < nodeCount; i++) {
+        double u = 0.5d * (1d + abscissas[i]);
+        nodes[index] = upper * Math.pow(u, -power);
+        nodeWeights[index] = 0.5d * weights[i] * power * nodes[index] / u;
+        index++;
+      }
+    }
+    return new ReplicationGrid(nodes, nodeWeights);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The nodes and weights used to integrate over the replication range with fixed-node quadrature.
+   */
+  private static final class ReplicationGrid {
+    private final double[] nodes;
+    private final double[] weights;
+
+    private ReplicationGrid(double[] nodes, double[] weights) {
+      this.nodes = nodes;
+      this.weights = weights;
+    }
+
+    // integrates the function
+    private double integrate(Function<Double, Double> integrant) {
+      double result = 0d;
+      for (int i = 0; i < nodes.length; i++) {
+        result += weights[i] * integrant.apply(nodes[i]);
+      }
+      return result;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Inner class to implement the integration used in price replication.
@@ -553,6 +725,15 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
       return shift;
     }
 
+    /**
+     * Gets the factor field.
+     * 
+     * @return the factor
+     */
+    protected double getFactor() {
+      return factor;
+    }
+
     /**
      * Gets the sabrExtrapolation field.
      * 
@@ -611,6 +792,18 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
       };
     }
 
+    /**
+     * The factor of the price in the integrant, depending on the derivatives of k.
+     * 
+     * @param x  the swap rate
+     * @return the factor
+     */
+    double kFactor(double x) {
+      double[] kD = kpkpp(x);
+      // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+      return kD[1] * (x - strike) + 2d * kD[0];
+    }
+
     /**
      * Obtains the integrant sensitivity to the i-th SABR parameter.
      * 
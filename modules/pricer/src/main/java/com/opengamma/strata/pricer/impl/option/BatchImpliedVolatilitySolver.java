@@ -0,0 +1,347 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.basics.PutCall;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+
+/**
+ * Computes implied volatilities for arrays of options in the Black, shifted Black and normal models.
+ * <p>
+ * This is intended for large sets of quotes, such as a full swaption cube or a cap strip.
+ * The options are defined by arrays of forward prices, forwards, strikes and times to expiry.
+ * Each implied volatility is solved using primitive arithmetic only, without boxing or creating functions.
+ * The options can optionally be solved in parallel.
+ * <p>
+ * The solver works on the total standard deviation, the volatility multiplied by the square root
+ * of the time to expiry. The initial guess is a closed-form approximation, the Corrado-Miller formula
+ * for the Black model and the at-the-money formula for the normal model. The guess is then refined
+ * using the third order Householder method, bracketed to ensure convergence.
+ * In the rare case that the iteration does not converge, the solver falls back to
+ * {@link BlackFormulaRepository} or {@link NormalFormulaRepository}.
+ * <p>
+ * As in the other formula repositories, all prices are <b>forward</b> prices, i.e. (spot price)/numeraire.
+ */
+public final class BatchImpliedVolatilitySolver {
+
+  /**
+   * The maximum number of iterations.
+   */
+  private static final int MAX_ITERATIONS = 64;
+  /**
+   * The relative tolerance on the total standard deviation.
+   */
+  private static final double REL_TOL = 1e-13;
+  /**
+   * The maximum growth factor of the standard deviation in one iteration.
+   */
+  private static final double MAX_GROWTH = 4d;
+  /**
+   * The tolerance below which the time value of an option is treated as zero.
+   */
+  private static final double PRICE_TOL = 1e-15;
+  /**
+   * The square root of two pi.
+   */
+  private static final double ROOT_2PI = Math.sqrt(2 * Math.PI);
+
+  // restricted constructor
+  private BatchImpliedVolatilitySolver() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the log-normal (Black) implied volatilities.
+   * <p>
+   * The arrays must all have the same size, with one element for each option.
+   * The forwards and strikes must be positive.
+   *
+   * @param prices  the forward prices of the options
+   * @param forwards  the forwards of the underlying
+   * @param strikes  the strikes of the options
+   * @param timesToExpiry  the times to expiry of the options
+   * @param putCall  whether the options are puts or calls
+   * @param parallel  true to solve the options in parallel
+   * @return the implied volatilities, one for each option
+   * @throws IllegalArgumentException if the price of an option is outside the bounds of the model
+   */
+  public static DoubleArray blackImpliedVolatilities(
+      DoubleArray prices,
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      PutCall putCall,
+      boolean parallel) {
+
+    return shiftedBlackImpliedVolatilities(prices, forwards, strikes, timesToExpiry, 0d, putCall, parallel);
+  }
+
+  /**
+   * Computes the shifted log-normal (Black) implied volatilities.
+   * <p>
+   * The shift is added to both the forward and the strike before applying the Black model.
+   * The arrays must all have the same size, with one element for each option.
+   * The shifted forwards and shifted strikes must be positive.
+   *
+   * @param prices  the forward prices of the options
+   * @param forwards  the forwards of the underlying
+   * @param strikes  the strikes of the options
+   * @param timesToExpiry  the times to expiry of the options
+   * @param shift  the shift applied to the forwards and strikes
+   * @param putCall  whether the options are puts or calls
+   * @param parallel  true to solve the options in parallel
+   * @return the implied volatilities, one for each option
+   * @throws IllegalArgumentException if the price of an option is outside the bounds of the model
+   */
+  public static DoubleArray shiftedBlackImpliedVolatilities(
+      DoubleArray prices,
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      double shift,
+      PutCall putCall,
+      boolean parallel) {
+
+    int size = validate(prices, forwards, strikes, timesToExpiry, putCall);
+    double[] priceArray = prices.toArrayUnsafe();
+    double[] forwardArray = forwards.toArrayUnsafe();
+    double[] strikeArray = strikes.toArrayUnsafe();
+    double[] timeArray = timesToExpiry.toArrayUnsafe();
+    boolean isCall = putCall.isCall();
+    double[] result = new double[size];
+    if (parallel) {
+      IntStream.range(0, size).parallel().forEach(i -> result[i] = blackImpliedVolatility(
+          priceArray[i], forwardArray[i] + shift, strikeArray[i] + shift, timeArray[i], isCall));
+    } else {
+      for (int i = 0; i < size; i++) {
+        result[i] = blackImpliedVolatility(
+            priceArray[i], forwardArray[i] + shift, strikeArray[i] + shift, timeArray[i], isCall);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the normal (Bachelier) implied volatilities.
+   * <p>
+   * The arrays must all have the same size, with one element for each option.
+   *
+   * @param prices  the forward prices of the options
+   * @param forwards  the forwards of the underlying
+   * @param strikes  the strikes of the options
+   * @param timesToExpiry  the times to expiry of the options
+   * @param putCall  whether the options are puts or calls
+   * @param parallel  true to solve the options in parallel
+   * @return the implied volatilities, one for each option
+   * @throws IllegalArgumentException if the price of an option is outside the bounds of the model
+   */
+  public static DoubleArray normalImpliedVolatilities(
+      DoubleArray prices,
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      PutCall putCall,
+      boolean parallel) {
+
+    int size = validate(prices, forwards, strikes, timesToExpiry, putCall);
+    double[] priceArray = prices.toArrayUnsafe();
+    double[] forwardArray = forwards.toArrayUnsafe();
+    double[] strikeArray = strikes.toArrayUnsafe();
+    double[] timeArray = timesToExpiry.toArrayUnsafe();
+    boolean isCall = putCall.isCall();
+    double[] result = new double[size];
+    if (parallel) {
+      IntStream.range(0, size).parallel().forEach(i -> result[i] = normalImpliedVolatility(
+          priceArray[i], forwardArray[i], strikeArray[i], timeArray[i], isCall));
+    } else {
+      for (int i = 0; i < size; i++) {
+        result[i] = normalImpliedVolatility(priceArray[i], forwardArray[i], strikeArray[i], timeArray[i], isCall);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  // checks the arrays have the same size
+  private static int validate(
+      DoubleArray prices,
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      PutCall putCall) {
+
+    ArgChecker.notNull(prices, "prices");
+    ArgChecker.notNull(forwards, "forwards");
+    ArgChecker.notNull(strikes, "strikes");
+    ArgChecker.notNull(timesToExpiry, "timesToExpiry");
+    ArgChecker.notNull(putCall, "putCall");
+    int size = prices.size();
+    ArgChecker.isTrue(forwards.size() == size, "forwards must have the same size as prices");
+    ArgChecker.isTrue(strikes.size() == size, "strikes must have the same size as prices");
+    ArgChecker.isTrue(timesToExpiry.size() == size, "timesToExpiry must have the same size as prices");
+    return size;
+  }
+
+  //-------------------------------------------------------------------------
+  // solves the Black implied volatility of a single option
+  private static double blackImpliedVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      boolean isCall) {
+
+    if (!(forward > 0d && strike > 0d && timeToExpiry >= 0d)) {
+      throw new IllegalArgumentException(Messages.format(
+          "Forward and strike must be positive and time to expiry non-negative; have {}, {} and {}",
+          forward, strike, timeToExpiry));
+    }
+    // the time value is the price of the out-of-the-money option
+    double timeValue = timeValue(price, forward, strike, isCall);
+    if (timeValue == 0d) {
+      return 0d;
+    }
+    if (!(timeValue < Math.min(forward, strike) && timeToExpiry > 0d)) {
+      throw new IllegalArgumentException(Messages.format(
+          "Price {} exceeds the upper bound of the Black model for forward {} and strike {}",
+          price, forward, strike));
+    }
+    double logMoneyness = Math.log(forward / strike);
+    boolean otmCall = strike >= forward;
+    double lower = 0d;
+    double upper = Double.POSITIVE_INFINITY;
+    double stdDev = blackInitialGuess(timeValue, forward, strike, logMoneyness);
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      double d1 = logMoneyness / stdDev + 0.5 * stdDev;
+      double d2 = d1 - stdDev;
+      double modelValue = otmCall ?
+          forward * NormalDistribution.standardCdf(d1) - strike * NormalDistribution.standardCdf(d2) :
+          strike * NormalDistribution.standardCdf(-d2) - forward * NormalDistribution.standardCdf(-d1);
+      if (modelValue > timeValue) {
+        upper = stdDev;
+      } else {
+        lower = stdDev;
+      }
+      // the derivatives with respect to the standard deviation, relative to the first derivative
+      double vega = forward * NormalDistribution.standardPdf(d1);
+      double h2 = d1 * d2 / stdDev;
+      double h3 = h2 * h2 - 3d * logMoneyness * logMoneyness / (stdDev * stdDev * stdDev * stdDev) - 0.25;
+      double next = householderStep(stdDev, timeValue - modelValue, vega, h2, h3, lower, upper);
+      if (Math.abs(next - stdDev) <= REL_TOL * next) {
+        return next / Math.sqrt(timeToExpiry);
+      }
+      stdDev = next;
+    }
+    return BlackFormulaRepository.impliedVolatility(price, forward, strike, timeToExpiry, isCall);
+  }
+
+  // the initial guess of Corrado and Miller for the Black standard deviation
+  private static double blackInitialGuess(double timeValue, double forward, double strike, double logMoneyness) {
+    double halfCallIntrinsic = 0.5 * (forward - strike);
+    double callPrice = timeValue + Math.max(forward - strike, 0d);
+    double adjusted = callPrice - halfCallIntrinsic;
+    double discriminant = adjusted * adjusted - 4d * halfCallIntrinsic * halfCallIntrinsic / Math.PI;
+    double guess = ROOT_2PI / (forward + strike) * (adjusted + Math.sqrt(Math.max(discriminant, 0d)));
+    // the inflection point of the price is a safe starting point if the approximation fails
+    return guess > 0d && Double.isFinite(guess) ? guess : Math.max(Math.sqrt(2d * Math.abs(logMoneyness)), 0.1);
+  }
+
+  //-------------------------------------------------------------------------
+  // solves the normal implied volatility of a single option
+  private static double normalImpliedVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      boolean isCall) {
+
+    if (!(timeToExpiry >= 0d)) {
+      throw new IllegalArgumentException(Messages.format(
+          "Time to expiry must be non-negative; have {}", timeToExpiry));
+    }
+    double timeValue = timeValue(price, forward, strike, isCall);
+    if (timeValue == 0d) {
+      return 0d;
+    }
+    if (!(Double.isFinite(timeValue) && timeToExpiry > 0d)) {
+      throw new IllegalArgumentException(Messages.format(
+          "Price {} is invalid for the normal model for forward {} and strike {}", price, forward, strike));
+    }
+    double moneyness = Math.abs(forward - strike);
+    double lower = 0d;
+    double upper = Double.POSITIVE_INFINITY;
+    // the at-the-money standard deviation is a lower bound of the solution
+    double stdDev = timeValue * ROOT_2PI;
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      double d = moneyness / stdDev;
+      double density = NormalDistribution.standardPdf(d);
+      double modelValue = stdDev * density - moneyness * NormalDistribution.standardCdf(-d);
+      if (modelValue > timeValue) {
+        upper = stdDev;
+      } else {
+        lower = stdDev;
+      }
+      // the derivatives with respect to the standard deviation, relative to the first derivative
+      double h2 = d * d / stdDev;
+      double h3 = (d * d * d * d - 3d * d * d) / (stdDev * stdDev);
+      double next = householderStep(stdDev, timeValue - modelValue, density, h2, h3, lower, upper);
+      if (Math.abs(next - stdDev) <= REL_TOL * next) {
+        return next / Math.sqrt(timeToExpiry);
+      }
+      stdDev = next;
+    }
+    return NormalFormulaRepository.impliedVolatility(
+        price, forward, strike, timeToExpiry, 0d, 1d, isCall ? PutCall.CALL : PutCall.PUT);
+  }
+
+  //-------------------------------------------------------------------------
+  // the price less the intrinsic value, zero if within tolerance of the intrinsic value
+  private static double timeValue(double price, double forward, double strike, boolean isCall) {
+    double intrinsic = Math.max(isCall ? forward - strike : strike - forward, 0d);
+    double timeValue = price - intrinsic;
+    if (Math.abs(timeValue) <= PRICE_TOL * Math.max(price, 1d)) {
+      return 0d;
+    }
+    if (!(timeValue > 0d)) {
+      throw new IllegalArgumentException(Messages.format(
+          "Price {} is less than the intrinsic value {}", price, intrinsic));
+    }
+    return timeValue;
+  }
+
+  // the third order Householder step, bracketed to ensure convergence
+  private static double householderStep(
+      double stdDev,
+      double residual,
+      double vega,
+      double h2,
+      double h3,
+      double lower,
+      double upper) {
+
+    double newton = residual / vega;
+    double step = newton;
+    // the higher order terms are only used close to the solution, where the expansion is valid
+    if (Math.abs(newton * h2) < 1d) {
+      double householder = newton * (1d + 0.5 * h2 * newton) / (1d + newton * (h2 + h3 * newton / 6d));
+      step = Double.isFinite(householder) ? householder : newton;
+    }
+    double next = stdDev + step;
+    if (upper == Double.POSITIVE_INFINITY) {
+      // limit the growth while the solution is not bracketed
+      next = Math.min(next, MAX_GROWTH * Math.max(stdDev, lower));
+    }
+    if (next >= lower && next <= upper) {
+      return next;
+    }
+    return upper == Double.POSITIVE_INFINITY ? MAX_GROWTH * Math.max(stdDev, lower) : 0.5 * (lower + upper);
+  }
+
+}
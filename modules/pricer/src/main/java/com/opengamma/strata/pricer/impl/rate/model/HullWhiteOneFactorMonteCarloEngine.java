@@ -0,0 +1,308 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import static com.opengamma.strata.collect.Guavate.join;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.CounterBasedNormalRandomNumberGenerator;
+
+/**
+ * Monte Carlo engine for the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The paths are simulated under the forward measure associated with a zero-coupon bond numeraire,
+ * as described in {@link HullWhiteOneFactorMonteCarloPath}. The Gaussian factor of the model has
+ * independent increments with variance given in closed form by the piecewise constant volatility,
+ * so the paths are simulated exactly at the simulation times, without discretisation error.
+ * <p>
+ * The paths are generated in blocks of primitive arrays. The blocks are simulated and evaluated concurrently
+ * using an {@link Executor}, recording the time taken by each block.
+ * The random numbers are produced by a {@link CounterBasedNormalRandomNumberGenerator}, indexed by the number
+ * of the path and the simulation time. The statistics of the blocks are combined in the order of the blocks.
+ * As such, the result only depends on the seed, the number of paths and the block size,
+ * and not on the executor or the number of threads.
+ * <p>
+ * Antithetic variates can be used, in which case each sample is the average of a path and of the path
+ * with the opposite factor. A control variate with a known expectation can also be supplied,
+ * the optimal coefficient being estimated from the simulated paths.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class HullWhiteOneFactorMonteCarloEngine {
+
+  /**
+   * The number of samples.
+   */
+  private final int sampleCount;
+  /**
+   * The number of samples in each block.
+   */
+  private final int blockSize;
+  /**
+   * Whether antithetic variates are used.
+   */
+  private final boolean antithetic;
+  /**
+   * The random number generator.
+   */
+  private final CounterBasedNormalRandomNumberGenerator generator;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * When using antithetic variates, each sample consists of two paths.
+   *
+   * @param sampleCount  the number of samples
+   * @param blockSize  the number of samples in each block
+   * @param antithetic  whether antithetic variates are used
+   * @param seed  the seed of the random number generator
+   * @return the engine
+   */
+  public static HullWhiteOneFactorMonteCarloEngine of(int sampleCount, int blockSize, boolean antithetic, long seed) {
+    return new HullWhiteOneFactorMonteCarloEngine(sampleCount, blockSize, antithetic, seed);
+  }
+
+  // restricted constructor
+  private HullWhiteOneFactorMonteCarloEngine(int sampleCount, int blockSize, boolean antithetic, long seed) {
+    ArgChecker.isTrue(sampleCount > 1, "At least two samples are required");
+    this.sampleCount = sampleCount;
+    this.blockSize = ArgChecker.notNegativeOrZero(blockSize, "blockSize");
+    this.antithetic = antithetic;
+    this.generator = CounterBasedNormalRandomNumberGenerator.of(seed);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the expected value of a payoff.
+   * <p>
+   * The value is expressed in units of the numeraire, the present value being obtained by multiplying
+   * the value by the discount factor to the numeraire time.
+   * Use {@code Runnable::run} as the executor to simulate on the calling thread.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @param times  the simulation times, in increasing order
+   * @param numeraireTime  the time to maturity of the numeraire bond, not before the last simulation time
+   * @param payoff  the payoff
+   * @param executor  the executor used to simulate the blocks
+   * @return the result of the simulation
+   */
+  public HullWhiteOneFactorMonteCarloResult simulate(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray times,
+      double numeraireTime,
+      HullWhiteOneFactorMonteCarloPayoff payoff,
+      Executor executor) {
+
+    return simulate(parameters, times, numeraireTime, payoff, null, 0d, executor);
+  }
+
+  /**
+   * Calculates the expected value of a payoff, using a control variate.
+   * <p>
+   * The control variate is a payoff whose expected value is known, for example the ratio
+   * of a zero-coupon bond to the numeraire, whose expected value is one for each {@code bondFactor}.
+   * The value is expressed in units of the numeraire, the present value being obtained by multiplying
+   * the value by the discount factor to the numeraire time.
+   * Use {@code Runnable::run} as the executor to simulate on the calling thread.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @param times  the simulation times, in increasing order
+   * @param numeraireTime  the time to maturity of the numeraire bond, not before the last simulation time
+   * @param payoff  the payoff
+   * @param control  the control variate
+   * @param controlValue  the expected value of the control variate
+   * @param executor  the executor used to simulate the blocks
+   * @return the result of the simulation
+   */
+  public HullWhiteOneFactorMonteCarloResult simulate(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray times,
+      double numeraireTime,
+      HullWhiteOneFactorMonteCarloPayoff payoff,
+      HullWhiteOneFactorMonteCarloPayoff control,
+      double controlValue,
+      Executor executor) {
+
+    ArgChecker.notNull(parameters, "parameters");
+    ArgChecker.notNull(times, "times");
+    ArgChecker.isTrue(times.size() > 0, "At least one simulation time is required");
+    ArgChecker.notNegative(times.get(0), "times");
+    for (int i = 1; i < times.size(); i++) {
+      ArgChecker.isTrue(times.get(i - 1) < times.get(i), "Simulation times must be increasing");
+    }
+    ArgChecker.isTrue(numeraireTime >= times.get(times.size() - 1),
+        "Numeraire time must not be before the last simulation time");
+    ArgChecker.notNull(payoff, "payoff");
+    ArgChecker.notNull(executor, "executor");
+    int timeCount = times.size();
+    double[] variances = new double[timeCount];
+    double[] stdDevIncrements = new double[timeCount];
+    double previousTime = 0d;
+    double previousVariance = 0d;
+    for (int i = 0; i < timeCount; i++) {
+      double increment = varianceIncrement(parameters, previousTime, times.get(i));
+      variances[i] = previousVariance + increment;
+      stdDevIncrements[i] = Math.sqrt(increment);
+      previousTime = times.get(i);
+      previousVariance = variances[i];
+    }
+    int blockCount = (sampleCount + blockSize - 1) / blockSize;
+    List<CompletableFuture<BlockStatistics>> futures = new ArrayList<>(blockCount);
+    for (int i = 0; i < blockCount; i++) {
+      int firstSample = i * blockSize;
+      int blockSamples = Math.min(blockSize, sampleCount - firstSample);
+      futures.add(CompletableFuture.supplyAsync(
+          () -> simulateBlock(
+              parameters,
+              times,
+              numeraireTime,
+              variances,
+              stdDevIncrements,
+              firstSample,
+              blockSamples,
+              payoff,
+              control),
+          executor));
+    }
+    // the statistics are combined in block order, so the result does not depend on the executor
+    double sumValue = 0d;
+    double sumControl = 0d;
+    double sumValue2 = 0d;
+    double sumControl2 = 0d;
+    double sumValueControl = 0d;
+    List<Duration> blockTimes = new ArrayList<>(blockCount);
+    for (CompletableFuture<BlockStatistics> future : futures) {
+      BlockStatistics block = join(future);
+      sumValue += block.sumValue;
+      sumControl += block.sumControl;
+      sumValue2 += block.sumValue2;
+      sumControl2 += block.sumControl2;
+      sumValueControl += block.sumValueControl;
+      blockTimes.add(block.time);
+    }
+    double meanValue = sumValue / sampleCount;
+    double varianceValue = (sumValue2 - sampleCount * meanValue * meanValue) / (sampleCount - 1);
+    if (control == null) {
+      double standardError = Math.sqrt(Math.max(varianceValue, 0d) / sampleCount);
+      return HullWhiteOneFactorMonteCarloResult.of(meanValue, standardError, sampleCount, blockTimes);
+    }
+    double meanControl = sumControl / sampleCount;
+    double varianceControl = (sumControl2 - sampleCount * meanControl * meanControl) / (sampleCount - 1);
+    double covariance = (sumValueControl - sampleCount * meanValue * meanControl) / (sampleCount - 1);
+    double coefficient = varianceControl > 0d ? covariance / varianceControl : 0d;
+    double value = meanValue - coefficient * (meanControl - controlValue);
+    double residualVariance = varianceValue - coefficient * covariance;
+    double standardError = Math.sqrt(Math.max(residualVariance, 0d) / sampleCount);
+    return HullWhiteOneFactorMonteCarloResult.of(value, standardError, sampleCount, blockTimes);
+  }
+
+  //-------------------------------------------------------------------------
+  // simulates and evaluates a block of samples
+  private BlockStatistics simulateBlock(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray times,
+      double numeraireTime,
+      double[] variances,
+      double[] stdDevIncrements,
+      int firstSample,
+      int blockSamples,
+      HullWhiteOneFactorMonteCarloPayoff payoff,
+      HullWhiteOneFactorMonteCarloPayoff control) {
+
+    long start = System.nanoTime();
+    int timeCount = times.size();
+    double[] factors = new double[blockSamples * timeCount];
+    generator.fill((long) firstSample * timeCount, factors, 0, factors.length);
+    for (int i = 0; i < blockSamples; i++) {
+      int offset = i * timeCount;
+      double factor = 0d;
+      for (int j = 0; j < timeCount; j++) {
+        factor += stdDevIncrements[j] * factors[offset + j];
+        factors[offset + j] = factor;
+      }
+    }
+    HullWhiteOneFactorMonteCarloPath path =
+        new HullWhiteOneFactorMonteCarloPath(times, variances, parameters.getMeanReversion(), numeraireTime);
+    BlockStatistics statistics = new BlockStatistics();
+    for (int i = 0; i < blockSamples; i++) {
+      int offset = i * timeCount;
+      double value = evaluate(path, factors, offset, payoff);
+      double controlValue = control != null ? evaluate(path, factors, offset, control) : 0d;
+      statistics.add(value, controlValue);
+    }
+    statistics.time = Duration.ofNanos(System.nanoTime() - start);
+    return statistics;
+  }
+
+  // evaluates a payoff on a sample, averaging with the antithetic path if applicable
+  private double evaluate(
+      HullWhiteOneFactorMonteCarloPath path,
+      double[] factors,
+      int offset,
+      HullWhiteOneFactorMonteCarloPayoff payoff) {
+
+    path.reset(factors, offset, 1d);
+    double value = payoff.value(path);
+    if (antithetic) {
+      path.reset(factors, offset, -1d);
+      value = 0.5 * (value + payoff.value(path));
+    }
+    return value;
+  }
+
+  // the variance of the factor between two times, the integral of sigma(s)^2 exp(2 a s)
+  // the integral of exp(2 a s) tends to the length of the interval as the mean reversion tends to zero
+  private static double varianceIncrement(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      double startTime,
+      double endTime) {
+
+    double a = parameters.getMeanReversion();
+    DoubleArray volatility = parameters.getVolatility();
+    DoubleArray volatilityTime = parameters.getVolatilityTime();
+    double variance = 0d;
+    for (int i = 0; i < volatility.size(); i++) {
+      double low = Math.max(startTime, volatilityTime.get(i));
+      double high = Math.min(endTime, volatilityTime.get(i + 1));
+      if (high > low) {
+        double sigma = volatility.get(i);
+        double integral = a == 0d ?
+            high - low :
+            Math.exp(2d * a * low) * Math.expm1(2d * a * (high - low)) / (2d * a);
+        variance += sigma * sigma * integral;
+      }
+    }
+    return variance;
+  }
+
+  //-------------------------------------------------------------------------
+  // the statistics of a block
+  private static final class BlockStatistics {
+    private double sumValue;
+    private double sumControl;
+    private double sumValue2;
+    private double sumControl2;
+    private double sumValueControl;
+    private Duration time;
+
+    private void add(double value, double control) {
+      sumValue += value;
+      sumControl += control;
+      sumValue2 += value * value;
+      sumControl2 += control * control;
+      sumValueControl += value * control;
+    }
+  }
+
+}
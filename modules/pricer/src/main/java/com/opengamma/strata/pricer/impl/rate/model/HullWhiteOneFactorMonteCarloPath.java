@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * A path simulated by the Hull-White one factor Monte Carlo engine.
+ * <p>
+ * The simulation takes place under the forward measure associated with a zero-coupon bond numeraire
+ * maturing at the numeraire time N. Under this measure, the ratio of the price of a zero-coupon bond
+ * maturing at u to the price of the numeraire bond is a martingale, given at the simulation time t by
+ * <pre>
+ *  P(t, u) / P(t, N) = P(0, u) / P(0, N) * exp(-c(u) X(t) - c(u)^2 V(t) / 2)
+ * </pre>
+ * where c(u) = (exp(-a N) - exp(-a u)) / a, a is the mean reversion, X is the Gaussian factor of the path
+ * and V(t) is the variance of X(t). If the mean reversion is zero, c(u) is the limit u - N.
+ * <p>
+ * Instances are views over a block of simulated paths and are reused by the engine from one path to the next.
+ * They must not be retained by the payoff beyond the evaluation of a single path.
+ */
+public final class HullWhiteOneFactorMonteCarloPath {
+
+  /**
+   * The simulation times.
+   */
+  private final DoubleArray times;
+  /**
+   * The variance of the factor at each simulation time.
+   */
+  private final double[] variances;
+  /**
+   * The mean reversion.
+   */
+  private final double meanReversion;
+  /**
+   * The time to maturity of the numeraire bond.
+   */
+  private final double numeraireTime;
+  /**
+   * The factors of the block, path by path.
+   */
+  private double[] factors;
+  /**
+   * The index of the first factor of the current path.
+   */
+  private int offset;
+  /**
+   * The sign of the factors, -1 for the antithetic path.
+   */
+  private double sign;
+
+  // creates an instance
+  HullWhiteOneFactorMonteCarloPath(DoubleArray times, double[] variances, double meanReversion, double numeraireTime) {
+    this.times = times;
+    this.variances = variances;
+    this.meanReversion = meanReversion;
+    this.numeraireTime = numeraireTime;
+  }
+
+  // moves the view to a path of a block
+  void reset(double[] factors, int offset, double sign) {
+    this.factors = factors;
+    this.offset = offset;
+    this.sign = sign;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of simulation times.
+   *
+   * @return the number of times
+   */
+  public int getTimeCount() {
+    return times.size();
+  }
+
+  /**
+   * Gets a simulation time.
+   *
+   * @param timeIndex  the index of the simulation time
+   * @return the time
+   */
+  public double getTime(int timeIndex) {
+    return times.get(timeIndex);
+  }
+
+  /**
+   * Gets the Gaussian factor X of the path at a simulation time.
+   *
+   * @param timeIndex  the index of the simulation time
+   * @return the factor
+   */
+  public double getFactor(int timeIndex) {
+    return sign * factors[offset + timeIndex];
+  }
+
+  /**
+   * Calculates the stochastic part of the ratio of a zero-coupon bond to the numeraire at a simulation time.
+   * <p>
+   * This is the ratio {@code P(t, u) / P(t, N)} at the simulation time divided by its initial value
+   * {@code P(0, u) / P(0, N)}. Its expectation is one.
+   *
+   * @param timeIndex  the index of the simulation time
+   * @param bondMaturity  the time to maturity of the bond, u
+   * @return the bond factor
+   */
+  public double bondFactor(int timeIndex, double bondMaturity) {
+    // c(u) is written as exp(-a u) (exp(-a (N - u)) - 1) / a to retain accuracy for small mean reversion
+    double c = meanReversion == 0d ?
+        bondMaturity - numeraireTime :
+        Math.exp(-meanReversion * bondMaturity) * Math.expm1(-meanReversion * (numeraireTime - bondMaturity)) /
+            meanReversion;
+    return Math.exp(-c * getFactor(timeIndex) - 0.5 * c * c * variances[timeIndex]);
+  }
+
+}
@@ -0,0 +1,27 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+/**
+ * The payoff of a path simulated by the Hull-White one factor Monte Carlo engine.
+ * <p>
+ * Implementations must be thread-safe, as paths are evaluated concurrently.
+ */
+@FunctionalInterface
+public interface HullWhiteOneFactorMonteCarloPayoff {
+
+  /**
+   * Calculates the value of the path, expressed in units of the numeraire.
+   * <p>
+   * This is the sum over the payments of the path of the payment amount divided by the
+   * numeraire {@code P(t, N)} at the payment time t.
+   *
+   * @param path  the simulated path
+   * @return the value in units of the numeraire
+   */
+  public abstract double value(HullWhiteOneFactorMonteCarloPath path);
+
+}
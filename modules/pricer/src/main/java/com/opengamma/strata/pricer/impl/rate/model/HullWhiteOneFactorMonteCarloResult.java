@@ -0,0 +1,212 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The result of a Hull-White one factor Monte Carlo simulation.
+ * <p>
+ * The value is expressed in units of the numeraire. The present value is obtained by multiplying
+ * the value by the discount factor to the numeraire time.
+ */
+@BeanDefinition(style = "light")
+public final class HullWhiteOneFactorMonteCarloResult implements ImmutableBean {
+
+  /**
+   * The estimated value, in units of the numeraire.
+   */
+  @PropertyDefinition
+  private final double value;
+  /**
+   * The standard error of the estimated value.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final double standardError;
+  /**
+   * The number of samples.
+   * <p>
+   * When using antithetic variates, each sample is the average of a path and its antithetic path.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
+  private final int sampleCount;
+  /**
+   * The time taken to simulate and evaluate each block of paths.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<Duration> blockTimes;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param value  the estimated value
+   * @param standardError  the standard error of the estimated value
+   * @param sampleCount  the number of samples
+   * @param blockTimes  the time taken by each block
+   * @return the result
+   */
+  public static HullWhiteOneFactorMonteCarloResult of(
+      double value,
+      double standardError,
+      int sampleCount,
+      List<Duration> blockTimes) {
+
+    return new HullWhiteOneFactorMonteCarloResult(value, standardError, sampleCount, ImmutableList.copyOf(blockTimes));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the total time taken by the blocks.
+   * <p>
+   * As the blocks may be processed concurrently, this may exceed the elapsed time of the simulation.
+   *
+   * @return the total block time
+   */
+  public Duration getTotalBlockTime() {
+    return blockTimes.stream().reduce(Duration.ZERO, Duration::plus);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code HullWhiteOneFactorMonteCarloResult}.
+   */
+  private static MetaBean META_BEAN = LightMetaBean.of(HullWhiteOneFactorMonteCarloResult.class);
+
+  /**
+   * The meta-bean for {@code HullWhiteOneFactorMonteCarloResult}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  private HullWhiteOneFactorMonteCarloResult(
+      double value,
+      double standardError,
+      int sampleCount,
+      List<Duration> blockTimes) {
+    ArgChecker.notNegative(standardError, "standardError");
+    ArgChecker.notNegativeOrZero(sampleCount, "sampleCount");
+    JodaBeanUtils.notNull(blockTimes, "blockTimes");
+    this.value = value;
+    this.standardError = standardError;
+    this.sampleCount = sampleCount;
+    this.blockTimes = ImmutableList.copyOf(blockTimes);
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the estimated value, in units of the numeraire.
+   * @return the value of the property
+   */
+  public double getValue() {
+    return value;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the standard error of the estimated value.
+   * @return the value of the property
+   */
+  public double getStandardError() {
+    return standardError;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of samples.
+   * <p>
+   * When using antithetic variates, each sample is the average of a path and its antithetic path.
+   * @return the value of the property
+   */
+  public int getSampleCount() {
+    return sampleCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time taken to simulate and evaluate each block of paths.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<Duration> getBlockTimes() {
+    return blockTimes;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      HullWhiteOneFactorMonteCarloResult other = (HullWhiteOneFactorMonteCarloResult) obj;
+      return JodaBeanUtils.equal(value, other.value) &&
+          JodaBeanUtils.equal(standardError, other.standardError) &&
+          (sampleCount == other.sampleCount) &&
+          JodaBeanUtils.equal(blockTimes, other.blockTimes);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(value);
+    hash = hash * 31 + JodaBeanUtils.hashCode(standardError);
+    hash = hash * 31 + JodaBeanUtils.hashCode(sampleCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(blockTimes);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("HullWhiteOneFactorMonteCarloResult{");
+    buf.append("value").append('=').append(value).append(',').append(' ');
+    buf.append("standardError").append('=').append(standardError).append(',').append(' ');
+    buf.append("sampleCount").append('=').append(sampleCount).append(',').append(' ');
+    buf.append("blockTimes").append('=').append(JodaBeanUtils.toString(blockTimes));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -5,8 +5,23 @@
  */
 package com.opengamma.strata.pricer.rate;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivity;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveUnitParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.ColumnarPointSensitivities;
 import com.opengamma.strata.market.sensitivity.FxForwardSensitivity;
 import com.opengamma.strata.market.sensitivity.FxIndexSensitivity;
 import com.opengamma.strata.market.sensitivity.IborRateSensitivity;
@@ -35,38 +50,85 @@ public abstract class AbstractRatesProvider
   public CurveCurrencyParameterSensitivities curveParameterSensitivity(PointSensitivities sensitivities) {
     CurveCurrencyParameterSensitivities sens = CurveCurrencyParameterSensitivities.empty();
     for (PointSensitivity point : sensitivities.getSensitivities()) {
-      if (point instanceof ZeroRateSensitivity) {
-        ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
-        DiscountFactors factors = discountFactors(pt.getCurveCurrency());
-        sens = sens.combinedWith(factors.curveParameterSensitivity(pt));
-
-      } else if (point instanceof IborRateSensitivity) {
-        IborRateSensitivity pt = (IborRateSensitivity) point;
-        IborIndexRates rates = iborIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
-
-      } else if (point instanceof OvernightRateSensitivity) {
-        OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
-        OvernightIndexRates rates = overnightIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
-
-      } else if (point instanceof FxIndexSensitivity) {
-        FxIndexSensitivity pt = (FxIndexSensitivity) point;
-        FxIndexRates rates = fxIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
+      sens = sens.combinedWith(pointParameterSensitivity(point));
+    }
+    return sens;
+  }
 
-      } else if (point instanceof InflationRateSensitivity) {
-        InflationRateSensitivity pt = (InflationRateSensitivity) point;
-        PriceIndexValues rates = priceIndexValues(pt.getIndex());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
+  /**
+   * Computes the parameter sensitivity from columnar point sensitivities.
+   * <p>
+   * The sensitivities are normalized before projection, thus each curve query is projected once.
+   * Zero rate sensitivities are projected using the unit sensitivity of the discount factors
+   * without creating point sensitivity objects. The parameter sensitivities are summed into
+   * one array for each curve and currency, rather than combining an immutable result per point.
+   *
+   * @param sensitivities  the point sensitivity
+   * @return the sensitivity to the curve parameters
+   */
+  @Override
+  public CurveCurrencyParameterSensitivities curveParameterSensitivity(ColumnarPointSensitivities sensitivities) {
+    ColumnarPointSensitivities normalized = sensitivities.cloned().normalize();
+    Map<Currency, DiscountFactors> discountFactors = new HashMap<>();
+    Map<Pair<CurveName, Currency>, ParameterSensitivityAccumulator> accumulators = new LinkedHashMap<>();
+    normalized.forEach(
+        (curveCurrency, date, currency, sensitivity) -> {
+          DiscountFactors factors = discountFactors.computeIfAbsent(curveCurrency, this::discountFactors);
+          for (CurveUnitParameterSensitivity unitSens : factors.unitParameterSensitivity(date).getSensitivities()) {
+            accumulators.computeIfAbsent(
+                Pair.of(unitSens.getCurveName(), currency),
+                key -> new ParameterSensitivityAccumulator(
+                    unitSens.getMetadata(), currency, unitSens.getParameterCount()))
+                .add(unitSens.getSensitivity(), sensitivity);
+          }
+        },
+        point -> {
+          for (CurveCurrencyParameterSensitivity pointSens : pointParameterSensitivity(point).getSensitivities()) {
+            accumulators.computeIfAbsent(
+                Pair.of(pointSens.getCurveName(), pointSens.getCurrency()),
+                key -> new ParameterSensitivityAccumulator(
+                    pointSens.getMetadata(), pointSens.getCurrency(), pointSens.getParameterCount()))
+                .add(pointSens.getSensitivity(), 1d);
+          }
+        });
+    return CurveCurrencyParameterSensitivities.of(accumulators.values().stream()
+        .map(ParameterSensitivityAccumulator::toSensitivity)
+        .collect(toImmutableList()));
+  }
 
-      } else if (point instanceof FxForwardSensitivity) {
-        FxForwardSensitivity pt = (FxForwardSensitivity) point;
-        FxForwardRates rates = fxForwardRates(pt.getCurrencyPair());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
-      }
+  // projects a single point sensitivity to the curve parameters
+  private CurveCurrencyParameterSensitivities pointParameterSensitivity(PointSensitivity point) {
+    if (point instanceof ZeroRateSensitivity) {
+      ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
+      DiscountFactors factors = discountFactors(pt.getCurveCurrency());
+      return factors.curveParameterSensitivity(pt);
+
+    } else if (point instanceof IborRateSensitivity) {
+      IborRateSensitivity pt = (IborRateSensitivity) point;
+      IborIndexRates rates = iborIndexRates(pt.getIndex());
+      return rates.curveParameterSensitivity(pt);
+
+    } else if (point instanceof OvernightRateSensitivity) {
+      OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
+      OvernightIndexRates rates = overnightIndexRates(pt.getIndex());
+      return rates.curveParameterSensitivity(pt);
+
+    } else if (point instanceof FxIndexSensitivity) {
+      FxIndexSensitivity pt = (FxIndexSensitivity) point;
+      FxIndexRates rates = fxIndexRates(pt.getIndex());
+      return rates.curveParameterSensitivity(pt);
+
+    } else if (point instanceof InflationRateSensitivity) {
+      InflationRateSensitivity pt = (InflationRateSensitivity) point;
+      PriceIndexValues rates = priceIndexValues(pt.getIndex());
+      return rates.curveParameterSensitivity(pt);
+
+    } else if (point instanceof FxForwardSensitivity) {
+      FxForwardSensitivity pt = (FxForwardSensitivity) point;
+      FxForwardRates rates = fxForwardRates(pt.getCurrencyPair());
+      return rates.curveParameterSensitivity(pt);
     }
-    return sens;
+    return CurveCurrencyParameterSensitivities.empty();
   }
 
   @Override
@@ -88,4 +150,32 @@ public abstract class AbstractRatesProvider
     return ce;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Mutable sum of the sensitivity to the parameters of a single curve in a single currency.
+   */
+  private static final class ParameterSensitivityAccumulator {
+    private final CurveMetadata metadata;
+    private final Currency currency;
+    private final double[] sensitivity;
+
+    ParameterSensitivityAccumulator(CurveMetadata metadata, Currency currency, int parameterCount) {
+      this.metadata = metadata;
+      this.currency = currency;
+      this.sensitivity = new double[parameterCount];
+    }
+
+    // adds the sensitivity multiplied by the factor
+    void add(DoubleArray addition, double factor) {
+      ArgChecker.isTrue(addition.size() == sensitivity.length, "Sensitivity must have the same number of parameters");
+      for (int i = 0; i < sensitivity.length; i++) {
+        sensitivity[i] += addition.get(i) * factor;
+      }
+    }
+
+    CurveCurrencyParameterSensitivity toSensitivity() {
+      return CurveCurrencyParameterSensitivity.of(metadata, currency, DoubleArray.ofUnsafe(sensitivity));
+    }
+  }
+
 }
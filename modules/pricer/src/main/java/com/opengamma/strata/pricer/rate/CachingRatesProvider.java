@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.index.FxIndex;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.PriceIndex;
+import com.opengamma.strata.basics.market.MarketDataKey;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.market.view.DiscountFactors;
+import com.opengamma.strata.market.view.FxForwardRates;
+import com.opengamma.strata.market.view.FxIndexRates;
+import com.opengamma.strata.market.view.IborIndexRates;
+import com.opengamma.strata.market.view.OvernightIndexRates;
+import com.opengamma.strata.market.view.PriceIndexValues;
+
+/**
+ * A rates provider that caches the views created by an underlying rates provider.
+ * <p>
+ * Pricers typically request the same view, such as the discount factors for a currency,
+ * once for each payment period of a trade. Implementations such as {@link MarketDataRatesProvider}
+ * create a new view on each request, which is wasteful when pricing long-dated trades.
+ * <p>
+ * This provider wraps any other rates provider, including {@link MarketDataRatesProvider}
+ * and {@link ImmutableRatesProvider}. Each view is created by the underlying provider on first
+ * request and then returned from the cache for the lifetime of this provider.
+ * The number of cache hits and misses is recorded to allow the benefit to be measured.
+ * <p>
+ * The underlying provider must be immutable, as the views are never refreshed.
+ * This class is thread-safe.
+ */
+public final class CachingRatesProvider
+    extends AbstractRatesProvider {
+
+  /**
+   * The underlying rates provider.
+   */
+  private final RatesProvider underlying;
+  /**
+   * The cache of discount factors, keyed by currency.
+   */
+  private final ConcurrentMap<Currency, DiscountFactors> discountFactors = new ConcurrentHashMap<>();
+  /**
+   * The cache of FX index rates, keyed by index.
+   */
+  private final ConcurrentMap<FxIndex, FxIndexRates> fxIndexRates = new ConcurrentHashMap<>();
+  /**
+   * The cache of forward FX rates, keyed by currency pair.
+   */
+  private final ConcurrentMap<CurrencyPair, FxForwardRates> fxForwardRates = new ConcurrentHashMap<>();
+  /**
+   * The cache of Ibor index rates, keyed by index.
+   */
+  private final ConcurrentMap<IborIndex, IborIndexRates> iborIndexRates = new ConcurrentHashMap<>();
+  /**
+   * The cache of Overnight index rates, keyed by index.
+   */
+  private final ConcurrentMap<OvernightIndex, OvernightIndexRates> overnightIndexRates = new ConcurrentHashMap<>();
+  /**
+   * The cache of price index values, keyed by index.
+   */
+  private final ConcurrentMap<PriceIndex, PriceIndexValues> priceIndexValues = new ConcurrentHashMap<>();
+  /**
+   * The number of requests satisfied from the cache.
+   */
+  private final AtomicLong hitCount = new AtomicLong();
+  /**
+   * The number of requests that required a view to be created.
+   */
+  private final AtomicLong missCount = new AtomicLong();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that caches the views of the underlying provider.
+   * <p>
+   * If the underlying provider is already caching, it is returned unaltered.
+   *
+   * @param underlying  the underlying rates provider
+   * @return the caching rates provider
+   */
+  public static CachingRatesProvider of(RatesProvider underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof CachingRatesProvider) {
+      return (CachingRatesProvider) underlying;
+    }
+    return new CachingRatesProvider(underlying);
+  }
+
+  // restricted constructor
+  private CachingRatesProvider(RatesProvider underlying) {
+    this.underlying = underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying rates provider.
+   *
+   * @return the underlying rates provider
+   */
+  public RatesProvider getUnderlying() {
+    return underlying;
+  }
+
+  /**
+   * Gets the number of requests for a view that were satisfied from the cache.
+   *
+   * @return the number of cache hits
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Gets the number of requests for a view that required the view to be created.
+   *
+   * @return the number of cache misses
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public <T> T data(MarketDataKey<T> key) {
+    return underlying.data(key);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries timeSeries(Index index) {
+    return underlying.timeSeries(index);
+  }
+
+  @Override
+  public double fxRate(Currency baseCurrency, Currency counterCurrency) {
+    return underlying.fxRate(baseCurrency, counterCurrency);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DiscountFactors discountFactors(Currency currency) {
+    return cached(discountFactors, currency, underlying::discountFactors);
+  }
+
+  @Override
+  public FxIndexRates fxIndexRates(FxIndex index) {
+    return cached(fxIndexRates, index, underlying::fxIndexRates);
+  }
+
+  @Override
+  public FxForwardRates fxForwardRates(CurrencyPair currencyPair) {
+    return cached(fxForwardRates, currencyPair, underlying::fxForwardRates);
+  }
+
+  @Override
+  public IborIndexRates iborIndexRates(IborIndex index) {
+    return cached(iborIndexRates, index, underlying::iborIndexRates);
+  }
+
+  @Override
+  public OvernightIndexRates overnightIndexRates(OvernightIndex index) {
+    return cached(overnightIndexRates, index, underlying::overnightIndexRates);
+  }
+
+  @Override
+  public PriceIndexValues priceIndexValues(PriceIndex index) {
+    return cached(priceIndexValues, index, underlying::priceIndexValues);
+  }
+
+  // finds the view in the cache, creating it if necessary
+  // computeIfAbsent() is not used to avoid locking on the hot path and to allow hits to be counted
+  private <K, V> V cached(ConcurrentMap<K, V> cache, K key, Function<K, V> createFn) {
+    V value = cache.get(key);
+    if (value != null) {
+      hitCount.incrementAndGet();
+      return value;
+    }
+    missCount.incrementAndGet();
+    V created = createFn.apply(key);
+    V existing = cache.putIfAbsent(key, created);
+    return existing != null ? existing : created;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CachingRatesProvider[underlying=" + underlying + ", hits=" + hitCount + ", misses=" + missCount + "]";
+  }
+
+}
@@ -14,6 +14,7 @@ import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.PriceIndex;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.ColumnarPointSensitivities;
 import com.opengamma.strata.market.sensitivity.FxIndexSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.view.FxForwardRates;
@@ -117,6 +118,25 @@ public interface RatesProvider
    */
   CurveCurrencyParameterSensitivities curveParameterSensitivity(PointSensitivities pointSensitivities);
 
+  /**
+   * Computes the parameter sensitivity from columnar point sensitivities.
+   * <p>
+   * This computes the {@link CurveCurrencyParameterSensitivities} associated with the
+   * {@link ColumnarPointSensitivities}, as per {@link #curveParameterSensitivity(PointSensitivities)}.
+   * The specified sensitivities are not altered.
+   * <p>
+   * The default implementation builds the point sensitivities.
+   * Implementations may override this to project the columns directly.
+   *
+   * @param pointSensitivities  the point sensitivity
+   * @return the sensitivity to the curve parameters
+   */
+  public default CurveCurrencyParameterSensitivities curveParameterSensitivity(
+      ColumnarPointSensitivities pointSensitivities) {
+
+    return curveParameterSensitivity(pointSensitivities.build());
+  }
+
   /**
    * Computes the currency exposure.
    * <p>
@@ -0,0 +1,263 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.collect.Guavate.join;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.index.PriceIndex;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.function.IntIntToDoubleFunction;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivity;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.view.ForwardPriceIndexValues;
+import com.opengamma.strata.market.view.PriceIndexValues;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * The bumped rates providers used to compute curve parameter sensitivities by finite difference.
+ * <p>
+ * There is one bumped rates provider for each parameter of each curve in the base rates provider.
+ * Each bumped rates provider contains the base curves except the curve that is bumped,
+ * thus only one curve is rebuilt for each bump.
+ * <p>
+ * The bumped rates providers are created once, and can then be used to compute the sensitivity
+ * of many functions, such as the present values of many trades.
+ * The cost of the sensitivity for each function is then the cost of repricing.
+ * The repricing for each bump can be run in parallel using an {@link Executor}.
+ * <p>
+ * Instances are obtained from {@link RatesFiniteDifferenceSensitivityCalculator#bumpedProviders}.
+ * This class is immutable and thread-safe.
+ */
+public final class BumpedRatesProviders {
+
+  /**
+   * The base rates provider.
+   */
+  private final ImmutableRatesProvider provider;
+  /**
+   * The shift used for finite difference.
+   */
+  private final double shift;
+  /**
+   * The bumped rates providers for each curve, in the order of the sensitivities.
+   */
+  private final ImmutableList<BumpedCurve> curves;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the bumped rates providers for the specified base rates provider.
+   * <p>
+   * The curves underlying the rates provider must be convertible to a {@link NodalCurve}.
+   *
+   * @param provider  the base rates provider
+   * @param shift  the shift used in the finite difference computation
+   * @return the bumped rates providers
+   */
+  static BumpedRatesProviders of(ImmutableRatesProvider provider, double shift) {
+    ArgChecker.notNull(provider, "provider");
+    List<BumpedCurve> curves = new ArrayList<>();
+    bumpCurves(
+        curves,
+        provider.getDiscountCurves(),
+        bumped -> provider.toBuilder().discountCurves(bumped).build(),
+        shift);
+    bumpCurves(
+        curves,
+        provider.getIndexCurves(),
+        bumped -> provider.toBuilder().indexCurves(bumped).build(),
+        shift);
+    bumpPriceIndexCurves(
+        curves,
+        provider.getPriceIndexValues(),
+        bumped -> provider.toBuilder().priceIndexValues(bumped).build(),
+        shift);
+    return new BumpedRatesProviders(provider, shift, curves);
+  }
+
+  // creates the bumped rates providers for the curves
+  private static <T> void bumpCurves(
+      List<BumpedCurve> result,
+      Map<T, Curve> baseCurves,
+      Function<Map<T, Curve>, ImmutableRatesProvider> storeBumpedFn,
+      double shift) {
+
+    for (Entry<T, Curve> entry : baseCurves.entrySet()) {
+      NodalCurve curveInt = entry.getValue().toNodalCurve();
+      int nbNodePoint = curveInt.getXValues().size();
+      List<ImmutableRatesProvider> bumpedProviders = new ArrayList<>(nbNodePoint);
+      for (int i = 0; i < nbNodePoint; i++) {
+        Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
+        mapBumped.put(entry.getKey(), bumpedCurve(curveInt, i, shift));
+        bumpedProviders.add(storeBumpedFn.apply(mapBumped));
+      }
+      result.add(new BumpedCurve(entry.getValue().getMetadata(), bumpedProviders));
+    }
+  }
+
+  // creates the bumped rates providers for the price index curves
+  private static void bumpPriceIndexCurves(
+      List<BumpedCurve> result,
+      Map<PriceIndex, PriceIndexValues> indexValues,
+      Function<Map<PriceIndex, PriceIndexValues>, ImmutableRatesProvider> storeBumpedFn,
+      double shift) {
+
+    for (Entry<PriceIndex, PriceIndexValues> entry : indexValues.entrySet()) {
+      ForwardPriceIndexValues indexValue = ((ForwardPriceIndexValues) entry.getValue());
+      NodalCurve curveInt = indexValue.getCurve().toNodalCurve();
+      int nbNodePoint = curveInt.getXValues().size();
+      List<ImmutableRatesProvider> bumpedProviders = new ArrayList<>(nbNodePoint);
+      for (int i = 0; i < nbNodePoint; i++) {
+        Map<PriceIndex, PriceIndexValues> mapBumped = new HashMap<>(indexValues);
+        mapBumped.put(entry.getKey(), indexValue.withCurve((InterpolatedNodalCurve) bumpedCurve(curveInt, i, shift)));
+        bumpedProviders.add(storeBumpedFn.apply(mapBumped));
+      }
+      result.add(new BumpedCurve(indexValue.getCurve().getMetadata(), bumpedProviders));
+    }
+  }
+
+  // create new curve by bumping the existing curve at a given parameter
+  private static NodalCurve bumpedCurve(NodalCurve curveInt, int loopnode, double shift) {
+    DoubleArray yValues = curveInt.getYValues();
+    return curveInt.withYValues(yValues.with(loopnode, yValues.get(loopnode) + shift));
+  }
+
+  // restricted constructor
+  private BumpedRatesProviders(ImmutableRatesProvider provider, double shift, List<BumpedCurve> curves) {
+    this.provider = provider;
+    this.shift = shift;
+    this.curves = ImmutableList.copyOf(curves);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the base rates provider.
+   *
+   * @return the base rates provider
+   */
+  public ImmutableRatesProvider getProvider() {
+    return provider;
+  }
+
+  /**
+   * Gets the shift used for finite difference.
+   *
+   * @return the shift
+   */
+  public double getShift() {
+    return shift;
+  }
+
+  /**
+   * Gets the number of bumped rates providers.
+   * <p>
+   * This is the total number of parameters of the curves in the base rates provider.
+   *
+   * @return the number of bumped rates providers
+   */
+  public int getBumpCount() {
+    return curves.stream().mapToInt(curve -> curve.providers.size()).sum();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the first order sensitivities of a function of a rates provider by finite difference.
+   * <p>
+   * The function is applied to the base rates provider and to each bumped rates provider in turn.
+   * The finite difference is computed by forward type.
+   * The function should return a value in the same currency for any rates provider.
+   *
+   * @param valueFn  the function from a rate provider to a currency amount for which the sensitivity should be computed
+   * @return the curve sensitivity
+   */
+  public CurveCurrencyParameterSensitivities sensitivity(Function<ImmutableRatesProvider, CurrencyAmount> valueFn) {
+    CurrencyAmount valueInit = valueFn.apply(provider);
+    return sensitivity(
+        valueInit,
+        (curveIndex, i) -> valueFn.apply(curves.get(curveIndex).providers.get(i)).getAmount());
+  }
+
+  /**
+   * Computes the first order sensitivities of a function of a rates provider by finite difference,
+   * repricing in parallel.
+   * <p>
+   * The function is applied to the base rates provider and to each bumped rates provider using the executor.
+   * As such, the function must be thread-safe.
+   * The finite difference is computed by forward type.
+   * The function should return a value in the same currency for any rates provider.
+   *
+   * @param valueFn  the function from a rate provider to a currency amount for which the sensitivity should be computed
+   * @param executor  the executor used to apply the function to the rates providers
+   * @return the curve sensitivity
+   */
+  public CurveCurrencyParameterSensitivities sensitivity(
+      Function<ImmutableRatesProvider, CurrencyAmount> valueFn,
+      Executor executor) {
+
+    ArgChecker.notNull(valueFn, "valueFn");
+    ArgChecker.notNull(executor, "executor");
+    CompletableFuture<CurrencyAmount> valueInitFuture =
+        CompletableFuture.supplyAsync(() -> valueFn.apply(provider), executor);
+    List<List<CompletableFuture<Double>>> bumpedFutures = new ArrayList<>(curves.size());
+    for (BumpedCurve curve : curves) {
+      List<CompletableFuture<Double>> futures = new ArrayList<>(curve.providers.size());
+      for (ImmutableRatesProvider bumpedProvider : curve.providers) {
+        futures.add(CompletableFuture.supplyAsync(() -> valueFn.apply(bumpedProvider).getAmount(), executor));
+      }
+      bumpedFutures.add(futures);
+    }
+    CurrencyAmount valueInit = join(valueInitFuture);
+    return sensitivity(valueInit, (curveIndex, i) -> join(bumpedFutures.get(curveIndex).get(i)));
+  }
+
+  // computes the sensitivity from the value of each bumped rates provider, keyed by curve index and node index
+  private CurveCurrencyParameterSensitivities sensitivity(
+      CurrencyAmount valueInit,
+      IntIntToDoubleFunction bumpedValueFn) {
+
+    CurveCurrencyParameterSensitivities result = CurveCurrencyParameterSensitivities.empty();
+    for (int curveIndex = 0; curveIndex < curves.size(); curveIndex++) {
+      BumpedCurve curve = curves.get(curveIndex);
+      int index = curveIndex;
+      DoubleArray sensitivity = DoubleArray.of(
+          curve.providers.size(),
+          i -> (bumpedValueFn.applyAsDouble(index, i) - valueInit.getAmount()) / shift);
+      result = result.combinedWith(
+          CurveCurrencyParameterSensitivity.of(curve.metadata, valueInit.getCurrency(), sensitivity));
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The bumped rates providers for a single curve, one for each parameter.
+   */
+  private static final class BumpedCurve {
+    private final CurveMetadata metadata;
+    private final ImmutableList<ImmutableRatesProvider> providers;
+
+    private BumpedCurve(CurveMetadata metadata, List<ImmutableRatesProvider> providers) {
+      this.metadata = metadata;
+      this.providers = ImmutableList.copyOf(providers);
+    }
+  }
+
+}
@@ -5,9 +5,14 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import static com.opengamma.strata.collect.Guavate.join;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivity;
@@ -31,6 +36,14 @@ public class CurveGammaCalculator {
    */
   public static final CurveGammaCalculator DEFAULT = new CurveGammaCalculator(FiniteDifferenceType.FORWARD, 1.0E-4);
 
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The shift to be applied to the curves.
+   */
+  private final double shift;
   /**
    * The first order finite difference calculator.
    */
@@ -43,6 +56,8 @@ public class CurveGammaCalculator {
    * @param shift  the shift to be applied to the curves
    */
   public CurveGammaCalculator(FiniteDifferenceType fdType, double shift) {
+    this.fdType = fdType;
+    this.shift = shift;
     this.fd = new VectorFieldFirstOrderDifferentiator(fdType, shift);
   }
 
@@ -70,6 +85,42 @@ public class CurveGammaCalculator {
     return CurveCurrencyParameterSensitivity.of(curve.getMetadata(), curveCurrency, gamma);
   }
 
+  /**
+   * Computes the "sum-of-column gamma" or "semi-parallel gamma" for a sensitivity function,
+   * computing the bumped sensitivities in parallel.
+   * <p>
+   * See the class-level documentation for the definition.
+   * <p>
+   * The sensitivities of the bumped curves required by the finite difference are computed concurrently
+   * using the executor, thus the sensitivity function must be thread-safe.
+   * The result is the same as {@link #calculateSemiParallelGamma(NodalCurve, Currency, Function)}.
+   * <p>
+   * This implementation only supports a single curve.
+   * 
+   * @param curve  the single curve to be bumped
+   * @param curveCurrency  the currency of the curve and resulting sensitivity
+   * @param sensitivitiesFn  the function to convert the bumped curve to parameter sensitivities
+   * @param executor  the executor used to compute the sensitivities of the bumped curves
+   * @return the "sum-of-columns" or "semi-parallel" gamma vector
+   */
+  public CurveCurrencyParameterSensitivity calculateSemiParallelGamma(
+      NodalCurve curve,
+      Currency curveCurrency,
+      Function<NodalCurve, CurveCurrencyParameterSensitivity> sensitivitiesFn,
+      Executor executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    Delta deltaShift = new Delta(curve, sensitivitiesFn);
+    double shiftUp = fdType == FiniteDifferenceType.BACKWARD ? 0d : shift;
+    double shiftDown = fdType == FiniteDifferenceType.FORWARD ? 0d : -shift;
+    CompletableFuture<DoubleArray> deltaUp =
+        CompletableFuture.supplyAsync(() -> deltaShift.apply(DoubleArray.of(shiftUp)), executor);
+    CompletableFuture<DoubleArray> deltaDown =
+        CompletableFuture.supplyAsync(() -> deltaShift.apply(DoubleArray.of(shiftDown)), executor);
+    DoubleArray gamma = join(deltaUp).minus(join(deltaDown)).dividedBy(shiftUp - shiftDown);
+    return CurveCurrencyParameterSensitivity.of(curve.getMetadata(), curveCurrency, gamma);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Inner class to compute the delta for a given parallel shift of the curve.
@@ -7,8 +7,7 @@ package com.opengamma.strata.pricer.sensitivity;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.function.BiFunction;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import org.joda.beans.MetaProperty;
@@ -16,7 +15,6 @@ import org.joda.beans.MetaProperty;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
-import com.opengamma.strata.basics.index.PriceIndex;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -24,11 +22,8 @@ import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivity;
 import com.opengamma.strata.market.curve.CurveMetadata;
-import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.view.DiscountFactors;
-import com.opengamma.strata.market.view.ForwardPriceIndexValues;
-import com.opengamma.strata.market.view.PriceIndexValues;
 import com.opengamma.strata.market.view.SimpleDiscountFactors;
 import com.opengamma.strata.market.view.ZeroRateDiscountFactors;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -40,6 +35,10 @@ import com.opengamma.strata.pricer.rate.LegalEntityDiscountingProvider;
  * This is based on an {@link ImmutableRatesProvider} or {@link LegalEntityDiscountingProvider}, 
  * and calculates the sensitivity by finite difference.
  * The curves underlying the rates provider must be of type {@link NodalCurve}.
+ * <p>
+ * For an {@link ImmutableRatesProvider}, the bumped rates providers can be created once using
+ * {@link #bumpedProviders(ImmutableRatesProvider)} and shared between the sensitivity calculations of many trades.
+ * The repricing can also be run in parallel using an {@link Executor}.
  */
 public class RatesFiniteDifferenceSensitivityCalculator {
 
@@ -79,77 +78,44 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       ImmutableRatesProvider provider,
       Function<ImmutableRatesProvider, CurrencyAmount> valueFn) {
 
-    CurrencyAmount valueInit = valueFn.apply(provider);
-    CurveCurrencyParameterSensitivities discounting = sensitivity(
-        provider,
-        provider.getDiscountCurves(),
-        (base, bumped) -> base.toBuilder().discountCurves(bumped).build(),
-        valueFn,
-        valueInit);
-    CurveCurrencyParameterSensitivities forward = sensitivity(
-        provider,
-        provider.getIndexCurves(),
-        (base, bumped) -> base.toBuilder().indexCurves(bumped).build(),
-        valueFn,
-        valueInit);
-    CurveCurrencyParameterSensitivities priceIndex = sensitivityPriceIndex(
-        provider,
-        provider.getPriceIndexValues(),
-        (base, bumped) -> base.toBuilder().priceIndexValues(bumped).build(),
-        valueFn,
-        valueInit);
-    return discounting.combinedWith(forward).combinedWith(priceIndex);
+    return bumpedProviders(provider).sensitivity(valueFn);
   }
 
-  // computes the sensitivity with respect to the curves
-  private <T> CurveCurrencyParameterSensitivities sensitivity(
+  /**
+   * Computes the first order sensitivities of a function of a RatesProvider to a double by finite difference,
+   * repricing in parallel.
+   * <p>
+   * The curves underlying the rates provider must be convertible to a {@link NodalCurve}.
+   * The finite difference is computed by forward type.
+   * The function should return a value in the same currency for any rate provider.
+   * The function is invoked concurrently using the executor, thus it must be thread-safe.
+   * 
+   * @param provider  the rates provider
+   * @param valueFn  the function from a rate provider to a currency amount for which the sensitivity should be computed
+   * @param executor  the executor used to apply the function to the bumped rates providers
+   * @return the curve sensitivity
+   */
+  public CurveCurrencyParameterSensitivities sensitivity(
       ImmutableRatesProvider provider,
-      Map<T, Curve> baseCurves,
-      BiFunction<ImmutableRatesProvider, Map<T, Curve>, ImmutableRatesProvider> storeBumpedFn,
       Function<ImmutableRatesProvider, CurrencyAmount> valueFn,
-      CurrencyAmount valueInit) {
+      Executor executor) {
 
-    CurveCurrencyParameterSensitivities result = CurveCurrencyParameterSensitivities.empty();
-    for (Entry<T, Curve> entry : baseCurves.entrySet()) {
-      NodalCurve curveInt = entry.getValue().toNodalCurve();
-      int nbNodePoint = curveInt.getXValues().size();
-      DoubleArray sensitivity = DoubleArray.of(nbNodePoint, i -> {
-        Curve dscBumped = bumpedCurve(curveInt, i);
-        Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(entry.getKey(), dscBumped);
-        ImmutableRatesProvider providerDscBumped = storeBumpedFn.apply(provider, mapBumped);
-        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      });
-      CurveMetadata metadata = entry.getValue().getMetadata();
-      result = result.combinedWith(CurveCurrencyParameterSensitivity.of(metadata, valueInit.getCurrency(), sensitivity));
-    }
-    return result;
+    return bumpedProviders(provider).sensitivity(valueFn, executor);
   }
 
-  // computes the sensitivity with respect to the price index curves
-  private <T> CurveCurrencyParameterSensitivities sensitivityPriceIndex(
-      ImmutableRatesProvider provider,
-      Map<PriceIndex, PriceIndexValues> indexValues,
-      BiFunction<ImmutableRatesProvider, Map<PriceIndex, PriceIndexValues>, ImmutableRatesProvider> storeBumpedFn,
-      Function<ImmutableRatesProvider, CurrencyAmount> valueFn,
-      CurrencyAmount valueInit) {
-
-    CurveCurrencyParameterSensitivities result = CurveCurrencyParameterSensitivities.empty();
-    for (Entry<PriceIndex, PriceIndexValues> entry : indexValues.entrySet()) {
-      ForwardPriceIndexValues indexValue = ((ForwardPriceIndexValues) entry.getValue());
-      NodalCurve curveInt = indexValue.getCurve().toNodalCurve();
-      int nbNodePoint = curveInt.getXValues().size();
-      DoubleArray sensitivity = DoubleArray.of(nbNodePoint, i -> {
-        Curve dscBumped = bumpedCurve(curveInt, i);
-        Map<PriceIndex, PriceIndexValues> mapBumped = new HashMap<>(indexValues);
-        mapBumped.put(entry.getKey(), indexValue.withCurve((InterpolatedNodalCurve) dscBumped));
-        ImmutableRatesProvider providerDscBumped = storeBumpedFn.apply(provider, mapBumped);
-        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      });
-      CurveMetadata metadata = indexValue.getCurve().getMetadata();
-      result = result.combinedWith(CurveCurrencyParameterSensitivity.of(metadata, valueInit.getCurrency(), sensitivity));
-    }
-    return result;
+  /**
+   * Creates the bumped rates providers used to compute sensitivities by finite difference.
+   * <p>
+   * The curves underlying the rates provider must be convertible to a {@link NodalCurve}.
+   * The result contains one rates provider for each curve parameter, each with that parameter bumped.
+   * It can be used to compute the sensitivity of many functions, such as the present values of many trades,
+   * without recreating the bumped rates providers for each function.
+   * 
+   * @param provider  the rates provider
+   * @return the bumped rates providers
+   */
+  public BumpedRatesProviders bumpedProviders(ImmutableRatesProvider provider) {
+    return BumpedRatesProviders.of(provider, shift);
   }
 
   //-------------------------------------------------------------------------
@@ -0,0 +1,181 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The result of calibrating a SABR swaption volatility cube.
+ * <p>
+ * This holds the calibrated volatilities together with the result of the fit of each expiry/tenor node.
+ */
+@BeanDefinition(style = "light")
+public final class SabrSwaptionCubeCalibration implements ImmutableBean {
+
+  /**
+   * The calibrated volatilities.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final SabrParametersSwaptionVolatilities volatilities;
+  /**
+   * The result of the fit of each node.
+   * <p>
+   * The nodes are in the same order as the smiles used in the calibration.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<SabrSwaptionNodeCalibration> nodes;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the calibrated volatilities and the result of the fit of each node.
+   *
+   * @param volatilities  the calibrated volatilities
+   * @param nodes  the result of the fit of each node
+   * @return the cube calibration
+   */
+  public static SabrSwaptionCubeCalibration of(
+      SabrParametersSwaptionVolatilities volatilities,
+      List<SabrSwaptionNodeCalibration> nodes) {
+
+    return new SabrSwaptionCubeCalibration(volatilities, ImmutableList.copyOf(nodes));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the total time taken to fit the nodes.
+   * <p>
+   * As the nodes may be fitted concurrently, this may exceed the elapsed time of the calibration.
+   *
+   * @return the total fit time
+   */
+  public Duration getTotalFitTime() {
+    return nodes.stream()
+        .map(SabrSwaptionNodeCalibration::getFitTime)
+        .reduce(Duration.ZERO, Duration::plus);
+  }
+
+  /**
+   * Gets the largest chi-square of the fit of the nodes.
+   *
+   * @return the largest chi-square
+   */
+  public double getMaxChiSquare() {
+    return nodes.stream()
+        .mapToDouble(SabrSwaptionNodeCalibration::getChiSquare)
+        .max()
+        .orElse(0d);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SabrSwaptionCubeCalibration}.
+   */
+  private static MetaBean META_BEAN = LightMetaBean.of(SabrSwaptionCubeCalibration.class);
+
+  /**
+   * The meta-bean for {@code SabrSwaptionCubeCalibration}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  private SabrSwaptionCubeCalibration(
+      SabrParametersSwaptionVolatilities volatilities,
+      List<SabrSwaptionNodeCalibration> nodes) {
+    JodaBeanUtils.notNull(volatilities, "volatilities");
+    JodaBeanUtils.notNull(nodes, "nodes");
+    this.volatilities = volatilities;
+    this.nodes = ImmutableList.copyOf(nodes);
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the calibrated volatilities.
+   * @return the value of the property, not null
+   */
+  public SabrParametersSwaptionVolatilities getVolatilities() {
+    return volatilities;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the result of the fit of each node.
+   * <p>
+   * The nodes are in the same order as the smiles used in the calibration.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<SabrSwaptionNodeCalibration> getNodes() {
+    return nodes;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SabrSwaptionCubeCalibration other = (SabrSwaptionCubeCalibration) obj;
+      return JodaBeanUtils.equal(volatilities, other.volatilities) &&
+          JodaBeanUtils.equal(nodes, other.nodes);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(volatilities);
+    hash = hash * 31 + JodaBeanUtils.hashCode(nodes);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("SabrSwaptionCubeCalibration{");
+    buf.append("volatilities").append('=').append(volatilities).append(',').append(' ');
+    buf.append("nodes").append('=').append(JodaBeanUtils.toString(nodes));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,359 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.collect.Guavate.join;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.ToDoubleFunction;
+
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.surface.DefaultSurfaceMetadata;
+import com.opengamma.strata.market.surface.InterpolatedNodalSurface;
+import com.opengamma.strata.market.surface.SurfaceName;
+import com.opengamma.strata.market.surface.SurfaceParameterMetadata;
+import com.opengamma.strata.market.surface.meta.SwaptionSurfaceExpiryTenorNodeMetadata;
+import com.opengamma.strata.math.impl.interpolation.CombinedInterpolatorExtrapolator;
+import com.opengamma.strata.math.impl.interpolation.GridInterpolator2D;
+import com.opengamma.strata.math.impl.interpolation.Interpolator1D;
+import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResultsWithTransform;
+import com.opengamma.strata.pricer.impl.option.SabrInterestRateParameters;
+import com.opengamma.strata.pricer.impl.volatility.smile.fitting.SabrModelFitter;
+import com.opengamma.strata.pricer.impl.volatility.smile.function.SabrFormulaData;
+import com.opengamma.strata.pricer.impl.volatility.smile.function.SabrHaganVolatilityFunctionProvider;
+import com.opengamma.strata.pricer.impl.volatility.smile.function.VolatilityFunctionProvider;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
+
+/**
+ * Calibrates a SABR swaption volatility cube to the market smiles of a grid of expiry/tenor nodes.
+ * <p>
+ * The SABR parameters of each node are fitted to the smile of the node using {@link SabrModelFitter},
+ * minimizing the squared differences between the model and market log-normal volatilities.
+ * The fit uses the analytic derivatives of the volatility function provider with respect to the
+ * SABR parameters, such as {@link SabrHaganVolatilityFunctionProvider#getVolatilityAdjoint}, as the Jacobian.
+ * The calibrated parameters of the nodes are combined into surfaces,
+ * producing {@link SabrParametersSwaptionVolatilities}.
+ * <p>
+ * The nodes are fitted concurrently using an {@link Executor}.
+ * When calibrating from scratch, the nodes of each tenor are fitted in order of expiry, each node starting
+ * from the parameters of the previous node. The tenors are fitted concurrently.
+ * When recalibrating from the parameters of a previous calibration, such as that of the previous day,
+ * each node starts from the previous parameters of the node and all the nodes are fitted concurrently.
+ * If a fit from a warm start fails, the node is fitted again from the default start parameters.
+ * <p>
+ * The smiles must form a grid of expiries and tenors, as required by the {@link GridInterpolator2D}.
+ * The calibrated SABR model is not shifted.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class SabrSwaptionCubeCalibrator {
+
+  /**
+   * The measurement error applied to each market volatility.
+   */
+  private static final double ERROR = 1.0e-4;
+  /**
+   * The default interpolator, linear with flat extrapolation in both dimensions.
+   */
+  private static final Interpolator1D LINEAR_FLAT = CombinedInterpolatorExtrapolator.of(
+      CurveInterpolators.LINEAR.getName(), CurveExtrapolators.FLAT.getName(), CurveExtrapolators.FLAT.getName());
+  /**
+   * The index of beta in the SABR parameters.
+   */
+  private static final int BETA_INDEX = 1;
+  /**
+   * Default implementation.
+   * <p>
+   * This uses the Hagan volatility formula and linear interpolation with flat extrapolation of the parameters.
+   * The beta parameter is fixed at 0.5, and the other parameters start from alpha 0.05, rho 0 and nu 0.5.
+   */
+  public static final SabrSwaptionCubeCalibrator DEFAULT;
+  static {
+    BitSet fixedBeta = new BitSet();
+    fixedBeta.set(BETA_INDEX);
+    DEFAULT = new SabrSwaptionCubeCalibrator(
+        SabrHaganVolatilityFunctionProvider.DEFAULT,
+        new GridInterpolator2D(LINEAR_FLAT, LINEAR_FLAT),
+        SabrFormulaData.of(0.05, 0.5, 0d, 0.5),
+        fixedBeta);
+  }
+
+  /**
+   * The SABR volatility function provider.
+   */
+  private final VolatilityFunctionProvider<SabrFormulaData> model;
+  /**
+   * The interpolator of the SABR parameter surfaces.
+   */
+  private final GridInterpolator2D interpolator;
+  /**
+   * The default start parameters.
+   */
+  private final SabrFormulaData startParameters;
+  /**
+   * The parameters fixed at their start value, indexed as alpha, beta, rho and nu.
+   */
+  private final BitSet fixedParameters;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The fixed parameters are fixed at the value of the start parameters, even when warm-started.
+   * They are indexed as alpha (0), beta (1), rho (2) and nu (3).
+   *
+   * @param model  the SABR volatility function provider
+   * @param interpolator  the interpolator of the SABR parameter surfaces
+   * @param startParameters  the default start parameters
+   * @param fixedParameters  the parameters that are fixed at their start value
+   * @return the calibrator
+   */
+  public static SabrSwaptionCubeCalibrator of(
+      VolatilityFunctionProvider<SabrFormulaData> model,
+      GridInterpolator2D interpolator,
+      SabrFormulaData startParameters,
+      BitSet fixedParameters) {
+
+    return new SabrSwaptionCubeCalibrator(model, interpolator, startParameters, fixedParameters);
+  }
+
+  // restricted constructor
+  private SabrSwaptionCubeCalibrator(
+      VolatilityFunctionProvider<SabrFormulaData> model,
+      GridInterpolator2D interpolator,
+      SabrFormulaData startParameters,
+      BitSet fixedParameters) {
+
+    this.model = ArgChecker.notNull(model, "model");
+    this.interpolator = ArgChecker.notNull(interpolator, "interpolator");
+    this.startParameters = ArgChecker.notNull(startParameters, "startParameters");
+    this.fixedParameters = (BitSet) ArgChecker.notNull(fixedParameters, "fixedParameters").clone();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the SABR cube to the market smiles.
+   * <p>
+   * The nodes of each tenor are warm-started from the previous expiry of the same tenor.
+   * The executor is used to fit the tenors concurrently.
+   * Use {@code Runnable::run} as the executor to calibrate on the calling thread.
+   *
+   * @param smiles  the market smile of each node
+   * @param convention  the swap convention of the underlying swaps
+   * @param valuationDateTime  the valuation date-time
+   * @param dayCount  the day count used to compute the expiry of the swaptions
+   * @param executor  the executor used to fit the nodes
+   * @return the calibrated volatilities and the result of the fit of each node
+   * @throws RuntimeException if a node cannot be fitted
+   */
+  public SabrSwaptionCubeCalibration calibrate(
+      List<SwaptionVolatilitySmile> smiles,
+      FixedIborSwapConvention convention,
+      ZonedDateTime valuationDateTime,
+      DayCount dayCount,
+      Executor executor) {
+
+    ArgChecker.notNull(convention, "convention");
+    ArgChecker.notNull(valuationDateTime, "valuationDateTime");
+    ArgChecker.notNull(dayCount, "dayCount");
+    return calibrate(smiles, convention, valuationDateTime, dayCount, null, executor);
+  }
+
+  /**
+   * Recalibrates the SABR cube to the market smiles, starting from previously calibrated volatilities.
+   * <p>
+   * Each node is warm-started from the parameters of the previous volatilities at the node,
+   * for example the calibration of the previous day. The convention and day count of the
+   * previous volatilities are used. The executor is used to fit all the nodes concurrently.
+   *
+   * @param previous  the previously calibrated volatilities
+   * @param smiles  the market smile of each node
+   * @param valuationDateTime  the valuation date-time
+   * @param executor  the executor used to fit the nodes
+   * @return the calibrated volatilities and the result of the fit of each node
+   * @throws RuntimeException if a node cannot be fitted
+   */
+  public SabrSwaptionCubeCalibration recalibrate(
+      SabrParametersSwaptionVolatilities previous,
+      List<SwaptionVolatilitySmile> smiles,
+      ZonedDateTime valuationDateTime,
+      Executor executor) {
+
+    ArgChecker.notNull(previous, "previous");
+    ArgChecker.notNull(valuationDateTime, "valuationDateTime");
+    return calibrate(
+        smiles,
+        previous.getConvention(),
+        valuationDateTime,
+        previous.getDayCount(),
+        previous.getParameters(),
+        executor);
+  }
+
+  // calibrates the nodes, warm-starting from the previous parameters if not null
+  private SabrSwaptionCubeCalibration calibrate(
+      List<SwaptionVolatilitySmile> smiles,
+      FixedIborSwapConvention convention,
+      ZonedDateTime valuationDateTime,
+      DayCount dayCount,
+      SabrInterestRateParameters previous,
+      Executor executor) {
+
+    ArgChecker.notEmpty(smiles, "smiles");
+    ArgChecker.notNull(executor, "executor");
+    List<List<Integer>> chains = chains(smiles, previous != null);
+    List<CompletableFuture<List<SabrSwaptionNodeCalibration>>> futures = new ArrayList<>(chains.size());
+    for (List<Integer> chain : chains) {
+      futures.add(CompletableFuture.supplyAsync(() -> calibrateChain(smiles, chain, previous), executor));
+    }
+    SabrSwaptionNodeCalibration[] nodes = new SabrSwaptionNodeCalibration[smiles.size()];
+    for (int i = 0; i < chains.size(); i++) {
+      List<SabrSwaptionNodeCalibration> fitted = join(futures.get(i));
+      List<Integer> chain = chains.get(i);
+      for (int j = 0; j < chain.size(); j++) {
+        nodes[chain.get(j)] = fitted.get(j);
+      }
+    }
+    SabrParametersSwaptionVolatilities volatilities =
+        SabrParametersSwaptionVolatilities.of(parameters(nodes, convention), convention, valuationDateTime, dayCount);
+    return SabrSwaptionCubeCalibration.of(volatilities, Arrays.asList(nodes));
+  }
+
+  // the indices of the smiles in each chain of nodes, each node warm-started from the previous node in the chain
+  private static List<List<Integer>> chains(List<SwaptionVolatilitySmile> smiles, boolean independent) {
+    List<List<Integer>> chains = new ArrayList<>();
+    if (independent) {
+      for (int i = 0; i < smiles.size(); i++) {
+        chains.add(Arrays.asList(i));
+      }
+      return chains;
+    }
+    Map<Double, List<Integer>> byTenor = new TreeMap<>();
+    for (int i = 0; i < smiles.size(); i++) {
+      byTenor.computeIfAbsent(smiles.get(i).getTenor(), tenor -> new ArrayList<>()).add(i);
+    }
+    for (List<Integer> chain : byTenor.values()) {
+      chain.sort(Comparator.comparingDouble(i -> smiles.get(i).getExpiry()));
+      chains.add(chain);
+    }
+    return chains;
+  }
+
+  // fits the nodes of a chain in turn
+  private List<SabrSwaptionNodeCalibration> calibrateChain(
+      List<SwaptionVolatilitySmile> smiles,
+      List<Integer> chain,
+      SabrInterestRateParameters previous) {
+
+    List<SabrSwaptionNodeCalibration> fitted = new ArrayList<>(chain.size());
+    SabrFormulaData neighbour = null;
+    for (int index : chain) {
+      SwaptionVolatilitySmile smile = smiles.get(index);
+      SabrFormulaData warmStart = neighbour;
+      if (previous != null) {
+        double expiry = smile.getExpiry();
+        double tenor = smile.getTenor();
+        warmStart = SabrFormulaData.of(
+            previous.alpha(expiry, tenor), previous.beta(expiry, tenor),
+            previous.rho(expiry, tenor), previous.nu(expiry, tenor));
+      }
+      SabrSwaptionNodeCalibration node = calibrateNode(smile, warmStart);
+      fitted.add(node);
+      neighbour = node.getParameters();
+    }
+    return fitted;
+  }
+
+  // fits a single node, from the warm start if not null
+  SabrSwaptionNodeCalibration calibrateNode(SwaptionVolatilitySmile smile, SabrFormulaData warmStart) {
+    long start = System.nanoTime();
+    double forward = smile.getForward();
+    double expiry = smile.getExpiry();
+    DoubleArray strikes = smile.getStrikes();
+    DoubleArray marketVols = smile.getVolatilities();
+    SabrModelFitter fitter = new SabrModelFitter(
+        forward, strikes, expiry, marketVols, DoubleArray.filled(strikes.size(), ERROR), model);
+    LeastSquareResultsWithTransform result;
+    if (warmStart == null) {
+      result = fitter.solve(startParameters.getParameters(), (BitSet) fixedParameters.clone());
+    } else {
+      DoubleArray warmStartValues = DoubleArray.of(
+          startParameters.getNumberOfParameters(),
+          i -> fixedParameters.get(i) ? startParameters.getParameter(i) : warmStart.getParameter(i));
+      try {
+        result = fitter.solve(warmStartValues, (BitSet) fixedParameters.clone());
+      } catch (RuntimeException ex) {
+        // the warm start may be far from the solution if the market has moved significantly
+        result = fitter.solve(startParameters.getParameters(), (BitSet) fixedParameters.clone());
+      }
+    }
+    SabrFormulaData parameters = fitter.toSmileModelData(result.getModelParameters());
+    DoubleArray residuals = DoubleArray.of(
+        strikes.size(),
+        i -> model.getVolatility(forward, strikes.get(i), expiry, parameters) - marketVols.get(i));
+    Duration fitTime = Duration.ofNanos(System.nanoTime() - start);
+    return SabrSwaptionNodeCalibration.of(
+        expiry, smile.getTenor(), parameters, result.getChiSq(), residuals, fitTime);
+  }
+
+  //-------------------------------------------------------------------------
+  // combines the parameters of the nodes into surfaces
+  private SabrInterestRateParameters parameters(
+      SabrSwaptionNodeCalibration[] nodes,
+      FixedIborSwapConvention convention) {
+
+    int size = nodes.length;
+    DoubleArray expiries = DoubleArray.of(size, i -> nodes[i].getExpiry());
+    DoubleArray tenors = DoubleArray.of(size, i -> nodes[i].getTenor());
+    List<SurfaceParameterMetadata> parameterMetadata = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      parameterMetadata.add(SwaptionSurfaceExpiryTenorNodeMetadata.of(expiries.get(i), tenors.get(i)));
+    }
+    String prefix = convention.getName() + "-SABR-";
+    return SabrInterestRateParameters.of(
+        surface(prefix + "Alpha", expiries, tenors, nodes, SabrFormulaData::getAlpha, parameterMetadata),
+        surface(prefix + "Beta", expiries, tenors, nodes, SabrFormulaData::getBeta, parameterMetadata),
+        surface(prefix + "Rho", expiries, tenors, nodes, SabrFormulaData::getRho, parameterMetadata),
+        surface(prefix + "Nu", expiries, tenors, nodes, SabrFormulaData::getNu, parameterMetadata),
+        model);
+  }
+
+  // creates the surface of a single SABR parameter
+  private InterpolatedNodalSurface surface(
+      String name,
+      DoubleArray expiries,
+      DoubleArray tenors,
+      SabrSwaptionNodeCalibration[] nodes,
+      ToDoubleFunction<SabrFormulaData> parameterFn,
+      List<SurfaceParameterMetadata> parameterMetadata) {
+
+    DefaultSurfaceMetadata metadata = DefaultSurfaceMetadata.builder()
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.of("Tenor"))
+        .zValueType(ValueType.of("SABRParameter"))
+        .surfaceName(SurfaceName.of(name))
+        .parameterMetadata(parameterMetadata)
+        .build();
+    DoubleArray values = DoubleArray.of(nodes.length, i -> parameterFn.applyAsDouble(nodes[i].getParameters()));
+    return InterpolatedNodalSurface.of(metadata, expiries, tenors, values, interpolator);
+  }
+
+}
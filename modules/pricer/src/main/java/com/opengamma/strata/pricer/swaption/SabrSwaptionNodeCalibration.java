@@ -0,0 +1,256 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.impl.volatility.smile.function.SabrFormulaData;
+
+/**
+ * The result of calibrating the SABR model to the smile of a single expiry/tenor node.
+ * <p>
+ * This holds the calibrated parameters together with the quality of the fit and the time taken.
+ */
+@BeanDefinition(style = "light")
+public final class SabrSwaptionNodeCalibration implements ImmutableBean {
+
+  /**
+   * The time to expiry of the node as a year fraction.
+   */
+  @PropertyDefinition
+  private final double expiry;
+  /**
+   * The tenor of the node as a year fraction.
+   */
+  @PropertyDefinition
+  private final double tenor;
+  /**
+   * The calibrated SABR parameters.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final SabrFormulaData parameters;
+  /**
+   * The chi-square of the fit.
+   * <p>
+   * This is the sum of the squares of the residuals, each divided by the measurement error.
+   */
+  @PropertyDefinition
+  private final double chiSquare;
+  /**
+   * The residuals of the fit.
+   * <p>
+   * There is one residual for each strike of the smile,
+   * equal to the model volatility less the market volatility.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray residuals;
+  /**
+   * The time taken to fit the node.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Duration fitTime;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param expiry  the time to expiry as a year fraction
+   * @param tenor  the tenor as a year fraction
+   * @param parameters  the calibrated parameters
+   * @param chiSquare  the chi-square of the fit
+   * @param residuals  the residuals of the fit
+   * @param fitTime  the time taken to fit the node
+   * @return the node calibration
+   */
+  public static SabrSwaptionNodeCalibration of(
+      double expiry,
+      double tenor,
+      SabrFormulaData parameters,
+      double chiSquare,
+      DoubleArray residuals,
+      Duration fitTime) {
+
+    return new SabrSwaptionNodeCalibration(expiry, tenor, parameters, chiSquare, residuals, fitTime);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the largest absolute residual of the fit.
+   *
+   * @return the largest absolute residual
+   */
+  public double getMaxAbsResidual() {
+    return residuals.map(Math::abs).max();
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SabrSwaptionNodeCalibration}.
+   */
+  private static MetaBean META_BEAN = LightMetaBean.of(SabrSwaptionNodeCalibration.class);
+
+  /**
+   * The meta-bean for {@code SabrSwaptionNodeCalibration}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  private SabrSwaptionNodeCalibration(
+      double expiry,
+      double tenor,
+      SabrFormulaData parameters,
+      double chiSquare,
+      DoubleArray residuals,
+      Duration fitTime) {
+    JodaBeanUtils.notNull(parameters, "parameters");
+    JodaBeanUtils.notNull(residuals, "residuals");
+    JodaBeanUtils.notNull(fitTime, "fitTime");
+    this.expiry = expiry;
+    this.tenor = tenor;
+    this.parameters = parameters;
+    this.chiSquare = chiSquare;
+    this.residuals = residuals;
+    this.fitTime = fitTime;
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time to expiry of the node as a year fraction.
+   * @return the value of the property
+   */
+  public double getExpiry() {
+    return expiry;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the tenor of the node as a year fraction.
+   * @return the value of the property
+   */
+  public double getTenor() {
+    return tenor;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the calibrated SABR parameters.
+   * @return the value of the property, not null
+   */
+  public SabrFormulaData getParameters() {
+    return parameters;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the chi-square of the fit.
+   * <p>
+   * This is the sum of the squares of the residuals, each divided by the measurement error.
+   * @return the value of the property
+   */
+  public double getChiSquare() {
+    return chiSquare;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the residuals of the fit.
+   * <p>
+   * There is one residual for each strike of the smile,
+   * equal to the model volatility less the market volatility.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getResiduals() {
+    return residuals;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time taken to fit the node.
+   * @return the value of the property, not null
+   */
+  public Duration getFitTime() {
+    return fitTime;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SabrSwaptionNodeCalibration other = (SabrSwaptionNodeCalibration) obj;
+      return JodaBeanUtils.equal(expiry, other.expiry) &&
+          JodaBeanUtils.equal(tenor, other.tenor) &&
+          JodaBeanUtils.equal(parameters, other.parameters) &&
+          JodaBeanUtils.equal(chiSquare, other.chiSquare) &&
+          JodaBeanUtils.equal(residuals, other.residuals) &&
+          JodaBeanUtils.equal(fitTime, other.fitTime);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(expiry);
+    hash = hash * 31 + JodaBeanUtils.hashCode(tenor);
+    hash = hash * 31 + JodaBeanUtils.hashCode(parameters);
+    hash = hash * 31 + JodaBeanUtils.hashCode(chiSquare);
+    hash = hash * 31 + JodaBeanUtils.hashCode(residuals);
+    hash = hash * 31 + JodaBeanUtils.hashCode(fitTime);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(224);
+    buf.append("SabrSwaptionNodeCalibration{");
+    buf.append("expiry").append('=').append(expiry).append(',').append(' ');
+    buf.append("tenor").append('=').append(tenor).append(',').append(' ');
+    buf.append("parameters").append('=').append(parameters).append(',').append(' ');
+    buf.append("chiSquare").append('=').append(chiSquare).append(',').append(' ');
+    buf.append("residuals").append('=').append(residuals).append(',').append(' ');
+    buf.append("fitTime").append('=').append(JodaBeanUtils.toString(fitTime));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,228 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.util.Set;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableValidator;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The market smile of swaptions with a single expiry and swap tenor.
+ * <p>
+ * The smile is defined by the forward swap rate and the log-normal (Black) implied volatility
+ * of the swaptions for a set of strikes. This is the input to a SABR cube calibration,
+ * with one smile for each expiry/tenor node of the cube.
+ */
+@BeanDefinition(style = "light")
+public final class SwaptionVolatilitySmile implements ImmutableBean {
+
+  /**
+   * The time to expiry of the swaptions as a year fraction.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final double expiry;
+  /**
+   * The tenor of the underlying swap as a year fraction.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
+  private final double tenor;
+  /**
+   * The forward swap rate.
+   */
+  @PropertyDefinition
+  private final double forward;
+  /**
+   * The strikes of the swaptions.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray strikes;
+  /**
+   * The log-normal (Black) implied volatilities of the swaptions.
+   * <p>
+   * There is one volatility for each strike.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray volatilities;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the expiry, tenor, forward and the implied volatility for each strike.
+   *
+   * @param expiry  the time to expiry as a year fraction
+   * @param tenor  the tenor of the underlying swap as a year fraction
+   * @param forward  the forward swap rate
+   * @param strikes  the strikes
+   * @param volatilities  the log-normal implied volatilities, one for each strike
+   * @return the smile
+   */
+  public static SwaptionVolatilitySmile of(
+      double expiry,
+      double tenor,
+      double forward,
+      DoubleArray strikes,
+      DoubleArray volatilities) {
+
+    return new SwaptionVolatilitySmile(expiry, tenor, forward, strikes, volatilities);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    ArgChecker.isTrue(strikes.size() == volatilities.size(), "Strikes and volatilities must have the same size");
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SwaptionVolatilitySmile}.
+   */
+  private static MetaBean META_BEAN = LightMetaBean.of(SwaptionVolatilitySmile.class);
+
+  /**
+   * The meta-bean for {@code SwaptionVolatilitySmile}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  private SwaptionVolatilitySmile(
+      double expiry,
+      double tenor,
+      double forward,
+      DoubleArray strikes,
+      DoubleArray volatilities) {
+    ArgChecker.notNegative(expiry, "expiry");
+    ArgChecker.notNegativeOrZero(tenor, "tenor");
+    JodaBeanUtils.notNull(strikes, "strikes");
+    JodaBeanUtils.notNull(volatilities, "volatilities");
+    this.expiry = expiry;
+    this.tenor = tenor;
+    this.forward = forward;
+    this.strikes = strikes;
+    this.volatilities = volatilities;
+    validate();
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time to expiry of the swaptions as a year fraction.
+   * @return the value of the property
+   */
+  public double getExpiry() {
+    return expiry;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the tenor of the underlying swap as a year fraction.
+   * @return the value of the property
+   */
+  public double getTenor() {
+    return tenor;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the forward swap rate.
+   * @return the value of the property
+   */
+  public double getForward() {
+    return forward;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the strikes of the swaptions.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getStrikes() {
+    return strikes;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the log-normal (Black) implied volatilities of the swaptions.
+   * <p>
+   * There is one volatility for each strike.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getVolatilities() {
+    return volatilities;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SwaptionVolatilitySmile other = (SwaptionVolatilitySmile) obj;
+      return JodaBeanUtils.equal(expiry, other.expiry) &&
+          JodaBeanUtils.equal(tenor, other.tenor) &&
+          JodaBeanUtils.equal(forward, other.forward) &&
+          JodaBeanUtils.equal(strikes, other.strikes) &&
+          JodaBeanUtils.equal(volatilities, other.volatilities);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(expiry);
+    hash = hash * 31 + JodaBeanUtils.hashCode(tenor);
+    hash = hash * 31 + JodaBeanUtils.hashCode(forward);
+    hash = hash * 31 + JodaBeanUtils.hashCode(strikes);
+    hash = hash * 31 + JodaBeanUtils.hashCode(volatilities);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(192);
+    buf.append("SwaptionVolatilitySmile{");
+    buf.append("expiry").append('=').append(expiry).append(',').append(' ');
+    buf.append("tenor").append('=').append(tenor).append(',').append(' ');
+    buf.append("forward").append('=').append(forward).append(',').append(' ');
+    buf.append("strikes").append('=').append(strikes).append(',').append(' ');
+    buf.append("volatilities").append('=').append(JodaBeanUtils.toString(volatilities));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
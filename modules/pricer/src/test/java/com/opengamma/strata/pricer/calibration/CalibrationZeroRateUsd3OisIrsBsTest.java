@@ -17,6 +17,7 @@ import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.US
 import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
 import static com.opengamma.strata.product.swap.type.IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -31,6 +32,7 @@ import java.util.function.Function;
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.BuySell;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
@@ -46,6 +48,7 @@ import com.opengamma.strata.basics.market.MarketData;
 import com.opengamma.strata.basics.market.MarketDataKey;
 import com.opengamma.strata.basics.market.ReferenceData;
 import com.opengamma.strata.basics.market.StandardId;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.CurveCurrencyParameterSensitivities;
@@ -56,6 +59,7 @@ import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.DefaultCurveMetadata;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.curve.node.FixedIborSwapCurveNode;
 import com.opengamma.strata.market.curve.node.FixedOvernightSwapCurveNode;
 import com.opengamma.strata.market.curve.node.FraCurveNode;
@@ -394,6 +398,28 @@ public class CalibrationZeroRateUsd3OisIrsBsTest {
     calibration_market_quote_sensitivity_check(calibrator, shift);
   }
 
+  public void recalibration_three_groups() {
+    List<CurveGroupDefinition> groups = ImmutableList.of(GROUP_1, GROUP_2, GROUP_3);
+    ImmutableRatesProvider previous = CALIBRATOR.calibrate(groups, KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    // no change
+    ImmutableRatesProvider unchanged =
+        CALIBRATOR.recalibrate(groups, KNOWN_DATA, previous, ALL_QUOTES, REF_DATA, ImmutableSet.of());
+    assertEquals(unchanged, previous);
+    // change to a quote in the last group
+    QuoteKey changedKey = QuoteKey.of(StandardId.of(SCHEME, FWD6_ID_VALUE[1]));
+    Map<MarketDataKey<?>, Object> map = new HashMap<>(ALL_QUOTES.getValues());
+    map.put(changedKey, FWD6_MARKET_QUOTES[1] + 1.0E-4);
+    ImmutableMarketData marketData = ImmutableMarketData.of(VAL_DATE, map);
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(groups, KNOWN_DATA, marketData, REF_DATA);
+    ImmutableRatesProvider result =
+        CALIBRATOR.recalibrate(groups, KNOWN_DATA, previous, marketData, REF_DATA, ImmutableSet.of(changedKey));
+    assertEquals(result.getDiscountCurves().get(USD), previous.getDiscountCurves().get(USD));
+    assertEquals(result.getIndexCurves().get(USD_LIBOR_3M), previous.getIndexCurves().get(USD_LIBOR_3M));
+    DoubleArray expectedFwd6 = ((NodalCurve) expected.getIndexCurves().get(USD_LIBOR_6M)).getYValues();
+    DoubleArray resultFwd6 = ((NodalCurve) result.getIndexCurves().get(USD_LIBOR_6M)).getYValues();
+    assertTrue(resultFwd6.equalWithTolerance(expectedFwd6, 1.0E-8));
+  }
+
   private void calibration_market_quote_sensitivity_check(
       Function<MarketData, ImmutableRatesProvider> calibrator,
       double shift) {
@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.calibration;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.market.ImmutableMarketData;
+import com.opengamma.strata.basics.market.ImmutableMarketDataBuilder;
+import com.opengamma.strata.basics.market.ReferenceData;
+import com.opengamma.strata.basics.market.StandardId;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveNode;
+import com.opengamma.strata.market.curve.CurveParameterSize;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.curve.node.FixedIborSwapCurveNode;
+import com.opengamma.strata.market.curve.node.FraCurveNode;
+import com.opengamma.strata.market.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.key.QuoteKey;
+import com.opengamma.strata.math.impl.linearalgebra.DecompositionFactory;
+import com.opengamma.strata.math.impl.rootfinding.newton.BroydenVectorRootFinder;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.ResolvedTrade;
+import com.opengamma.strata.product.fra.type.FraTemplate;
+import com.opengamma.strata.product.swap.type.FixedIborSwapTemplate;
+
+/**
+ * Test {@link MemoizingRatesProviderGenerator}.
+ */
+@Test
+public class MemoizingRatesProviderGeneratorTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2015, 7, 21);
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final String SCHEME = "CALIBRATION";
+  private static final CurveName CURVE_NAME = CurveName.of("USD-ALL");
+  private static final double[] QUOTES = {0.0420, 0.0420, 0.0430, 0.0470, 0.0540, 0.0570, 0.0600};
+  private static final Period[] FRA_TENORS = {Period.ofMonths(3), Period.ofMonths(6)};
+  private static final Period[] IRS_TENORS =
+      {Period.ofYears(2), Period.ofYears(3), Period.ofYears(5), Period.ofYears(7), Period.ofYears(10)};
+  private static final CurveNode[] NODES = new CurveNode[QUOTES.length];
+  private static final ImmutableMarketData MARKET_DATA;
+  static {
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(VAL_DATE);
+    for (int i = 0; i < QUOTES.length; i++) {
+      QuoteKey key = QuoteKey.of(StandardId.of(SCHEME, "Node" + i));
+      NODES[i] = i < FRA_TENORS.length ?
+          FraCurveNode.of(FraTemplate.of(FRA_TENORS[i], USD_LIBOR_3M), key) :
+          FixedIborSwapCurveNode.of(
+              FixedIborSwapTemplate.of(
+                  Period.ZERO, Tenor.of(IRS_TENORS[i - FRA_TENORS.length]), USD_FIXED_6M_LIBOR_3M),
+              key);
+      builder.addValue(key, QUOTES[i]);
+    }
+    MARKET_DATA = builder.build();
+  }
+  private static final InterpolatedNodalCurveDefinition CURVE_DEFN = InterpolatedNodalCurveDefinition.builder()
+      .name(CURVE_NAME)
+      .xValueType(ValueType.YEAR_FRACTION)
+      .yValueType(ValueType.ZERO_RATE)
+      .dayCount(ACT_365F)
+      .interpolator(CurveInterpolators.LINEAR)
+      .extrapolatorLeft(CurveExtrapolators.FLAT)
+      .extrapolatorRight(CurveExtrapolators.FLAT)
+      .nodes(NODES)
+      .build();
+  private static final CurveGroupDefinition GROUP_DEFN = CurveGroupDefinition.builder()
+      .name(CurveGroupName.of("USD-SINGLE"))
+      .addCurve(CURVE_DEFN, USD, USD_LIBOR_3M)
+      .build();
+  private static final Map<Index, LocalDateDoubleTimeSeries> TS =
+      ImmutableMap.of(USD_LIBOR_3M, LocalDateDoubleTimeSeries.empty());
+  private static final ImmutableRatesProvider KNOWN_PROVIDER = ImmutableRatesProvider.builder(VAL_DATE)
+      .fxRateProvider(new MarketDataFxRateProvider(MARKET_DATA))
+      .timeSeries(TS)
+      .build();
+  private static final ImmutableList<ResolvedTrade> TRADES =
+      GROUP_DEFN.resolvedTrades(VAL_DATE, MARKET_DATA, REF_DATA);
+  private static final ImmutableList<CurveParameterSize> ORDER = ImmutableList.of(CURVE_DEFN.toCurveParameterSize());
+  private static final DoubleArray PARAMETERS = DoubleArray.of(QUOTES.length, i -> 0.01 + 0.005 * i);
+
+  //-------------------------------------------------------------------------
+  public void test_generate_cacheHit() {
+    AtomicInteger count = new AtomicInteger();
+    MemoizingRatesProviderGenerator test = new MemoizingRatesProviderGenerator(countingGenerator(count));
+    ImmutableRatesProvider first = test.generate(PARAMETERS);
+    ImmutableRatesProvider second = test.generate(DoubleArray.copyOf(PARAMETERS.toArray()));
+    ImmutableRatesProvider third = test.generate(PARAMETERS, ImmutableMap.of());
+    assertEquals(count.get(), 1);
+    assertSame(second, first);
+    assertSame(third, first);
+  }
+
+  public void test_generate_cacheMiss() {
+    AtomicInteger count = new AtomicInteger();
+    MemoizingRatesProviderGenerator test = new MemoizingRatesProviderGenerator(countingGenerator(count));
+    ImmutableRatesProvider first = test.generate(PARAMETERS);
+    ImmutableRatesProvider second = test.generate(PARAMETERS.with(0, 0.02));
+    assertEquals(count.get(), 2);
+    assertNotSame(second, first);
+    assertEquals(second, baseGenerator().generate(PARAMETERS.with(0, 0.02)));
+    // the last provider replaces the previous one
+    test.generate(PARAMETERS);
+    assertEquals(count.get(), 3);
+  }
+
+  public void test_generate_withJacobians() {
+    AtomicInteger count = new AtomicInteger();
+    MemoizingRatesProviderGenerator test = new MemoizingRatesProviderGenerator(countingGenerator(count));
+    Map<CurveName, JacobianCalibrationMatrix> jacobians = ImmutableMap.of(
+        CURVE_NAME, JacobianCalibrationMatrix.of(ORDER, DoubleMatrix.identity(QUOTES.length)));
+    test.generate(PARAMETERS);
+    ImmutableRatesProvider result = test.generate(PARAMETERS, jacobians);
+    assertEquals(count.get(), 2);
+    assertEquals(result, baseGenerator().generate(PARAMETERS, jacobians));
+  }
+
+  public void test_valueAndDerivative_shareProvider() {
+    AtomicInteger count = new AtomicInteger();
+    MemoizingRatesProviderGenerator generator = new MemoizingRatesProviderGenerator(countingGenerator(count));
+    CalibrationValue value = new CalibrationValue(TRADES, CalibrationMeasures.PAR_SPREAD, generator);
+    CalibrationDerivative derivative =
+        new CalibrationDerivative(TRADES, CalibrationMeasures.PAR_SPREAD, generator, ORDER);
+    DoubleArray computedValue = value.apply(PARAMETERS);
+    DoubleMatrix computedDerivative = derivative.apply(PARAMETERS);
+    assertEquals(count.get(), 1);
+    RatesProviderGenerator base = baseGenerator();
+    assertEquals(computedValue, new CalibrationValue(TRADES, CalibrationMeasures.PAR_SPREAD, base).apply(PARAMETERS));
+    assertEquals(
+        computedDerivative,
+        new CalibrationDerivative(TRADES, CalibrationMeasures.PAR_SPREAD, base, ORDER).apply(PARAMETERS));
+  }
+
+  public void test_calibration_unchanged() {
+    BroydenVectorRootFinder rootFinder = new BroydenVectorRootFinder(
+        1e-9, 1e-9, 100, DecompositionFactory.getDecomposition(DecompositionFactory.SV_COMMONS_NAME));
+    DoubleArray guess = DoubleArray.copyOf(GROUP_DEFN.initialGuesses(VAL_DATE, MARKET_DATA));
+    RatesProviderGenerator base = baseGenerator();
+    DoubleArray expected = rootFinder.getRoot(
+        new CalibrationValue(TRADES, CalibrationMeasures.PAR_SPREAD, base),
+        new CalibrationDerivative(TRADES, CalibrationMeasures.PAR_SPREAD, base, ORDER),
+        guess);
+    RatesProviderGenerator memoizing = new MemoizingRatesProviderGenerator(baseGenerator());
+    DoubleArray computed = rootFinder.getRoot(
+        new CalibrationValue(TRADES, CalibrationMeasures.PAR_SPREAD, memoizing),
+        new CalibrationDerivative(TRADES, CalibrationMeasures.PAR_SPREAD, memoizing, ORDER),
+        guess);
+    assertEquals(computed, expected);
+    // the calibrator uses the memoizing generator internally
+    ImmutableRatesProvider calibrated =
+        CurveCalibrator.of(1e-9, 1e-9, 100).calibrate(GROUP_DEFN, VAL_DATE, MARKET_DATA, REF_DATA, TS);
+    InterpolatedNodalCurve curve = (InterpolatedNodalCurve) calibrated.getDiscountCurves().get(USD);
+    assertEquals(curve.getYValues(), expected);
+  }
+
+  //-------------------------------------------------------------------------
+  private static RatesProviderGenerator baseGenerator() {
+    return ImmutableRatesProviderGenerator.of(KNOWN_PROVIDER, GROUP_DEFN, REF_DATA);
+  }
+
+  private static RatesProviderGenerator countingGenerator(AtomicInteger count) {
+    RatesProviderGenerator base = baseGenerator();
+    return (parameters, jacobians) -> {
+      count.incrementAndGet();
+      return base.generate(parameters, jacobians);
+    };
+  }
+
+}
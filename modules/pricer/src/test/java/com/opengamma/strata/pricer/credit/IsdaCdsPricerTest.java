@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.market.ReferenceData;
+import com.opengamma.strata.basics.market.StandardId;
+import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.IsdaCreditCurveInputs;
+import com.opengamma.strata.market.curve.IsdaYieldCurveInputs;
+import com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType;
+import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.RestructuringClause;
+import com.opengamma.strata.product.credit.SeniorityLevel;
+import com.opengamma.strata.product.credit.SingleNameReferenceInformation;
+import com.opengamma.strata.product.credit.type.CdsConvention;
+import com.opengamma.strata.product.credit.type.CdsConventions;
+import com.opengamma.strata.product.credit.type.IsdaYieldCurveConventions;
+
+/**
+ * Test {@link IsdaCdsPricer}.
+ */
+@Test
+public class IsdaCdsPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final IsdaCdsPricer PRICER = IsdaCdsPricer.DEFAULT;
+  private static final LocalDate VAL_DATE = date(2014, 10, 16);
+  private static final double RECOVERY_RATE = 0.4;
+  private static final double NOTIONAL = 100_000_000d;
+  private static final double TOL = 1e-12 * NOTIONAL;
+  private static final CdsConvention CONVENTION = CdsConventions.USD_NORTH_AMERICAN;
+  private static final SingleNameReferenceInformation REF_INFO = SingleNameReferenceInformation.of(
+      StandardId.of("OG", "ABC"),
+      SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+      Currency.USD,
+      RestructuringClause.NO_RESTRUCTURING_2014);
+  private static final IsdaYieldCurveInputs YIELD_INPUTS = yieldCurveInputs();
+  private static final IsdaCreditCurveInputs CREDIT_INPUTS = creditCurveInputs();
+
+  private static IsdaYieldCurveInputs yieldCurveInputs() {
+    Period[] periods = {
+        Period.ofMonths(1), Period.ofMonths(3), Period.ofMonths(6), Period.ofYears(1),
+        Period.ofYears(2), Period.ofYears(5), Period.ofYears(10)};
+    LocalDate[] endDates = Arrays.stream(periods).map(VAL_DATE::plus).toArray(LocalDate[]::new);
+    IsdaYieldCurveUnderlyingType[] types = Arrays.stream(periods)
+        .map(p -> p.getYears() < 2 ?
+            IsdaYieldCurveUnderlyingType.ISDA_MONEY_MARKET :
+            IsdaYieldCurveUnderlyingType.ISDA_SWAP)
+        .toArray(IsdaYieldCurveUnderlyingType[]::new);
+    double[] rates = {0.001535, 0.002281, 0.003217, 0.005444, 0.005905, 0.015395, 0.022940};
+    return IsdaYieldCurveInputs.of(
+        CurveName.of("Yield"), periods, endDates, types, rates, IsdaYieldCurveConventions.USD_ISDA);
+  }
+
+  private static IsdaCreditCurveInputs creditCurveInputs() {
+    Period[] periods = {
+        Period.ofMonths(6), Period.ofYears(1), Period.ofYears(3), Period.ofYears(5), Period.ofYears(10)};
+    LocalDate[] endDates = Arrays.stream(periods)
+        .map(p -> CONVENTION.calculateUnadjustedMaturityDateFromValuationDate(VAL_DATE, p))
+        .toArray(LocalDate[]::new);
+    double[] rates = {0.0060, 0.0070, 0.0080, 0.0090, 0.0100};
+    return IsdaCreditCurveInputs.of(CurveName.of("Credit"), periods, endDates, rates, CONVENTION, 1d);
+  }
+
+  private static ResolvedCds cds(LocalDate startDate, LocalDate endDate, BuySell buySell, double coupon) {
+    return CONVENTION.toTrade(startDate, endDate, buySell, NOTIONAL, coupon, REF_INFO, 1_000_000d, date(2014, 10, 21))
+        .getProduct()
+        .resolve(REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue_batch() {
+    LocalDate start = date(2014, 9, 22);
+    List<ResolvedCds> products = ImmutableList.of(
+        cds(start, date(2019, 12, 20), BuySell.BUY, 0.01),
+        cds(start, date(2015, 12, 20), BuySell.BUY, 0.01),
+        cds(start, date(2019, 12, 20), BuySell.SELL, 0.05),
+        cds(start, date(2016, 6, 20), BuySell.SELL, 0.01),
+        cds(start, date(2024, 12, 20), BuySell.BUY, 0.05),
+        // not on the same schedule as the others, thus priced individually
+        cds(start, date(2019, 11, 15), BuySell.BUY, 0.01),
+        cds(date(2014, 6, 20), date(2019, 12, 20), BuySell.BUY, 0.01));
+    List<CurrencyAmount> test = PRICER.presentValue(
+        products, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d);
+    assertEquals(test.size(), products.size());
+    for (int i = 0; i < products.size(); i++) {
+      CurrencyAmount expected = PRICER.presentValue(
+          products.get(i), YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d);
+      assertEquals(test.get(i).getCurrency(), expected.getCurrency());
+      assertEquals(test.get(i).getAmount(), expected.getAmount(), TOL);
+    }
+  }
+
+  public void test_presentValue_batch_offSchedule() {
+    // the schedule is generated forwards from the start, thus the shorter maturity is not a payment date
+    LocalDate start = date(2014, 9, 22);
+    List<ResolvedCds> products = ImmutableList.of(
+        cds(start, date(2019, 12, 20), BuySell.BUY, 0.01).toBuilder()
+            .stubConvention(StubConvention.SHORT_FINAL)
+            .build(),
+        cds(start, date(2020, 12, 20), BuySell.SELL, 0.05).toBuilder()
+            .stubConvention(StubConvention.SHORT_FINAL)
+            .build());
+    List<CurrencyAmount> test = PRICER.presentValue(
+        products, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d);
+    for (int i = 0; i < products.size(); i++) {
+      CurrencyAmount expected = PRICER.presentValue(
+          products.get(i), YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d);
+      assertEquals(test.get(i), expected);
+    }
+  }
+
+  public void test_presentValue_batch_scalingFactor() {
+    LocalDate start = date(2014, 9, 22);
+    List<ResolvedCds> products = ImmutableList.of(
+        cds(start, date(2017, 12, 20), BuySell.BUY, 0.01),
+        cds(start, date(2019, 12, 20), BuySell.BUY, 0.01));
+    List<CurrencyAmount> test = PRICER.presentValue(
+        products, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 0.8);
+    for (int i = 0; i < products.size(); i++) {
+      CurrencyAmount expected = PRICER.presentValue(
+          products.get(i), YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 0.8);
+      assertEquals(test.get(i).getAmount(), expected.getAmount(), TOL);
+    }
+  }
+
+  public void test_presentValue_batch_single() {
+    ResolvedCds product = cds(date(2014, 9, 22), date(2019, 12, 20), BuySell.BUY, 0.01);
+    List<CurrencyAmount> test = PRICER.presentValue(
+        ImmutableList.of(product), YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d);
+    assertEquals(
+        test,
+        ImmutableList.of(PRICER.presentValue(product, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d)));
+  }
+
+  public void test_presentValue_batch_empty() {
+    List<CurrencyAmount> test = PRICER.presentValue(
+        ImmutableList.of(), YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d);
+    assertEquals(test, ImmutableList.of());
+  }
+
+}
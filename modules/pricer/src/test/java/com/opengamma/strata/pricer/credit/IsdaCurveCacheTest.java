@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.market.ReferenceData;
+import com.opengamma.strata.basics.market.StandardId;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.IsdaCreditCurveInputs;
+import com.opengamma.strata.market.curve.IsdaYieldCurveInputs;
+import com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.RestructuringClause;
+import com.opengamma.strata.product.credit.SeniorityLevel;
+import com.opengamma.strata.product.credit.SingleNameReferenceInformation;
+import com.opengamma.strata.product.credit.type.CdsConvention;
+import com.opengamma.strata.product.credit.type.CdsConventions;
+import com.opengamma.strata.product.credit.type.IsdaYieldCurveConventions;
+
+/**
+ * Test {@link IsdaCurveCache}.
+ */
+@Test
+public class IsdaCurveCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2014, 10, 16);
+  private static final double RECOVERY_RATE = 0.4;
+  private static final IsdaYieldCurveInputs YIELD_INPUTS = yieldCurveInputs();
+  private static final IsdaCreditCurveInputs CREDIT_INPUTS = creditCurveInputs(0.0080);
+  private static final ResolvedCds CDS = CdsConventions.USD_NORTH_AMERICAN.toTrade(
+      date(2014, 9, 22),
+      date(2019, 12, 20),
+      BuySell.BUY,
+      100_000_000d,
+      0.01,
+      SingleNameReferenceInformation.of(
+          StandardId.of("OG", "ABC"),
+          SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+          Currency.USD,
+          RestructuringClause.NO_RESTRUCTURING_2014),
+      1_000_000d,
+      date(2014, 10, 21))
+      .getProduct()
+      .resolve(REF_DATA);
+
+  private static IsdaYieldCurveInputs yieldCurveInputs() {
+    Period[] periods = {
+        Period.ofMonths(1), Period.ofMonths(3), Period.ofMonths(6), Period.ofYears(1),
+        Period.ofYears(2), Period.ofYears(5), Period.ofYears(10)};
+    LocalDate[] endDates = Arrays.stream(periods).map(VAL_DATE::plus).toArray(LocalDate[]::new);
+    IsdaYieldCurveUnderlyingType[] types = Arrays.stream(periods)
+        .map(p -> p.getYears() < 2 ?
+            IsdaYieldCurveUnderlyingType.ISDA_MONEY_MARKET :
+            IsdaYieldCurveUnderlyingType.ISDA_SWAP)
+        .toArray(IsdaYieldCurveUnderlyingType[]::new);
+    double[] rates = {0.001535, 0.002281, 0.003217, 0.005444, 0.005905, 0.015395, 0.022940};
+    return IsdaYieldCurveInputs.of(
+        CurveName.of("Yield"), periods, endDates, types, rates, IsdaYieldCurveConventions.USD_ISDA);
+  }
+
+  private static IsdaCreditCurveInputs creditCurveInputs(double parSpread) {
+    CdsConvention convention = CdsConventions.USD_NORTH_AMERICAN;
+    Period[] periods = {
+        Period.ofMonths(6), Period.ofYears(1), Period.ofYears(3), Period.ofYears(5), Period.ofYears(10)};
+    LocalDate[] endDates = Arrays.stream(periods)
+        .map(p -> convention.calculateUnadjustedMaturityDateFromValuationDate(VAL_DATE, p))
+        .toArray(LocalDate[]::new);
+    double[] rates = new double[periods.length];
+    Arrays.fill(rates, parSpread);
+    return IsdaCreditCurveInputs.of(CurveName.of("Credit"), periods, endDates, rates, convention, 1d);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    IsdaCurveCache test = IsdaCurveCache.of(10);
+    assertEquals(test.size(), 0);
+    assertEquals(test.getHitCount(), 0);
+    assertEquals(test.getMissCount(), 0);
+    assertThrowsIllegalArg(() -> IsdaCurveCache.of(0));
+    assertThrowsIllegalArg(() -> new IsdaCdsPricer(null));
+  }
+
+  public void test_yieldCurve() {
+    IsdaCurveCache test = IsdaCurveCache.of(10);
+    NodalCurve curve = test.yieldCurve(VAL_DATE, YIELD_INPUTS);
+    assertSame(test.yieldCurve(VAL_DATE, YIELD_INPUTS), curve);
+    assertSame(test.yieldCurve(VAL_DATE, yieldCurveInputs()), curve);
+    assertNotSame(test.yieldCurve(VAL_DATE.plusDays(1), YIELD_INPUTS), curve);
+    assertEquals(test.size(), 2);
+    assertEquals(test.getHitCount(), 2);
+    assertEquals(test.getMissCount(), 2);
+    assertEquals(curve.getYValues(), IsdaCdsPricer.ISDANodalCurve.of(VAL_DATE, YIELD_INPUTS).getYValues());
+  }
+
+  public void test_creditCurve() {
+    IsdaCurveCache test = IsdaCurveCache.of(10);
+    NodalCurve curve = test.creditCurve(VAL_DATE, YIELD_INPUTS, CREDIT_INPUTS, RECOVERY_RATE);
+    // the yield curve is cached when calibrating the credit curve
+    assertEquals(test.size(), 2);
+    assertSame(test.creditCurve(VAL_DATE, YIELD_INPUTS, creditCurveInputs(0.0080), RECOVERY_RATE), curve);
+    assertNotSame(test.creditCurve(VAL_DATE, YIELD_INPUTS, CREDIT_INPUTS, 0.3), curve);
+    assertNotSame(test.creditCurve(VAL_DATE, YIELD_INPUTS, creditCurveInputs(0.0090), RECOVERY_RATE), curve);
+    assertEquals(test.size(), 4);
+    NodalCurve yieldCurve = IsdaCdsPricer.ISDANodalCurve.of(VAL_DATE, YIELD_INPUTS);
+    assertEquals(
+        curve.getYValues(),
+        IsdaCdsPricer.ISDANodalCurve.of(VAL_DATE, CREDIT_INPUTS, yieldCurve, RECOVERY_RATE).getYValues());
+  }
+
+  public void test_clear() {
+    IsdaCurveCache test = IsdaCurveCache.of(10);
+    test.yieldCurve(VAL_DATE, YIELD_INPUTS);
+    test.clear();
+    assertEquals(test.size(), 0);
+    assertEquals(test.toString(), "IsdaCurveCache[size=0, hitCount=0, missCount=1, hitRate=0.0]");
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_pricer_cachedMatchesUncached() {
+    IsdaCurveCache cache = IsdaCurveCache.of(1000);
+    IsdaCdsPricer cached = new IsdaCdsPricer(cache);
+    IsdaCdsPricer uncached = IsdaCdsPricer.DEFAULT;
+    assertEquals(
+        cached.presentValue(CDS, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d),
+        uncached.presentValue(CDS, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d));
+    assertEquals(
+        cached.cs01BucketedPar(CDS, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d),
+        uncached.cs01BucketedPar(CDS, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d));
+    assertEquals(
+        cached.ir01BucketedPar(CDS, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d),
+        uncached.ir01BucketedPar(CDS, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d));
+    assertEquals(
+        cached.cs01ParallelPar(CDS, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d),
+        uncached.cs01ParallelPar(CDS, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d));
+    assertEquals(
+        cached.recovery01(CDS, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d),
+        uncached.recovery01(CDS, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d));
+    // a second run calibrates no curves
+    long misses = cache.getMissCount();
+    cached.cs01BucketedPar(CDS, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d);
+    cached.ir01BucketedPar(CDS, YIELD_INPUTS, CREDIT_INPUTS, VAL_DATE, RECOVERY_RATE, 1d);
+    assertEquals(cache.getMissCount(), misses);
+    assertTrue(cache.getHitCount() > 0);
+  }
+
+}
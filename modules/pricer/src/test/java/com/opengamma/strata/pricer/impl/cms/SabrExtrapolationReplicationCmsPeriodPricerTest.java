@@ -697,6 +697,72 @@ public class SabrExtrapolationReplicationCmsPeriodPricerTest {
     return swap.resolve(REF_DATA);
   }
 
+  //-------------------------------------------------------------------------
+  private static final SabrExtrapolationReplicationCmsPeriodPricer PRICER_QUADRATURE =
+      SabrExtrapolationReplicationCmsPeriodPricer.ofQuadrature(
+          DiscountingSwapProductPricer.DEFAULT, CUT_OFF_STRIKE, MU, 32);
+  private static final double TOL_QUADRATURE = 1.0e-6;
+
+  public void test_quadrature_presentValue() {
+    CmsPeriod[] periods = new CmsPeriod[] {COUPON, CAPLET, FLOORLET, CAPLET_NEGATIVE, FLOORLET_NEGATIVE};
+    for (CmsPeriod period : periods) {
+      for (SabrParametersSwaptionVolatilities volatilities : new SabrParametersSwaptionVolatilities[] {
+          VOLATILITIES, VOLATILITIES_SHIFT}) {
+        if (period.getStrike() < 0d && volatilities == VOLATILITIES) {
+          continue;  // negative strikes require a shift
+        }
+        CurrencyAmount computed = PRICER_QUADRATURE.presentValue(period, RATES_PROVIDER, volatilities);
+        CurrencyAmount expected = PRICER.presentValue(period, RATES_PROVIDER, volatilities);
+        assertEquals(computed.getAmount(), expected.getAmount(), NOTIONAL * TOL_QUADRATURE);
+      }
+    }
+    // fixed periods do not use the replication
+    assertEquals(
+        PRICER_QUADRATURE.presentValue(COUPON, RATES_PROVIDER_AFTER_FIX, VOLATILITIES_AFTER_FIX),
+        PRICER.presentValue(COUPON, RATES_PROVIDER_AFTER_FIX, VOLATILITIES_AFTER_FIX));
+  }
+
+  public void test_quadrature_presentValueSensitivity() {
+    for (CmsPeriod period : new CmsPeriod[] {COUPON_SELL, CAPLET_SELL, FLOORLET_SELL}) {
+      CurveCurrencyParameterSensitivities computed = RATES_PROVIDER.curveParameterSensitivity(
+          PRICER_QUADRATURE.presentValueSensitivity(period, RATES_PROVIDER, VOLATILITIES).build());
+      CurveCurrencyParameterSensitivities expected = RATES_PROVIDER.curveParameterSensitivity(
+          PRICER.presentValueSensitivity(period, RATES_PROVIDER, VOLATILITIES).build());
+      assertTrue(computed.equalWithTolerance(expected, EPS * NOTIONAL));
+    }
+  }
+
+  public void test_quadrature_presentValueSensitivitySabrParameter() {
+    for (CmsPeriod period : new CmsPeriod[] {COUPON_SELL, CAPLET_SELL, FLOORLET_SELL}) {
+      SwaptionSabrSensitivity computed =
+          PRICER_QUADRATURE.presentValueSensitivitySabrParameter(period, RATES_PROVIDER, VOLATILITIES);
+      SwaptionSabrSensitivity expected =
+          PRICER.presentValueSensitivitySabrParameter(period, RATES_PROVIDER, VOLATILITIES);
+      // the adaptive integration of the SABR sensitivity uses a relative tolerance of 1.0e-3
+      assertEqualsRelative(computed.getAlphaSensitivity(), expected.getAlphaSensitivity(), 2.0e-3);
+      assertEqualsRelative(computed.getBetaSensitivity(), expected.getBetaSensitivity(), 2.0e-3);
+      assertEqualsRelative(computed.getRhoSensitivity(), expected.getRhoSensitivity(), 2.0e-3);
+      assertEqualsRelative(computed.getNuSensitivity(), expected.getNuSensitivity(), 2.0e-3);
+    }
+  }
+
+  public void test_quadrature_presentValueSensitivityStrike() {
+    for (CmsPeriod period : new CmsPeriod[] {CAPLET, FLOORLET}) {
+      double computed = PRICER_QUADRATURE.presentValueSensitivityStrike(period, RATES_PROVIDER, VOLATILITIES);
+      double expected = PRICER.presentValueSensitivityStrike(period, RATES_PROVIDER, VOLATILITIES);
+      assertEquals(computed, expected, NOTIONAL * EPS);
+    }
+  }
+
+  public void test_quadrature_invalid() {
+    assertThrowsIllegalArg(() -> SabrExtrapolationReplicationCmsPeriodPricer.ofQuadrature(
+        DiscountingSwapProductPricer.DEFAULT, CUT_OFF_STRIKE, MU, 1));
+  }
+
+  private static void assertEqualsRelative(double computed, double expected, double relativeTolerance) {
+    assertEquals(computed, expected, Math.abs(expected) * relativeTolerance + NOTIONAL * TOL_QUADRATURE);
+  }
+
   //-------------------------------------------------------------------------
   private static final double TOLERANCE_K_P = 1.0E-8;
   private static final double TOLERANCE_K_PP = 1.0E-4;
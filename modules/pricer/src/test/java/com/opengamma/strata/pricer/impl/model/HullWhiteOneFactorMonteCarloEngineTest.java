@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.model;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorMonteCarloEngine;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorMonteCarloPayoff;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorMonteCarloResult;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link HullWhiteOneFactorMonteCarloEngine}.
+ */
+@Test
+public class HullWhiteOneFactorMonteCarloEngineTest {
+
+  private static final double MEAN_REVERSION = 0.01;
+  private static final DoubleArray VOLATILITY = DoubleArray.of(0.01, 0.011, 0.012, 0.013, 0.014);
+  private static final DoubleArray VOLATILITY_TIME = DoubleArray.of(0.5, 1.0, 2.0, 5.0);
+  private static final HullWhiteOneFactorPiecewiseConstantParameters MODEL_PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(MEAN_REVERSION, VOLATILITY, VOLATILITY_TIME);
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final double RATE = 0.02;
+  // call option expiring at 2 on a zero-coupon bond maturing at 5, the bond being the numeraire
+  private static final double EXPIRY = 2d;
+  private static final double MATURITY = 5d;
+  private static final double STRIKE = 0.99 * discountFactor(MATURITY) / discountFactor(EXPIRY);
+  private static final double FORWARD_EXPIRY = discountFactor(EXPIRY) / discountFactor(MATURITY);
+  private static final HullWhiteOneFactorMonteCarloPayoff BOND_CALL =
+      path -> Math.max(1d - STRIKE * FORWARD_EXPIRY * path.bondFactor(0, EXPIRY), 0d);
+  private static final HullWhiteOneFactorMonteCarloPayoff CONTROL = path -> path.bondFactor(0, EXPIRY);
+  private static final int SAMPLE_COUNT = 100000;
+  private static final int BLOCK_SIZE = 8192;
+
+  private static double discountFactor(double time) {
+    return Math.exp(-RATE * time);
+  }
+
+  // closed form price of the bond call
+  private static double expectedPrice() {
+    double alpha = MODEL.alpha(MODEL_PARAMETERS, 0d, EXPIRY, MATURITY, EXPIRY);
+    double forward = discountFactor(MATURITY) / discountFactor(EXPIRY);
+    return discountFactor(EXPIRY) * BlackFormulaRepository.price(forward, STRIKE, 1d, Math.abs(alpha), true);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_bondCall() {
+    HullWhiteOneFactorMonteCarloEngine engine =
+        HullWhiteOneFactorMonteCarloEngine.of(SAMPLE_COUNT, BLOCK_SIZE, false, 1L);
+    HullWhiteOneFactorMonteCarloResult result =
+        engine.simulate(MODEL_PARAMETERS, DoubleArray.of(EXPIRY), MATURITY, BOND_CALL, Runnable::run);
+    double price = discountFactor(MATURITY) * result.getValue();
+    double error = discountFactor(MATURITY) * result.getStandardError();
+    assertEquals(price, expectedPrice(), 4d * error);
+    assertEquals(result.getSampleCount(), SAMPLE_COUNT);
+    assertEquals(result.getBlockTimes().size(), (SAMPLE_COUNT + BLOCK_SIZE - 1) / BLOCK_SIZE);
+  }
+
+  public void test_bondCall_varianceReduction() {
+    HullWhiteOneFactorMonteCarloEngine plain =
+        HullWhiteOneFactorMonteCarloEngine.of(SAMPLE_COUNT, BLOCK_SIZE, false, 1L);
+    HullWhiteOneFactorMonteCarloResult plainResult =
+        plain.simulate(MODEL_PARAMETERS, DoubleArray.of(EXPIRY), MATURITY, BOND_CALL, Runnable::run);
+    HullWhiteOneFactorMonteCarloEngine engine =
+        HullWhiteOneFactorMonteCarloEngine.of(SAMPLE_COUNT, BLOCK_SIZE, true, 1L);
+    HullWhiteOneFactorMonteCarloResult antithetic =
+        engine.simulate(MODEL_PARAMETERS, DoubleArray.of(EXPIRY), MATURITY, BOND_CALL, Runnable::run);
+    HullWhiteOneFactorMonteCarloResult controlled =
+        plain.simulate(MODEL_PARAMETERS, DoubleArray.of(EXPIRY), MATURITY, BOND_CALL, CONTROL, 1d, Runnable::run);
+    assertTrue(antithetic.getStandardError() < plainResult.getStandardError());
+    assertTrue(controlled.getStandardError() < plainResult.getStandardError());
+    double price = discountFactor(MATURITY) * controlled.getValue();
+    assertEquals(price, expectedPrice(), 4d * discountFactor(MATURITY) * controlled.getStandardError());
+  }
+
+  public void test_martingale() {
+    // the ratios of the bonds to the numeraire are martingales on every simulation date
+    DoubleArray times = DoubleArray.of(0.25, 1d, 3d, 7d);
+    HullWhiteOneFactorMonteCarloEngine engine =
+        HullWhiteOneFactorMonteCarloEngine.of(SAMPLE_COUNT, BLOCK_SIZE, true, 2L);
+    for (int i = 0; i < times.size(); i++) {
+      int timeIndex = i;
+      HullWhiteOneFactorMonteCarloResult result = engine.simulate(
+          MODEL_PARAMETERS, times, 10d, path -> path.bondFactor(timeIndex, 20d), Runnable::run);
+      assertEquals(result.getValue(), 1d, 4d * result.getStandardError());
+    }
+  }
+
+  public void test_martingale_zeroMeanReversion() {
+    HullWhiteOneFactorPiecewiseConstantParameters parameters =
+        HullWhiteOneFactorPiecewiseConstantParameters.of(0d, VOLATILITY, VOLATILITY_TIME);
+    HullWhiteOneFactorPiecewiseConstantParameters small =
+        HullWhiteOneFactorPiecewiseConstantParameters.of(1e-12, VOLATILITY, VOLATILITY_TIME);
+    DoubleArray times = DoubleArray.of(0.25, 1d, 3d, 7d);
+    HullWhiteOneFactorMonteCarloEngine engine =
+        HullWhiteOneFactorMonteCarloEngine.of(SAMPLE_COUNT, BLOCK_SIZE, true, 2L);
+    for (int i = 0; i < times.size(); i++) {
+      int timeIndex = i;
+      HullWhiteOneFactorMonteCarloPayoff payoff = path -> path.bondFactor(timeIndex, 20d);
+      HullWhiteOneFactorMonteCarloResult result = engine.simulate(parameters, times, 10d, payoff, Runnable::run);
+      assertEquals(result.getValue(), 1d, 4d * result.getStandardError());
+      // the limit is continuous in the mean reversion
+      HullWhiteOneFactorMonteCarloResult smallResult = engine.simulate(small, times, 10d, payoff, Runnable::run);
+      assertEquals(result.getValue(), smallResult.getValue(), 1e-9);
+    }
+  }
+
+  public void test_reproducible() {
+    HullWhiteOneFactorMonteCarloEngine engine =
+        HullWhiteOneFactorMonteCarloEngine.of(SAMPLE_COUNT, 1000, true, 3L);
+    DoubleArray times = DoubleArray.of(0.5, 1d, EXPIRY);
+    HullWhiteOneFactorMonteCarloPayoff payoff =
+        path -> Math.max(1d - STRIKE * FORWARD_EXPIRY * path.bondFactor(2, EXPIRY), 0d);
+    HullWhiteOneFactorMonteCarloResult expected =
+        engine.simulate(MODEL_PARAMETERS, times, MATURITY, payoff, CONTROL, 1d, Runnable::run);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      HullWhiteOneFactorMonteCarloResult test =
+          engine.simulate(MODEL_PARAMETERS, times, MATURITY, payoff, CONTROL, 1d, executor);
+      assertEquals(test.getValue(), expected.getValue());
+      assertEquals(test.getStandardError(), expected.getStandardError());
+      assertEquals(test.getBlockTimes().size(), 100);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorMonteCarloEngine.of(1, 10, false, 1L));
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorMonteCarloEngine.of(100, 0, false, 1L));
+    HullWhiteOneFactorMonteCarloEngine engine =
+        HullWhiteOneFactorMonteCarloEngine.of(100, 10, false, 1L);
+    assertThrowsIllegalArg(() -> engine.simulate(
+        MODEL_PARAMETERS, DoubleArray.of(2d, 1d), MATURITY, BOND_CALL, Runnable::run));
+    assertThrowsIllegalArg(() -> engine.simulate(
+        MODEL_PARAMETERS, DoubleArray.EMPTY, MATURITY, BOND_CALL, Runnable::run));
+    assertThrowsIllegalArg(() -> engine.simulate(
+        MODEL_PARAMETERS, DoubleArray.of(1d, MATURITY + 1d), MATURITY, BOND_CALL, Runnable::run));
+  }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.assertUtilityClass;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.PutCall;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link BatchImpliedVolatilitySolver}.
+ */
+@Test
+public class BatchImpliedVolatilitySolverTest {
+
+  private static final int N = 200;
+  private static final DoubleArray FORWARDS = DoubleArray.of(N, i -> 0.01 + 0.0002 * i);
+  private static final DoubleArray STRIKES =
+      DoubleArray.of(N, i -> FORWARDS.get(i) * Math.exp(-0.5 + (double) ((i * 7) % N) / N));
+  private static final DoubleArray NORMAL_STRIKES =
+      DoubleArray.of(N, i -> FORWARDS.get(i) - 0.01 + 0.02 * ((i * 7) % N) / N);
+  private static final DoubleArray EXPIRIES = DoubleArray.of(N, i -> 0.5 + 0.05 * ((i * 13) % N));
+  private static final DoubleArray BLACK_VOLS = DoubleArray.of(N, i -> 0.15 + 0.45 * ((i * 11) % N) / N);
+  private static final DoubleArray NORMAL_VOLS = DoubleArray.of(N, i -> 0.004 + 0.01 * ((i * 11) % N) / N);
+  private static final double SHIFT = 0.02;
+  private static final double TOL = 1e-8;
+
+  //-------------------------------------------------------------------------
+  public void test_black() {
+    for (PutCall putCall : PutCall.values()) {
+      DoubleArray prices = DoubleArray.of(N, i -> BlackFormulaRepository.price(
+          FORWARDS.get(i), STRIKES.get(i), EXPIRIES.get(i), BLACK_VOLS.get(i), putCall.isCall()));
+      DoubleArray computed = BatchImpliedVolatilitySolver.blackImpliedVolatilities(
+          prices, FORWARDS, STRIKES, EXPIRIES, putCall, false);
+      assertTrue(computed.equalWithTolerance(BLACK_VOLS, TOL));
+      DoubleArray computedParallel = BatchImpliedVolatilitySolver.blackImpliedVolatilities(
+          prices, FORWARDS, STRIKES, EXPIRIES, putCall, true);
+      assertEquals(computedParallel, computed);
+    }
+  }
+
+  public void test_shiftedBlack() {
+    // negative forwards and strikes
+    DoubleArray forwards = FORWARDS.map(forward -> forward - 0.015);
+    DoubleArray strikes = STRIKES.map(strike -> strike - 0.015);
+    for (PutCall putCall : PutCall.values()) {
+      DoubleArray prices = DoubleArray.of(N, i -> BlackFormulaRepository.price(
+          forwards.get(i) + SHIFT, strikes.get(i) + SHIFT, EXPIRIES.get(i), BLACK_VOLS.get(i), putCall.isCall()));
+      DoubleArray computed = BatchImpliedVolatilitySolver.shiftedBlackImpliedVolatilities(
+          prices, forwards, strikes, EXPIRIES, SHIFT, putCall, false);
+      assertTrue(computed.equalWithTolerance(BLACK_VOLS, TOL));
+      DoubleArray computedParallel = BatchImpliedVolatilitySolver.shiftedBlackImpliedVolatilities(
+          prices, forwards, strikes, EXPIRIES, SHIFT, putCall, true);
+      assertEquals(computedParallel, computed);
+    }
+  }
+
+  public void test_normal() {
+    DoubleArray forwards = FORWARDS.map(forward -> forward - 0.02);
+    for (PutCall putCall : PutCall.values()) {
+      DoubleArray prices = DoubleArray.of(N, i -> NormalFormulaRepository.price(
+          forwards.get(i), NORMAL_STRIKES.get(i), EXPIRIES.get(i), NORMAL_VOLS.get(i), putCall));
+      DoubleArray computed = BatchImpliedVolatilitySolver.normalImpliedVolatilities(
+          prices, forwards, NORMAL_STRIKES, EXPIRIES, putCall, false);
+      assertTrue(computed.equalWithTolerance(NORMAL_VOLS, TOL));
+      DoubleArray computedParallel = BatchImpliedVolatilitySolver.normalImpliedVolatilities(
+          prices, forwards, NORMAL_STRIKES, EXPIRIES, putCall, true);
+      assertEquals(computedParallel, computed);
+    }
+  }
+
+  public void test_scalarConsistency() {
+    double forward = 0.03;
+    double strike = 0.035;
+    double expiry = 2.5;
+    double price = BlackFormulaRepository.price(forward, strike, expiry, 0.3, true);
+    double expected = BlackFormulaRepository.impliedVolatility(price, forward, strike, expiry, true);
+    DoubleArray computed = BatchImpliedVolatilitySolver.blackImpliedVolatilities(
+        DoubleArray.of(price), DoubleArray.of(forward), DoubleArray.of(strike), DoubleArray.of(expiry),
+        PutCall.CALL, false);
+    assertEquals(computed.get(0), expected, 1e-8);
+  }
+
+  public void test_intrinsic() {
+    DoubleArray computed = BatchImpliedVolatilitySolver.blackImpliedVolatilities(
+        DoubleArray.of(0.01, 0d), DoubleArray.of(0.03, 0.03), DoubleArray.of(0.02, 0.04), DoubleArray.of(1d, 1d),
+        PutCall.CALL, false);
+    assertEquals(computed, DoubleArray.of(0d, 0d));
+    DoubleArray computedNormal = BatchImpliedVolatilitySolver.normalImpliedVolatilities(
+        DoubleArray.of(0.01), DoubleArray.of(0.01), DoubleArray.of(0.02), DoubleArray.of(1d), PutCall.PUT, false);
+    assertEquals(computedNormal, DoubleArray.of(0d));
+  }
+
+  public void test_invalid() {
+    DoubleArray one = DoubleArray.of(1d);
+    // below intrinsic
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.blackImpliedVolatilities(
+        DoubleArray.of(0.005), DoubleArray.of(0.03), DoubleArray.of(0.02), one, PutCall.CALL, false));
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.normalImpliedVolatilities(
+        DoubleArray.of(0.005), DoubleArray.of(0.03), DoubleArray.of(0.02), one, PutCall.CALL, false));
+    // above the upper bound of the Black model
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.blackImpliedVolatilities(
+        DoubleArray.of(0.05), DoubleArray.of(0.03), DoubleArray.of(0.02), one, PutCall.CALL, false));
+    // negative strike without shift
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.blackImpliedVolatilities(
+        DoubleArray.of(0.05), DoubleArray.of(0.03), DoubleArray.of(-0.01), one, PutCall.CALL, false));
+    // sizes do not match
+    assertThrowsIllegalArg(() -> BatchImpliedVolatilitySolver.normalImpliedVolatilities(
+        DoubleArray.of(0.01, 0.02), DoubleArray.of(0.03), DoubleArray.of(0.02), one, PutCall.CALL, false));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_utilityClass() {
+    assertUtilityClass(BatchImpliedVolatilitySolver.class);
+  }
+
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_ACT_ISDA;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.market.curve.ConstantNodalCurve;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.view.DiscountFactors;
+
+/**
+ * Test {@link CachingRatesProvider}.
+ */
+@Test
+public class CachingRatesProviderTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2014, 6, 30);
+  private static final Curve DISCOUNT_CURVE_GBP = ConstantNodalCurve.of(
+      Curves.zeroRates("GBP-Discount", ACT_ACT_ISDA), 0.01d);
+  private static final Curve USD_LIBOR_CURVE = ConstantNodalCurve.of(
+      Curves.zeroRates("USD-Libor", ACT_ACT_ISDA), 0.02d);
+  private static final ImmutableRatesProvider UNDERLYING = ImmutableRatesProvider.builder(VAL_DATE)
+      .fxRateProvider(FxMatrix.of(GBP, USD, 1.6d))
+      .discountCurve(GBP, DISCOUNT_CURVE_GBP)
+      .iborIndexCurve(USD_LIBOR_3M, USD_LIBOR_CURVE)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    CachingRatesProvider test = CachingRatesProvider.of(UNDERLYING);
+    assertThat(test.getUnderlying()).isSameAs(UNDERLYING);
+    assertThat(test.getValuationDate()).isEqualTo(VAL_DATE);
+    assertThat(test.fxRate(GBP, USD)).isEqualTo(1.6d);
+    assertThat(CachingRatesProvider.of(test)).isSameAs(test);
+  }
+
+  public void test_discountFactors_cached() {
+    CachingRatesProvider test = CachingRatesProvider.of(UNDERLYING);
+    DiscountFactors first = test.discountFactors(GBP);
+    assertThat(first).isEqualTo(UNDERLYING.discountFactors(GBP));
+    assertThat(test.getMissCount()).isEqualTo(1);
+    assertThat(test.getHitCount()).isEqualTo(0);
+    assertThat(test.discountFactors(GBP)).isSameAs(first);
+    assertThat(test.discountFactor(GBP, VAL_DATE.plusYears(1))).isEqualTo(first.discountFactor(VAL_DATE.plusYears(1)));
+    assertThat(test.getMissCount()).isEqualTo(1);
+    assertThat(test.getHitCount()).isEqualTo(2);
+  }
+
+  public void test_iborIndexRates_cached() {
+    CachingRatesProvider test = CachingRatesProvider.of(UNDERLYING);
+    assertThat(test.iborIndexRates(USD_LIBOR_3M)).isSameAs(test.iborIndexRates(USD_LIBOR_3M));
+    assertThat(test.getMissCount()).isEqualTo(1);
+    assertThat(test.getHitCount()).isEqualTo(1);
+  }
+
+  public void test_notKnown() {
+    CachingRatesProvider test = CachingRatesProvider.of(UNDERLYING);
+    assertThrowsIllegalArg(() -> test.discountFactors(USD));
+    assertThrowsIllegalArg(() -> test.discountFactors(USD));
+    assertThat(test.getMissCount()).isEqualTo(2);
+    assertThat(test.getHitCount()).isEqualTo(0);
+  }
+
+}
@@ -41,6 +41,7 @@ import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.interpolator.CurveInterpolator;
 import com.opengamma.strata.market.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.sensitivity.ColumnarPointSensitivities;
 import com.opengamma.strata.market.sensitivity.FxIndexSensitivity;
 import com.opengamma.strata.market.sensitivity.IborRateSensitivity;
 import com.opengamma.strata.market.sensitivity.InflationRateSensitivity;
@@ -127,6 +128,19 @@ public class ImmutableRatesProviderParameterSensitivityTest {
     assertTrue(psComputed.equalWithTolerance(psExpected, TOLERANCE_SENSI));
   }
 
+  public void pointToParameterColumnar() {
+    ColumnarPointSensitivities columnar = new ColumnarPointSensitivities()
+        .addAll(POINT)
+        .addAll(POINT_ZERO_1)
+        .addAll(POINT_IBOR_1);
+    CurveCurrencyParameterSensitivities psComputed = PROVIDER.curveParameterSensitivity(columnar);
+    CurveCurrencyParameterSensitivities psExpected = PROVIDER.curveParameterSensitivity(
+        POINT.combinedWith(POINT_ZERO_1).combinedWith(POINT_IBOR_1));
+    assertEquals(psComputed.getSensitivities().size(), 6);
+    assertTrue(psComputed.equalWithTolerance(psExpected, TOLERANCE_SENSI));
+    assertEquals(columnar.size(), POINT.size() + 2);  // not normalized by the projection
+  }
+
   //-------------------------------------------------------------------------
   private static final double GBP_DSC = 0.99d;
   private static final double USD_DSC = 0.95d;
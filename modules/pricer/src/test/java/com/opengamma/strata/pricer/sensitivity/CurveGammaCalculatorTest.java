@@ -21,6 +21,8 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -158,6 +160,25 @@ public class CurveGammaCalculatorTest {
     assertTrue(gammaForward5.equalWithTolerance(gammaCentral4, toleranceCoherency));
   }
 
+  // Checks that computing the bumped sensitivities in parallel gives the same result.
+  public void semiParallelGammaExecutor() {
+    ImmutableRatesProvider provider = SINGLE;
+    NodalCurve curve = Iterables.getOnlyElement(provider.getDiscountCurves().values()).toNodalCurve();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      for (FiniteDifferenceType fdType : FiniteDifferenceType.values()) {
+        CurveGammaCalculator calculator = new CurveGammaCalculator(fdType, FD_SHIFT);
+        CurveCurrencyParameterSensitivity expected = calculator.calculateSemiParallelGamma(
+            curve, SINGLE_CURRENCY, c -> buildSensitivities(c, provider));
+        CurveCurrencyParameterSensitivity computed = calculator.calculateSemiParallelGamma(
+            curve, SINGLE_CURRENCY, c -> buildSensitivities(c, provider), executor);
+        assertEquals(computed, expected);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static CurveCurrencyParameterSensitivity buildSensitivities(NodalCurve bumpedCurve, ImmutableRatesProvider ratesProvider) {
     RatesProvider bumpedRatesProvider = ratesProvider.toBuilder()
@@ -7,8 +7,11 @@ package com.opengamma.strata.pricer.sensitivity;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -87,6 +90,35 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_multi_curve_executor() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CurveCurrencyParameterSensitivities sensiExpected =
+          FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+      CurveCurrencyParameterSensitivities sensiComputed =
+          FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn, executor);
+      assertEquals(sensiComputed, sensiExpected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void sensitivity_bumpedProviders_shared() {
+    BumpedRatesProviders bumped = FD_CALCULATOR.bumpedProviders(RatesProviderDataSets.MULTI_CPI_USD);
+    int nbNodes = RatesProviderDataSets.TIMES_1.size() + RatesProviderDataSets.TIMES_2.size() +
+        RatesProviderDataSets.TIMES_3.size() + RatesProviderDataSets.TIMES_4.size();
+    assertEquals(bumped.getBumpCount(), nbNodes);
+    assertEquals(bumped.getProvider(), RatesProviderDataSets.MULTI_CPI_USD);
+    assertEquals(bumped.getShift(), 1.0E-4);
+    // the same bumped rates providers are used for several functions
+    CurveCurrencyParameterSensitivities sensi1 = bumped.sensitivity(this::fn);
+    CurveCurrencyParameterSensitivities sensi2 = bumped.sensitivity(p -> fn(p).multipliedBy(2d), Runnable::run);
+    assertEquals(sensi1, FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn));
+    assertTrue(sensi2.equalWithTolerance(sensi1.multipliedBy(2d), TOLERANCE_DELTA));
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableRatesProvider provider) {
     double result = 0.0;
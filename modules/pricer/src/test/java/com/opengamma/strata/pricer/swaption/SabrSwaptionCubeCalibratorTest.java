@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_ACT_ISDA;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.interpolator.CurveInterpolators;
+import com.opengamma.strata.math.impl.interpolation.CombinedInterpolatorExtrapolator;
+import com.opengamma.strata.math.impl.interpolation.GridInterpolator2D;
+import com.opengamma.strata.math.impl.interpolation.Interpolator1D;
+import com.opengamma.strata.pricer.impl.option.SabrInterestRateParameters;
+import com.opengamma.strata.pricer.impl.volatility.smile.function.SabrFormulaData;
+import com.opengamma.strata.pricer.impl.volatility.smile.function.SabrHaganVolatilityFunctionProvider;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+
+/**
+ * Test {@link SabrSwaptionCubeCalibrator}.
+ */
+@Test
+public class SabrSwaptionCubeCalibratorTest {
+
+  private static final ZonedDateTime DATE_TIME =
+      LocalDate.of(2016, 3, 1).atTime(LocalTime.of(11, 0)).atZone(ZoneId.of("Europe/London"));
+  private static final FixedIborSwapConvention CONVENTION = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+  private static final SabrHaganVolatilityFunctionProvider HAGAN = SabrHaganVolatilityFunctionProvider.DEFAULT;
+  private static final Interpolator1D LINEAR_FLAT = CombinedInterpolatorExtrapolator.of(
+      CurveInterpolators.LINEAR.getName(), CurveExtrapolators.FLAT.getName(), CurveExtrapolators.FLAT.getName());
+  private static final GridInterpolator2D INTERPOLATOR = new GridInterpolator2D(LINEAR_FLAT, LINEAR_FLAT);
+  private static final double[] EXPIRIES = new double[] {0.5, 1d, 5d};
+  private static final double[] TENORS = new double[] {2d, 10d};
+  private static final double[] STRIKE_RATIOS = new double[] {0.5, 0.75, 0.9, 1d, 1.1, 1.25, 1.5, 2d};
+  private static final List<SwaptionVolatilitySmile> SMILES = smiles(0d);
+  private static final double TOL_PARAM = 1e-3;
+  private static final double TOL_VOL = 1e-5;
+
+  // the smiles generated from known SABR parameters, in tenor-major order
+  private static List<SwaptionVolatilitySmile> smiles(double bump) {
+    List<SwaptionVolatilitySmile> smiles = new ArrayList<>();
+    for (double tenor : TENORS) {
+      for (double expiry : EXPIRIES) {
+        double forward = 0.02 + 0.001 * tenor;
+        SabrFormulaData data = expected(expiry, tenor, bump);
+        DoubleArray strikes = DoubleArray.of(STRIKE_RATIOS.length, i -> forward * STRIKE_RATIOS[i]);
+        DoubleArray vols = strikes.map(strike -> HAGAN.getVolatility(forward, strike, expiry, data));
+        smiles.add(SwaptionVolatilitySmile.of(expiry, tenor, forward, strikes, vols));
+      }
+    }
+    return smiles;
+  }
+
+  // the SABR parameters used to generate the smile, beta being fixed at 0.5
+  private static SabrFormulaData expected(double expiry, double tenor, double bump) {
+    return SabrFormulaData.of(
+        0.03 + 0.002 * expiry + 0.001 * tenor + bump, 0.5, -0.1 - 0.02 * tenor - bump, 0.6 - 0.05 * expiry + bump);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_calibrate() {
+    SabrSwaptionCubeCalibration test =
+        SabrSwaptionCubeCalibrator.DEFAULT.calibrate(SMILES, CONVENTION, DATE_TIME, ACT_ACT_ISDA, Runnable::run);
+    assertCalibration(test, SMILES, 0d);
+    SabrParametersSwaptionVolatilities vols = test.getVolatilities();
+    assertEquals(vols.getConvention(), CONVENTION);
+    assertEquals(vols.getDayCount(), ACT_ACT_ISDA);
+    assertEquals(vols.getValuationDateTime(), DATE_TIME);
+    assertEquals(vols.getParameters().getAlphaSurface().getName().getName(), CONVENTION.getName() + "-SABR-Alpha");
+  }
+
+  public void test_calibrate_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      SabrSwaptionCubeCalibration expected =
+          SabrSwaptionCubeCalibrator.DEFAULT.calibrate(SMILES, CONVENTION, DATE_TIME, ACT_ACT_ISDA, Runnable::run);
+      SabrSwaptionCubeCalibration test =
+          SabrSwaptionCubeCalibrator.DEFAULT.calibrate(SMILES, CONVENTION, DATE_TIME, ACT_ACT_ISDA, executor);
+      assertEquals(test.getVolatilities(), expected.getVolatilities());
+      for (int i = 0; i < SMILES.size(); i++) {
+        assertEquals(test.getNodes().get(i).getParameters(), expected.getNodes().get(i).getParameters());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_recalibrate() {
+    SabrSwaptionCubeCalibration previous =
+        SabrSwaptionCubeCalibrator.DEFAULT.calibrate(SMILES, CONVENTION, DATE_TIME, ACT_ACT_ISDA, Runnable::run);
+    List<SwaptionVolatilitySmile> bumped = smiles(0.005);
+    ZonedDateTime nextDateTime = DATE_TIME.plusDays(1);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      SabrSwaptionCubeCalibration test = SabrSwaptionCubeCalibrator.DEFAULT.recalibrate(
+          previous.getVolatilities(), bumped, nextDateTime, executor);
+      assertCalibration(test, bumped, 0.005);
+      assertEquals(test.getVolatilities().getConvention(), CONVENTION);
+      assertEquals(test.getVolatilities().getDayCount(), ACT_ACT_ISDA);
+      assertEquals(test.getVolatilities().getValuationDateTime(), nextDateTime);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_of() {
+    BitSet fixed = new BitSet();
+    fixed.set(0);
+    SabrFormulaData start = SabrFormulaData.of(0.045, 0.3, 0d, 0.5);
+    SabrSwaptionCubeCalibrator calibrator = SabrSwaptionCubeCalibrator.of(HAGAN, INTERPOLATOR, start, fixed);
+    SabrSwaptionCubeCalibration test =
+        calibrator.calibrate(ImmutableList.of(SMILES.get(0)), CONVENTION, DATE_TIME, ACT_ACT_ISDA, Runnable::run);
+    assertEquals(test.getNodes().size(), 1);
+    // alpha is fixed at its start value
+    assertEquals(test.getNodes().get(0).getParameters().getAlpha(), 0.045, 1e-12);
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> SabrSwaptionCubeCalibrator.DEFAULT.calibrate(
+        ImmutableList.of(), CONVENTION, DATE_TIME, ACT_ACT_ISDA, Runnable::run));
+    assertThrowsIllegalArg(() -> SwaptionVolatilitySmile.of(
+        1d, 2d, 0.02, DoubleArray.of(0.01, 0.02), DoubleArray.of(0.2)));
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertCalibration(
+      SabrSwaptionCubeCalibration test,
+      List<SwaptionVolatilitySmile> smiles,
+      double bump) {
+
+    assertEquals(test.getNodes().size(), smiles.size());
+    SabrInterestRateParameters params = test.getVolatilities().getParameters();
+    for (int i = 0; i < smiles.size(); i++) {
+      SwaptionVolatilitySmile smile = smiles.get(i);
+      SabrSwaptionNodeCalibration node = test.getNodes().get(i);
+      assertEquals(node.getExpiry(), smile.getExpiry());
+      assertEquals(node.getTenor(), smile.getTenor());
+      assertEquals(node.getResiduals().size(), smile.getStrikes().size());
+      assertTrue(node.getMaxAbsResidual() < TOL_VOL);
+      SabrFormulaData expected = expected(smile.getExpiry(), smile.getTenor(), bump);
+      assertEquals(node.getParameters().getAlpha(), expected.getAlpha(), TOL_PARAM);
+      assertEquals(node.getParameters().getBeta(), expected.getBeta(), 0d);
+      assertEquals(node.getParameters().getRho(), expected.getRho(), TOL_PARAM);
+      assertEquals(node.getParameters().getNu(), expected.getNu(), TOL_PARAM);
+      // the surfaces reproduce the nodes
+      assertEquals(params.alpha(smile.getExpiry(), smile.getTenor()), node.getParameters().getAlpha(), 1e-12);
+      assertEquals(params.rho(smile.getExpiry(), smile.getTenor()), node.getParameters().getRho(), 1e-12);
+      assertEquals(params.nu(smile.getExpiry(), smile.getTenor()), node.getParameters().getNu(), 1e-12);
+    }
+    assertTrue(test.getMaxChiSquare() < 1d);
+    assertTrue(test.getTotalFitTime().toNanos() > 0);
+  }
+
+}
@@ -8,8 +8,11 @@ package com.opengamma.strata.report.framework.expression;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -37,9 +40,23 @@ import com.opengamma.strata.market.amount.LegAmounts;
  * the remaining tokens do not include the property token. If the token doesn't match the property, the property value
  * is returned but the token isn't consumed. i.e. the remaining tokens returned from {@link #evaluate} include
  * the first token.
+ * <p>
+ * The property matching each token is cached by bean class for immutable beans,
+ * which have the same properties for every instance.
  */
 public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
 
+  /**
+   * The cache of property names, keyed by the immutable bean class and then by token.
+   */
+  private final ClassValue<ConcurrentMap<String, Optional<String>>> propertyNameCache =
+      new ClassValue<ConcurrentMap<String, Optional<String>>>() {
+        @Override
+        protected ConcurrentMap<String, Optional<String>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   @Override
   public Class<Bean> getTargetType() {
     return Bean.class;
@@ -63,9 +80,7 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
 
   @Override
   public EvaluationResult evaluate(Bean bean, String firstToken, List<String> remainingTokens) {
-    Optional<String> propertyName = bean.propertyNames().stream()
-        .filter(p -> p.equalsIgnoreCase(firstToken))
-        .findFirst();
+    Optional<String> propertyName = propertyName(bean, firstToken);
 
     if (propertyName.isPresent()) {
       Object propertyValue = bean.property(propertyName.get()).get();
@@ -89,4 +104,21 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
     return invalidTokenFailure(bean, firstToken);
   }
 
+  // finds the property matching the token, using the cache for immutable beans
+  private Optional<String> propertyName(Bean bean, String token) {
+    if (bean instanceof ImmutableBean) {
+      return propertyNameCache
+          .get(bean.getClass())
+          .computeIfAbsent(token, t -> findPropertyName(bean, t));
+    }
+    return findPropertyName(bean, token);
+  }
+
+  // finds the property matching the token, ignoring case
+  private static Optional<String> findPropertyName(Bean bean, String token) {
+    return bean.propertyNames().stream()
+        .filter(p -> p.equalsIgnoreCase(token))
+        .findFirst();
+  }
+
 }
@@ -9,10 +9,12 @@ import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.IntFunction;
 
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.Trade;
+import com.opengamma.strata.basics.market.ReferenceData;
 import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.config.Measure;
 import com.opengamma.strata.collect.result.FailureReason;
@@ -27,15 +29,21 @@ import com.opengamma.strata.product.SecurityTrade;
 import com.opengamma.strata.report.ReportCalculationResults;
 
 /**
- * Wraps a set of {@link ReportCalculationResults} and exposes the contents of a single row.
+ * Exposes the contents of a single row of {@link ReportCalculationResults}.
  */
 class ResultsRow {
 
-  /** The results used to generate a report. */
-  private final ReportCalculationResults results;
+  /** The target of the row. */
+  private final CalculationTarget target;
 
-  /** The index of the row in the result whose data is exposed by this object. */
-  private final int rowIndex;
+  /** The calculated columns. */
+  private final List<Column> columns;
+
+  /** The result of each calculated column for the row, keyed by column index. */
+  private final IntFunction<Result<?>> rowResults;
+
+  /** The reference data. */
+  private final ReferenceData refData;
 
   /**
    * Returns a new instance exposing the data from a single row in the results.
@@ -44,8 +52,31 @@ class ResultsRow {
    * @param rowIndex  the index of the row in the result whose data is exposed by this object
    */
   ResultsRow(ReportCalculationResults results, int rowIndex) {
-    this.results = results;
-    this.rowIndex = rowIndex;
+    this(
+        results.getTargets().get(rowIndex),
+        results.getColumns(),
+        columnIndex -> results.getCalculationResults().get(rowIndex, columnIndex),
+        results.getReferenceData());
+  }
+
+  /**
+   * Returns a new instance exposing the data of a single row.
+   *
+   * @param target  the target of the row
+   * @param columns  the calculated columns
+   * @param rowResults  the result of each calculated column for the row, keyed by column index
+   * @param refData  the reference data
+   */
+  ResultsRow(
+      CalculationTarget target,
+      List<Column> columns,
+      IntFunction<Result<?>> rowResults,
+      ReferenceData refData) {
+
+    this.target = target;
+    this.columns = columns;
+    this.rowResults = rowResults;
+    this.refData = refData;
   }
 
   //-------------------------------------------------------------------------
@@ -55,7 +86,7 @@ class ResultsRow {
    * @return the target from the row
    */
   CalculationTarget getTarget() {
-    return results.getTargets().get(rowIndex);
+    return target;
   }
 
   /**
@@ -96,7 +127,7 @@ class ResultsRow {
     CalculationTarget target = getTarget();
     if (target instanceof SecurityTrade) {
       SecurityTrade idTrade = (SecurityTrade) target;
-      target = idTrade.resolveSecurity(results.getReferenceData());
+      target = idTrade.resolveSecurity(refData);
     }
     if (target instanceof ProductTrade) {
       return Result.success(((ProductTrade) target).getProduct());
@@ -119,7 +150,7 @@ class ResultsRow {
     CalculationTarget target = getTarget();
     if (target instanceof SecurityTrade) {
       SecurityTrade secTrade = (SecurityTrade) target;
-      Security security = results.getReferenceData().getValue(secTrade.getSecurityId());
+      Security security = refData.getValue(secTrade.getSecurityId());
       return Result.success(security);
     }
     if (target instanceof GenericSecurityTrade) {
@@ -140,7 +171,7 @@ class ResultsRow {
    * @return the result of calculating the named measure for the trade in the row
    */
   Result<?> getResult(String measureName) {
-    List<String> validMeasureNames = measureNames(results.getTargets().get(rowIndex));
+    List<String> validMeasureNames = measureNames(target);
     if (!validMeasureNames.contains(measureName)) {
       return Result.failure(
           FailureReason.INVALID_INPUT,
@@ -150,7 +181,7 @@ class ResultsRow {
     }
     try {
       Column column = Column.of(Measure.of(measureName));
-      int columnIndex = results.getColumns().indexOf(column);
+      int columnIndex = columns.indexOf(column);
       if (columnIndex == -1) {
         return Result.failure(
             FailureReason.INVALID_INPUT,
@@ -158,7 +189,7 @@ class ResultsRow {
             measureName,
             validMeasureNames);
       }
-      Result<?> result = results.getCalculationResults().get(rowIndex, columnIndex);
+      Result<?> result = rowResults.apply(columnIndex);
       if (result.isFailure() && result.getFailure().getReason() == FailureReason.ERROR) {
         return Result.failure(
             FailureReason.INVALID_INPUT,
@@ -16,7 +16,10 @@ import java.util.stream.IntStream;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.market.ReferenceData;
+import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.config.Measure;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
@@ -35,6 +38,8 @@ import com.opengamma.strata.report.ReportCalculationResults;
  *   <li>{@code IborIndex.getName()} returning the index name</li>
  * </ul>
  * The result of evaluating the expression is the index name.
+ * <p>
+ * The token evaluator for each concrete class is found once and cached.
  */
 public class ValuePathEvaluator {
 
@@ -51,6 +56,18 @@ public class ValuePathEvaluator {
       new SecurityTokenEvaluator(),
       new BeanTokenEvaluator(),
       new IterableTokenEvaluator());
+  /**
+   * The cache of token evaluators keyed by the concrete class of the target.
+   * <p>
+   * A {@code ClassValue} is used so that the cache does not prevent classes from being unloaded.
+   */
+  private static final ClassValue<Optional<TokenEvaluator<Object>>> EVALUATOR_CACHE =
+      new ClassValue<Optional<TokenEvaluator<Object>>>() {
+        @Override
+        protected Optional<TokenEvaluator<Object>> computeValue(Class<?> type) {
+          return findEvaluator(type);
+        }
+      };
 
   //-------------------------------------------------------------------------
   /**
@@ -95,6 +112,34 @@ public class ValuePathEvaluator {
         .collect(toImmutableList());
   }
 
+  /**
+   * Evaluates a value path against the results of a single row.
+   * <p>
+   * This allows a row to be evaluated as soon as its results are available,
+   * without the results of the other rows.
+   *
+   * @param valuePath  the value path
+   * @param target  the target of the row
+   * @param columns  the calculated columns
+   * @param rowResults  the results of the calculated columns for the row, one per column
+   * @param refData  the reference data
+   * @return the resolved result for the row
+   */
+  public static Result<?> evaluate(
+      String valuePath,
+      CalculationTarget target,
+      List<Column> columns,
+      List<? extends Result<?>> rowResults,
+      ReferenceData refData) {
+
+    List<String> tokens = tokenize(valuePath);
+
+    if (tokens.size() < 1) {
+      return Result.failure(FailureReason.INVALID_INPUT, "Column expressions must not be empty");
+    }
+    return evaluate(tokens, RootEvaluator.INSTANCE, new ResultsRow(target, columns, rowResults::get, refData));
+  }
+
   // Tokens always has at least one token
   private static <T> Result<?> evaluate(List<String> tokens, TokenEvaluator<T> evaluator, T target) {
     List<String> remaining = tokens.subList(1, tokens.size());
@@ -136,8 +181,13 @@ public class ValuePathEvaluator {
     return ImmutableList.copyOf(tokens);
   }
 
-  @SuppressWarnings("unchecked")
+  // finds the evaluator for the class, caching the result
   private static Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClass) {
+    return EVALUATOR_CACHE.get(targetClass);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Optional<TokenEvaluator<Object>> findEvaluator(Class<?> targetClass) {
     return EVALUATORS.stream()
         .filter(e -> e.getTargetType().isAssignableFrom(targetClass))
         .map(e -> (TokenEvaluator<Object>) e)
@@ -0,0 +1,363 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.market.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.runner.AggregatingCalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.io.CsvOutput;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.report.framework.expression.ValuePathEvaluator;
+
+/**
+ * Calculation listener that writes a trade report in CSV format as the results are calculated.
+ * <p>
+ * The listener is passed to one of the asynchronous methods on
+ * {@link com.opengamma.strata.calc.CalculationRunner CalculationRunner}.
+ * Each row of the report is evaluated and formatted as soon as all the results for the trade have been received,
+ * thus the full grid of results is never held in memory and output starts as soon as the first trade is complete.
+ * <p>
+ * The rows are written in the order of the targets. A row that completes before an earlier row
+ * is held in formatted form until the earlier rows are written. At most {@code maxBufferedRows} formatted rows
+ * are held in memory, when the buffer is full the rows furthest from being written are moved to a temporary file.
+ * Only the results of the rows that are being calculated are held in addition to the buffer,
+ * thus the memory used for the results does not grow with the number of targets.
+ * The output stream is buffered and flushed when the calculations are complete, but it is not closed.
+ * <p>
+ * The output matches {@link TradeReportFormatter#writeCsv}. The ASCII table format is not supported
+ * as the column widths are not known until all the rows have been formatted.
+ * <p>
+ * The aggregate result of the listener is the number of rows written.
+ * <p>
+ * Instances of this class are mutable and intended for use with a single calculation run.
+ */
+public final class TradeReportCsvListener
+    extends AggregatingCalculationListener<Integer> {
+
+  /**
+   * The default maximum number of formatted rows held in memory until earlier rows are written.
+   */
+  public static final int DEFAULT_MAX_BUFFERED_ROWS = 1000;
+
+  /**
+   * The report template.
+   */
+  private final TradeReportTemplate template;
+  /**
+   * The targets, one per row.
+   */
+  private final ImmutableList<CalculationTarget> targets;
+  /**
+   * The calculated columns.
+   */
+  private final ImmutableList<Column> columns;
+  /**
+   * The reference data.
+   */
+  private final ReferenceData refData;
+  /**
+   * The maximum number of formatted rows held in memory until earlier rows are written.
+   */
+  private final int maxBufferedRows;
+  /**
+   * The writer.
+   */
+  private final OutputStreamWriter writer;
+  /**
+   * The results of the rows that are not yet complete, keyed by row index.
+   */
+  private final Map<Integer, PendingRow> pendingRows = new HashMap<>();
+  /**
+   * The formatted rows held in memory that cannot be written until earlier rows are written, keyed by row index.
+   */
+  private final TreeMap<Integer, String> bufferedRows = new TreeMap<>();
+  /**
+   * The location in the spill file of the formatted rows moved out of memory, keyed by row index.
+   */
+  private final Map<Integer, SpilledRow> spilledRows = new HashMap<>();
+  /**
+   * The temporary file holding the rows moved out of memory, null until the buffer is first full.
+   */
+  private Path spillPath;
+  /**
+   * The open spill file, null until the buffer is first full.
+   */
+  private RandomAccessFile spillFile;
+  /**
+   * The index of the next row to write.
+   */
+  private int nextRowIndex;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that writes to the specified output stream.
+   * <p>
+   * The targets and columns must be the same as those used to create the calculation tasks.
+   * The header row is written immediately.
+   * At most {@link #DEFAULT_MAX_BUFFERED_ROWS} rows are held in memory until earlier rows are written.
+   *
+   * @param template  the report template
+   * @param targets  the targets, such as trades, one per report row
+   * @param columns  the calculated columns, typically obtained from {@link TradeReportRunner#requirements}
+   * @param refData  the reference data
+   * @param out  the output stream to write to
+   * @return the listener
+   */
+  public static TradeReportCsvListener of(
+      TradeReportTemplate template,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      ReferenceData refData,
+      OutputStream out) {
+
+    return of(template, targets, columns, refData, out, DEFAULT_MAX_BUFFERED_ROWS);
+  }
+
+  /**
+   * Obtains an instance that writes to the specified output stream, holding at most the specified number of rows.
+   * <p>
+   * The targets and columns must be the same as those used to create the calculation tasks.
+   * The header row is written immediately.
+   * A maximum of zero moves every row that cannot be written immediately to the temporary file.
+   *
+   * @param template  the report template
+   * @param targets  the targets, such as trades, one per report row
+   * @param columns  the calculated columns, typically obtained from {@link TradeReportRunner#requirements}
+   * @param refData  the reference data
+   * @param out  the output stream to write to
+   * @param maxBufferedRows  the maximum number of formatted rows held in memory until earlier rows are written
+   * @return the listener
+   */
+  public static TradeReportCsvListener of(
+      TradeReportTemplate template,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      ReferenceData refData,
+      OutputStream out,
+      int maxBufferedRows) {
+
+    return new TradeReportCsvListener(template, targets, columns, refData, out, maxBufferedRows);
+  }
+
+  // restricted constructor
+  private TradeReportCsvListener(
+      TradeReportTemplate template,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      ReferenceData refData,
+      OutputStream out,
+      int maxBufferedRows) {
+
+    this.template = ArgChecker.notNull(template, "template");
+    this.targets = ImmutableList.copyOf(ArgChecker.notNull(targets, "targets"));
+    this.columns = ImmutableList.copyOf(ArgChecker.notNull(columns, "columns"));
+    this.refData = ArgChecker.notNull(refData, "refData");
+    this.maxBufferedRows = ArgChecker.notNegative(maxBufferedRows, "maxBufferedRows");
+    this.writer = new OutputStreamWriter(ArgChecker.notNull(out, "out"), StandardCharsets.UTF_8);
+    Unchecked.wrap(() -> writer.write(
+        formatLine(template.getColumns().stream().map(TradeReportColumn::getHeader).collect(toImmutableList()))));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    int rowIndex = result.getRowIndex();
+    PendingRow row = pendingRows.computeIfAbsent(rowIndex, i -> new PendingRow(columns.size()));
+    if (row.add(result.getColumnIndex(), result.getResult())) {
+      pendingRows.remove(rowIndex);
+      bufferedRows.put(rowIndex, formatRow(rowIndex, row.cells));
+      writeAvailableRows();
+      // the rows that will be written last are moved out of memory
+      while (bufferedRows.size() > maxBufferedRows) {
+        Map.Entry<Integer, String> last = bufferedRows.pollLastEntry();
+        spill(last.getKey(), last.getValue());
+      }
+    }
+  }
+
+  @Override
+  protected Integer createAggregateResult() {
+    try {
+      // as with TradeReportRunner, there are no rows when there are no calculated columns
+      // otherwise, any missing results are reported as failures
+      int rowCount = columns.isEmpty() ? 0 : targets.size();
+      for (int rowIndex = nextRowIndex; rowIndex < rowCount; rowIndex++) {
+        String line = completedRow(rowIndex);
+        if (line == null) {
+          PendingRow row = pendingRows.getOrDefault(rowIndex, new PendingRow(columns.size()));
+          line = formatRow(rowIndex, row.cells);
+        }
+        write(line);
+      }
+      nextRowIndex = rowCount;
+      Unchecked.wrap(writer::flush);
+      return rowCount;
+    } finally {
+      pendingRows.clear();
+      bufferedRows.clear();
+      spilledRows.clear();
+      closeSpillFile();
+    }
+  }
+
+  /**
+   * Gets the number of formatted rows that are held in memory until earlier rows are written.
+   *
+   * @return the number of buffered rows
+   */
+  int bufferedRowCount() {
+    return bufferedRows.size();
+  }
+
+  /**
+   * Gets the number of formatted rows that are held in the temporary file until earlier rows are written.
+   *
+   * @return the number of spilled rows
+   */
+  int spilledRowCount() {
+    return spilledRows.size();
+  }
+
+  // writes the completed rows that follow the last written row
+  private void writeAvailableRows() {
+    String line = completedRow(nextRowIndex);
+    while (line != null) {
+      write(line);
+      nextRowIndex++;
+      line = completedRow(nextRowIndex);
+    }
+  }
+
+  // removes the formatted row from memory or the spill file, null if the row is not complete
+  private String completedRow(int rowIndex) {
+    String line = bufferedRows.remove(rowIndex);
+    if (line != null) {
+      return line;
+    }
+    SpilledRow spilled = spilledRows.remove(rowIndex);
+    return spilled != null ? Unchecked.wrap(() -> spilled.read(spillFile)) : null;
+  }
+
+  // writes a formatted row to the output
+  private void write(String line) {
+    Unchecked.wrap(() -> writer.write(line));
+  }
+
+  // moves a formatted row to the spill file
+  private void spill(int rowIndex, String line) {
+    Unchecked.wrap(() -> {
+      if (spillFile == null) {
+        spillPath = Files.createTempFile("strata-trade-report", ".csv");
+        spillFile = new RandomAccessFile(spillPath.toFile(), "rw");
+      }
+      byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+      long offset = spillFile.length();
+      spillFile.seek(offset);
+      spillFile.write(bytes);
+      spilledRows.put(rowIndex, new SpilledRow(offset, bytes.length));
+    });
+  }
+
+  // closes and deletes the spill file
+  private void closeSpillFile() {
+    if (spillFile != null) {
+      Unchecked.wrap(() -> {
+        try {
+          spillFile.close();
+        } finally {
+          Files.deleteIfExists(spillPath);
+        }
+      });
+      spillFile = null;
+      spillPath = null;
+    }
+  }
+
+  // evaluates and formats the template columns of a single row
+  private String formatRow(int rowIndex, Result<?>[] cells) {
+    CalculationTarget target = targets.get(rowIndex);
+    List<Result<?>> rowResults = Arrays.asList(cells);
+    ImmutableList.Builder<String> line = ImmutableList.builder();
+    for (TradeReportColumn column : template.getColumns()) {
+      Result<?> result = column.getValue().isPresent() ?
+          ValuePathEvaluator.evaluate(column.getValue().get(), target, columns, rowResults, refData) :
+          Result.failure(FailureReason.INVALID_INPUT, "No value specified in report template");
+      line.add(TradeReportFormatter.INSTANCE.formatCsvResult(column, result));
+    }
+    return formatLine(line.build());
+  }
+
+  // formats a line of CSV, including the line separator
+  private static String formatLine(List<String> line) {
+    StringBuilder buf = new StringBuilder();
+    new CsvOutput(buf).writeLine(line);
+    return buf.toString();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The results received for a row that is not yet complete.
+   */
+  private static final class PendingRow {
+    private final Result<?>[] cells;
+    private int received;
+
+    private PendingRow(int columnCount) {
+      this.cells = new Result<?>[columnCount];
+      Arrays.fill(cells, Result.failure(FailureReason.MISSING_DATA, "No result was calculated"));
+    }
+
+    // adds a result, returning true if the row is complete
+    private boolean add(int columnIndex, Result<?> result) {
+      cells[columnIndex] = result;
+      received++;
+      return received == cells.length;
+    }
+  }
+
+  /**
+   * The location of a formatted row in the spill file.
+   */
+  private static final class SpilledRow {
+    private final long offset;
+    private final int length;
+
+    private SpilledRow(long offset, int length) {
+      this.offset = offset;
+      this.length = length;
+    }
+
+    // reads the formatted row from the spill file
+    private String read(RandomAccessFile file) throws IOException {
+      byte[] bytes = new byte[length];
+      file.seek(offset);
+      file.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+
+}
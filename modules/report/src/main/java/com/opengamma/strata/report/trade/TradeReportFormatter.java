@@ -68,7 +68,16 @@ public class TradeReportFormatter
   protected String formatData(TradeReport report, int rowIdx, int colIdx, ReportOutputFormat format) {
     TradeReportColumn templateColumn = report.getColumns().get(colIdx);
     Result<?> result = report.getData().get(rowIdx, colIdx);
+    return formatResult(templateColumn, result, format);
+  }
+
+  // formats a single result in CSV format, used when streaming
+  String formatCsvResult(TradeReportColumn templateColumn, Result<?> result) {
+    return formatResult(templateColumn, result, ReportOutputFormat.CSV);
+  }
 
+  // formats a single result of a column
+  private String formatResult(TradeReportColumn templateColumn, Result<?> result, ReportOutputFormat format) {
     if (result.isFailure()) {
       return templateColumn.isIgnoreFailures() ? "" : Messages.format("FAIL: {}", result.getFailure().getMessage());
     }
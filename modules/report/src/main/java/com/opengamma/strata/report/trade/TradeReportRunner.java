@@ -9,10 +9,13 @@ import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableTable;
 import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
@@ -27,17 +30,41 @@ import com.opengamma.strata.report.framework.expression.ValuePathEvaluator;
  * Trade reports are driven by a {@linkplain TradeReportTemplate trade report template}.
  * The resulting report is a table containing one row per trade, and the requested columns each
  * showing a value for that trade.
+ * <p>
+ * By default the report is evaluated on the calling thread.
+ * If an executor is specified using {@link #withExecutor(Executor)} each column of the report
+ * is submitted to the executor as a separate task, with the rows of each column evaluated in turn.
  */
 public class TradeReportRunner
     implements ReportRunner<TradeReportTemplate> {
 
   /**
-   * The single shared instance of this report runner.
+   * The single shared instance of this report runner, evaluating the report on the calling thread.
+   */
+  public static final TradeReportRunner INSTANCE = new TradeReportRunner(null);
+
+  /**
+   * The executor used to evaluate the columns, null to evaluate them on the calling thread.
    */
-  public static final TradeReportRunner INSTANCE = new TradeReportRunner();
+  private final Executor executor;
 
   // restricted constructor
-  private TradeReportRunner() {
+  private TradeReportRunner(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Returns a report runner that evaluates the columns of the report using the specified executor.
+   * <p>
+   * Each column is submitted to the executor as a separate task.
+   * The report is complete when all the columns have been evaluated.
+   *
+   * @param executor  the executor used to evaluate the columns
+   * @return a report runner that evaluates the columns using the executor
+   */
+  public TradeReportRunner withExecutor(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new TradeReportRunner(executor);
   }
 
   //-------------------------------------------------------------------------
@@ -60,23 +87,15 @@ public class TradeReportRunner
         .map(TradeReportColumn::getHeader)
         .collect(toImmutableList());
 
-    ImmutableTable.Builder<Integer, Integer, Result<?>> resultTable = ImmutableTable.builder();
-
-    for (int reportColumnIdx = 0; reportColumnIdx < reportTemplate.getColumns().size(); reportColumnIdx++) {
-      TradeReportColumn reportColumn = reportTemplate.getColumns().get(reportColumnIdx);
-      List<Result<?>> columnResults;
-
-      if (reportColumn.getValue().isPresent()) {
-        columnResults = ValuePathEvaluator.evaluate(reportColumn.getValue().get(), results);
-      } else {
-        columnResults = IntStream.range(0, results.getTargets().size())
-            .mapToObj(i -> Result.failure(FailureReason.INVALID_INPUT, "No value specified in report template"))
-            .collect(toImmutableList());
-      }
-      int rowCount = results.getCalculationResults().getRowCount();
+    List<TradeReportColumn> columns = reportTemplate.getColumns();
+    List<List<Result<?>>> columnResults = evaluateColumns(columns, results);
 
+    ImmutableTable.Builder<Integer, Integer, Result<?>> resultTable = ImmutableTable.builder();
+    int rowCount = results.getCalculationResults().getRowCount();
+    for (int reportColumnIdx = 0; reportColumnIdx < columns.size(); reportColumnIdx++) {
+      List<Result<?>> column = columnResults.get(reportColumnIdx);
       for (int rowIdx = 0; rowIdx < rowCount; rowIdx++) {
-        resultTable.put(rowIdx, reportColumnIdx, columnResults.get(rowIdx));
+        resultTable.put(rowIdx, reportColumnIdx, column.get(rowIdx));
       }
     }
 
@@ -89,4 +108,30 @@ public class TradeReportRunner
         .build();
   }
 
+  // evaluates the columns, using the executor if there is one
+  private List<List<Result<?>>> evaluateColumns(List<TradeReportColumn> columns, ReportCalculationResults results) {
+    if (executor == null || columns.size() <= 1) {
+      return columns.stream()
+          .map(column -> evaluateColumn(column, results))
+          .collect(toImmutableList());
+    }
+    // all columns are submitted before any are joined so they are evaluated concurrently
+    List<CompletableFuture<List<Result<?>>>> futures = columns.stream()
+        .map(column -> CompletableFuture.supplyAsync(() -> evaluateColumn(column, results), executor))
+        .collect(toImmutableList());
+    return futures.stream()
+        .map(Guavate::join)
+        .collect(toImmutableList());
+  }
+
+  // evaluates a single column for all rows
+  private static List<Result<?>> evaluateColumn(TradeReportColumn reportColumn, ReportCalculationResults results) {
+    if (reportColumn.getValue().isPresent()) {
+      return ValuePathEvaluator.evaluate(reportColumn.getValue().get(), results);
+    }
+    return IntStream.range(0, results.getTargets().size())
+        .mapToObj(i -> Result.failure(FailureReason.INVALID_INPUT, "No value specified in report template"))
+        .collect(toImmutableList());
+  }
+
 }
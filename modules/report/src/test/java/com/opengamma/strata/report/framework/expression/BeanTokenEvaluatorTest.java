@@ -14,6 +14,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.Set;
 
 import org.joda.beans.Bean;
+import org.joda.beans.impl.flexi.FlexiBean;
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
@@ -41,6 +42,30 @@ public class BeanTokenEvaluatorTest {
     assertThat(notional2.getResult()).hasValue(1_000_000d);
   }
 
+  public void evaluateRepeated() {
+    Bean bean = bean();
+    BeanTokenEvaluator evaluator = new BeanTokenEvaluator();
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(evaluator.evaluate(bean, "notional", ImmutableList.of()).getResult()).hasValue(1_000_000d);
+      assertThat(evaluator.evaluate(bean, "foo", ImmutableList.of()).getResult()).isFailure();
+    }
+  }
+
+  public void evaluateMutableBean() {
+    BeanTokenEvaluator evaluator = new BeanTokenEvaluator();
+    FlexiBean bean1 = new FlexiBean();
+    bean1.set("foo", "a");
+    bean1.set("bar", "b");
+    FlexiBean bean2 = new FlexiBean();
+    bean2.set("baz", "c");
+    bean2.set("qux", "d");
+
+    assertThat(evaluator.evaluate(bean1, "foo", ImmutableList.of()).getResult()).hasValue("a");
+    assertThat(evaluator.evaluate(bean2, "foo", ImmutableList.of()).getResult()).isFailure();
+    assertThat(evaluator.evaluate(bean2, "baz", ImmutableList.of()).getResult()).hasValue("c");
+  }
+
   public void tokens() {
     Bean bean = bean();
     BeanTokenEvaluator evaluator = new BeanTokenEvaluator();
@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.basics.BuySell.BUY;
+import static com.opengamma.strata.basics.BuySell.SELL;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.basics.market.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.config.Measures;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.fra.Fra;
+import com.opengamma.strata.product.fra.FraTrade;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Test {@link TradeReportCsvListener}.
+ */
+@Test
+public class TradeReportCsvListenerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2016, 6, 30);
+  private static final List<FraTrade> TRADES =
+      ImmutableList.of(trade(BUY, 0.25d), trade(SELL, 0.5d), trade(BUY, 0.75d));
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PAR_RATE));
+  private static final TradeReportTemplate TEMPLATE = TradeReportTemplate.builder()
+      .columns(
+          TradeReportColumn.builder().header("PV").value("Measures.PresentValue").build(),
+          TradeReportColumn.builder().header("Par Rate").value("Measures.ParRate").build(),
+          TradeReportColumn.builder().header("Fixed Rate").value("Product.fixedRate").build(),
+          TradeReportColumn.builder().header("Empty").build())
+      .build();
+
+  private static FraTrade trade(BuySell buySell, double fixedRate) {
+    return FraTrade.of(TradeInfo.empty(), Fra.builder()
+        .buySell(buySell)
+        .notional(1_000_000)
+        .startDate(date(2015, 8, 5))
+        .endDate(date(2015, 11, 5))
+        .paymentDate(AdjustableDate.of(date(2015, 8, 7)))
+        .fixedRate(fixedRate)
+        .index(GBP_LIBOR_3M)
+        .build());
+  }
+
+  // the result for each cell, with a failure in one cell
+  private static Result<?> result(int rowIndex, int columnIndex) {
+    if (rowIndex == 1 && columnIndex == 1) {
+      return Result.failure(FailureReason.CALCULATION_FAILED, "Failed");
+    }
+    return columnIndex == 0 ? Result.success(CurrencyAmount.of(GBP, rowIndex * 10)) : Result.success(0.01 * rowIndex);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_matchesFullReport() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, TRADES, COLUMNS, REF_DATA, out);
+    // the header is written immediately, the output stream is flushed on completion
+    test.resultReceived(TRADES.get(2), CalculationResult.of(2, 1, result(2, 1)));
+    test.resultReceived(TRADES.get(0), CalculationResult.of(0, 0, result(0, 0)));
+    test.resultReceived(TRADES.get(2), CalculationResult.of(2, 0, result(2, 0)));
+    test.resultReceived(TRADES.get(1), CalculationResult.of(1, 1, result(1, 1)));
+    test.resultReceived(TRADES.get(0), CalculationResult.of(0, 1, result(0, 1)));
+    test.resultReceived(TRADES.get(1), CalculationResult.of(1, 0, result(1, 0)));
+    test.calculationsComplete();
+    assertEquals(test.result(), Integer.valueOf(3));
+    assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), fullReportCsv(TRADES));
+  }
+
+  public void test_missingResults() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, TRADES, COLUMNS, REF_DATA, out);
+    test.resultReceived(TRADES.get(0), CalculationResult.of(0, 0, result(0, 0)));
+    test.resultReceived(TRADES.get(0), CalculationResult.of(0, 1, result(0, 1)));
+    test.resultReceived(TRADES.get(2), CalculationResult.of(2, 0, result(2, 0)));
+    test.calculationsComplete();
+    assertEquals(test.result(), Integer.valueOf(3));
+    List<String> lines = lines(out);
+    assertEquals(lines.size(), 4);
+    assertTrue(lines.get(2).startsWith("FAIL: No result was calculated,FAIL: No result was calculated,"));
+  }
+
+  public void test_noColumns() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test =
+        TradeReportCsvListener.of(TEMPLATE, TRADES, ImmutableList.of(), REF_DATA, out);
+    test.calculationsComplete();
+    assertEquals(test.result(), Integer.valueOf(0));
+    assertEquals(
+        new String(out.toByteArray(), StandardCharsets.UTF_8),
+        "PV,Par Rate,Fixed Rate,Empty" + System.lineSeparator());
+  }
+
+  public void test_boundedBuffer() {
+    List<FraTrade> trades = IntStream.range(0, 6)
+        .mapToObj(i -> trade(i % 2 == 0 ? BUY : SELL, 0.25d * (i + 1)))
+        .collect(toImmutableList());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, trades, COLUMNS, REF_DATA, out, 2);
+    // the rows complete in reverse order, which would hold every row in memory if the buffer was unbounded
+    for (int rowIndex = trades.size() - 1; rowIndex > 0; rowIndex--) {
+      test.resultReceived(trades.get(rowIndex), CalculationResult.of(rowIndex, 1, result(rowIndex, 1)));
+      test.resultReceived(trades.get(rowIndex), CalculationResult.of(rowIndex, 0, result(rowIndex, 0)));
+      assertTrue(test.bufferedRowCount() <= 2);
+    }
+    assertEquals(test.bufferedRowCount(), 2);
+    assertEquals(test.spilledRowCount(), 3);
+    test.resultReceived(trades.get(0), CalculationResult.of(0, 1, result(0, 1)));
+    test.resultReceived(trades.get(0), CalculationResult.of(0, 0, result(0, 0)));
+    assertEquals(test.bufferedRowCount(), 0);
+    assertEquals(test.spilledRowCount(), 0);
+    test.calculationsComplete();
+    assertEquals(test.result(), Integer.valueOf(6));
+    // the rows are written in order, matching the full report
+    assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), fullReportCsv(trades));
+  }
+
+  public void test_unbuffered() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, TRADES, COLUMNS, REF_DATA, out, 0);
+    test.resultReceived(TRADES.get(1), CalculationResult.of(1, 0, result(1, 0)));
+    test.resultReceived(TRADES.get(1), CalculationResult.of(1, 1, result(1, 1)));
+    assertEquals(test.bufferedRowCount(), 0);
+    assertEquals(test.spilledRowCount(), 1);
+    test.calculationsComplete();
+    assertEquals(test.result(), Integer.valueOf(3));
+    List<String> lines = lines(out);
+    assertEquals(lines.size(), 4);
+    assertTrue(lines.get(1).startsWith("FAIL: No result was calculated,"));
+    assertEquals(lines.get(2), Splitter.on(System.lineSeparator()).splitToList(fullReportCsv(TRADES)).get(2));
+    assertTrue(lines.get(3).startsWith("FAIL: No result was calculated,"));
+    assertThrowsIllegalArg(() -> TradeReportCsvListener.of(TEMPLATE, TRADES, COLUMNS, REF_DATA, out, -1));
+  }
+
+  //-------------------------------------------------------------------------
+  // the lines written to the output stream
+  private static List<String> lines(ByteArrayOutputStream out) {
+    String csv = new String(out.toByteArray(), StandardCharsets.UTF_8);
+    return Arrays.asList(csv.split(System.lineSeparator()));
+  }
+
+  // the report produced from the full grid of results
+  private static String fullReportCsv(List<FraTrade> trades) {
+    ImmutableList.Builder<Result<?>> cells = ImmutableList.builder();
+    for (int rowIndex = 0; rowIndex < trades.size(); rowIndex++) {
+      for (int columnIndex = 0; columnIndex < COLUMNS.size(); columnIndex++) {
+        cells.add(result(rowIndex, columnIndex));
+      }
+    }
+    Results results = Results.of(
+        ImmutableList.of(COLUMNS.get(0).toHeader(), COLUMNS.get(1).toHeader()), cells.build());
+    ReportCalculationResults calculationResults =
+        ReportCalculationResults.of(VAL_DATE, trades, COLUMNS, results, REF_DATA);
+    TradeReport report = TradeReportRunner.INSTANCE.runReport(calculationResults, TEMPLATE);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportFormatter.INSTANCE.writeCsv(report, out);
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.market.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.config.Measures;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Test {@link TradeReportRunner}.
+ */
+@Test
+public class TradeReportRunnerTest {
+
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PAR_RATE));
+  private static final TradeReportTemplate TEMPLATE = TradeReportTemplate.builder()
+      .columns(
+          TradeReportColumn.builder().header("PV").value("Measures.PresentValue").build(),
+          TradeReportColumn.builder().header("Amount").value("Measures.PresentValue.amount").build(),
+          TradeReportColumn.builder().header("Par Rate").value("Measures.ParRate").build(),
+          TradeReportColumn.builder().header("Empty").build())
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_runReport() {
+    TradeReport report = TradeReportRunner.INSTANCE.runReport(results(), TEMPLATE);
+    assertEquals(report.getColumnHeaders(), ImmutableList.of("PV", "Amount", "Par Rate", "Empty"));
+    assertEquals(report.getData().rowKeySet().size(), 3);
+    assertEquals(report.getData().get(1, 0), Result.success(CurrencyAmount.of(GBP, 10)));
+    assertEquals(report.getData().get(1, 1), Result.success(CurrencyAmount.of(GBP, 10)));
+    assertEquals(report.getData().get(2, 2), Result.success(0.02d));
+    assertTrue(report.getData().get(0, 3).isFailure());
+  }
+
+  public void test_runReport_withExecutor() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      TradeReportRunner test = TradeReportRunner.INSTANCE.withExecutor(executor);
+      TradeReport report = test.runReport(results(), TEMPLATE);
+      TradeReport expected = TradeReportRunner.INSTANCE.runReport(results(), TEMPLATE);
+      // the failure in the empty column captures the stack trace, so the formatted reports are compared
+      assertEquals(csv(report), csv(expected));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_withExecutor_null() {
+    assertThrowsIllegalArg(() -> TradeReportRunner.INSTANCE.withExecutor(null));
+  }
+
+  //-------------------------------------------------------------------------
+  // the results of three targets
+  private static ReportCalculationResults results() {
+    ImmutableList.Builder<CalculationTarget> targets = ImmutableList.builder();
+    ImmutableList.Builder<Result<?>> cells = ImmutableList.builder();
+    for (int i = 0; i < 3; i++) {
+      targets.add(new TestTarget());
+      cells.add(Result.success(CurrencyAmount.of(GBP, i * 10)));
+      cells.add(Result.success(0.01 * i));
+    }
+    Results results = Results.of(
+        ImmutableList.of(COLUMNS.get(0).toHeader(), COLUMNS.get(1).toHeader()), cells.build());
+    return ReportCalculationResults.of(date(2016, 6, 30), targets.build(), COLUMNS, results, ReferenceData.standard());
+  }
+
+  // the report formatted as CSV
+  private static String csv(TradeReport report) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportFormatter.INSTANCE.writeCsv(report, out);
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  // a simple target
+  private static final class TestTarget implements CalculationTarget {
+  }
+
+}